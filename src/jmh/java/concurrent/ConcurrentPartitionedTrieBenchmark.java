@@ -0,0 +1,86 @@
+package concurrent;
+
+import algorithm.TrieIterativeAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import trie.ITrie;
+import trie.TrieArray;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a mix of reads and writes on a {@link ConcurrentPartitionedTrie} from 1 to 64 threads.
+ * A single partition is the baseline: every operation goes through the same StampedLock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConcurrentPartitionedTrieBenchmark {
+    private static final int WORDS_COUNT = 1 << 16;
+
+    @Param({"1", "8", "26"})
+    public int partitionsCount;
+
+    @Param({"0", "10", "50"})
+    public int writePercent;
+
+    private ITrie trie;
+    private String[] words;
+
+    @Setup
+    public void setUp() {
+        trie = new ConcurrentPartitionedTrie(() -> new TrieArray(new TrieIterativeAlgorithm()), partitionsCount, true);
+        words = new String[WORDS_COUNT];
+        Random random = new Random(42);
+        for (int i = 0; i < WORDS_COUNT; i++) {
+            char[] characters = new char[4 + random.nextInt(8)];
+            for (int j = 0; j < characters.length; j++) {
+                characters[j] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(characters);
+            if (i % 2 == 0) trie.insertWord(words[i]);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean threads01() {
+        return operation();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean threads04() {
+        return operation();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean threads16() {
+        return operation();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean threads64() {
+        return operation();
+    }
+
+    private boolean operation() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String word = words[random.nextInt(WORDS_COUNT)];
+        if (random.nextInt(100) >= writePercent) {
+            return trie.containsWord(word);
+        }
+        return random.nextBoolean() ? trie.insertWord(word) : trie.deleteWord(word);
+    }
+}
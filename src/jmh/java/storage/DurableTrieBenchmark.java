@@ -0,0 +1,85 @@
+package storage;
+
+import algorithm.TrieIterativeAlgorithm;
+import concurrent.ConcurrentPartitionedTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import trie.TrieArray;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the throughput of the changes of a {@link DurableTrie}, syncing every write or every interval.
+ * With several threads, the writes that wait for the same fsync are committed together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DurableTrieBenchmark {
+
+    @Param({"EVERY_WRITE", "INTERVAL"})
+    public SyncMode syncMode;
+
+    @Param({"1", "10"})
+    public long syncIntervalMillis;
+
+    private Path directory;
+    private DurableTrie trie;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("durable-trie");
+        trie = DurableTrie.open(new ConcurrentPartitionedTrie(() -> new TrieArray(new TrieIterativeAlgorithm()), 16),
+                directory, syncMode, syncIntervalMillis, 0);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        trie.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean threads01() {
+        return write();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean threads08() {
+        return write();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean threads32() {
+        return write();
+    }
+
+    private boolean write() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] word = new char[6];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        String string = new String(word);
+        return random.nextBoolean() ? trie.insertWord(string) : trie.deleteWord(string);
+    }
+}
@@ -0,0 +1,64 @@
+package succinct;
+
+import algorithm.TrieIterativeAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import trie.ITrie;
+import trie.TrieArray;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the searches of a {@link LoudsTrie} with the searches of the TrieArray it was encoded from
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoudsTrieBenchmark {
+
+    @Param({"100000"})
+    public int wordsCount;
+
+    private ITrie trieArray;
+    private LoudsTrie loudsTrie;
+    private String[] words;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        trieArray = new TrieArray(new TrieIterativeAlgorithm());
+        words = new String[wordsCount];
+        Random random = new Random(42);
+        for (int i = 0; i < wordsCount; i++) {
+            char[] word = new char[4 + random.nextInt(8)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(word);
+            trieArray.insertWord(words[i]);
+        }
+        loudsTrie = LoudsTrie.of(trieArray);
+    }
+
+    @Benchmark
+    public boolean trieArrayContainsWord() {
+        return trieArray.containsWord(nextWord());
+    }
+
+    @Benchmark
+    public boolean loudsTrieContainsWord() {
+        return loudsTrie.containsWord(nextWord());
+    }
+
+    private String nextWord() {
+        next = next + 1 == words.length ? 0 : next + 1;
+        return words[next];
+    }
+}
@@ -4,11 +4,15 @@ import trie.ITrie;
 
 public interface ITrieAlgorithm {
 
-    void insertWord(ITrie trie, String word);
+    boolean insertWord(ITrie trie, CharSequence word);
 
-    boolean deleteWord(ITrie trie, String word);
+    boolean deleteWord(ITrie trie, CharSequence word);
 
-    boolean containsWord(ITrie trie, String word);
+    int deletePrefix(ITrie trie, CharSequence prefix);
 
-    boolean containsPrefix(ITrie trie, String prefix);
+    boolean containsWord(ITrie trie, CharSequence word);
+
+    boolean containsPrefix(ITrie trie, CharSequence prefix);
+
+    int countWithPrefix(ITrie trie, CharSequence prefix);
 }
@@ -14,28 +14,36 @@ public class TrieIterativeAlgorithm implements ITrieAlgorithm {
      *
      * @param trie The Trie where the word will be inserted
      * @param word The word to insert
+     * @return true if the word was inserted, that is, if the word did not exist in the Trie
      */
     @Override
-    public void insertWord(ITrie trie, String word) {
+    public boolean insertWord(ITrie trie, CharSequence word) {
+        ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), word);
+        if (lastMatchingNode != null && lastMatchingNode.isEndOfWord()) return false;
         insertWord(trie.getRoot(), word);
+        return true;
     }
 
     /**
      * Helper method that inserts the word in the Trie.
-     * This algorithm sets the "isEndOfWord" flag to the trieNode that the last character points.
+     * This algorithm sets the "isEndOfWord" flag to the trieNode that the last character points,
+     * and increments the word count of every trieNode in the path of the word.
+     * The word must not exist in the Trie.
      *
      * @param trieNode The trieNode to insert the character
      * @param word     The word to insert
      */
-    private void insertWord(ITrieNode trieNode, String word) {
+    private void insertWord(ITrieNode trieNode, CharSequence word) {
         char currentChar;
         for (int i = 0; i < word.length(); i++) {
             currentChar = word.charAt(i);
             if (!trieNode.containsCharacter(currentChar)) {
                 trieNode.addCharacter(currentChar);
             }
+            trieNode.setWordCount(trieNode.getWordCount() + 1);
             trieNode = trieNode.getTrieNodeForChar(currentChar);
         }
+        trieNode.setWordCount(trieNode.getWordCount() + 1);
         trieNode.setEndOfWord(true);
     }
 
@@ -46,7 +54,7 @@ public class TrieIterativeAlgorithm implements ITrieAlgorithm {
      * @return true if the word was deleted, that is, if the word existed in the Trie and was deleted
      */
     @Override
-    public boolean deleteWord(ITrie trie, String word) {
+    public boolean deleteWord(ITrie trie, CharSequence word) {
         return deleteWord(trie.getRoot(), word);
     }
 
@@ -58,7 +66,7 @@ public class TrieIterativeAlgorithm implements ITrieAlgorithm {
      * @param word     The word to delete
      * @return true if the word was deleted
      */
-    private boolean deleteWord(ITrieNode trieNode, String word) {
+    private boolean deleteWord(ITrieNode trieNode, CharSequence word) {
         char currentChar;
         Deque<Pair<Character, ITrieNode>> trieNodesStack = new ArrayDeque<>();
         for (int i = 0; i < word.length(); i++) {
@@ -70,11 +78,83 @@ public class TrieIterativeAlgorithm implements ITrieAlgorithm {
         boolean wordFound = trieNode.isEndOfWord();
         if (wordFound) {
             trieNode.setEndOfWord(false);
+            trieNode.setWordCount(trieNode.getWordCount() - 1);
+            decrementWordCounts(trieNodesStack);
             deleteTrieNodes(trieNodesStack);
         }
         return wordFound;
     }
 
+    /**
+     * Deletes all the words that start with a prefix
+     *
+     * @param prefix The prefix of the words to delete
+     * @return the number of deleted words
+     */
+    @Override
+    public int deletePrefix(ITrie trie, CharSequence prefix) {
+        return deletePrefix(trie.getRoot(), prefix);
+    }
+
+    /**
+     * Helper method that detaches the trieNode of a prefix from its parent, discounts its words from the trieNodes
+     * above it, and removes the trieNodes left without words. The detached trieNodes are left to the garbage collector.
+     * The root can't be detached, so the empty prefix clears it.
+     *
+     * @param trieNode The trieNode to look for the character
+     * @param prefix   The prefix of the words to delete
+     * @return the number of deleted words
+     */
+    private int deletePrefix(ITrieNode trieNode, CharSequence prefix) {
+        char currentChar;
+        Deque<Pair<Character, ITrieNode>> trieNodesStack = new ArrayDeque<>();
+        for (int i = 0; i < prefix.length(); i++) {
+            currentChar = prefix.charAt(i);
+            if (!trieNode.containsCharacter(currentChar)) return 0;
+            trieNodesStack.push(new Pair<>(currentChar, trieNode));
+            trieNode = trieNode.getTrieNodeForChar(currentChar);
+        }
+        int deletedCount = trieNode.getWordCount();
+        if (trieNodesStack.isEmpty()) {
+            clearTrieNode(trieNode);
+            return deletedCount;
+        }
+        for (Pair<Character, ITrieNode> trieNodePair : trieNodesStack) {
+            ITrieNode parentTrieNode = trieNodePair.getValue1();
+            parentTrieNode.setWordCount(parentTrieNode.getWordCount() - deletedCount);
+        }
+        Pair<Character, ITrieNode> prefixPair = trieNodesStack.remove();
+        prefixPair.getValue1().removeCharacter(prefixPair.getValue0());
+        deleteTrieNodes(trieNodesStack);
+        return deletedCount;
+    }
+
+    /**
+     * Helper method that removes all the characters and words of a trieNode
+     *
+     * @param trieNode The trieNode to clear
+     */
+    private void clearTrieNode(ITrieNode trieNode) {
+        for (Character character = trieNode.getFirstCharacter(); character != null;
+             character = trieNode.getFirstCharacter()) {
+            trieNode.removeCharacter(character);
+        }
+        trieNode.setEndOfWord(false);
+        trieNode.setWordCount(0);
+    }
+
+    /**
+     * Helper method that decrements the word count of the trieNodes that contain the deleted word
+     *
+     * @param trieNodesStack The stack of trieNodes that contain the word
+     */
+    private void decrementWordCounts(Deque<Pair<Character, ITrieNode>> trieNodesStack) {
+        for (Pair<Character, ITrieNode> trieNodePair : trieNodesStack) {
+            ITrieNode trieNode = trieNodePair.getValue1();
+            trieNode.setWordCount(trieNode.getWordCount() - 1);
+        }
+    }
+
     /**
      * Helper method that deletes trieNodes as a result of deleting a word
      *
@@ -110,7 +190,7 @@ public class TrieIterativeAlgorithm implements ITrieAlgorithm {
      * @return true if the Trie contains the word
      */
     @Override
-    public boolean containsWord(ITrie trie, String word) {
+    public boolean containsWord(ITrie trie, CharSequence word) {
         ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), word);
         return lastMatchingNode != null && lastMatchingNode.isEndOfWord();
     }
@@ -123,7 +203,7 @@ public class TrieIterativeAlgorithm implements ITrieAlgorithm {
      * @param word     the word to delete
      * @return the last matching trienode
      */
-    private ITrieNode getLastMatchingNode(ITrieNode trieNode, String word) {
+    private ITrieNode getLastMatchingNode(ITrieNode trieNode, CharSequence word) {
         char currentChar;
         for (int i = 0; i < word.length(); i++) {
             currentChar = word.charAt(i);
@@ -142,8 +222,22 @@ public class TrieIterativeAlgorithm implements ITrieAlgorithm {
      * @return true if the Trie contains the prefix
      */
     @Override
-    public boolean containsPrefix(ITrie trie, String prefix) {
+    public boolean containsPrefix(ITrie trie, CharSequence prefix) {
         ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), prefix);
         return lastMatchingNode != null;
     }
+
+    /**
+     * Counts the words of the Trie that start with a prefix
+     * A word is a prefix of itself. So "word" is counted for the prefix "word"
+     *
+     * @param trie   The Trie to search into
+     * @param prefix The prefix to check
+     * @return the number of words that start with the prefix
+     */
+    @Override
+    public int countWithPrefix(ITrie trie, CharSequence prefix) {
+        ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), prefix);
+        return lastMatchingNode == null ? 0 : lastMatchingNode.getWordCount();
+    }
 }
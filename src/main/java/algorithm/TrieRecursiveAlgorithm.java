@@ -10,35 +10,44 @@ public class TrieRecursiveAlgorithm implements ITrieAlgorithm {
      *
      * @param trie The Trie where the word will be inserted
      * @param word The word to insert
+     * @return true if the word was inserted, that is, if the word did not exist in the Trie
      */
     @Override
-    public void insertWord(ITrie trie, String word) {
-        insertWord(trie.getRoot(), word, 0);
+    public boolean insertWord(ITrie trie, CharSequence word) {
+        return insertWord(trie.getRoot(), word, 0);
     }
 
 
     /**
      * Helper method that inserts the word in the Trie.
-     * This algorithm sets the "isEndOfWord" flag to the trieNode that the last character points.
+     * This algorithm sets the "isEndOfWord" flag to the trieNode that the last character points,
+     * and increments the word count of every trieNode in the path when the word is inserted.
      *
      * @param trieNode The trieNode to insert the character
      * @param word     The word to insert
      * @param index    The index of the character to insert
+     * @return true if the word was inserted
      */
-    private void insertWord(ITrieNode trieNode, String word, int index) {
+    private boolean insertWord(ITrieNode trieNode, CharSequence word, int index) {
+        boolean inserted;
         if (wordIsComplete(word, index)) {
+            inserted = !trieNode.isEndOfWord();
             trieNode.setEndOfWord(true);
         } else {
             char currentChar = word.charAt(index);
             if (!trieNode.containsCharacter(currentChar)) {
                 trieNode.addCharacter(currentChar);
             }
-            insertWord(
+            inserted = insertWord(
                     trieNode.getTrieNodeForChar(currentChar),
                     word,
                     index + 1
             );
         }
+        if (inserted) {
+            trieNode.setWordCount(trieNode.getWordCount() + 1);
+        }
+        return inserted;
     }
 
     /**
@@ -48,7 +57,7 @@ public class TrieRecursiveAlgorithm implements ITrieAlgorithm {
      * @return true if the word was deleted, that is, if the word existed in the Trie and was deleted
      */
     @Override
-    public boolean deleteWord(ITrie trie, String word) {
+    public boolean deleteWord(ITrie trie, CharSequence word) {
         return deleteWord(trie.getRoot(), word, 0);
     }
 
@@ -61,12 +70,13 @@ public class TrieRecursiveAlgorithm implements ITrieAlgorithm {
      * @param index    The index of the character of the word
      * @return true if the word was deleted
      */
-    private boolean deleteWord(ITrieNode trieNode, String word, int index) {
+    private boolean deleteWord(ITrieNode trieNode, CharSequence word, int index) {
         if (wordIsComplete(word, index)) {
             if (!trieNode.isEndOfWord()) {
                 return false;
             }
             trieNode.setEndOfWord(false);
+            trieNode.setWordCount(trieNode.getWordCount() - 1);
             return true;
         }
         char currentChar = word.charAt(index);
@@ -79,12 +89,68 @@ public class TrieRecursiveAlgorithm implements ITrieAlgorithm {
                 word,
                 index + 1
         );
+        if (deleted) {
+            trieNode.setWordCount(trieNode.getWordCount() - 1);
+        }
         if (characterShouldBeDeleted(nextTrieNode, deleted)) {
             trieNode.removeCharacter(currentChar);
         }
         return deleted;
     }
 
+    /**
+     * Deletes all the words that start with a prefix
+     *
+     * @param prefix The prefix of the words to delete
+     * @return the number of deleted words
+     */
+    @Override
+    public int deletePrefix(ITrie trie, CharSequence prefix) {
+        return deletePrefix(trie.getRoot(), prefix, 0);
+    }
+
+    /**
+     * Helper recursive method that detaches the trieNode of a prefix from its parent, discounts its words
+     * from the trieNodes above it, and removes the trieNodes left without words.
+     * The root can't be detached, so the empty prefix clears it.
+     *
+     * @param trieNode The trieNode to look for the character
+     * @param prefix   The prefix of the words to delete
+     * @param index    The index of the character of the prefix
+     * @return the number of deleted words
+     */
+    private int deletePrefix(ITrieNode trieNode, CharSequence prefix, int index) {
+        if (wordIsComplete(prefix, index)) {
+            int deletedCount = trieNode.getWordCount();
+            for (Character character = trieNode.getFirstCharacter(); character != null;
+                 character = trieNode.getFirstCharacter()) {
+                trieNode.removeCharacter(character);
+            }
+            trieNode.setEndOfWord(false);
+            trieNode.setWordCount(0);
+            return deletedCount;
+        }
+        char currentChar = prefix.charAt(index);
+        if (!trieNode.containsCharacter(currentChar)) {
+            return 0;
+        }
+        ITrieNode nextTrieNode = trieNode.getTrieNodeForChar(currentChar);
+        int deletedCount;
+        if (wordIsComplete(prefix, index + 1)) {
+            deletedCount = nextTrieNode.getWordCount();
+            trieNode.removeCharacter(currentChar);
+        } else {
+            deletedCount = deletePrefix(nextTrieNode, prefix, index + 1);
+            if (characterShouldBeDeleted(nextTrieNode, deletedCount > 0)) {
+                trieNode.removeCharacter(currentChar);
+            }
+        }
+        if (deletedCount > 0) {
+            trieNode.setWordCount(trieNode.getWordCount() - deletedCount);
+        }
+        return deletedCount;
+    }
+
     /**
      * Helper method that checks if a character living in a TrieNode should be removed
      *
@@ -104,7 +170,7 @@ public class TrieRecursiveAlgorithm implements ITrieAlgorithm {
      * @return true if the Trie contains the word
      */
     @Override
-    public boolean containsWord(ITrie trie, String word) {
+    public boolean containsWord(ITrie trie, CharSequence word) {
         ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), word, 0);
         return lastMatchingNode != null && lastMatchingNode.isEndOfWord();
     }
@@ -118,7 +184,7 @@ public class TrieRecursiveAlgorithm implements ITrieAlgorithm {
      * @param index    the index of the character of the word
      * @return the last matching trieNode
      */
-    private ITrieNode getLastMatchingNode(ITrieNode trieNode, String word, int index) {
+    private ITrieNode getLastMatchingNode(ITrieNode trieNode, CharSequence word, int index) {
         if (wordIsComplete(word, index)) {
             return trieNode;
         } else {
@@ -143,11 +209,25 @@ public class TrieRecursiveAlgorithm implements ITrieAlgorithm {
      * @return true if the Trie contains the prefix
      */
     @Override
-    public boolean containsPrefix(ITrie trie, String prefix) {
+    public boolean containsPrefix(ITrie trie, CharSequence prefix) {
         ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), prefix, 0);
         return lastMatchingNode != null;
     }
 
+    /**
+     * Counts the words of the Trie that start with a prefix
+     * A word is a prefix of itself. So "word" is counted for the prefix "word"
+     *
+     * @param trie   The Trie to search into
+     * @param prefix The prefix to check
+     * @return the number of words that start with the prefix
+     */
+    @Override
+    public int countWithPrefix(ITrie trie, CharSequence prefix) {
+        ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), prefix, 0);
+        return lastMatchingNode == null ? 0 : lastMatchingNode.getWordCount();
+    }
+
     /**
      * Helper method that checks if the word is complete by using the index.
      *
@@ -155,7 +235,7 @@ public class TrieRecursiveAlgorithm implements ITrieAlgorithm {
      * @param index The index of the character in the word
      * @return true if the index is equal to the word length, meaning the word is complete
      */
-    private boolean wordIsComplete(String word, int index) {
+    private boolean wordIsComplete(CharSequence word, int index) {
         return index == word.length();
     }
 }
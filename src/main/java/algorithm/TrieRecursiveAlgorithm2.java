@@ -10,32 +10,58 @@ public class TrieRecursiveAlgorithm2 implements ITrieAlgorithm {
      *
      * @param trie The Trie where the word will be inserted
      * @param word The word to insert
+     * @return true if the word was inserted, that is, if the word did not exist in the Trie
      */
     @Override
-    public void insertWord(ITrie trie, String word) {
-        insertWord(trie.getRoot(), word, 0);
+    public boolean insertWord(ITrie trie, CharSequence word) {
+        ITrieNode root = trie.getRoot();
+        if (word.length() == 0) {
+            return markEndOfWord(root);
+        }
+        boolean inserted = insertWord(root, word, 0);
+        if (inserted) {
+            root.setWordCount(root.getWordCount() + 1);
+        }
+        return inserted;
     }
 
     /**
      * Helper method that inserts the word in the Trie.
-     * This algorithm sets the "isEndOfWord" flag to the trieNode that contains the last character
+     * This algorithm sets the "isEndOfWord" flag to the trieNode that the last character points,
+     * and increments the word count of every trieNode below the given one when the word is inserted.
      *
      * @param trieNode The trieNode to insert the character
      * @param word     The word to insert
      * @param index    The index of the character to insert
+     * @return true if the word was inserted
      */
-    private void insertWord(ITrieNode trieNode, String word, int index) {
+    private boolean insertWord(ITrieNode trieNode, CharSequence word, int index) {
         char character = word.charAt(index);
-        if (!trieNode.containsCharacter(word.charAt(index))) {
+        if (!trieNode.containsCharacter(character)) {
             trieNode.addCharacter(character);
         }
-        if (isLastCharacterInWord(word, index)) {
-            trieNode.setEndOfWord(true);
-        } else {
-            insertWord(trieNode.getTrieNodeForChar(character), word, index + 1);
+        ITrieNode nextTrieNode = trieNode.getTrieNodeForChar(character);
+        boolean inserted = isLastCharacterInWord(word, index)
+                ? markEndOfWord(nextTrieNode)
+                : insertWord(nextTrieNode, word, index + 1);
+        if (inserted && !isLastCharacterInWord(word, index)) {
+            nextTrieNode.setWordCount(nextTrieNode.getWordCount() + 1);
         }
+        return inserted;
     }
 
+    /**
+     * Helper method that sets the "isEndOfWord" flag of a trieNode, and counts the word in it.
+     *
+     * @param trieNode The trieNode where the word ends
+     * @return true if the trieNode was not already the end of a word
+     */
+    private boolean markEndOfWord(ITrieNode trieNode) {
+        if (trieNode.isEndOfWord()) return false;
+        trieNode.setEndOfWord(true);
+        trieNode.setWordCount(trieNode.getWordCount() + 1);
+        return true;
+    }
 
     /**
      * Deletes a word from the Trie
@@ -44,8 +70,16 @@ public class TrieRecursiveAlgorithm2 implements ITrieAlgorithm {
      * @return true if the word was deleted, that is, if the word existed in the Trie and was deleted
      */
     @Override
-    public boolean deleteWord(ITrie trie, String word) {
-        return deleteWord(trie.getRoot(), word, 0);
+    public boolean deleteWord(ITrie trie, CharSequence word) {
+        ITrieNode root = trie.getRoot();
+        if (word.length() == 0) {
+            return unmarkEndOfWord(root);
+        }
+        boolean deleted = deleteWord(root, word, 0);
+        if (deleted) {
+            root.setWordCount(root.getWordCount() - 1);
+        }
+        return deleted;
     }
 
     /**
@@ -57,15 +91,18 @@ public class TrieRecursiveAlgorithm2 implements ITrieAlgorithm {
      * @param index    The index of the character of the word
      * @return true if the word was deleted
      */
-    private boolean deleteWord(ITrieNode trieNode, String word, int index) {
+    private boolean deleteWord(ITrieNode trieNode, CharSequence word, int index) {
         char character = word.charAt(index);
         if (!trieNode.containsCharacter(character)) return false;
+        ITrieNode nextTrieNode = trieNode.getTrieNodeForChar(character);
         boolean deleted;
         if (isLastCharacterInWord(word, index)) {
-            deleted = trieNode.isEndOfWord();
-            trieNode.setEndOfWord(false);
+            deleted = unmarkEndOfWord(nextTrieNode);
         } else {
-            deleted = deleteWord(trieNode.getTrieNodeForChar(character), word, index + 1);
+            deleted = deleteWord(nextTrieNode, word, index + 1);
+            if (deleted) {
+                nextTrieNode.setWordCount(nextTrieNode.getWordCount() - 1);
+            }
         }
         if (characterShouldBeRemoved(trieNode, character, deleted)) {
             trieNode.removeCharacter(character);
@@ -73,6 +110,74 @@ public class TrieRecursiveAlgorithm2 implements ITrieAlgorithm {
         return deleted;
     }
 
+    /**
+     * Deletes all the words that start with a prefix
+     *
+     * @param prefix The prefix of the words to delete
+     * @return the number of deleted words
+     */
+    @Override
+    public int deletePrefix(ITrie trie, CharSequence prefix) {
+        ITrieNode root = trie.getRoot();
+        if (prefix.length() == 0) {
+            int deletedCount = root.getWordCount();
+            for (Character character = root.getFirstCharacter(); character != null;
+                 character = root.getFirstCharacter()) {
+                root.removeCharacter(character);
+            }
+            root.setEndOfWord(false);
+            root.setWordCount(0);
+            return deletedCount;
+        }
+        int deletedCount = deletePrefix(root, prefix, 0);
+        if (deletedCount > 0) {
+            root.setWordCount(root.getWordCount() - deletedCount);
+        }
+        return deletedCount;
+    }
+
+    /**
+     * Helper recursive method that detaches the trieNode of a prefix from its parent, discounts its words
+     * from the trieNodes between the root and it, and removes the trieNodes left without words.
+     *
+     * @param trieNode The trieNode to look for the character
+     * @param prefix   The prefix of the words to delete
+     * @param index    The index of the character of the prefix
+     * @return the number of deleted words
+     */
+    private int deletePrefix(ITrieNode trieNode, CharSequence prefix, int index) {
+        char character = prefix.charAt(index);
+        if (!trieNode.containsCharacter(character)) return 0;
+        ITrieNode nextTrieNode = trieNode.getTrieNodeForChar(character);
+        int deletedCount;
+        if (isLastCharacterInWord(prefix, index)) {
+            deletedCount = nextTrieNode.getWordCount();
+            trieNode.removeCharacter(character);
+        } else {
+            deletedCount = deletePrefix(nextTrieNode, prefix, index + 1);
+            if (deletedCount > 0) {
+                nextTrieNode.setWordCount(nextTrieNode.getWordCount() - deletedCount);
+            }
+            if (characterShouldBeRemoved(trieNode, character, deletedCount > 0)) {
+                trieNode.removeCharacter(character);
+            }
+        }
+        return deletedCount;
+    }
+
+    /**
+     * Helper method that unsets the "isEndOfWord" flag of a trieNode, and discounts the word from it.
+     *
+     * @param trieNode The trieNode where the word ends
+     * @return true if the trieNode was the end of a word
+     */
+    private boolean unmarkEndOfWord(ITrieNode trieNode) {
+        if (!trieNode.isEndOfWord()) return false;
+        trieNode.setEndOfWord(false);
+        trieNode.setWordCount(trieNode.getWordCount() - 1);
+        return true;
+    }
+
     /**
      * Helper method that checks if a character living in a TrieNode should be removed
      *
@@ -82,7 +187,8 @@ public class TrieRecursiveAlgorithm2 implements ITrieAlgorithm {
      * @return true if the character should be removed from the trieNode
      */
     private boolean characterShouldBeRemoved(ITrieNode trieNode, char character, boolean deleted) {
-        return deleted && trieNode.getTrieNodeForChar(character).isEmpty() && !trieNode.isEndOfWord();
+        ITrieNode nextTrieNode = trieNode.getTrieNodeForChar(character);
+        return deleted && nextTrieNode.isEmpty() && !nextTrieNode.isEndOfWord();
     }
 
     /**
@@ -93,8 +199,8 @@ public class TrieRecursiveAlgorithm2 implements ITrieAlgorithm {
      * @return true if the Trie contains the word
      */
     @Override
-    public boolean containsWord(ITrie trie, String word) {
-        ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), word, 0);
+    public boolean containsWord(ITrie trie, CharSequence word) {
+        ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), word);
         return lastMatchingNode != null && lastMatchingNode.isEndOfWord();
     }
 
@@ -107,25 +213,50 @@ public class TrieRecursiveAlgorithm2 implements ITrieAlgorithm {
      * @return true if the Trie contains the prefix
      */
     @Override
-    public boolean containsPrefix(ITrie trie, String prefix) {
-        ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), prefix, 0);
+    public boolean containsPrefix(ITrie trie, CharSequence prefix) {
+        ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), prefix);
         return lastMatchingNode != null;
     }
 
+    /**
+     * Counts the words of the Trie that start with a prefix
+     * A word is a prefix of itself. So "word" is counted for the prefix "word"
+     *
+     * @param trie   The Trie to search into
+     * @param prefix The prefix to check
+     * @return the number of words that start with the prefix
+     */
+    @Override
+    public int countWithPrefix(ITrie trie, CharSequence prefix) {
+        ITrieNode lastMatchingNode = getLastMatchingNode(trie.getRoot(), prefix);
+        return lastMatchingNode == null ? 0 : lastMatchingNode.getWordCount();
+    }
+
+    /**
+     * Helper method that returns the last matching node, that is, the trieNode that the last character points.
+     *
+     * @param root the root trieNode of the trie
+     * @param word the word to look for
+     * @return the last matching trieNode
+     */
+    private ITrieNode getLastMatchingNode(ITrieNode root, CharSequence word) {
+        return word.length() == 0 ? root : getLastMatchingNode(root, word, 0);
+    }
+
     /**
      * Helper recursive method that returns the last matching node.
      * The initial call to this function is with the "root" trieNode of the trie.
      *
      * @param trieNode the trieNode to look for the character
-     * @param word     the word to delete
+     * @param word     the word to look for
      * @param index    the index of the character of the word
      * @return the last matching trieNode
      */
-    private ITrieNode getLastMatchingNode(ITrieNode trieNode, String word, int index) {
+    private ITrieNode getLastMatchingNode(ITrieNode trieNode, CharSequence word, int index) {
         char character = word.charAt(index);
         if (!trieNode.containsCharacter(character)) return null;
         return isLastCharacterInWord(word, index)
-                ? trieNode
+                ? trieNode.getTrieNodeForChar(character)
                 : getLastMatchingNode(trieNode.getTrieNodeForChar(character), word, index + 1);
     }
 
@@ -135,7 +266,7 @@ public class TrieRecursiveAlgorithm2 implements ITrieAlgorithm {
      * @param index The index of the word
      * @return true if the index is equal to the position of the last character of the word
      */
-    private boolean isLastCharacterInWord(String word, int index) {
+    private boolean isLastCharacterInWord(CharSequence word, int index) {
         return index == word.length() - 1;
     }
 }
@@ -0,0 +1,234 @@
+package async;
+
+import trie.ITrie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A facade of a Trie that returns CompletableFutures, for callers that must not block, like event loops.
+ * <p>
+ * The searches of a word or a prefix take as long as the key, so they run in the caller thread and their futures
+ * are already completed. The queries that visit many trieNodes, like enumerating or counting words,
+ * run in an executor, which should be bounded so a burst of queries fails fast instead of queueing without limit.
+ * <p>
+ * The identical queries that arrive while one of them is running share its execution and its result,
+ * so the lists of words they return are unmodifiable. Each caller gets its own future, which it can cancel
+ * without affecting the others.
+ * The Trie is read from the executor threads and the caller threads, so it must be thread-safe
+ * if it is modified while it is queried.
+ */
+public class AsyncTrie {
+    private final ITrie trie;
+    private final Executor executor;
+    private final Map<Query, CompletableFuture<Object>> inFlightQueries = new ConcurrentHashMap<>();
+    private final LongAdder executedQueriesCount = new LongAdder();
+    private final LongAdder coalescedQueriesCount = new LongAdder();
+
+    /**
+     * Creates a facade of a Trie
+     *
+     * @param trie     The Trie to query
+     * @param executor The executor of the queries that visit many trieNodes, see {@link #newBoundedExecutor(int, int)}
+     */
+    public AsyncTrie(ITrie trie, Executor executor) {
+        this.trie = trie;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates an executor with a fixed number of threads and a bounded queue, which rejects the queries
+     * when the queue is full, so their futures fail with a RejectedExecutionException
+     *
+     * @param threadsCount  The number of threads
+     * @param queueCapacity The maximum number of queries waiting for a thread
+     * @return the executor, to shut down when it is not used anymore
+     */
+    public static ExecutorService newBoundedExecutor(int threadsCount, int queueCapacity) {
+        AtomicInteger threadsCreated = new AtomicInteger();
+        return new ThreadPoolExecutor(threadsCount, threadsCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "async-trie-" + threadsCreated.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public ITrie getTrie() {
+        return trie;
+    }
+
+    /**
+     * Checks if the Trie contains a word, in the caller thread
+     *
+     * @param word The word to search
+     * @return the completed future of the search
+     */
+    public CompletableFuture<Boolean> containsWord(CharSequence word) {
+        return now(() -> trie.containsWord(word));
+    }
+
+    /**
+     * Checks if the Trie contains a prefix, in the caller thread
+     *
+     * @param prefix The prefix to search
+     * @return the completed future of the search
+     */
+    public CompletableFuture<Boolean> containsPrefix(CharSequence prefix) {
+        return now(() -> trie.containsPrefix(prefix));
+    }
+
+    /**
+     * Counts the words that start with a prefix, in the executor
+     *
+     * @param prefix The prefix of the words
+     * @return the future of the number of words
+     */
+    public CompletableFuture<Integer> countWithPrefix(String prefix) {
+        return coalesce(new Query("countWithPrefix", prefix), () -> trie.countWithPrefix(prefix));
+    }
+
+    /**
+     * Returns the words that start with a prefix, in ascending order, in the executor
+     *
+     * @param prefix The prefix of the words
+     * @return the future of the unmodifiable list of words
+     */
+    public CompletableFuture<List<String>> wordsWithPrefix(String prefix) {
+        return coalesce(new Query("wordsWithPrefix", prefix), () -> toList(trie.wordsWithPrefix(prefix), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Returns the first words that start with a prefix, in ascending order, in the executor
+     *
+     * @param prefix The prefix of the words
+     * @param limit  The maximum number of words
+     * @return the future of the unmodifiable list of words
+     */
+    public CompletableFuture<List<String>> completions(String prefix, int limit) {
+        return coalesce(new Query("completions", prefix, limit), () -> toList(trie.wordsWithPrefix(prefix), limit));
+    }
+
+    /**
+     * Returns the words between two words, in ascending order, in the executor
+     *
+     * @param fromWord The lowest word of the range, inclusive
+     * @param toWord   The highest word of the range, exclusive
+     * @return the future of the unmodifiable list of words
+     */
+    public CompletableFuture<List<String>> range(String fromWord, String toWord) {
+        return coalesce(new Query("range", fromWord, toWord), () -> toList(trie.range(fromWord, toWord), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Returns the number of queries that ran in the executor
+     *
+     * @return the number of executions
+     */
+    public long getExecutedQueriesCount() {
+        return executedQueriesCount.sum();
+    }
+
+    /**
+     * Returns the number of queries that shared the execution of an identical query
+     *
+     * @return the number of coalesced queries
+     */
+    public long getCoalescedQueriesCount() {
+        return coalescedQueriesCount.sum();
+    }
+
+    private static <T> CompletableFuture<T> now(Supplier<T> search) {
+        try {
+            return CompletableFuture.completedFuture(search.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Helper method that runs a query in the executor, unless an identical query is running,
+     * in which case its result is shared. The query is removed from the running queries before its future
+     * is completed, so the queries that arrive afterwards run again and see the latest changes.
+     *
+     * @param query     The query and its arguments
+     * @param execution Runs the query
+     * @return a future of the result, owned by the caller
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> coalesce(Query query, Supplier<T> execution) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> runningFuture = inFlightQueries.putIfAbsent(query, future);
+        if (runningFuture != null) {
+            coalescedQueriesCount.increment();
+            return (CompletableFuture<T>) runningFuture.copy();
+        }
+        try {
+            executor.execute(() -> {
+                executedQueriesCount.increment();
+                try {
+                    Object result = execution.get();
+                    inFlightQueries.remove(query, future);
+                    future.complete(result);
+                } catch (Throwable e) {
+                    inFlightQueries.remove(query, future);
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightQueries.remove(query, future);
+            future.completeExceptionally(e);
+        }
+        return (CompletableFuture<T>) future.copy();
+    }
+
+    private static List<String> toList(Iterable<String> words, int limit) {
+        List<String> list = new ArrayList<>();
+        Iterator<String> iterator = words.iterator();
+        while (list.size() < limit && iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * The name and the arguments of a query, equal for identical queries
+     */
+    private static final class Query {
+        private final String name;
+        private final List<Object> arguments;
+
+        private Query(String name, Object... arguments) {
+            this.name = name;
+            this.arguments = Arrays.asList(arguments);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Query)) return false;
+            Query query = (Query) o;
+            return name.equals(query.name) && arguments.equals(query.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + arguments.hashCode();
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package cache;
+
+import trie.ForwardingTrie;
+import trie.ITrie;
+import trie.TrieCursor;
+import trie.TrieNodeCursor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * A Trie with a maximum number of words, and optionally a time to live for each word,
+ * to use as a cache of recently seen keys.
+ * <p>
+ * When a word is inserted in a full Trie, a word that was not used recently is evicted with deleteWord.
+ * The recency is approximated with the CLOCK algorithm: each word has a "referenced" bit set by containsWord,
+ * and the eviction moves a hand around the words clearing the bits, until it finds a word whose bit is clear.
+ * So containsWord only sets a volatile flag and takes no lock. The entry of a word is found in an open-addressing
+ * index, probed with the characters of the word, so a search doesn't copy the word nor allocate.
+ * The index is only changed by the writers: a removed entry is replaced by a marker, and the index is rebuilt
+ * and published as a new array when the markers fill it, so a reader never misses an entry that stays.
+ * <p>
+ * The expired words are not found by containsWord, and are evicted before any other word when the hand reaches them,
+ * or by {@link #evictExpiredWords()}. Until then, they are still counted and enumerated by the other methods.
+ * The changes are serialized by this Trie, but the decorated Trie must be thread-safe to be read by several threads.
+ */
+public class BoundedTrie extends ForwardingTrie {
+    // Replaces a removed entry in the index
+    private static final Entry REMOVED = new Entry("", 0, -1, 0);
+    private final int maxWordsCount;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoTime;
+    // The entries by word, with linear probing. Its capacity keeps it at most three quarters full
+    private volatile AtomicReferenceArray<Entry> index;
+    private int removedEntriesCount;
+    // The words in the clock, each one knows its slot. The free slots are reused before evicting a word
+    private final Entry[] clock;
+    private final int[] freeSlots;
+    private int freeSlotsCount;
+    private int usedSlotsCount;
+    private int hand;
+
+    /**
+     * Creates a Trie with a maximum number of words, whose words don't expire
+     *
+     * @param trie          The decorated Trie, its words are added to the clock and evicted if there are too many
+     * @param maxWordsCount The maximum number of words
+     */
+    public BoundedTrie(ITrie trie, int maxWordsCount) {
+        this(trie, maxWordsCount, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a Trie with a maximum number of words, that expire after a time
+     *
+     * @param trie          The decorated Trie, its words are added to the clock and evicted if there are too many
+     * @param maxWordsCount The maximum number of words
+     * @param timeToLive    The time to live of a word since it is inserted, or 0 if the words don't expire
+     * @param timeUnit      The unit of the time to live
+     * @throws IllegalArgumentException if the maximum number of words is not positive, or the time to live is negative
+     */
+    public BoundedTrie(ITrie trie, int maxWordsCount, long timeToLive, TimeUnit timeUnit) {
+        this(trie, maxWordsCount, timeUnit.toNanos(timeToLive), System::nanoTime);
+    }
+
+    BoundedTrie(ITrie trie, int maxWordsCount, long timeToLiveNanos, LongSupplier nanoTime) {
+        super(trie);
+        if (maxWordsCount <= 0) throw new IllegalArgumentException("The maximum number of words must be positive: " + maxWordsCount);
+        if (timeToLiveNanos < 0) throw new IllegalArgumentException("The time to live must not be negative: " + timeToLiveNanos);
+        this.maxWordsCount = maxWordsCount;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.nanoTime = nanoTime;
+        this.clock = new Entry[maxWordsCount];
+        this.freeSlots = new int[maxWordsCount];
+        this.index = new AtomicReferenceArray<>(getIndexCapacity(maxWordsCount));
+        List<String> words = new ArrayList<>();
+        trie.wordsWithPrefix("").forEach(words::add);
+        for (String word : words) {
+            if (usedSlotsCount < maxWordsCount) {
+                addEntry(word);
+            } else {
+                super.deleteWord(word);
+            }
+        }
+    }
+
+    /**
+     * Inserts a word, evicting another word if the Trie is full.
+     * If the word was already in the Trie, it is marked as used and its time to live starts again.
+     *
+     * @param word The word to insert
+     * @return true if the word was inserted
+     */
+    @Override
+    public synchronized boolean insertWord(CharSequence word) {
+        Entry entry = getEntry(word);
+        if (entry != null) {
+            entry.referenced = true;
+            entry.expirationTime = getExpirationTime();
+            return false;
+        }
+        if (freeSlotsCount == 0 && usedSlotsCount == maxWordsCount) {
+            evict();
+        }
+        boolean inserted = super.insertWord(word);
+        if (inserted) addEntry(word.toString());
+        return inserted;
+    }
+
+    @Override
+    public synchronized boolean deleteWord(CharSequence word) {
+        boolean deleted = super.deleteWord(word);
+        Entry entry = getEntry(word);
+        if (entry != null) releaseEntry(entry);
+        return deleted;
+    }
+
+    /**
+     * Deletes the words that start with a prefix, and removes them from the clock
+     *
+     * @param prefix The prefix of the words to delete
+     * @return the number of deleted words
+     */
+    @Override
+    public synchronized int deletePrefix(CharSequence prefix) {
+        for (String word : super.wordsWithPrefix(prefix.toString())) {
+            Entry entry = getEntry(word);
+            if (entry != null) releaseEntry(entry);
+        }
+        return super.deletePrefix(prefix);
+    }
+
+    /**
+     * Checks if the Trie contains a word that did not expire, and marks it as used
+     *
+     * @param word The word to search
+     * @return true if the Trie contains the word
+     */
+    @Override
+    public boolean containsWord(CharSequence word) {
+        Entry entry = getEntry(word);
+        if (entry == null || isExpired(entry, nanoTime.getAsLong())) return false;
+        if (!entry.referenced) entry.referenced = true;
+        return super.containsWord(word);
+    }
+
+    /**
+     * Creates a cursor that follows the rules of containsWord: the expired words are not words of the cursor,
+     * nor completions, and a word found by the cursor is marked as used.
+     * Like the other methods, the count of completions includes the expired words until they are evicted.
+     *
+     * @return the cursor
+     */
+    @Override
+    public TrieCursor cursor() {
+        return new BoundedCursor();
+    }
+
+    /**
+     * Evicts all the expired words
+     *
+     * @return the number of evicted words
+     */
+    public synchronized int evictExpiredWords() {
+        if (timeToLiveNanos == 0) return 0;
+        long now = nanoTime.getAsLong();
+        int evictedCount = 0;
+        for (Entry entry : clock) {
+            if (entry != null && isExpired(entry, now)) {
+                removeEntry(entry);
+                evictedCount++;
+            }
+        }
+        return evictedCount;
+    }
+
+    public int getMaxWordsCount() {
+        return maxWordsCount;
+    }
+
+    /**
+     * Helper method that moves the hand of the clock until it finds a word that is expired,
+     * or that was not used since the hand passed, and evicts it.
+     * The hand clears the bits it passes, so it finds a word in at most one turn.
+     */
+    private void evict() {
+        long now = nanoTime.getAsLong();
+        while (true) {
+            Entry entry = clock[hand];
+            hand = (hand + 1) % maxWordsCount;
+            if (entry == null) continue;
+            if (entry.referenced && !isExpired(entry, now)) {
+                entry.referenced = false;
+            } else {
+                removeEntry(entry);
+                return;
+            }
+        }
+    }
+
+    private void removeEntry(Entry entry) {
+        super.deleteWord(entry.word);
+        releaseEntry(entry);
+    }
+
+    private void addEntry(String word) {
+        int slot = freeSlotsCount == 0 ? usedSlotsCount++ : freeSlots[--freeSlotsCount];
+        Entry entry = new Entry(word, getHash(word), slot, getExpirationTime());
+        clock[slot] = entry;
+        int wordsCount = usedSlotsCount - freeSlotsCount;
+        if ((wordsCount + removedEntriesCount) * 4L > index.length() * 3L) {
+            rebuildIndex();
+        }
+        AtomicReferenceArray<Entry> index = this.index;
+        int mask = index.length() - 1;
+        int position = entry.hash & mask;
+        while (index.get(position) != null && index.get(position) != REMOVED) {
+            position = (position + 1) & mask;
+        }
+        if (index.get(position) == REMOVED) removedEntriesCount--;
+        index.set(position, entry);
+    }
+
+    /**
+     * Helper method that removes an entry from the index and from the clock
+     *
+     * @param entry The entry
+     */
+    private void releaseEntry(Entry entry) {
+        AtomicReferenceArray<Entry> index = this.index;
+        int mask = index.length() - 1;
+        int position = entry.hash & mask;
+        while (index.get(position) != entry) {
+            position = (position + 1) & mask;
+        }
+        // The marker keeps the probes of the readers going past the position
+        index.set(position, REMOVED);
+        removedEntriesCount++;
+        clock[entry.slot] = null;
+        freeSlots[freeSlotsCount++] = entry.slot;
+    }
+
+    /**
+     * Helper method that copies the entries to a new index without the markers of the removed entries,
+     * and publishes it. The readers that still probe the old index find the same entries there.
+     */
+    private void rebuildIndex() {
+        AtomicReferenceArray<Entry> newIndex = new AtomicReferenceArray<>(index.length());
+        int mask = newIndex.length() - 1;
+        for (Entry entry : clock) {
+            if (entry == null) continue;
+            int position = entry.hash & mask;
+            while (newIndex.get(position) != null) {
+                position = (position + 1) & mask;
+            }
+            newIndex.set(position, entry);
+        }
+        index = newIndex;
+        removedEntriesCount = 0;
+    }
+
+    /**
+     * Helper method that finds the entry of a word, without copying it
+     *
+     * @param word The word
+     * @return the entry of the word, or null if it is not in the clock
+     */
+    private Entry getEntry(CharSequence word) {
+        AtomicReferenceArray<Entry> index = this.index;
+        int mask = index.length() - 1;
+        int hash = getHash(word);
+        for (int position = hash & mask; ; position = (position + 1) & mask) {
+            Entry entry = index.get(position);
+            if (entry == null) return null;
+            if (entry != REMOVED && entry.hash == hash && entry.word.contentEquals(word)) return entry;
+        }
+    }
+
+    private static int getHash(CharSequence word) {
+        int hash = 0;
+        for (int i = 0; i < word.length(); i++) {
+            hash = 31 * hash + word.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Helper method that returns a power of two that keeps the index of a number of words at most half full,
+     * so that the markers of the removed entries can fill a quarter of it before the index is rebuilt
+     *
+     * @param maxWordsCount The maximum number of words
+     * @return the capacity of the index
+     */
+    private static int getIndexCapacity(int maxWordsCount) {
+        int capacity = Integer.highestOneBit(maxWordsCount) << 2;
+        return Math.max(capacity, 4);
+    }
+
+    private long getExpirationTime() {
+        return timeToLiveNanos == 0 ? 0 : nanoTime.getAsLong() + timeToLiveNanos;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return timeToLiveNanos != 0 && now - entry.expirationTime >= 0;
+    }
+
+    /**
+     * A cursor over the decorated Trie that hides the expired words
+     */
+    private final class BoundedCursor extends TrieNodeCursor {
+
+        private BoundedCursor() {
+            super(getRoot());
+        }
+
+        @Override
+        public boolean isWord() {
+            if (!super.isWord()) return false;
+            Entry entry = getEntry(getPrefixCharacters());
+            if (entry == null || isExpired(entry, nanoTime.getAsLong())) return false;
+            if (!entry.referenced) entry.referenced = true;
+            return true;
+        }
+
+        @Override
+        protected boolean isCompletion(String word) {
+            Entry entry = getEntry(word);
+            return entry != null && !isExpired(entry, nanoTime.getAsLong());
+        }
+    }
+
+    /**
+     * A word of the clock
+     */
+    private static final class Entry {
+        private final String word;
+        private final int hash;
+        private final int slot;
+        private volatile boolean referenced;
+        private volatile long expirationTime;
+
+        private Entry(String word, int hash, int slot, long expirationTime) {
+            this.word = word;
+            this.hash = hash;
+            this.slot = slot;
+            this.expirationTime = expirationTime;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package cache;
+
+import node.ITrieNode;
+import trie.ForwardingTrie;
+import trie.ITrie;
+import trie.TrieWordIterator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * A Trie that caches the trieNode where a prefix ends, so that the searches of hot prefixes,
+ * and of the words and prefixes that extend them, don't walk from the root.
+ * <p>
+ * The cache is direct-mapped: a prefix can only be in the slot of its hash, replacing the prefix that was there.
+ * A search looks up every prefix of the key in the cache, hashing it incrementally, and walks the rest of the key
+ * from the trieNode of the longest cached prefix. The trieNode where the key ends is then cached,
+ * and the key is only copied when it is cached.
+ * <p>
+ * Inserting a word only adds trieNodes, so the cached trieNodes stay valid. Deleting a word can remove
+ * the trieNodes of its prefixes, so they are removed from the cache.
+ * The decorated Trie must keep the convention of the algorithms of this project:
+ * the "isEndOfWord" flag is set in the trieNode that the last character of the word points.
+ * <p>
+ * The searches walk the trieNodes from {@link #getRoot()} directly, so the decorated Trie must expose its root,
+ * and its own synchronization is skipped: a {@code concurrent.ConcurrentPartitionedTrie} can't be decorated,
+ * since it has no single root and it walks its partitions under their locks.
+ */
+public class PrefixCachingTrie extends ForwardingTrie {
+    private final AtomicReferenceArray<CacheEntry> cache;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    // Incremented by every deletion, so that a search that overlaps it doesn't cache a removed trieNode
+    private final AtomicLong deletionsCount = new AtomicLong();
+    // Called with a slot before it is cleared by a deletion
+    private final IntConsumer beforeClearingSlot;
+
+    /**
+     * Creates the cache of a Trie
+     *
+     * @param trie      The decorated Trie
+     * @param cacheSize The number of slots of the cache, rounded up to a power of two
+     * @throws IllegalArgumentException if the cache size is not positive
+     */
+    public PrefixCachingTrie(ITrie trie, int cacheSize) {
+        this(trie, cacheSize, slot -> {
+        });
+    }
+
+    PrefixCachingTrie(ITrie trie, int cacheSize, IntConsumer beforeClearingSlot) {
+        super(trie);
+        if (cacheSize <= 0) throw new IllegalArgumentException("The cache size must be positive: " + cacheSize);
+        int capacity = Integer.highestOneBit(cacheSize);
+        if (capacity < cacheSize) capacity <<= 1;
+        this.cache = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.beforeClearingSlot = beforeClearingSlot;
+    }
+
+    @Override
+    public boolean containsWord(CharSequence word) {
+        ITrieNode trieNode = getTrieNode(word);
+        return trieNode != null && trieNode.isEndOfWord();
+    }
+
+    @Override
+    public boolean containsPrefix(CharSequence prefix) {
+        return getTrieNode(prefix) != null;
+    }
+
+    @Override
+    public int countWithPrefix(CharSequence prefix) {
+        ITrieNode trieNode = getTrieNode(prefix);
+        return trieNode == null ? 0 : trieNode.getWordCount();
+    }
+
+    @Override
+    public Iterable<String> wordsWithPrefix(String prefix) {
+        return () -> TrieWordIterator.forTrieNode(getTrieNode(prefix), prefix);
+    }
+
+    @Override
+    public boolean deleteWord(CharSequence word) {
+        boolean deleted = super.deleteWord(word);
+        if (deleted) {
+            deletionsCount.incrementAndGet();
+            invalidatePrefixes(word);
+            // As in clearCache, a search that started after the first increment can find a prefix not invalidated yet
+            deletionsCount.incrementAndGet();
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes the words that start with a prefix. The cached trieNodes of the prefix, of the prefixes that extend it,
+     * and of the prefixes of it that are left without words are removed, so the whole cache is cleared.
+     *
+     * @param prefix The prefix of the words to delete
+     * @return the number of deleted words
+     */
+    @Override
+    public int deletePrefix(CharSequence prefix) {
+        int deletedCount = super.deletePrefix(prefix);
+        if (deletedCount > 0) clearCache();
+        return deletedCount;
+    }
+
+    /**
+     * Removes every prefix from the cache
+     */
+    public void clearCache() {
+        deletionsCount.incrementAndGet();
+        for (int i = 0; i < cache.length(); i++) {
+            beforeClearingSlot.accept(i);
+            cache.set(i, null);
+        }
+        // A search that started after the first increment can still find a slot not cleared yet,
+        // and cache a trieNode found through it in a slot already cleared, so it must see a second change
+        deletionsCount.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of searches that started from a cached trieNode
+     *
+     * @return the number of cache hits
+     */
+    public long getHitsCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of searches that started from the root
+     *
+     * @return the number of cache misses
+     */
+    public long getMissesCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Helper method that finds the trieNode where a key ends, starting from the longest cached prefix of the key
+     *
+     * @param key The word or prefix to search
+     * @return the trieNode where the key ends, or null if the Trie doesn't contain the key as a prefix
+     */
+    private ITrieNode getTrieNode(CharSequence key) {
+        int length = key.length();
+        if (length == 0) return getRoot();
+        long deletionsCountBefore = deletionsCount.get();
+
+        // The prefixes are probed from the shortest, so that their hashes are computed while probing
+        ITrieNode trieNode = null;
+        int matchedLength = 0;
+        int hash = 0;
+        int spreadHash = 0;
+        for (int prefixLength = 1; prefixLength <= length; prefixLength++) {
+            hash = 31 * hash + key.charAt(prefixLength - 1);
+            spreadHash = spread(hash);
+            CacheEntry entry = cache.get(spreadHash & mask);
+            if (entry != null && entry.matches(key, prefixLength, spreadHash)) {
+                trieNode = entry.trieNode;
+                matchedLength = prefixLength;
+            }
+        }
+        if (trieNode == null) {
+            misses.increment();
+            trieNode = getRoot();
+        } else {
+            hits.increment();
+            if (matchedLength == length) return trieNode;
+        }
+        for (int i = matchedLength; i < length && trieNode != null; i++) {
+            trieNode = trieNode.getTrieNodeForChar(key.charAt(i));
+        }
+        if (trieNode != null) {
+            cacheTrieNode(key, spreadHash, trieNode, deletionsCountBefore);
+        }
+        return trieNode;
+    }
+
+    private void cacheTrieNode(CharSequence prefix, int hash, ITrieNode trieNode, long deletionsCountBefore) {
+        int slot = hash & mask;
+        CacheEntry entry = new CacheEntry(prefix.toString(), hash, trieNode);
+        cache.set(slot, entry);
+        // A deletion that started after the search may have removed the trieNode before it was cached
+        if (deletionsCount.get() != deletionsCountBefore) {
+            cache.compareAndSet(slot, entry, null);
+        }
+    }
+
+    private void invalidatePrefixes(CharSequence word) {
+        int hash = 0;
+        for (int prefixLength = 1; prefixLength <= word.length(); prefixLength++) {
+            hash = 31 * hash + word.charAt(prefixLength - 1);
+            int spreadHash = spread(hash);
+            int slot = spreadHash & mask;
+            beforeClearingSlot.accept(slot);
+            CacheEntry entry = cache.get(slot);
+            // A search can cache the prefix again between the read and the compareAndSet
+            while (entry != null && entry.matches(word, prefixLength, spreadHash)
+                    && !cache.compareAndSet(slot, entry, null)) {
+                entry = cache.get(slot);
+            }
+        }
+    }
+
+    /**
+     * Helper method that spreads the hash of a prefix, so that the low bits that choose the slot depend on all of it.
+     * The hash of a prefix is computed from the hash of the prefix one character shorter, as in String.hashCode
+     *
+     * @param hash The hash of the prefix
+     * @return the spread hash
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A cached prefix and the trieNode where it ends
+     */
+    private static final class CacheEntry {
+        private final String prefix;
+        private final int hash;
+        private final ITrieNode trieNode;
+
+        private CacheEntry(String prefix, int hash, ITrieNode trieNode) {
+            this.prefix = prefix;
+            this.hash = hash;
+            this.trieNode = trieNode;
+        }
+
+        private boolean matches(CharSequence key, int length, int keyHash) {
+            if (hash != keyHash || prefix.length() != length) return false;
+            for (int i = length - 1; i >= 0; i--) {
+                if (prefix.charAt(i) != key.charAt(i)) return false;
+            }
+            return true;
+        }
+    }
+}
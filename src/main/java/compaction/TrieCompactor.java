@@ -0,0 +1,189 @@
+package compaction;
+
+import node.ITrieNode;
+import node.TrieNodeMap;
+import trie.ITrie;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Compacts the TrieNodeMap trieNodes of a Trie incrementally, so that the memory left by deleted words
+ * is released without stopping the Trie for a whole pass.
+ * <p>
+ * A pass visits the trieNodes in pre-order and calls {@link TrieNodeMap#compact()} on each one,
+ * which releases the TreeMap of the trieNodes left with one child or none, so the chains of single-child trieNodes
+ * keep their children inline. Each call of {@link #compact(long, TimeUnit)} runs the pass for a maximum time
+ * and remembers the prefix of the next trieNode, so the next call continues there, even if the Trie changed meanwhile.
+ * The trieNodes of other classes are visited but not changed.
+ * <p>
+ * The compaction changes the trieNodes, so each call must not overlap other calls to the Trie,
+ * for example it can run in a background thread holding the same lock as the writers and readers of the Trie:
+ * <pre>{@code
+ * scheduler.scheduleWithFixedDelay(() -> {
+ *     synchronized (lock) {
+ *         compactor.compact(1, TimeUnit.MILLISECONDS);
+ *     }
+ * }, 100, 100, TimeUnit.MILLISECONDS);
+ * }</pre>
+ */
+public class TrieCompactor {
+    private final ITrie trie;
+    private final LongSupplier nanoTime;
+    // The prefix of the next trieNode to visit, or null to start a new pass from the root
+    private String nextPrefix;
+    private long reclaimedBytes;
+    private long visitedTrieNodesCount;
+    private long passesCount;
+
+    public TrieCompactor(ITrie trie) {
+        this(trie, System::nanoTime);
+    }
+
+    TrieCompactor(ITrie trie, LongSupplier nanoTime) {
+        this.trie = trie;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Continues the pass of compaction for a maximum time. At least one trieNode is visited by each call
+     *
+     * @param maxTime The maximum time of the call
+     * @param unit    The unit of the maximum time
+     * @return the number of bytes reclaimed by the call
+     */
+    public long compact(long maxTime, TimeUnit unit) {
+        long deadline = nanoTime.getAsLong() + unit.toNanos(maxTime);
+        Deque<ITrieNode> path = new ArrayDeque<>();
+        StringBuilder prefix = new StringBuilder();
+        path.push(trie.getRoot());
+        if (nextPrefix != null && !seek(nextPrefix, path, prefix)) {
+            endPass();
+            return 0;
+        }
+        long reclaimedBytesBefore = reclaimedBytes;
+        do {
+            ITrieNode trieNode = path.peek();
+            if (trieNode instanceof TrieNodeMap) {
+                reclaimedBytes += ((TrieNodeMap) trieNode).compact();
+            }
+            visitedTrieNodesCount++;
+            if (!next(path, prefix)) {
+                endPass();
+                return reclaimedBytes - reclaimedBytesBefore;
+            }
+        } while (nanoTime.getAsLong() - deadline < 0);
+        nextPrefix = prefix.toString();
+        return reclaimedBytes - reclaimedBytesBefore;
+    }
+
+    /**
+     * Runs the rest of the pass of compaction, or a whole pass if none was started
+     *
+     * @return the number of bytes reclaimed
+     */
+    public long compactAll() {
+        long passesCountBefore = passesCount;
+        long reclaimedBytesBefore = reclaimedBytes;
+        while (passesCount == passesCountBefore) {
+            compact(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        return reclaimedBytes - reclaimedBytesBefore;
+    }
+
+    /**
+     * Checks if a pass is in progress, so the next call continues it instead of starting from the root
+     *
+     * @return true if a pass was started and not finished
+     */
+    public boolean isPassInProgress() {
+        return nextPrefix != null;
+    }
+
+    /**
+     * Returns the number of bytes reclaimed since the compactor was created, as estimated by the trieNodes
+     *
+     * @return the reclaimed bytes
+     */
+    public long getReclaimedBytes() {
+        return reclaimedBytes;
+    }
+
+    public long getVisitedTrieNodesCount() {
+        return visitedTrieNodesCount;
+    }
+
+    public long getPassesCount() {
+        return passesCount;
+    }
+
+    private void endPass() {
+        nextPrefix = null;
+        passesCount++;
+    }
+
+    /**
+     * Helper method that moves to the next trieNode in pre-order: the first child of the trieNode,
+     * or else the next sibling of the trieNode or of the closest trieNode above it that has one
+     *
+     * @param path   The trieNodes from the root to the current trieNode, the current one on top
+     * @param prefix The prefix of the current trieNode
+     * @return false if the current trieNode was the last one
+     */
+    private static boolean next(Deque<ITrieNode> path, StringBuilder prefix) {
+        ITrieNode trieNode = path.peek();
+        Character firstCharacter = trieNode.getFirstCharacter();
+        if (firstCharacter != null) {
+            prefix.append(firstCharacter.charValue());
+            path.push(trieNode.getTrieNodeForChar(firstCharacter));
+            return true;
+        }
+        return nextSibling(path, prefix);
+    }
+
+    private static boolean nextSibling(Deque<ITrieNode> path, StringBuilder prefix) {
+        while (prefix.length() > 0) {
+            char character = prefix.charAt(prefix.length() - 1);
+            path.pop();
+            prefix.setLength(prefix.length() - 1);
+            Character higherCharacter = path.peek().getHigherCharacter(character);
+            if (higherCharacter != null) {
+                prefix.append(higherCharacter.charValue());
+                path.push(path.peek().getTrieNodeForChar(higherCharacter));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method that walks to the trieNode of a prefix, or, if the prefix was removed from the Trie,
+     * to the first trieNode after it in pre-order
+     *
+     * @param targetPrefix The prefix to find
+     * @param path         The trieNodes from the root to the trieNode found, the root alone when called
+     * @param prefix       The prefix of the trieNode found, empty when called
+     * @return false if no trieNode follows the prefix
+     */
+    private static boolean seek(String targetPrefix, Deque<ITrieNode> path, StringBuilder prefix) {
+        for (int i = 0; i < targetPrefix.length(); i++) {
+            ITrieNode trieNode = path.peek();
+            char character = targetPrefix.charAt(i);
+            ITrieNode nextTrieNode = trieNode.getTrieNodeForChar(character);
+            if (nextTrieNode == null) {
+                Character higherCharacter = trieNode.getHigherCharacter(character);
+                if (higherCharacter != null) {
+                    prefix.append(higherCharacter.charValue());
+                    path.push(trieNode.getTrieNodeForChar(higherCharacter));
+                    return true;
+                }
+                return nextSibling(path, prefix);
+            }
+            prefix.append(character);
+            path.push(nextTrieNode);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,567 @@
+package concurrent;
+
+import algorithm.ITrieAlgorithm;
+import node.ITrieNode;
+import node.TrieNodeArray;
+import trie.ForwardingTrie;
+import trie.ITrie;
+import trie.TrieCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe Trie that partitions the words by contiguous ranges of their first character.
+ * Each partition is a Trie guarded by its own StampedLock, so writers of different partitions never contend.
+ * The characters from 'a' to 'z' are split evenly among the partitions, the lower characters go to the first one
+ * and the higher characters to the last one.
+ * <p>
+ * The partitions are in the lexicographic order of their words, so the words of a non-empty prefix are in a single
+ * partition, and the ordered methods read the partitions one after the other, instead of merging them.
+ * <p>
+ * Readers take the read lock of the partition. If optimistic reads are enabled, they first read without it,
+ * and take it only if a writer changed the partition meanwhile, or if the read failed with an exception
+ * because it saw the partition in the middle of a change.
+ * Optimistic reads rely on the traversal of a partition ending even while it is modified.
+ * That holds for the fixed arrays of TrieNodeArray, but not for the TreeMap of TrieNodeMap,
+ * whose traversal can loop forever while it is rebalanced, so they are only allowed for array-based trieNodes.
+ * They are not allowed for decorated partitions either, since the reads of decorators like
+ * {@code cache.PrefixCachingTrie} or {@code cache.BoundedTrie} change their own state, which a read without
+ * the lock would change concurrently with a writer.
+ * <p>
+ * The methods that read several partitions, like size, rank or select, read each one consistently,
+ * but not all of them at the same instant.
+ */
+public class ConcurrentPartitionedTrie implements ITrie {
+    private static final int ALPHABET_SIZE = 26;
+    private final ITrie[] partitions;
+    private final StampedLock[] locks;
+    // The lowest first character of each partition but the first one, in ascending order
+    private final char[] splitCharacters;
+    private final boolean optimisticReads;
+
+    /**
+     * Creates a partitioned Trie whose reads take the read lock
+     *
+     * @param trieSupplier    Creates the empty Trie of each partition
+     * @param partitionsCount The number of partitions
+     */
+    public ConcurrentPartitionedTrie(Supplier<ITrie> trieSupplier, int partitionsCount) {
+        this(trieSupplier, partitionsCount, false);
+    }
+
+    /**
+     * Creates a partitioned Trie
+     *
+     * @param trieSupplier    Creates the empty Trie of each partition
+     * @param partitionsCount The number of partitions
+     * @param optimisticReads true to try optimistic reads before taking the read lock,
+     *                        only if the partitions use TrieNodeArray trieNodes
+     * @throws IllegalArgumentException if the number of partitions is not between 1 and 26,
+     *                                  or optimistic reads are asked for decorated partitions
+     *                                  or for partitions of other trieNodes
+     */
+    public ConcurrentPartitionedTrie(Supplier<ITrie> trieSupplier, int partitionsCount, boolean optimisticReads) {
+        if (partitionsCount <= 0 || partitionsCount > ALPHABET_SIZE) {
+            throw new IllegalArgumentException("The number of partitions must be between 1 and " + ALPHABET_SIZE
+                    + ": " + partitionsCount);
+        }
+        this.partitions = new ITrie[partitionsCount];
+        this.locks = new StampedLock[partitionsCount];
+        for (int i = 0; i < partitionsCount; i++) {
+            partitions[i] = trieSupplier.get();
+            locks[i] = new StampedLock();
+        }
+        this.splitCharacters = new char[partitionsCount - 1];
+        for (int i = 1; i < partitionsCount; i++) {
+            splitCharacters[i - 1] = (char) ('a' + i * ALPHABET_SIZE / partitionsCount);
+        }
+        if (optimisticReads && partitions[0] instanceof ForwardingTrie) {
+            throw new IllegalArgumentException("Optimistic reads can't read decorated partitions: "
+                    + partitions[0].getClass().getSimpleName());
+        }
+        if (optimisticReads && !(partitions[0].getRoot() instanceof TrieNodeArray)) {
+            throw new IllegalArgumentException("Optimistic reads need TrieNodeArray trieNodes: "
+                    + partitions[0].getRoot().getClass().getSimpleName());
+        }
+        this.optimisticReads = optimisticReads;
+    }
+
+    @Override
+    public void setTrieAlgorithm(ITrieAlgorithm trieAlgorithm) {
+        for (int i = 0; i < partitions.length; i++) {
+            int partition = i;
+            write(partition, () -> {
+                partitions[partition].setTrieAlgorithm(trieAlgorithm);
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public ITrieAlgorithm getTrieAlgorithm() {
+        return partitions[0].getTrieAlgorithm();
+    }
+
+    /**
+     * The words are split among the partitions, so there is no single root
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public ITrieNode getRoot() {
+        throw new UnsupportedOperationException("A partitioned Trie has one root per partition");
+    }
+
+    @Override
+    public boolean insertWord(CharSequence word) {
+        int partition = getPartition(word);
+        return write(partition, () -> partitions[partition].insertWord(word));
+    }
+
+    @Override
+    public boolean deleteWord(CharSequence word) {
+        int partition = getPartition(word);
+        return write(partition, () -> partitions[partition].deleteWord(word));
+    }
+
+    /**
+     * Deletes the words that start with a prefix. The empty prefix has words in every partition,
+     * so each partition is changed under its own write lock, one after the other.
+     *
+     * @param prefix The prefix of the words to delete
+     * @return the number of deleted words
+     */
+    @Override
+    public int deletePrefix(CharSequence prefix) {
+        if (prefix.length() > 0) {
+            int partition = getPartition(prefix);
+            return write(partition, () -> partitions[partition].deletePrefix(prefix));
+        }
+        int deletedCount = 0;
+        for (int i = 0; i < partitions.length; i++) {
+            int partition = i;
+            deletedCount += write(partition, () -> partitions[partition].deletePrefix(prefix));
+        }
+        return deletedCount;
+    }
+
+    @Override
+    public boolean containsWord(CharSequence word) {
+        return read(getPartition(word), trie -> trie.containsWord(word));
+    }
+
+    @Override
+    public boolean containsPrefix(CharSequence prefix) {
+        if (prefix.length() > 0) {
+            return read(getPartition(prefix), trie -> trie.containsPrefix(prefix));
+        }
+        for (int i = 0; i < partitions.length; i++) {
+            if (read(i, trie -> trie.containsPrefix(prefix))) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int countWithPrefix(CharSequence prefix) {
+        if (prefix.length() > 0) {
+            return read(getPartition(prefix), trie -> trie.countWithPrefix(prefix));
+        }
+        int count = 0;
+        for (int i = 0; i < partitions.length; i++) {
+            count += read(i, trie -> trie.countWithPrefix(prefix));
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < partitions.length; i++) {
+            size += read(i, ITrie::size);
+        }
+        return size;
+    }
+
+    /**
+     * Returns the lowest word of the Trie, from the first partition that has words
+     *
+     * @return the lowest word
+     * @throws NoSuchElementException if the Trie is empty
+     */
+    @Override
+    public String first() {
+        for (int i = 0; i < partitions.length; i++) {
+            String word = read(i, trie -> trie.size() == 0 ? null : trie.first());
+            if (word != null) return word;
+        }
+        throw new NoSuchElementException("The trie is empty");
+    }
+
+    /**
+     * Returns the highest word of the Trie, from the last partition that has words
+     *
+     * @return the highest word
+     * @throws NoSuchElementException if the Trie is empty
+     */
+    @Override
+    public String last() {
+        for (int i = partitions.length - 1; i >= 0; i--) {
+            String word = read(i, trie -> trie.size() == 0 ? null : trie.last());
+            if (word != null) return word;
+        }
+        throw new NoSuchElementException("The trie is empty");
+    }
+
+    @Override
+    public String floor(String word) {
+        int partition = getPartition(word);
+        String floor = read(partition, trie -> trie.floor(word));
+        for (int i = partition - 1; i >= 0 && floor == null; i--) {
+            floor = read(i, trie -> trie.size() == 0 ? null : trie.last());
+        }
+        return floor;
+    }
+
+    @Override
+    public String ceiling(String word) {
+        int partition = getPartition(word);
+        String ceiling = read(partition, trie -> trie.ceiling(word));
+        for (int i = partition + 1; i < partitions.length && ceiling == null; i++) {
+            ceiling = read(i, trie -> trie.size() == 0 ? null : trie.first());
+        }
+        return ceiling;
+    }
+
+    /**
+     * Returns the number of words of the Trie lower than a word:
+     * the sizes of the partitions before the partition of the word, and the rank of the word in its partition
+     *
+     * @param word The word
+     * @return the number of lower words
+     */
+    @Override
+    public int rank(String word) {
+        int partition = getPartition(word);
+        int rank = 0;
+        for (int i = 0; i < partition; i++) {
+            rank += read(i, ITrie::size);
+        }
+        return rank + read(partition, trie -> trie.rank(word));
+    }
+
+    /**
+     * Returns the word at the given position of the lexicographic order of the Trie.
+     * The sizes of the partitions are subtracted from the index until the partition of the word,
+     * which selects it under its read lock, so a single lock is held at a time.
+     *
+     * @param index The position of the word, starting at 0
+     * @return the word at the given position
+     * @throws IndexOutOfBoundsException if the index is negative or not lower than the size of the Trie
+     */
+    @Override
+    public String select(int index) {
+        if (index < 0) throw new IndexOutOfBoundsException("Index: " + index);
+        int remainingIndex = index;
+        int[] partitionSize = new int[1];
+        for (int i = 0; i < partitions.length; i++) {
+            int partitionIndex = remainingIndex;
+            String word = read(i, trie -> {
+                partitionSize[0] = trie.size();
+                return partitionIndex < partitionSize[0] ? trie.select(partitionIndex) : null;
+            });
+            if (word != null) return word;
+            remainingIndex -= partitionSize[0];
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (index - remainingIndex));
+    }
+
+    /**
+     * Returns the words of the Trie between two words, in ascending order.
+     * The words of each partition are copied under its read lock when the iteration starts,
+     * so the Trie can be modified while they are iterated.
+     *
+     * @param fromWord The lowest word of the range, inclusive
+     * @param toWord   The highest word of the range, exclusive
+     * @return the words of the range
+     * @throws IllegalArgumentException if fromWord is higher than toWord
+     */
+    @Override
+    public Iterable<String> range(String fromWord, String toWord) {
+        if (fromWord.compareTo(toWord) > 0) {
+            throw new IllegalArgumentException("fromWord > toWord: " + fromWord + " > " + toWord);
+        }
+        return () -> concatenatePartitions(getPartition(fromWord), getPartition(toWord),
+                trie -> trie.range(fromWord, toWord));
+    }
+
+    /**
+     * Returns the words of the Trie that start with a prefix, in ascending order.
+     * The words of each partition are copied under its read lock when the iteration starts,
+     * so the Trie can be modified while they are iterated.
+     *
+     * @param prefix The prefix of the words
+     * @return the words that start with the prefix
+     */
+    @Override
+    public Iterable<String> wordsWithPrefix(String prefix) {
+        int fromPartition = prefix.isEmpty() ? 0 : getPartition(prefix);
+        int toPartition = prefix.isEmpty() ? partitions.length - 1 : fromPartition;
+        return () -> concatenatePartitions(fromPartition, toPartition, trie -> trie.wordsWithPrefix(prefix));
+    }
+
+    /**
+     * Creates a cursor that walks all the partitions while its prefix is empty,
+     * and then only the partition of the first character of the prefix.
+     * The cursor reads each partition under its read lock. It keeps its path in a partition while no writer
+     * changes the partition, and walks the prefix again from the root of a partition that was changed.
+     * A cursor must not be shared by several threads.
+     *
+     * @return the cursor
+     */
+    @Override
+    public TrieCursor cursor() {
+        return new PartitionedCursor();
+    }
+
+    public int getPartitionsCount() {
+        return partitions.length;
+    }
+
+    public boolean isOptimisticReads() {
+        return optimisticReads;
+    }
+
+    /**
+     * A cursor made of a cursor per partition, each one moved to the prefix when its partition is read
+     */
+    private final class PartitionedCursor implements TrieCursor {
+        private final TrieCursor[] cursors = new TrieCursor[partitions.length];
+        // The stamps of the last reads of the partitions, to find if a writer changed them since
+        private final long[] stamps = new long[partitions.length];
+        // The length of the path of each cursor, and how much of it is a prefix of the current prefix
+        private final int[] cursorLengths = new int[partitions.length];
+        private final int[] syncedLengths = new int[partitions.length];
+        private final StringBuilder prefix = new StringBuilder();
+
+        @Override
+        public boolean advance(char character) {
+            prefix.append(character);
+            return isInTrie();
+        }
+
+        @Override
+        public boolean advance(CharSequence characters) {
+            prefix.append(characters);
+            return isInTrie();
+        }
+
+        @Override
+        public boolean retreat() {
+            if (prefix.length() == 0) return false;
+            prefix.setLength(prefix.length() - 1);
+            for (int i = 0; i < syncedLengths.length; i++) {
+                syncedLengths[i] = Math.min(syncedLengths[i], prefix.length());
+            }
+            return true;
+        }
+
+        @Override
+        public void reset() {
+            prefix.setLength(0);
+            Arrays.fill(syncedLengths, 0);
+        }
+
+        @Override
+        public boolean isInTrie() {
+            for (int partition = getFromPartition(); partition <= getToPartition(); partition++) {
+                if (read(partition, TrieCursor::isInTrie)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isWord() {
+            return read(getPartition(prefix), TrieCursor::isWord);
+        }
+
+        @Override
+        public boolean hasChildren() {
+            for (int partition = getFromPartition(); partition <= getToPartition(); partition++) {
+                if (read(partition, TrieCursor::hasChildren)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int countCompletions() {
+            int count = 0;
+            for (int partition = getFromPartition(); partition <= getToPartition(); partition++) {
+                count += read(partition, TrieCursor::countCompletions);
+            }
+            return count;
+        }
+
+        @Override
+        public List<String> completions(int limit) {
+            List<String> completions = new ArrayList<>();
+            for (int partition = getFromPartition(); partition <= getToPartition(); partition++) {
+                int remaining = limit - completions.size();
+                if (remaining <= 0) break;
+                completions.addAll(read(partition, cursor -> cursor.completions(remaining)));
+            }
+            return completions;
+        }
+
+        @Override
+        public String getPrefix() {
+            return prefix.toString();
+        }
+
+        /**
+         * Returns the trieNode of the prefix in its partition.
+         * The trieNode is returned without the lock, so it must not be read while the partition is changed.
+         *
+         * @return the trieNode of the current prefix, or null if the prefix is not in the Trie
+         * @throws UnsupportedOperationException if the prefix is empty, so its words are in every partition
+         */
+        @Override
+        public ITrieNode getTrieNode() {
+            if (prefix.length() == 0) {
+                throw new UnsupportedOperationException("The prefix has trieNodes in every partition: " + prefix);
+            }
+            return read(getPartition(prefix), TrieCursor::getTrieNode);
+        }
+
+        private int getFromPartition() {
+            return prefix.length() == 0 ? 0 : getPartition(prefix);
+        }
+
+        private int getToPartition() {
+            return prefix.length() == 0 ? partitions.length - 1 : getPartition(prefix);
+        }
+
+        /**
+         * Helper method that reads the cursor of a partition under its read lock, after moving it to the prefix.
+         * The cursor retreats to the part of its path still synced with the prefix, and advances the characters
+         * appended since, so a keystroke costs a step per cursor read. It starts again from the root
+         * if a writer changed the partition since the cursor was moved.
+         *
+         * @param partition The index of the partition
+         * @param reader    The read of the cursor
+         * @return the result of the read
+         */
+        private <T> T read(int partition, Function<TrieCursor, T> reader) {
+            StampedLock lock = locks[partition];
+            long stamp = lock.readLock();
+            try {
+                TrieCursor cursor = cursors[partition];
+                if (cursor == null || !lock.validate(stamps[partition])) {
+                    cursor = partitions[partition].cursor();
+                    cursors[partition] = cursor;
+                    cursorLengths[partition] = 0;
+                    syncedLengths[partition] = 0;
+                }
+                for (int i = cursorLengths[partition]; i > syncedLengths[partition]; i--) {
+                    cursor.retreat();
+                }
+                for (int i = syncedLengths[partition]; i < prefix.length(); i++) {
+                    cursor.advance(prefix.charAt(i));
+                }
+                cursorLengths[partition] = prefix.length();
+                syncedLengths[partition] = prefix.length();
+                stamps[partition] = stamp;
+                return reader.apply(cursor);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Helper method that copies the words of a range of partitions, each one under its read lock.
+     * The partitions are in the order of their words, so their copies are concatenated.
+     *
+     * @param fromPartition The index of the first partition
+     * @param toPartition   The index of the last partition, inclusive
+     * @param words         Returns the words of a partition
+     * @return the words of the partitions, in ascending order
+     */
+    private Iterator<String> concatenatePartitions(int fromPartition, int toPartition,
+                                                   Function<ITrie, Iterable<String>> words) {
+        List<String> copy = new ArrayList<>();
+        for (int i = fromPartition; i <= toPartition; i++) {
+            readLocked(i, trie -> {
+                words.apply(trie).forEach(copy::add);
+                return null;
+            });
+        }
+        return copy.iterator();
+    }
+
+    /**
+     * Helper method that returns the partition of a word, from the range that contains its first character.
+     * The empty word is lower than every other word, so it is in the first partition.
+     *
+     * @param word The word
+     * @return the index of the partition
+     */
+    private int getPartition(CharSequence word) {
+        if (word.length() == 0) return 0;
+        int index = Arrays.binarySearch(splitCharacters, word.charAt(0));
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Helper method that reads a partition, optimistically if enabled.
+     * If a writer took the lock meanwhile, the optimistic read is repeated under the read lock,
+     * whether it returned or failed with a RuntimeException.
+     * An exception thrown by a read that no writer overlapped is a real failure, so it is thrown.
+     *
+     * @param partition The index of the partition
+     * @param reader    The read of the partition
+     * @return the result of the read
+     */
+    private <T> T read(int partition, Function<ITrie, T> reader) {
+        if (optimisticReads) {
+            StampedLock lock = locks[partition];
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    T result = reader.apply(partitions[partition]);
+                    if (lock.validate(stamp)) return result;
+                } catch (RuntimeException e) {
+                    if (lock.validate(stamp)) throw e;
+                    // The partition changed in the middle of the read, it is read again under the lock
+                }
+            }
+        }
+        return readLocked(partition, reader);
+    }
+
+    private <T> T readLocked(int partition, Function<ITrie, T> reader) {
+        StampedLock lock = locks[partition];
+        long stamp = lock.readLock();
+        try {
+            return reader.apply(partitions[partition]);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <T> T write(int partition, Supplier<T> writer) {
+        StampedLock lock = locks[partition];
+        long stamp = lock.writeLock();
+        try {
+            return writer.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package fst;
+
+import org.javatuples.Pair;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A read-only finite-state transducer that maps keys to non-negative long outputs.
+ * It is created with a {@link FstBuilder}, and both common prefixes and common suffixes of the keys are shared.
+ * <p>
+ * The nodes are packed in bytes, and they are read directly from them, so the Fst can be
+ * serialized with {@link #toBytes()} and read again, even from a memory-mapped file, without copying it.
+ */
+public class Fst {
+    /**
+     * The output returned for the keys that are not in the Fst
+     */
+    public static final long NO_OUTPUT = -1;
+
+    static final int FINAL_NODE = 1;
+    private static final int MAGIC = 0x46535431;
+    private static final int HEADER_LENGTH = 16;
+
+    private final ByteBuffer bytes;
+    private final int rootAddress;
+    private final int keysCount;
+
+    Fst(byte[] bytes, int rootAddress, int keysCount) {
+        this(ByteBuffer.wrap(bytes), rootAddress, keysCount);
+    }
+
+    private Fst(ByteBuffer bytes, int rootAddress, int keysCount) {
+        this.bytes = bytes;
+        this.rootAddress = rootAddress;
+        this.keysCount = keysCount;
+    }
+
+    /**
+     * Reads a Fst serialized with {@link #toBytes()}
+     *
+     * @param bytes The serialized Fst
+     * @return the Fst
+     */
+    public static Fst fromBytes(byte[] bytes) {
+        return fromByteBuffer(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Reads a Fst serialized with {@link #toBytes()}, from the position to the limit of a buffer.
+     * The buffer is not copied, so it must not be modified while the Fst is used.
+     *
+     * @param buffer The serialized Fst
+     * @return the Fst
+     * @throws IllegalArgumentException if the buffer doesn't contain a Fst
+     */
+    public static Fst fromByteBuffer(ByteBuffer buffer) {
+        int position = buffer.position();
+        if (buffer.remaining() < HEADER_LENGTH || buffer.getInt(position) != MAGIC) {
+            throw new IllegalArgumentException("The buffer doesn't contain a Fst");
+        }
+        int keysCount = buffer.getInt(position + 4);
+        int rootAddress = buffer.getInt(position + 8);
+        int length = buffer.getInt(position + 12);
+        ByteBuffer nodes = buffer.duplicate();
+        nodes.limit(position + HEADER_LENGTH + length);
+        nodes.position(position + HEADER_LENGTH);
+        return new Fst(nodes.slice(), rootAddress, keysCount);
+    }
+
+    /**
+     * Serializes the Fst
+     *
+     * @return the bytes of the Fst
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + bytes.limit());
+        buffer.putInt(MAGIC).putInt(keysCount).putInt(rootAddress).putInt(bytes.limit());
+        buffer.put(bytes.duplicate().clear());
+        return buffer.array();
+    }
+
+    /**
+     * Returns the number of keys of the Fst
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return keysCount;
+    }
+
+    /**
+     * Returns the number of bytes of the nodes of the Fst
+     *
+     * @return the number of bytes
+     */
+    public int getSizeInBytes() {
+        return bytes.limit();
+    }
+
+    /**
+     * Returns the output of a key.
+     * The output is the sum of the outputs of the arcs of the path of the key, plus the final output.
+     *
+     * @param key The key to search
+     * @return the output of the key, or {@link #NO_OUTPUT} if the Fst doesn't contain the key
+     */
+    public long get(CharSequence key) {
+        NodeReader nodeReader = new NodeReader(bytes);
+        long output = 0;
+        int address = rootAddress;
+        for (int i = 0; i < key.length(); i++) {
+            nodeReader.readNode(address);
+            if (!nodeReader.findArc(key.charAt(i))) return NO_OUTPUT;
+            output += nodeReader.arcOutput;
+            address = nodeReader.arcTarget;
+        }
+        nodeReader.readNode(address);
+        return nodeReader.isFinal ? output + nodeReader.finalOutput : NO_OUTPUT;
+    }
+
+    public boolean containsKey(CharSequence key) {
+        return get(key) != NO_OUTPUT;
+    }
+
+    /**
+     * Returns the keys that start with a prefix and their outputs, in ascending order of the keys
+     *
+     * @param prefix The prefix of the keys
+     * @return the iterator of the keys and outputs
+     */
+    public Iterator<Pair<String, Long>> iterator(String prefix) {
+        NodeReader nodeReader = new NodeReader(bytes);
+        long output = 0;
+        int address = rootAddress;
+        for (int i = 0; i < prefix.length(); i++) {
+            nodeReader.readNode(address);
+            if (!nodeReader.findArc(prefix.charAt(i))) return new EntryIterator(prefix);
+            output += nodeReader.arcOutput;
+            address = nodeReader.arcTarget;
+        }
+        EntryIterator iterator = new EntryIterator(prefix);
+        iterator.pushNode(address, output);
+        return iterator;
+    }
+
+    /**
+     * Iterates the keys below a node in pre-order, keeping a stack with the next arc of each node of the path
+     */
+    private class EntryIterator implements Iterator<Pair<String, Long>> {
+        private final NodeReader nodeReader = new NodeReader(bytes);
+        private final StringBuilder key;
+        private int[] arcPositions = new int[8];
+        private int[] remainingArcs = new int[8];
+        private long[] outputs = new long[8];
+        private int depth = -1;
+        private Pair<String, Long> nextEntry;
+
+        private EntryIterator(String prefix) {
+            this.key = new StringBuilder(prefix);
+        }
+
+        private void pushNode(int address, long output) {
+            nodeReader.readNode(address);
+            depth++;
+            if (depth == arcPositions.length) {
+                arcPositions = Arrays.copyOf(arcPositions, depth * 2);
+                remainingArcs = Arrays.copyOf(remainingArcs, depth * 2);
+                outputs = Arrays.copyOf(outputs, depth * 2);
+            }
+            arcPositions[depth] = nodeReader.position;
+            remainingArcs[depth] = nodeReader.arcsCount;
+            outputs[depth] = output;
+            if (nodeReader.isFinal) {
+                nextEntry = new Pair<>(key.toString(), output + nodeReader.finalOutput);
+            }
+        }
+
+        private void findNextEntry() {
+            while (nextEntry == null && depth >= 0) {
+                if (remainingArcs[depth] == 0) {
+                    depth--;
+                    if (depth >= 0) key.setLength(key.length() - 1);
+                    continue;
+                }
+                nodeReader.position = arcPositions[depth];
+                nodeReader.readArc();
+                arcPositions[depth] = nodeReader.position;
+                remainingArcs[depth]--;
+                key.append(nodeReader.arcLabel);
+                pushNode(nodeReader.arcTarget, outputs[depth] + nodeReader.arcOutput);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            findNextEntry();
+            return nextEntry != null;
+        }
+
+        @Override
+        public Pair<String, Long> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Pair<String, Long> entry = nextEntry;
+            nextEntry = null;
+            return entry;
+        }
+    }
+
+    /**
+     * Decodes the nodes and arcs written by {@link FstBuilder}
+     */
+    private static final class NodeReader {
+        private final ByteBuffer bytes;
+        private int position;
+        private boolean isFinal;
+        private long finalOutput;
+        private int arcsCount;
+        private char arcLabel;
+        private long arcOutput;
+        private int arcTarget;
+
+        private NodeReader(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        private void readNode(int address) {
+            position = address;
+            isFinal = (bytes.get(position++) & FINAL_NODE) != 0;
+            finalOutput = isFinal ? readVLong() : 0;
+            arcsCount = (int) readVLong();
+        }
+
+        private void readArc() {
+            arcLabel = (char) readVLong();
+            arcOutput = readVLong();
+            arcTarget = (int) readVLong();
+        }
+
+        /**
+         * Reads the arcs of the current node until the arc of the label, the arcs are sorted by label
+         *
+         * @param label The label of the arc
+         * @return true if the arc was found
+         */
+        private boolean findArc(char label) {
+            for (int i = 0; i < arcsCount; i++) {
+                readArc();
+                if (arcLabel == label) return true;
+                if (arcLabel > label) return false;
+            }
+            return false;
+        }
+
+        private long readVLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes.get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
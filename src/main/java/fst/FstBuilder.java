@@ -0,0 +1,229 @@
+package fst;
+
+import jfr.TrieBuildEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a {@link Fst} from keys added in ascending order, each one with a non-negative output.
+ * <p>
+ * Like Lucene's FST builder, the path of the previous key that is not shared with the new key
+ * can't change anymore, so its nodes are compiled to bytes and shared with equivalent nodes already compiled.
+ * The outputs are pushed towards the root: an arc keeps the common part (the minimum) of the outputs
+ * of all the keys that go through it, and the rest is moved to the arcs below.
+ */
+public class FstBuilder {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final Map<NodeBytes, Integer> register = new HashMap<>();
+    private final List<UncompiledNode> frontier = new ArrayList<>();
+    // Begins with the first key, so the build event covers the whole bulk build
+    private final TrieBuildEvent event = new TrieBuildEvent();
+    private String previousKey;
+    private int keysCount;
+    private boolean built;
+
+    public FstBuilder() {
+        frontier.add(new UncompiledNode());
+    }
+
+    /**
+     * Adds a key and its output
+     *
+     * @param key    The key, it must be higher than the previous added key
+     * @param output The output of the key, it must not be negative
+     * @return this builder
+     * @throws IllegalArgumentException if the key is not higher than the previous key, or the output is negative
+     */
+    public FstBuilder add(String key, long output) {
+        if (built) throw new IllegalStateException("The Fst was already built");
+        if (output < 0) throw new IllegalArgumentException("Outputs must not be negative: " + output);
+        if (previousKey != null && key.compareTo(previousKey) <= 0) {
+            throw new IllegalArgumentException("Keys must be added in ascending order: " + key + " after " + previousKey);
+        }
+        if (previousKey == null) event.begin();
+        keysCount++;
+        if (key.isEmpty()) {
+            UncompiledNode root = frontier.get(0);
+            root.isFinal = true;
+            root.finalOutput = output;
+            previousKey = key;
+            return this;
+        }
+        int prefixLength = previousKey == null ? 0 : getCommonPrefixLength(previousKey, key);
+        freezeTail(prefixLength);
+
+        for (int depth = prefixLength; depth < key.length(); depth++) {
+            if (frontier.size() == depth + 1) frontier.add(new UncompiledNode());
+            frontier.get(depth).addArc(key.charAt(depth));
+        }
+        frontier.get(key.length()).isFinal = true;
+
+        for (int depth = 0; depth < prefixLength; depth++) {
+            UncompiledNode node = frontier.get(depth);
+            long lastOutput = node.getLastOutput();
+            long commonOutput = Math.min(lastOutput, output);
+            long suffixOutput = lastOutput - commonOutput;
+            node.setLastOutput(commonOutput);
+            if (suffixOutput != 0) {
+                frontier.get(depth + 1).prependOutput(suffixOutput);
+            }
+            output -= commonOutput;
+        }
+        frontier.get(prefixLength).setLastOutput(output);
+        previousKey = key;
+        return this;
+    }
+
+    /**
+     * Compiles the remaining nodes and creates the Fst.
+     * Its build event is recorded from the first added key to the end of this method
+     *
+     * @return the Fst
+     */
+    public Fst build() {
+        if (built) throw new IllegalStateException("The Fst was already built");
+        built = true;
+        if (previousKey == null) event.begin();
+        freezeTail(0);
+        int rootAddress = compile(frontier.get(0));
+        Fst fst = new Fst(bytes.toByteArray(), rootAddress, keysCount);
+        event.end();
+        if (event.shouldCommit()) {
+            event.structure = "Fst";
+            event.keysCount = keysCount;
+            event.nodesCount = register.size();
+            event.sizeInBytes = fst.getSizeInBytes();
+            event.commit();
+        }
+        return fst;
+    }
+
+    /**
+     * Helper method that compiles the nodes of the previous key below the given depth,
+     * from the deepest one, and points the arcs of their parents to the compiled addresses.
+     *
+     * @param depth The depth of the deepest node shared with the new key
+     */
+    private void freezeTail(int depth) {
+        if (previousKey == null) return;
+        for (int i = previousKey.length(); i > depth; i--) {
+            int address = compile(frontier.get(i));
+            frontier.get(i - 1).setLastTarget(address);
+            frontier.set(i, new UncompiledNode());
+        }
+    }
+
+    /**
+     * Helper method that encodes a node, reusing the address of an equal node when there is one.
+     * Node encoding: a flags byte, the final output when the node is final, the number of arcs and,
+     * for each arc, its character, output and the address of its target node.
+     *
+     * @param node The node to compile, the targets of its arcs must be compiled
+     * @return the address of the compiled node
+     */
+    private int compile(UncompiledNode node) {
+        ByteArrayOutputStream nodeBytes = new ByteArrayOutputStream();
+        nodeBytes.write(node.isFinal ? Fst.FINAL_NODE : 0);
+        if (node.isFinal) writeVLong(nodeBytes, node.finalOutput);
+        writeVLong(nodeBytes, node.arcsCount);
+        for (int i = 0; i < node.arcsCount; i++) {
+            writeVLong(nodeBytes, node.labels[i]);
+            writeVLong(nodeBytes, node.outputs[i]);
+            writeVLong(nodeBytes, node.targets[i]);
+        }
+        byte[] encoded = nodeBytes.toByteArray();
+        return register.computeIfAbsent(new NodeBytes(encoded), key -> {
+            int address = bytes.size();
+            bytes.write(encoded, 0, encoded.length);
+            return address;
+        });
+    }
+
+    private static void writeVLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static int getCommonPrefixLength(String key, String otherKey) {
+        int length = Math.min(key.length(), otherKey.length());
+        int i = 0;
+        while (i < length && key.charAt(i) == otherKey.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * A node of the path of the last key, whose arcs can still change
+     */
+    private static final class UncompiledNode {
+        private char[] labels = new char[1];
+        private long[] outputs = new long[1];
+        private int[] targets = new int[1];
+        private int arcsCount;
+        private boolean isFinal;
+        private long finalOutput;
+
+        private void addArc(char label) {
+            if (arcsCount == labels.length) {
+                labels = Arrays.copyOf(labels, arcsCount * 2);
+                outputs = Arrays.copyOf(outputs, arcsCount * 2);
+                targets = Arrays.copyOf(targets, arcsCount * 2);
+            }
+            labels[arcsCount] = label;
+            outputs[arcsCount] = 0;
+            targets[arcsCount] = -1;
+            arcsCount++;
+        }
+
+        private long getLastOutput() {
+            return outputs[arcsCount - 1];
+        }
+
+        private void setLastOutput(long output) {
+            outputs[arcsCount - 1] = output;
+        }
+
+        private void setLastTarget(int address) {
+            targets[arcsCount - 1] = address;
+        }
+
+        private void prependOutput(long output) {
+            for (int i = 0; i < arcsCount; i++) {
+                outputs[i] += output;
+            }
+            if (isFinal) finalOutput += output;
+        }
+    }
+
+    /**
+     * Key of the register, two keys are equal when their nodes are encoded with the same bytes
+     */
+    private static final class NodeBytes {
+        private final byte[] bytes;
+        private final int hashCode;
+
+        private NodeBytes(byte[] bytes) {
+            this.bytes = bytes;
+            this.hashCode = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof NodeBytes && Arrays.equals(bytes, ((NodeBytes) other).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package ingest;
+
+import metrics.LatencyHistogram;
+import metrics.TrieOperation;
+import trie.ITrie;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A Flow.Subscriber that applies a stream of inserted and deleted words to a Trie, in micro-batches.
+ * <p>
+ * It requests at most a batch of events ahead: it requests a batch when it subscribes, and requests as many events
+ * as it applied after each batch, so a slow Trie slows down the publisher instead of buffering events without limit.
+ * A batch is applied when it is full, or when its first event waited for the linger time.
+ * <p>
+ * Before a batch is applied, only the last event of each word is kept, since it decides if the word is in the Trie,
+ * and the words are sorted, so consecutive words share the trieNodes of their common prefix while they are in cache.
+ * The lag of each event, from its creation to its application, is recorded in a histogram.
+ * <p>
+ * The batches are applied in the thread that delivers the last event of the batch, or in the linger thread,
+ * holding the monitor of the subscriber, so other writers of the Trie must synchronize on it too
+ * or the Trie must be thread-safe.
+ */
+public class TrieIngestSubscriber implements Flow.Subscriber<WordEvent> {
+    private final ITrie trie;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final ScheduledExecutorService lingerScheduler;
+    private final List<WordEvent> batch = new ArrayList<>();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final LatencyHistogram lag = new LatencyHistogram();
+    private final LongAdder appliedEventsCount = new LongAdder();
+    private final LongAdder batchesCount = new LongAdder();
+    private Flow.Subscription subscription;
+    // Incremented by each batch, so a linger task of a batch already applied does nothing
+    private long batchNumber;
+
+    /**
+     * Creates a subscriber
+     *
+     * @param trie        The Trie where the events are applied
+     * @param batchSize   The maximum number of events of a batch, and of events requested ahead
+     * @param lingerTime  How long the first event of a batch waits for the batch to fill, or 0 to apply each event
+     *                    as soon as it arrives when the batch is not full
+     * @param timeUnit    The unit of the linger time
+     * @throws IllegalArgumentException if the batch size is not positive or the linger time is negative
+     */
+    public TrieIngestSubscriber(ITrie trie, int batchSize, long lingerTime, TimeUnit timeUnit) {
+        if (batchSize <= 0) throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        if (lingerTime < 0) throw new IllegalArgumentException("The linger time must not be negative: " + lingerTime);
+        this.trie = trie;
+        this.batchSize = batchSize;
+        this.lingerNanos = timeUnit.toNanos(lingerTime);
+        this.lingerScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trie-ingest-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public synchronized void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public synchronized void onNext(WordEvent event) {
+        if (completion.isDone()) return;
+        batch.add(event);
+        if (batch.size() >= batchSize || lingerNanos == 0) {
+            applyBatch();
+        } else if (batch.size() == 1) {
+            long lingeringBatch = batchNumber;
+            lingerScheduler.schedule(() -> applyLingeringBatch(lingeringBatch), lingerNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void onError(Throwable throwable) {
+        if (completion.isDone()) return;
+        applyBatch();
+        lingerScheduler.shutdown();
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public synchronized void onComplete() {
+        if (completion.isDone()) return;
+        applyBatch();
+        lingerScheduler.shutdown();
+        completion.complete(null);
+    }
+
+    /**
+     * Returns the future completed when the stream completes and its last batch is applied.
+     * It fails if the stream fails, or if an event can't be applied, in which case the subscription is cancelled.
+     *
+     * @return the completion of the stream
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Returns the histogram of the lags of the applied events, from their creation to their application
+     *
+     * @return the histogram of lags, in nanoseconds
+     */
+    public LatencyHistogram getLag() {
+        return lag;
+    }
+
+    /**
+     * Returns the number of events received and not applied yet
+     *
+     * @return the number of events of the current batch
+     */
+    public synchronized int getPendingEventsCount() {
+        return batch.size();
+    }
+
+    /**
+     * Returns the number of applied events, including the ones superseded by a later event of the same word
+     *
+     * @return the number of applied events
+     */
+    public long getAppliedEventsCount() {
+        return appliedEventsCount.sum();
+    }
+
+    public long getBatchesCount() {
+        return batchesCount.sum();
+    }
+
+    private synchronized void applyLingeringBatch(long lingeringBatch) {
+        if (lingeringBatch == batchNumber && !completion.isDone()) applyBatch();
+    }
+
+    /**
+     * Helper method that applies the last event of each word of the batch, in the order of the words,
+     * and requests as many events as the batch had
+     */
+    private void applyBatch() {
+        if (batch.isEmpty()) return;
+        batchNumber++;
+        Map<String, WordEvent> lastEvents = new LinkedHashMap<>();
+        for (WordEvent event : batch) {
+            lastEvents.put(event.getWord(), event);
+        }
+        List<WordEvent> sortedEvents = new ArrayList<>(lastEvents.values());
+        sortedEvents.sort(Comparator.comparing(WordEvent::getWord));
+        try {
+            for (WordEvent event : sortedEvents) {
+                if (event.getOperation() == TrieOperation.INSERT_WORD) {
+                    trie.insertWord(event.getWord());
+                } else {
+                    trie.deleteWord(event.getWord());
+                }
+            }
+        } catch (RuntimeException e) {
+            batch.clear();
+            subscription.cancel();
+            lingerScheduler.shutdown();
+            completion.completeExceptionally(e);
+            return;
+        }
+        long now = System.nanoTime();
+        for (WordEvent event : batch) {
+            lag.record(now - event.getCreatedNanos());
+        }
+        int appliedCount = batch.size();
+        appliedEventsCount.add(appliedCount);
+        batchesCount.increment();
+        batch.clear();
+        subscription.request(appliedCount);
+    }
+}
@@ -0,0 +1,60 @@
+package ingest;
+
+import metrics.TrieOperation;
+
+/**
+ * A word inserted or deleted in the source of a Trie, to apply with a {@link TrieIngestSubscriber}
+ */
+public final class WordEvent {
+    private final TrieOperation operation;
+    private final String word;
+    private final long createdNanos;
+
+    private WordEvent(TrieOperation operation, String word, long createdNanos) {
+        this.operation = operation;
+        this.word = word;
+        this.createdNanos = createdNanos;
+    }
+
+    /**
+     * Creates the event of an inserted word, now
+     *
+     * @param word The inserted word
+     * @return the event
+     */
+    public static WordEvent insert(String word) {
+        return new WordEvent(TrieOperation.INSERT_WORD, word, System.nanoTime());
+    }
+
+    /**
+     * Creates the event of a deleted word, now
+     *
+     * @param word The deleted word
+     * @return the event
+     */
+    public static WordEvent delete(String word) {
+        return new WordEvent(TrieOperation.DELETE_WORD, word, System.nanoTime());
+    }
+
+    /**
+     * Returns the operation of the event
+     *
+     * @return either INSERT_WORD or DELETE_WORD
+     */
+    public TrieOperation getOperation() {
+        return operation;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Returns when the event was created, to measure the lag until it is applied
+     *
+     * @return the value of System.nanoTime() when the event was created
+     */
+    public long getCreatedNanos() {
+        return createdNanos;
+    }
+}
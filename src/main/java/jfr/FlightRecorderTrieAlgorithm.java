@@ -0,0 +1,98 @@
+package jfr;
+
+import algorithm.ITrieAlgorithm;
+import jdk.jfr.EventType;
+import trie.ITrie;
+
+/**
+ * An algorithm that emits a {@link TrieOperationEvent} for the operations of another algorithm,
+ * so that latency spikes can be correlated with the activity of the Trie in Flight Recorder.
+ * <p>
+ * When the event is disabled, the operations only pay for checking it.
+ */
+public class FlightRecorderTrieAlgorithm implements ITrieAlgorithm {
+    private static final EventType OPERATION_EVENT_TYPE = EventType.getEventType(TrieOperationEvent.class);
+
+    private final ITrieAlgorithm trieAlgorithm;
+
+    public FlightRecorderTrieAlgorithm(ITrieAlgorithm trieAlgorithm) {
+        this.trieAlgorithm = trieAlgorithm;
+    }
+
+    @Override
+    public boolean insertWord(ITrie trie, CharSequence word) {
+        if (!OPERATION_EVENT_TYPE.isEnabled()) return trieAlgorithm.insertWord(trie, word);
+        TrieOperationEvent event = new TrieOperationEvent();
+        event.begin();
+        boolean inserted = trieAlgorithm.insertWord(trie, word);
+        commit(event, "insertWord", word, inserted);
+        return inserted;
+    }
+
+    @Override
+    public boolean deleteWord(ITrie trie, CharSequence word) {
+        if (!OPERATION_EVENT_TYPE.isEnabled()) return trieAlgorithm.deleteWord(trie, word);
+        TrieOperationEvent event = new TrieOperationEvent();
+        event.begin();
+        boolean deleted = trieAlgorithm.deleteWord(trie, word);
+        commit(event, "deleteWord", word, deleted);
+        return deleted;
+    }
+
+    @Override
+    public int deletePrefix(ITrie trie, CharSequence prefix) {
+        if (!OPERATION_EVENT_TYPE.isEnabled()) return trieAlgorithm.deletePrefix(trie, prefix);
+        TrieOperationEvent event = new TrieOperationEvent();
+        event.begin();
+        int deletedCount = trieAlgorithm.deletePrefix(trie, prefix);
+        commit(event, "deletePrefix", prefix, deletedCount > 0);
+        return deletedCount;
+    }
+
+    @Override
+    public boolean containsWord(ITrie trie, CharSequence word) {
+        if (!OPERATION_EVENT_TYPE.isEnabled()) return trieAlgorithm.containsWord(trie, word);
+        TrieOperationEvent event = new TrieOperationEvent();
+        event.begin();
+        boolean contained = trieAlgorithm.containsWord(trie, word);
+        commit(event, "containsWord", word, contained);
+        return contained;
+    }
+
+    @Override
+    public boolean containsPrefix(ITrie trie, CharSequence prefix) {
+        if (!OPERATION_EVENT_TYPE.isEnabled()) return trieAlgorithm.containsPrefix(trie, prefix);
+        TrieOperationEvent event = new TrieOperationEvent();
+        event.begin();
+        boolean contained = trieAlgorithm.containsPrefix(trie, prefix);
+        commit(event, "containsPrefix", prefix, contained);
+        return contained;
+    }
+
+    @Override
+    public int countWithPrefix(ITrie trie, CharSequence prefix) {
+        return trieAlgorithm.countWithPrefix(trie, prefix);
+    }
+
+    /**
+     * Helper method that commits an event if the operation was slower than the threshold
+     *
+     * @param event     The event, began before the operation
+     * @param operation The name of the operation
+     * @param key       The key of the operation
+     * @param hit       The result of the operation
+     */
+    private void commit(TrieOperationEvent event, String operation, CharSequence key, boolean hit) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.keyLength = key.length();
+            event.hit = hit;
+            event.commit();
+        }
+    }
+
+    public ITrieAlgorithm getTrieAlgorithm() {
+        return trieAlgorithm;
+    }
+}
@@ -0,0 +1,33 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for a bulk build, like building a Dawg or a Fst.
+ * The builders that take the keys one by one begin it with the first key, so it spans all the adds.
+ */
+@Name("trie.TrieBuild")
+@Label("Trie Build")
+@Description("The build of a read-only structure, from its first key to the structure built")
+@Category("Trie")
+public class TrieBuildEvent extends Event {
+    @Label("Structure")
+    public String structure;
+
+    @Label("Keys Count")
+    public long keysCount;
+
+    @Label("Nodes Count")
+    @Description("The number of nodes, or -1 if the structure doesn't count them")
+    public long nodesCount = -1;
+
+    @Label("Size")
+    @Description("The number of bytes of the structure, or -1 if it is not serialized")
+    @DataAmount
+    public long sizeInBytes = -1;
+}
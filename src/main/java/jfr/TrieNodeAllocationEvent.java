@@ -0,0 +1,44 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a trieNode created by addCharacter.
+ * There is one event per trieNode, so it is disabled by default.
+ */
+@Name("trie.TrieNodeAllocation")
+@Label("Trie Node Allocation")
+@Description("A trieNode created for a new character")
+@Category("Trie")
+@Enabled(false)
+@StackTrace(false)
+public class TrieNodeAllocationEvent extends Event {
+    @Label("Node Type")
+    Class<?> nodeType;
+
+    @Label("Character")
+    char character;
+
+    /**
+     * Records the allocation of a trieNode if the event is enabled.
+     * When it is disabled, the event is not even allocated once the method is compiled,
+     * since it doesn't escape and Event.isEnabled() is constant.
+     *
+     * @param nodeType  The class of the new trieNode
+     * @param character The character that points the new trieNode
+     */
+    public static void record(Class<?> nodeType, char character) {
+        TrieNodeAllocationEvent event = new TrieNodeAllocationEvent();
+        if (event.isEnabled()) {
+            event.nodeType = nodeType;
+            event.character = character;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event for an operation of a Trie, emitted by {@link FlightRecorderTrieAlgorithm}.
+ * Only the operations slower than the threshold are recorded, 100 us by default.
+ * The threshold can be changed in the recording settings, e.g. "trie.TrieOperation#threshold=20 us".
+ */
+@Name("trie.TrieOperation")
+@Label("Trie Operation")
+@Description("An insertWord, deleteWord, containsWord or containsPrefix operation of a Trie")
+@Category("Trie")
+@Threshold("100 us")
+@StackTrace(false)
+public class TrieOperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Key Length")
+    int keyLength;
+
+    @Label("Hit")
+    @Description("true if the word was found, inserted or deleted")
+    boolean hit;
+}
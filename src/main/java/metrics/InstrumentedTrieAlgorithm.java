@@ -0,0 +1,121 @@
+package metrics;
+
+import algorithm.ITrieAlgorithm;
+import trie.ITrie;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * An algorithm that measures the operations of another algorithm, so any Trie can be measured
+ * by setting it as its algorithm.
+ * <p>
+ * The counters are LongAdders, which don't contend when the Trie is used by many threads.
+ * The recording can be disabled at runtime, then the operations only pay for reading a volatile flag.
+ * <p>
+ * The algorithms don't report the trieNodes they visit, so the number of trieNodes visited is taken
+ * from the length of the key: it is exact when the whole key is found, and an upper bound otherwise.
+ */
+public class InstrumentedTrieAlgorithm implements ITrieAlgorithm {
+    private final ITrieAlgorithm trieAlgorithm;
+    private final Map<TrieOperation, OperationMetrics> metrics = new EnumMap<>(TrieOperation.class);
+    private volatile boolean enabled = true;
+
+    public InstrumentedTrieAlgorithm(ITrieAlgorithm trieAlgorithm) {
+        this.trieAlgorithm = trieAlgorithm;
+        for (TrieOperation operation : TrieOperation.values()) {
+            metrics.put(operation, new OperationMetrics());
+        }
+    }
+
+    @Override
+    public boolean insertWord(ITrie trie, CharSequence word) {
+        if (!enabled) return trieAlgorithm.insertWord(trie, word);
+        long start = System.nanoTime();
+        boolean inserted = trieAlgorithm.insertWord(trie, word);
+        record(TrieOperation.INSERT_WORD, inserted, word, start);
+        return inserted;
+    }
+
+    @Override
+    public boolean deleteWord(ITrie trie, CharSequence word) {
+        if (!enabled) return trieAlgorithm.deleteWord(trie, word);
+        long start = System.nanoTime();
+        boolean deleted = trieAlgorithm.deleteWord(trie, word);
+        record(TrieOperation.DELETE_WORD, deleted, word, start);
+        return deleted;
+    }
+
+    @Override
+    public int deletePrefix(ITrie trie, CharSequence prefix) {
+        if (!enabled) return trieAlgorithm.deletePrefix(trie, prefix);
+        long start = System.nanoTime();
+        int deletedCount = trieAlgorithm.deletePrefix(trie, prefix);
+        record(TrieOperation.DELETE_PREFIX, deletedCount > 0, prefix, start);
+        return deletedCount;
+    }
+
+    @Override
+    public boolean containsWord(ITrie trie, CharSequence word) {
+        if (!enabled) return trieAlgorithm.containsWord(trie, word);
+        long start = System.nanoTime();
+        boolean contained = trieAlgorithm.containsWord(trie, word);
+        record(TrieOperation.CONTAINS_WORD, contained, word, start);
+        return contained;
+    }
+
+    @Override
+    public boolean containsPrefix(ITrie trie, CharSequence prefix) {
+        if (!enabled) return trieAlgorithm.containsPrefix(trie, prefix);
+        long start = System.nanoTime();
+        boolean contained = trieAlgorithm.containsPrefix(trie, prefix);
+        record(TrieOperation.CONTAINS_PREFIX, contained, prefix, start);
+        return contained;
+    }
+
+    @Override
+    public int countWithPrefix(ITrie trie, CharSequence prefix) {
+        if (!enabled) return trieAlgorithm.countWithPrefix(trie, prefix);
+        long start = System.nanoTime();
+        int count = trieAlgorithm.countWithPrefix(trie, prefix);
+        record(TrieOperation.COUNT_WITH_PREFIX, count > 0, prefix, start);
+        return count;
+    }
+
+    /**
+     * Helper method that records an operation that started at the given time
+     *
+     * @param operation The operation
+     * @param hit       true if the operation found or changed the word
+     * @param key       The key of the operation
+     * @param start     The value of System.nanoTime() when the operation started
+     */
+    private void record(TrieOperation operation, boolean hit, CharSequence key, long start) {
+        metrics.get(operation).record(hit, key.length(), System.nanoTime() - start);
+    }
+
+    public ITrieAlgorithm getTrieAlgorithm() {
+        return trieAlgorithm;
+    }
+
+    public OperationMetrics getMetrics(TrieOperation operation) {
+        return metrics.get(operation);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the recording, the metrics already recorded are kept
+     *
+     * @param enabled true to record the operations
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void reset() {
+        metrics.values().forEach(OperationMetrics::reset);
+    }
+}
@@ -0,0 +1,97 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds, with one bucket per power of two.
+ * Bucket i counts the latencies in [2^i, 2^(i+1)), and bucket 0 also counts the latency 0.
+ * Recording a latency is a single LongAdder increment, so it can be called from many threads.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS_COUNT = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS_COUNT];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a latency
+     *
+     * @param nanos The latency in nanoseconds, negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        buckets[getBucketIndex(nanos)].increment();
+    }
+
+    /**
+     * Returns the number of recorded latencies
+     *
+     * @return the number of latencies
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns an upper bound of a percentile of the recorded latencies, that is,
+     * the upper bound of the bucket that contains the percentile.
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @return the upper bound of the percentile in nanoseconds, or 0 if no latency was recorded
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100: " + percentile);
+        }
+        long[] counts = new long[BUCKETS_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) return getBucketUpperBound(i);
+        }
+        return getBucketUpperBound(BUCKETS_COUNT - 1);
+    }
+
+    /**
+     * Returns the counts of the buckets, bucket i counts the latencies in [2^i, 2^(i+1))
+     *
+     * @return a copy of the counts
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[BUCKETS_COUNT];
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+    }
+
+    private static int getBucketIndex(long nanos) {
+        return nanos <= 1 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    private static long getBucketUpperBound(int index) {
+        return index == BUCKETS_COUNT - 1 ? Long.MAX_VALUE : (1L << (index + 1)) - 1;
+    }
+}
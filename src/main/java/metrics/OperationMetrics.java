@@ -0,0 +1,76 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of one {@link TrieOperation}: how many times it was called, how many of them were hits,
+ * the trieNodes visited and the latencies.
+ * A hit is an operation that returned true, or a non-zero count for countWithPrefix.
+ */
+public class OperationMetrics {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder nodesVisited = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    void record(boolean hit, int nodesVisited, long nanos) {
+        count.increment();
+        if (hit) hits.increment();
+        this.nodesVisited.add(nodesVisited);
+        latencies.record(nanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return getCount() - getHits();
+    }
+
+    /**
+     * Returns the ratio of hits, between 0 and 1
+     *
+     * @return the ratio of hits, or 0 if the operation was never called
+     */
+    public double getHitRatio() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getHits() / count;
+    }
+
+    /**
+     * Returns the number of trieNodes visited by the operations, taken from the length of their keys.
+     * It is exact for the operations that found the whole key, and an upper bound for the misses,
+     * which can stop before the end of the key.
+     *
+     * @return the number of trieNodes visited
+     */
+    public long getNodesVisited() {
+        return nodesVisited.sum();
+    }
+
+    /**
+     * Returns the average number of trieNodes visited per operation, an upper bound as {@link #getNodesVisited()}
+     *
+     * @return the average number of trieNodes visited, or 0 if the operation was never called
+     */
+    public double getAverageNodesVisited() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getNodesVisited() / count;
+    }
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    public void reset() {
+        count.reset();
+        hits.reset();
+        nodesVisited.reset();
+        latencies.reset();
+    }
+}
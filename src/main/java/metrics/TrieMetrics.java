@@ -0,0 +1,154 @@
+package metrics;
+
+import trie.ITrie;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exports the metrics of a Trie measured by an {@link InstrumentedTrieAlgorithm}, and its structural statistics.
+ * The statistics walk the whole Trie, so they are cached for a second between reads.
+ */
+public class TrieMetrics implements TrieMetricsMXBean {
+    private static final long STATISTICS_MAX_AGE_NANOS = 1_000_000_000L;
+
+    private final ITrie trie;
+    private final InstrumentedTrieAlgorithm trieAlgorithm;
+    private TrieStatistics statistics;
+    private long statisticsTime;
+
+    /**
+     * Creates the metrics of a Trie
+     *
+     * @param trie The Trie, its algorithm must be an {@link InstrumentedTrieAlgorithm}
+     * @throws IllegalArgumentException if the algorithm of the Trie is not instrumented
+     */
+    public TrieMetrics(ITrie trie) {
+        if (!(trie.getTrieAlgorithm() instanceof InstrumentedTrieAlgorithm)) {
+            throw new IllegalArgumentException("The algorithm of the Trie is not an InstrumentedTrieAlgorithm");
+        }
+        this.trie = trie;
+        this.trieAlgorithm = (InstrumentedTrieAlgorithm) trie.getTrieAlgorithm();
+    }
+
+    /**
+     * Registers the metrics in the platform MBeanServer, with the name "trie:type=TrieMetrics,name=(name)"
+     *
+     * @param name The name of the Trie
+     * @return the name of the registered MBean, needed to unregister it
+     * @throws JMException if the MBean can't be registered
+     */
+    public ObjectName register(String name) throws JMException {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("trie:type=TrieMetrics,name=" + ObjectName.quote(name));
+        mBeanServer.registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        return toLongMap(OperationMetrics::getCount);
+    }
+
+    @Override
+    public Map<String, Double> getHitRatios() {
+        return toDoubleMap(OperationMetrics::getHitRatio);
+    }
+
+    @Override
+    public Map<String, Double> getAverageNodesVisited() {
+        return toDoubleMap(OperationMetrics::getAverageNodesVisited);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyP50Nanos() {
+        return toLongMap(metrics -> metrics.getLatencies().getPercentile(50));
+    }
+
+    @Override
+    public Map<String, Long> getLatencyP99Nanos() {
+        return toLongMap(metrics -> metrics.getLatencies().getPercentile(99));
+    }
+
+    @Override
+    public long getNodesCount() {
+        return getStatistics().getNodesCount();
+    }
+
+    @Override
+    public long getWordsCount() {
+        return getStatistics().getWordsCount();
+    }
+
+    @Override
+    public int getMaxDepth() {
+        return getStatistics().getMaxDepth();
+    }
+
+    @Override
+    public double getAverageWordDepth() {
+        return getStatistics().getAverageWordDepth();
+    }
+
+    @Override
+    public Map<Integer, Long> getFanOutDistribution() {
+        return getStatistics().getFanOutDistribution();
+    }
+
+    @Override
+    public long getEstimatedSizeInBytes() {
+        return getStatistics().getEstimatedSizeInBytes();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return trieAlgorithm.isEnabled();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        trieAlgorithm.setEnabled(enabled);
+    }
+
+    @Override
+    public synchronized void reset() {
+        trieAlgorithm.reset();
+        statistics = null;
+    }
+
+    /**
+     * Returns the structural statistics of the Trie, computing them again if they are older than a second
+     *
+     * @return the statistics of the Trie
+     */
+    public synchronized TrieStatistics getStatistics() {
+        long now = System.nanoTime();
+        if (statistics == null || now - statisticsTime > STATISTICS_MAX_AGE_NANOS) {
+            statistics = TrieStatistics.of(trie);
+            statisticsTime = now;
+        }
+        return statistics;
+    }
+
+    private Map<String, Long> toLongMap(ToLongFunction<OperationMetrics> value) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (TrieOperation operation : TrieOperation.values()) {
+            map.put(operation.name(), value.applyAsLong(trieAlgorithm.getMetrics(operation)));
+        }
+        return map;
+    }
+
+    private Map<String, Double> toDoubleMap(ToDoubleFunction<OperationMetrics> value) {
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (TrieOperation operation : TrieOperation.values()) {
+            map.put(operation.name(), value.applyAsDouble(trieAlgorithm.getMetrics(operation)));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,38 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of {@link TrieMetrics}.
+ * The maps of the operations are keyed by the name of the {@link TrieOperation}.
+ */
+public interface TrieMetricsMXBean {
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Double> getHitRatios();
+
+    Map<String, Double> getAverageNodesVisited();
+
+    Map<String, Long> getLatencyP50Nanos();
+
+    Map<String, Long> getLatencyP99Nanos();
+
+    long getNodesCount();
+
+    long getWordsCount();
+
+    int getMaxDepth();
+
+    double getAverageWordDepth();
+
+    Map<Integer, Long> getFanOutDistribution();
+
+    long getEstimatedSizeInBytes();
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    void reset();
+}
@@ -0,0 +1,13 @@
+package metrics;
+
+/**
+ * The operations of a Trie that are measured by {@link InstrumentedTrieAlgorithm}
+ */
+public enum TrieOperation {
+    INSERT_WORD,
+    DELETE_WORD,
+    DELETE_PREFIX,
+    CONTAINS_WORD,
+    CONTAINS_PREFIX,
+    COUNT_WITH_PREFIX
+}
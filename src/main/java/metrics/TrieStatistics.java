@@ -0,0 +1,127 @@
+package metrics;
+
+import node.ITrieNode;
+import trie.ITrie;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * A snapshot of the structure of a Trie: its trieNodes, their depths, their fan-out and the memory they retain.
+ * It is computed walking every trieNode, so it should be taken when the Trie is not being modified.
+ * The trieNodes shared by several parents, like the ones of a DAWG, are counted once per path.
+ */
+public class TrieStatistics {
+    private final long nodesCount;
+    private final long wordsCount;
+    private final int maxDepth;
+    private final double averageWordDepth;
+    private final SortedMap<Integer, Long> fanOutDistribution;
+    private final long estimatedSizeInBytes;
+
+    private TrieStatistics(long nodesCount, long wordsCount, int maxDepth, double averageWordDepth,
+                           SortedMap<Integer, Long> fanOutDistribution, long estimatedSizeInBytes) {
+        this.nodesCount = nodesCount;
+        this.wordsCount = wordsCount;
+        this.maxDepth = maxDepth;
+        this.averageWordDepth = averageWordDepth;
+        this.fanOutDistribution = Collections.unmodifiableSortedMap(fanOutDistribution);
+        this.estimatedSizeInBytes = estimatedSizeInBytes;
+    }
+
+    /**
+     * Walks the trieNodes of a Trie and computes its statistics
+     *
+     * @param trie The Trie
+     * @return the statistics of the Trie
+     */
+    public static TrieStatistics of(ITrie trie) {
+        long nodesCount = 0;
+        long wordsCount = 0;
+        long wordDepthsSum = 0;
+        int maxDepth = 0;
+        long estimatedSizeInBytes = 0;
+        SortedMap<Integer, Long> fanOutDistribution = new TreeMap<>();
+
+        Deque<ITrieNode> trieNodes = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        trieNodes.push(trie.getRoot());
+        depths.push(0);
+        while (!trieNodes.isEmpty()) {
+            ITrieNode trieNode = trieNodes.pop();
+            int depth = depths.pop();
+            nodesCount++;
+            maxDepth = Math.max(maxDepth, depth);
+            estimatedSizeInBytes += trieNode.estimateSizeInBytes();
+            if (trieNode.isEndOfWord()) {
+                wordsCount++;
+                wordDepthsSum += depth;
+            }
+            int fanOut = 0;
+            for (Character character = trieNode.getFirstCharacter(); character != null;
+                 character = trieNode.getHigherCharacter(character)) {
+                trieNodes.push(trieNode.getTrieNodeForChar(character));
+                depths.push(depth + 1);
+                fanOut++;
+            }
+            fanOutDistribution.merge(fanOut, 1L, Long::sum);
+        }
+        double averageWordDepth = wordsCount == 0 ? 0 : (double) wordDepthsSum / wordsCount;
+        return new TrieStatistics(nodesCount, wordsCount, maxDepth, averageWordDepth,
+                fanOutDistribution, estimatedSizeInBytes);
+    }
+
+    public long getNodesCount() {
+        return nodesCount;
+    }
+
+    public long getWordsCount() {
+        return wordsCount;
+    }
+
+    /**
+     * Returns the depth of the deepest trieNode, the root has depth 0
+     *
+     * @return the maximum depth
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the average depth of the trieNodes where the words end, that is, the average length of the words
+     *
+     * @return the average depth of the words, or 0 if the Trie is empty
+     */
+    public double getAverageWordDepth() {
+        return averageWordDepth;
+    }
+
+    /**
+     * Returns how many trieNodes have each number of children
+     *
+     * @return the number of trieNodes by number of children
+     */
+    public SortedMap<Integer, Long> getFanOutDistribution() {
+        return fanOutDistribution;
+    }
+
+    /**
+     * Returns the sum of {@link ITrieNode#estimateSizeInBytes()} of the trieNodes
+     *
+     * @return the estimated bytes retained by the trieNodes
+     */
+    public long getEstimatedSizeInBytes() {
+        return estimatedSizeInBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "TrieStatistics{nodesCount=" + nodesCount + ", wordsCount=" + wordsCount + ", maxDepth=" + maxDepth
+                + ", averageWordDepth=" + averageWordDepth + ", fanOutDistribution=" + fanOutDistribution
+                + ", estimatedSizeInBytes=" + estimatedSizeInBytes + '}';
+    }
+}
@@ -0,0 +1,141 @@
+package node;
+
+import java.util.Arrays;
+
+/**
+ * A trieNode whose children are indexed by unsigned bytes, so any key can be stored as bytes.
+ * A trieNode with few children keeps its bytes sorted in a small array, and it switches to a
+ * direct table of 256 children when it has more than {@value #DIRECT_THRESHOLD} children.
+ */
+public class ByteTrieNode {
+    static final int DIRECT_THRESHOLD = 32;
+    private static final int ALPHABET_SIZE = 256;
+    private static final byte[] NO_BYTES = new byte[0];
+    private static final ByteTrieNode[] NO_TRIE_NODES = new ByteTrieNode[0];
+
+    private byte[] bytes = NO_BYTES;
+    private ByteTrieNode[] trieNodes = NO_TRIE_NODES;
+    private int bytesCount;
+    private boolean isEndOfKey;
+    private int keyCount;
+
+    public ByteTrieNode getTrieNodeForByte(int unsignedByte) {
+        if (isDirect()) return trieNodes[unsignedByte];
+        int index = getByteIndex(unsignedByte);
+        return index < 0 ? null : trieNodes[index];
+    }
+
+    /**
+     * Adds a byte pointing to a new trieNode
+     *
+     * @param unsignedByte The byte, from 0 to 255, it must not be contained in this trieNode
+     * @return the new trieNode
+     */
+    public ByteTrieNode addByte(int unsignedByte) {
+        ByteTrieNode trieNode = new ByteTrieNode();
+        if (!isDirect() && bytesCount == DIRECT_THRESHOLD) {
+            toDirect();
+        }
+        if (isDirect()) {
+            trieNodes[unsignedByte] = trieNode;
+        } else {
+            int index = -getByteIndex(unsignedByte) - 1;
+            if (bytesCount == bytes.length) {
+                int capacity = Math.min(DIRECT_THRESHOLD, Math.max(2, bytesCount * 2));
+                bytes = Arrays.copyOf(bytes, capacity);
+                trieNodes = Arrays.copyOf(trieNodes, capacity);
+            }
+            System.arraycopy(bytes, index, bytes, index + 1, bytesCount - index);
+            System.arraycopy(trieNodes, index, trieNodes, index + 1, bytesCount - index);
+            bytes[index] = (byte) unsignedByte;
+            trieNodes[index] = trieNode;
+        }
+        bytesCount++;
+        return trieNode;
+    }
+
+    public void removeByte(int unsignedByte) {
+        if (isDirect()) {
+            trieNodes[unsignedByte] = null;
+            bytesCount--;
+            if (bytesCount < DIRECT_THRESHOLD / 2) toSorted();
+            return;
+        }
+        int index = getByteIndex(unsignedByte);
+        System.arraycopy(bytes, index + 1, bytes, index, bytesCount - index - 1);
+        System.arraycopy(trieNodes, index + 1, trieNodes, index, bytesCount - index - 1);
+        bytesCount--;
+        trieNodes[bytesCount] = null;
+    }
+
+    public boolean isEmpty() {
+        return bytesCount == 0;
+    }
+
+    public boolean isEndOfKey() {
+        return isEndOfKey;
+    }
+
+    public void setEndOfKey(boolean endOfKey) {
+        isEndOfKey = endOfKey;
+    }
+
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    public void setKeyCount(int keyCount) {
+        this.keyCount = keyCount;
+    }
+
+    private boolean isDirect() {
+        return trieNodes.length == ALPHABET_SIZE;
+    }
+
+    private void toDirect() {
+        ByteTrieNode[] directTrieNodes = new ByteTrieNode[ALPHABET_SIZE];
+        for (int i = 0; i < bytesCount; i++) {
+            directTrieNodes[bytes[i] & 0xFF] = trieNodes[i];
+        }
+        bytes = NO_BYTES;
+        trieNodes = directTrieNodes;
+    }
+
+    private void toSorted() {
+        byte[] sortedBytes = new byte[DIRECT_THRESHOLD];
+        ByteTrieNode[] sortedTrieNodes = new ByteTrieNode[DIRECT_THRESHOLD];
+        int index = 0;
+        for (int unsignedByte = 0; unsignedByte < ALPHABET_SIZE; unsignedByte++) {
+            if (trieNodes[unsignedByte] != null) {
+                sortedBytes[index] = (byte) unsignedByte;
+                sortedTrieNodes[index] = trieNodes[unsignedByte];
+                index++;
+            }
+        }
+        bytes = sortedBytes;
+        trieNodes = sortedTrieNodes;
+    }
+
+    /**
+     * Helper method that searches a byte in the sorted bytes, comparing them as unsigned
+     *
+     * @param unsignedByte The byte to search
+     * @return the index of the byte, or (-(insertion point) - 1) if it is not contained
+     */
+    private int getByteIndex(int unsignedByte) {
+        int low = 0;
+        int high = bytesCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleByte = bytes[middle] & 0xFF;
+            if (middleByte < unsignedByte) {
+                low = middle + 1;
+            } else if (middleByte > unsignedByte) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+}
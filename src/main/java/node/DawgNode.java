@@ -0,0 +1,213 @@
+package node;
+
+import java.util.Arrays;
+
+/**
+ * A trieNode of a DAWG (directed acyclic word graph), where equivalent subtrees are shared.
+ * The characters are kept sorted in an array, and found by binary search.
+ * Once frozen, the trieNode can be shared by several parents, so it can't be modified anymore.
+ */
+public class DawgNode implements ITrieNode {
+    private static final char[] NO_CHARACTERS = new char[0];
+    private static final DawgNode[] NO_TRIE_NODES = new DawgNode[0];
+
+    private char[] characters = NO_CHARACTERS;
+    private DawgNode[] trieNodes = NO_TRIE_NODES;
+    private int charactersCount = 0;
+    private boolean isEndOfWord;
+    private int wordCount;
+    private long fingerprint;
+    private boolean frozen;
+
+    @Override
+    public void addCharacter(char character) {
+        checkNotFrozen();
+        int index = getCharacterIndex(character);
+        if (index >= 0) {
+            trieNodes[index] = new DawgNode();
+            return;
+        }
+        index = -index - 1;
+        if (charactersCount == characters.length) {
+            int capacity = Math.max(2, charactersCount * 2);
+            characters = Arrays.copyOf(characters, capacity);
+            trieNodes = Arrays.copyOf(trieNodes, capacity);
+        }
+        System.arraycopy(characters, index, characters, index + 1, charactersCount - index);
+        System.arraycopy(trieNodes, index, trieNodes, index + 1, charactersCount - index);
+        characters[index] = character;
+        trieNodes[index] = new DawgNode();
+        charactersCount++;
+    }
+
+    @Override
+    public void removeCharacter(char character) {
+        checkNotFrozen();
+        int index = getCharacterIndex(character);
+        if (index < 0) return;
+        System.arraycopy(characters, index + 1, characters, index, charactersCount - index - 1);
+        System.arraycopy(trieNodes, index + 1, trieNodes, index, charactersCount - index - 1);
+        charactersCount--;
+        trieNodes[charactersCount] = null;
+    }
+
+    /**
+     * Replaces the trieNode that a character points, so that equivalent subtrees can be shared.
+     *
+     * @param character The character, it must be contained in this trieNode
+     * @param trieNode  The trieNode that replaces the current one
+     */
+    public void setTrieNodeForChar(char character, DawgNode trieNode) {
+        checkNotFrozen();
+        trieNodes[getCharacterIndex(character)] = trieNode;
+    }
+
+    @Override
+    public void attachTrieNode(char character, ITrieNode trieNode) {
+        if (!containsCharacter(character)) addCharacter(character);
+        setTrieNodeForChar(character, (DawgNode) trieNode);
+    }
+
+    @Override
+    public DawgNode getTrieNodeForChar(char character) {
+        int index = getCharacterIndex(character);
+        return index < 0 ? null : trieNodes[index];
+    }
+
+    @Override
+    public boolean containsCharacter(char character) {
+        return getCharacterIndex(character) >= 0;
+    }
+
+    @Override
+    public void setEndOfWord(boolean endOfWord) {
+        checkNotFrozen();
+        isEndOfWord = endOfWord;
+    }
+
+    @Override
+    public boolean isEndOfWord() {
+        return isEndOfWord;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return charactersCount == 0;
+    }
+
+    @Override
+    public Character getFirstCharacter() {
+        return isEmpty() ? null : characters[0];
+    }
+
+    @Override
+    public Character getLastCharacter() {
+        return isEmpty() ? null : characters[charactersCount - 1];
+    }
+
+    @Override
+    public Character getHigherCharacter(char character) {
+        int index = getCharacterIndex(character);
+        index = index >= 0 ? index + 1 : -index - 1;
+        return index < charactersCount ? characters[index] : null;
+    }
+
+    @Override
+    public Character getLowerCharacter(char character) {
+        int index = getCharacterIndex(character);
+        index = index >= 0 ? index - 1 : -index - 2;
+        return index >= 0 ? characters[index] : null;
+    }
+
+    @Override
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    @Override
+    public void setWordCount(int wordCount) {
+        checkNotFrozen();
+        this.wordCount = wordCount;
+        this.fingerprint = 0;
+    }
+
+    /**
+     * The fingerprint is a cache, so it can be set even if the trieNode is frozen
+     */
+    @Override
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    @Override
+    public long estimateSizeInBytes() {
+        // The trieNode plus both arrays, each with its header and aligned to 8 bytes
+        return 40 + align(16 + 2L * characters.length) + align(16 + 4L * trieNodes.length);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Freezes the trieNode, computing its word count from the trieNodes below it, which must be frozen.
+     * The arrays are trimmed to the number of characters.
+     */
+    public void freeze() {
+        if (frozen) return;
+        int count = isEndOfWord ? 1 : 0;
+        for (int i = 0; i < charactersCount; i++) {
+            count += trieNodes[i].getWordCount();
+        }
+        wordCount = count;
+        characters = Arrays.copyOf(characters, charactersCount);
+        trieNodes = Arrays.copyOf(trieNodes, charactersCount);
+        frozen = true;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Checks if this trieNode is equivalent to another one, that is, if both have the same
+     * "isEndOfWord" flag and the same characters pointing to the very same trieNodes.
+     *
+     * @param other The trieNode to compare with
+     * @return true if both trieNodes are the root of the same set of words
+     */
+    public boolean isEquivalentTo(DawgNode other) {
+        if (isEndOfWord != other.isEndOfWord || charactersCount != other.charactersCount) return false;
+        for (int i = 0; i < charactersCount; i++) {
+            if (characters[i] != other.characters[i] || trieNodes[i] != other.trieNodes[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Hash code consistent with {@link #isEquivalentTo(DawgNode)}
+     *
+     * @return the hash code of the characters and trieNodes of this trieNode
+     */
+    public int equivalenceHashCode() {
+        int hash = isEndOfWord ? 1 : 0;
+        for (int i = 0; i < charactersCount; i++) {
+            hash = 31 * hash + characters[i];
+            hash = 31 * hash + System.identityHashCode(trieNodes[i]);
+        }
+        return hash;
+    }
+
+    private int getCharacterIndex(char character) {
+        return Arrays.binarySearch(characters, 0, charactersCount, character);
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) throw new UnsupportedOperationException("The trieNode is frozen");
+    }
+}
@@ -8,10 +8,51 @@ public interface ITrieNode {
 
     ITrieNode getTrieNodeForChar(char character);
 
+    /**
+     * Makes a character point an existing trieNode, with all the trieNodes below it,
+     * replacing the trieNode the character pointed, if any. This moves a subtree without copying it.
+     * The trieNode must be of the same class as this trieNode, and the word counts are not updated.
+     */
+    void attachTrieNode(char character, ITrieNode trieNode);
+
     boolean containsCharacter(char character);
 
     void setEndOfWord(boolean setEndOfWord);
     boolean isEndOfWord();
 
     boolean isEmpty();
+
+    /**
+     * The children characters of a trieNode can be navigated in ascending order.
+     * These methods return null when there is no such character.
+     */
+    Character getFirstCharacter();
+
+    Character getLastCharacter();
+
+    Character getHigherCharacter(char character);
+
+    Character getLowerCharacter(char character);
+
+    /**
+     * Number of words that end in this trieNode or in any trieNode below it.
+     * The algorithms keep this value updated when words are inserted or deleted.
+     */
+    int getWordCount();
+
+    void setWordCount(int wordCount);
+
+    /**
+     * A fingerprint of the words below this trieNode, cached by the trieNode, or 0 if it is not computed.
+     * Setting the word count clears it, since the algorithms set the word count of every trieNode whose words change.
+     */
+    long getFingerprint();
+
+    void setFingerprint(long fingerprint);
+
+    /**
+     * Estimates the bytes retained by this trieNode and the structure that holds its children,
+     * not including the children trieNodes. It assumes a 64-bit JVM with compressed references.
+     */
+    long estimateSizeInBytes();
 }
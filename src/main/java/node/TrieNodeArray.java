@@ -1,9 +1,13 @@
 package node;
 
+import jfr.TrieNodeAllocationEvent;
+
 public class TrieNodeArray implements ITrieNode {
     private final TrieNodeArray[] charactersToTrieNodeMap;
     private int charactersCount = 0;
     private boolean isEndOfWord;
+    private int wordCount;
+    private long fingerprint;
 
     public TrieNodeArray() {
         charactersToTrieNodeMap = new TrieNodeArray[26];
@@ -28,6 +32,14 @@ public class TrieNodeArray implements ITrieNode {
     public void addCharacter(char character) {
         charactersToTrieNodeMap[getCharacterIndex(character)] = new TrieNodeArray();
         charactersCount++;
+        TrieNodeAllocationEvent.record(TrieNodeArray.class, character);
+    }
+
+    @Override
+    public void attachTrieNode(char character, ITrieNode trieNode) {
+        int index = getCharacterIndex(character);
+        if (charactersToTrieNodeMap[index] == null) charactersCount++;
+        charactersToTrieNodeMap[index] = (TrieNodeArray) trieNode;
     }
 
     @Override
@@ -46,8 +58,65 @@ public class TrieNodeArray implements ITrieNode {
         return charactersCount == 0;
     }
 
+    @Override
+    public Character getFirstCharacter() {
+        return getHigherCharacter((char) ('a' - 1));
+    }
+
+    @Override
+    public Character getLastCharacter() {
+        return getLowerCharacter((char) ('a' + charactersToTrieNodeMap.length));
+    }
+
+    @Override
+    public Character getHigherCharacter(char character) {
+        for (int i = Math.max(getCharacterIndex(character) + 1, 0); i < charactersToTrieNodeMap.length; i++) {
+            if (charactersToTrieNodeMap[i] != null) return getCharacter(i);
+        }
+        return null;
+    }
+
+    @Override
+    public Character getLowerCharacter(char character) {
+        for (int i = Math.min(getCharacterIndex(character), charactersToTrieNodeMap.length) - 1; i >= 0; i--) {
+            if (charactersToTrieNodeMap[i] != null) return getCharacter(i);
+        }
+        return null;
+    }
+
+    @Override
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    @Override
+    public void setWordCount(int wordCount) {
+        this.wordCount = wordCount;
+        this.fingerprint = 0;
+    }
+
+    @Override
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+
+    @Override
+    public long estimateSizeInBytes() {
+        // Object header, 4 fields and padding, plus the array header and references
+        return 40 + 16 + 4L * charactersToTrieNodeMap.length;
+    }
 
     private int getCharacterIndex(char character) {
         return character - 'a';
     }
+
+    private char getCharacter(int index) {
+        return (char) (index + 'a');
+    }
 }
@@ -1,39 +1,108 @@
 package node;
 
-import java.util.HashMap;
+import jfr.TrieNodeAllocationEvent;
+
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
+/**
+ * A trieNode whose children are kept in the smallest form that holds them: no map while it has no children,
+ * the character and the trieNode of the only child inline, and a TreeMap once it has several children.
+ * <p>
+ * Removing children doesn't move them back to a smaller form, so a trieNode that loses and gains a child repeatedly
+ * doesn't allocate a map each time. {@link #compact()} does it, for example from a {@code compaction.TrieCompactor}.
+ */
 public class TrieNodeMap implements ITrieNode {
-    private final Map<Character, TrieNodeMap> charactersToTrieNodeMap;
+    private NavigableMap<Character, TrieNodeMap> charactersToTrieNodeMap;
+    private char singleCharacter;
+    private TrieNodeMap singleTrieNode;
     private boolean isEndOfWord;
+    private int wordCount;
+    private long fingerprint;
 
     public TrieNodeMap() {
-        charactersToTrieNodeMap = new HashMap<>();
     }
 
     @Override
     public void addCharacter(char character) {
-        charactersToTrieNodeMap.put(character, new TrieNodeMap());
+        putTrieNode(character, new TrieNodeMap());
+        TrieNodeAllocationEvent.record(TrieNodeMap.class, character);
+    }
+
+    @Override
+    public void attachTrieNode(char character, ITrieNode trieNode) {
+        putTrieNode(character, (TrieNodeMap) trieNode);
+    }
+
+    /**
+     * Helper method that links a character to a trieNode, moving the children to a TreeMap
+     * if the trieNode had another child inline
+     *
+     * @param character The character
+     * @param trieNode  The trieNode that the character points
+     */
+    private void putTrieNode(char character, TrieNodeMap trieNode) {
+        if (charactersToTrieNodeMap != null) {
+            charactersToTrieNodeMap.put(character, trieNode);
+        } else if (singleTrieNode == null || singleCharacter == character) {
+            singleCharacter = character;
+            singleTrieNode = trieNode;
+        } else {
+            charactersToTrieNodeMap = new TreeMap<>();
+            charactersToTrieNodeMap.put(singleCharacter, singleTrieNode);
+            charactersToTrieNodeMap.put(character, trieNode);
+            singleTrieNode = null;
+        }
     }
 
     @Override
     public void removeCharacter(char character) {
-        charactersToTrieNodeMap.remove(character);
+        if (charactersToTrieNodeMap != null) {
+            charactersToTrieNodeMap.remove(character);
+        } else if (singleCharacter == character) {
+            singleTrieNode = null;
+        }
     }
 
     @Override
     public TrieNodeMap getTrieNodeForChar(char character) {
-        return charactersToTrieNodeMap.get(character);
+        if (charactersToTrieNodeMap != null) return charactersToTrieNodeMap.get(character);
+        return singleCharacter == character ? singleTrieNode : null;
     }
 
     @Override
     public boolean containsCharacter(char character) {
-        return charactersToTrieNodeMap.containsKey(character);
+        return getTrieNodeForChar(character) != null;
     }
 
     @Override
     public boolean isEmpty() {
-        return charactersToTrieNodeMap.isEmpty();
+        return charactersToTrieNodeMap == null ? singleTrieNode == null : charactersToTrieNodeMap.isEmpty();
+    }
+
+    @Override
+    public Character getFirstCharacter() {
+        if (charactersToTrieNodeMap == null) return singleTrieNode == null ? null : singleCharacter;
+        return charactersToTrieNodeMap.isEmpty() ? null : charactersToTrieNodeMap.firstKey();
+    }
+
+    @Override
+    public Character getLastCharacter() {
+        if (charactersToTrieNodeMap == null) return singleTrieNode == null ? null : singleCharacter;
+        return charactersToTrieNodeMap.isEmpty() ? null : charactersToTrieNodeMap.lastKey();
+    }
+
+    @Override
+    public Character getHigherCharacter(char character) {
+        if (charactersToTrieNodeMap != null) return charactersToTrieNodeMap.higherKey(character);
+        return singleTrieNode != null && singleCharacter > character ? singleCharacter : null;
+    }
+
+    @Override
+    public Character getLowerCharacter(char character) {
+        if (charactersToTrieNodeMap != null) return charactersToTrieNodeMap.lowerKey(character);
+        return singleTrieNode != null && singleCharacter < character ? singleCharacter : null;
     }
 
     @Override
@@ -45,4 +114,53 @@ public class TrieNodeMap implements ITrieNode {
     public boolean isEndOfWord() {
         return isEndOfWord;
     }
+
+    @Override
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    @Override
+    public void setWordCount(int wordCount) {
+        this.wordCount = wordCount;
+        this.fingerprint = 0;
+    }
+
+    @Override
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Moves the children to the smallest form that holds them, releasing the TreeMap
+     * if the trieNode has one child or none left
+     *
+     * @return the number of bytes released, 0 if the trieNode was already compact
+     */
+    public long compact() {
+        if (charactersToTrieNodeMap == null || charactersToTrieNodeMap.size() > 1) return 0;
+        long sizeInBytes = estimateSizeInBytes();
+        Map.Entry<Character, TrieNodeMap> entry = charactersToTrieNodeMap.firstEntry();
+        if (entry != null) {
+            singleCharacter = entry.getKey();
+            singleTrieNode = entry.getValue();
+        }
+        charactersToTrieNodeMap = null;
+        return sizeInBytes - estimateSizeInBytes();
+    }
+
+    @Override
+    public long estimateSizeInBytes() {
+        // The trieNode, with its only child inline, or the TreeMap and one TreeMap entry per character.
+        // Characters lower than 128 are cached by Character.valueOf, so their boxes are not counted
+        if (charactersToTrieNodeMap == null) return 40;
+        long boxedCharacters = charactersToTrieNodeMap.isEmpty()
+                ? 0 : charactersToTrieNodeMap.tailMap((char) 128, true).size();
+        return 40 + 48 + 40L * charactersToTrieNodeMap.size() + 16L * boxedCharacters;
+    }
 }
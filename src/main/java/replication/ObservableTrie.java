@@ -0,0 +1,85 @@
+package replication;
+
+import metrics.TrieOperation;
+import trie.ForwardingTrie;
+import trie.ITrie;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+
+/**
+ * A Trie that sends its changes to listeners, as a feed of numbered changes that replicas can apply in order.
+ * Only the calls that change the Trie are sent, so inserting a word already in the Trie is not a change.
+ * The changes are serialized by this Trie, which numbers them and calls the listeners holding its lock.
+ */
+public class ObservableTrie extends ForwardingTrie {
+    private final List<TrieChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private long lastSequence;
+
+    public ObservableTrie(ITrie trie) {
+        super(trie);
+    }
+
+    public void addListener(TrieChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TrieChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the number of the last change
+     *
+     * @return the sequence number of the last change, or 0 if the Trie was not changed
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public synchronized boolean insertWord(CharSequence word) {
+        boolean inserted = super.insertWord(word);
+        if (inserted) publish(TrieOperation.INSERT_WORD, word);
+        return inserted;
+    }
+
+    @Override
+    public synchronized boolean deleteWord(CharSequence word) {
+        boolean deleted = super.deleteWord(word);
+        if (deleted) publish(TrieOperation.DELETE_WORD, word);
+        return deleted;
+    }
+
+    /**
+     * Deletes the words that start with a prefix, and sends the prefix as one change if any word was deleted
+     *
+     * @param prefix The prefix of the words to delete
+     * @return the number of deleted words
+     */
+    @Override
+    public synchronized int deletePrefix(CharSequence prefix) {
+        int deletedCount = super.deletePrefix(prefix);
+        if (deletedCount > 0) publish(TrieOperation.DELETE_PREFIX, prefix);
+        return deletedCount;
+    }
+
+    /**
+     * Reads the Trie while no change is applied, so the read matches the number of the last change,
+     * for example to copy the Trie to a new replica
+     *
+     * @param reader Reads the decorated Trie, given the number of its last change
+     * @return the result of the read
+     */
+    public synchronized <T> T read(BiFunction<ITrie, Long, T> reader) {
+        return reader.apply(getDelegate(), lastSequence);
+    }
+
+    private void publish(TrieOperation operation, CharSequence word) {
+        TrieChange change = new TrieChange(++lastSequence, operation, word.toString());
+        for (TrieChangeListener listener : listeners) {
+            listener.onChange(change);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package replication;
+
+import metrics.TrieOperation;
+import trie.ITrie;
+
+/**
+ * Applies the feed of changes of an {@link ObservableTrie} to a replica, in order.
+ * <p>
+ * A change already applied is ignored, so the feed can be delivered again after a failure.
+ * If a change is missing, the replica is out of sync and ignores the next changes,
+ * until it is resynchronized from the leader with a {@link TrieDiff}.
+ */
+public class ReplicaApplier implements TrieChangeListener {
+    private final ITrie replica;
+    private long lastAppliedSequence;
+    private boolean inSync = true;
+
+    /**
+     * Creates the applier of a replica that has the words of the leader up to a change
+     *
+     * @param replica             The replica
+     * @param lastAppliedSequence The number of the last change of the leader that the replica has,
+     *                            0 if both are empty
+     */
+    public ReplicaApplier(ITrie replica, long lastAppliedSequence) {
+        this.replica = replica;
+        this.lastAppliedSequence = lastAppliedSequence;
+    }
+
+    @Override
+    public synchronized void onChange(TrieChange change) {
+        if (!inSync || change.getSequence() <= lastAppliedSequence) return;
+        if (change.getSequence() != lastAppliedSequence + 1) {
+            inSync = false;
+            return;
+        }
+        if (change.getOperation() == TrieOperation.INSERT_WORD) {
+            replica.insertWord(change.getWord());
+        } else if (change.getOperation() == TrieOperation.DELETE_PREFIX) {
+            replica.deletePrefix(change.getWord());
+        } else {
+            replica.deleteWord(change.getWord());
+        }
+        lastAppliedSequence = change.getSequence();
+    }
+
+    /**
+     * Makes the replica equal to the leader, applying only the words that differ, and continues with the next changes
+     *
+     * @param leader The Trie the replica follows
+     * @return the diff applied to the replica
+     */
+    public TrieDiff resynchronize(ObservableTrie leader) {
+        // The lock of the leader is taken first, like when it calls onChange
+        return leader.read((trie, lastSequence) -> {
+            synchronized (this) {
+                TrieDiff diff = TrieDiff.between(replica, trie);
+                diff.applyTo(replica);
+                lastAppliedSequence = lastSequence;
+                inSync = true;
+                return diff;
+            }
+        });
+    }
+
+    /**
+     * Checks if no change is missing since the replica was created or resynchronized
+     *
+     * @return false if the replica must be resynchronized
+     */
+    public synchronized boolean isInSync() {
+        return inSync;
+    }
+
+    public synchronized long getLastAppliedSequence() {
+        return lastAppliedSequence;
+    }
+}
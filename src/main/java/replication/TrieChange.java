@@ -0,0 +1,45 @@
+package replication;
+
+import metrics.TrieOperation;
+
+/**
+ * A change of an {@link ObservableTrie}, numbered in the order the changes were applied
+ */
+public final class TrieChange {
+    private final long sequence;
+    private final TrieOperation operation;
+    private final String word;
+
+    public TrieChange(long sequence, TrieOperation operation, String word) {
+        this.sequence = sequence;
+        this.operation = operation;
+        this.word = word;
+    }
+
+    /**
+     * Returns the number of the change, the first change is 1 and each change is numbered after the previous one
+     *
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the operation of the change
+     *
+     * @return INSERT_WORD, DELETE_WORD, or DELETE_PREFIX whose word is the prefix
+     */
+    public TrieOperation getOperation() {
+        return operation;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    @Override
+    public String toString() {
+        return sequence + " " + operation + " " + word;
+    }
+}
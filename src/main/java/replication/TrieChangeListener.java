@@ -0,0 +1,16 @@
+package replication;
+
+/**
+ * Receives the changes of an {@link ObservableTrie}
+ */
+@FunctionalInterface
+public interface TrieChangeListener {
+
+    /**
+     * Called after a change is applied, in the thread of the change and holding the lock of the Trie,
+     * so the changes are received in order. It should not block nor throw.
+     *
+     * @param change The change
+     */
+    void onChange(TrieChange change);
+}
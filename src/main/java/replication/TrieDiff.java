@@ -0,0 +1,156 @@
+package replication;
+
+import node.ITrieNode;
+import trie.ITrie;
+import trie.TrieWordIterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The words to insert and to delete to turn a version of a Trie into another version.
+ * <p>
+ * Both Tries are walked at the same time, and a subtree whose fingerprint is equal in both versions is skipped,
+ * so comparing two versions that differ in a few words visits only the paths of those words,
+ * once the fingerprints are cached. The fingerprints are 64-bit hashes, so two different subtrees
+ * could have the same fingerprint, with a probability of about 2^-64 per pair of subtrees.
+ */
+public final class TrieDiff {
+    private final List<String> insertedWords;
+    private final List<String> deletedWords;
+
+    private TrieDiff(List<String> insertedWords, List<String> deletedWords) {
+        this.insertedWords = Collections.unmodifiableList(insertedWords);
+        this.deletedWords = Collections.unmodifiableList(deletedWords);
+    }
+
+    /**
+     * Compares two versions of a Trie
+     *
+     * @param from The old version
+     * @param to   The new version
+     * @return the words of the new version that are not in the old one, and the other way around
+     */
+    public static TrieDiff between(ITrie from, ITrie to) {
+        List<String> insertedWords = new ArrayList<>();
+        List<String> deletedWords = new ArrayList<>();
+        compare(from.getRoot(), to.getRoot(), new StringBuilder(), insertedWords, deletedWords);
+        return new TrieDiff(insertedWords, deletedWords);
+    }
+
+    /**
+     * Returns the fingerprint of the words of a Trie, equal for Tries with the same words
+     *
+     * @param trie The Trie
+     * @return the fingerprint of its words
+     */
+    public static long fingerprint(ITrie trie) {
+        return fingerprint(trie.getRoot());
+    }
+
+    /**
+     * Returns the words of the new version that are not in the old one
+     *
+     * @return the inserted words, in ascending order
+     */
+    public List<String> getInsertedWords() {
+        return insertedWords;
+    }
+
+    /**
+     * Returns the words of the old version that are not in the new one
+     *
+     * @return the deleted words, in ascending order
+     */
+    public List<String> getDeletedWords() {
+        return deletedWords;
+    }
+
+    public boolean isEmpty() {
+        return insertedWords.isEmpty() && deletedWords.isEmpty();
+    }
+
+    /**
+     * Inserts and deletes the words of the diff in a Trie, to turn the old version into the new one
+     *
+     * @param trie The Trie to modify
+     */
+    public void applyTo(ITrie trie) {
+        deletedWords.forEach(trie::deleteWord);
+        insertedWords.forEach(trie::insertWord);
+    }
+
+    /**
+     * Helper recursive method that compares the trieNodes of the same prefix in both versions.
+     * The characters of both trieNodes are merged in ascending order, so the words are found in ascending order.
+     *
+     * @param from          The trieNode of the old version
+     * @param to            The trieNode of the new version
+     * @param prefix        The prefix of both trieNodes
+     * @param insertedWords The words found only in the new version
+     * @param deletedWords  The words found only in the old version
+     */
+    private static void compare(ITrieNode from, ITrieNode to, StringBuilder prefix,
+                                List<String> insertedWords, List<String> deletedWords) {
+        if (from == to || fingerprint(from) == fingerprint(to)) return;
+        if (from.isEndOfWord() && !to.isEndOfWord()) deletedWords.add(prefix.toString());
+        if (!from.isEndOfWord() && to.isEndOfWord()) insertedWords.add(prefix.toString());
+        Character fromCharacter = from.getFirstCharacter();
+        Character toCharacter = to.getFirstCharacter();
+        while (fromCharacter != null || toCharacter != null) {
+            int comparison = fromCharacter == null ? 1 : toCharacter == null ? -1 : fromCharacter.compareTo(toCharacter);
+            char character = comparison <= 0 ? fromCharacter : toCharacter;
+            prefix.append(character);
+            if (comparison < 0) {
+                addWords(from.getTrieNodeForChar(character), prefix, deletedWords);
+            } else if (comparison > 0) {
+                addWords(to.getTrieNodeForChar(character), prefix, insertedWords);
+            } else {
+                compare(from.getTrieNodeForChar(character), to.getTrieNodeForChar(character), prefix,
+                        insertedWords, deletedWords);
+            }
+            prefix.setLength(prefix.length() - 1);
+            if (comparison <= 0) fromCharacter = from.getHigherCharacter(character);
+            if (comparison >= 0) toCharacter = to.getHigherCharacter(character);
+        }
+    }
+
+    private static void addWords(ITrieNode trieNode, StringBuilder prefix, List<String> words) {
+        TrieWordIterator.forTrieNode(trieNode, prefix.toString()).forEachRemaining(words::add);
+    }
+
+    /**
+     * Helper recursive method that returns the fingerprint of a trieNode, computing it from the fingerprints of
+     * its children if it is not cached. It mixes the "isEndOfWord" flag and each character with its child's fingerprint,
+     * in ascending order of the characters.
+     *
+     * @param trieNode The trieNode
+     * @return the fingerprint, never 0
+     */
+    static long fingerprint(ITrieNode trieNode) {
+        long fingerprint = trieNode.getFingerprint();
+        if (fingerprint != 0) return fingerprint;
+        fingerprint = trieNode.isEndOfWord() ? 0x2545F4914F6CDD1DL : 0x5851F42D4C957F2DL;
+        for (Character character = trieNode.getFirstCharacter(); character != null;
+             character = trieNode.getHigherCharacter(character)) {
+            fingerprint = mix(fingerprint * 0x9E3779B97F4A7C15L + character);
+            fingerprint = mix(fingerprint ^ fingerprint(trieNode.getTrieNodeForChar(character)));
+        }
+        if (fingerprint == 0) fingerprint = 1;
+        trieNode.setFingerprint(fingerprint);
+        return fingerprint;
+    }
+
+    /**
+     * The finalizer of MurmurHash3, so each bit of the result depends on all the bits of the value
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
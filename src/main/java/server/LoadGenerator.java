@@ -0,0 +1,185 @@
+package server;
+
+import metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends random lookups to a {@link TrieServer} for a while, and reports the throughput and the latencies of the frames.
+ * <p>
+ * Usage: LoadGenerator host port wordsFile [connections] [batchSize] [pipelineDepth] [seconds]
+ * <br>
+ * The words file has one word per line. Each connection keeps up to pipelineDepth frames in flight,
+ * each one with batchSize searches of words of the file, half of them as words and half as prefixes.
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadGenerator host port wordsFile [connections] [batchSize] [pipelineDepth] [seconds]");
+            System.exit(1);
+        }
+        List<String> words = Files.readAllLines(Paths.get(args[2]), StandardCharsets.UTF_8);
+        Report report = run(args[0], Integer.parseInt(args[1]), words,
+                args.length > 3 ? Integer.parseInt(args[3]) : 4,
+                args.length > 4 ? Integer.parseInt(args[4]) : 16,
+                args.length > 5 ? Integer.parseInt(args[5]) : 4,
+                TimeUnit.SECONDS.toMillis(args.length > 6 ? Long.parseLong(args[6]) : 10));
+        System.out.println(report);
+    }
+
+    /**
+     * Sends lookups to a server, and waits for the responses of all of them
+     *
+     * @param host             The host of the server
+     * @param port             The port of the server
+     * @param words            The words to search
+     * @param connectionsCount The number of connections, each one sends its frames from its own thread
+     * @param batchSize        The number of requests of a frame
+     * @param pipelineDepth    The maximum number of frames of a connection waiting for their responses
+     * @param durationMillis   How long frames are sent
+     * @return the throughput and the latencies
+     * @throws IOException          if a connection fails
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public static Report run(String host, int port, List<String> words, int connectionsCount, int batchSize,
+                             int pipelineDepth, long durationMillis) throws IOException, InterruptedException {
+        if (words.isEmpty()) throw new IllegalArgumentException("There are no words to search");
+        LatencyHistogram latencies = new LatencyHistogram();
+        LongAdder requestsCount = new LongAdder();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<TrieClient> clients = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        long startTime = System.nanoTime();
+        long endTime = startTime + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        try {
+            for (int i = 0; i < connectionsCount; i++) {
+                TrieClient client = TrieClient.connect(host, port);
+                clients.add(client);
+                Thread thread = new Thread(() -> sendFrames(client, words, batchSize, pipelineDepth, endTime,
+                        latencies, requestsCount, failure), "load-generator-" + i);
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } finally {
+            for (TrieClient client : clients) {
+                client.close();
+            }
+        }
+        if (failure.get() != null) throw new IOException("A frame failed", failure.get());
+        return new Report(requestsCount.sum(), latencies.getCount(), System.nanoTime() - startTime,
+                latencies.getPercentile(50), latencies.getPercentile(99));
+    }
+
+    /**
+     * Helper method that sends frames until the end time, keeping at most pipelineDepth of them in flight
+     */
+    private static void sendFrames(TrieClient client, List<String> words, int batchSize, int pipelineDepth,
+                                   long endTime, LatencyHistogram latencies, LongAdder requestsCount,
+                                   AtomicReference<Throwable> failure) {
+        Semaphore inFlightFrames = new Semaphore(pipelineDepth);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            while (System.nanoTime() - endTime < 0 && failure.get() == null) {
+                List<TrieRequest> requests = new ArrayList<>(batchSize);
+                for (int i = 0; i < batchSize; i++) {
+                    String word = words.get(random.nextInt(words.size()));
+                    requests.add(random.nextBoolean() ? TrieRequest.containsWord(word)
+                            : TrieRequest.containsPrefix(word.substring(0, word.length() / 2)));
+                }
+                inFlightFrames.acquire();
+                long sendTime = System.nanoTime();
+                client.send(requests).whenComplete((responses, frameFailure) -> {
+                    if (frameFailure != null) {
+                        failure.compareAndSet(null, frameFailure);
+                    } else {
+                        latencies.record(System.nanoTime() - sendTime);
+                        requestsCount.add(responses.size());
+                    }
+                    inFlightFrames.release();
+                });
+            }
+            // Waits for the responses of the frames in flight
+            inFlightFrames.acquire(pipelineDepth);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The results of a run of the load generator
+     */
+    public static final class Report {
+        private final long requestsCount;
+        private final long framesCount;
+        private final long elapsedNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+
+        private Report(long requestsCount, long framesCount, long elapsedNanos, long p50Nanos, long p99Nanos) {
+            this.requestsCount = requestsCount;
+            this.framesCount = framesCount;
+            this.elapsedNanos = elapsedNanos;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+        }
+
+        public long getRequestsCount() {
+            return requestsCount;
+        }
+
+        public long getFramesCount() {
+            return framesCount;
+        }
+
+        /**
+         * Returns the number of requests answered per second
+         *
+         * @return the throughput
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : requestsCount * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Returns the median latency of a frame, as an upper bound of a power of two
+         *
+         * @return the latency in nanoseconds
+         */
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        /**
+         * Returns the 99th percentile of the latency of a frame, as an upper bound of a power of two
+         *
+         * @return the latency in nanoseconds
+         */
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests: %d, frames: %d, throughput: %.0f requests/s, p50: %d us, p99: %d us",
+                    requestsCount, framesCount, getThroughput(),
+                    TimeUnit.NANOSECONDS.toMicros(p50Nanos), TimeUnit.NANOSECONDS.toMicros(p99Nanos));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A connection to a {@link TrieServer}.
+ * <p>
+ * The frames are sent without waiting for the responses of the previous ones, and a reader thread completes them
+ * in order as their responses arrive, so several threads can share a client and pipeline their frames.
+ */
+public class TrieClient implements Closeable {
+    private final Socket socket;
+    private final DataOutputStream output;
+    private final DataInputStream input;
+    // The frames sent and not answered yet, in the order they were sent
+    private final Queue<PendingFrame> pendingFrames = new ConcurrentLinkedQueue<>();
+    private final Thread readerThread;
+    private volatile IOException failure;
+
+    private TrieClient(Socket socket) throws IOException {
+        this.socket = socket;
+        this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.readerThread = new Thread(this::readResponses, "trie-client-reader");
+        readerThread.setDaemon(true);
+    }
+
+    /**
+     * Connects to a server on the loopback address
+     *
+     * @param port The port of the server
+     * @return the client
+     * @throws IOException if the connection fails
+     */
+    public static TrieClient connect(int port) throws IOException {
+        return connect(InetAddress.getLoopbackAddress().getHostAddress(), port);
+    }
+
+    /**
+     * Connects to a server
+     *
+     * @param host The host of the server
+     * @param port The port of the server
+     * @return the client
+     * @throws IOException if the connection fails
+     */
+    public static TrieClient connect(String host, int port) throws IOException {
+        Socket socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        TrieClient client = new TrieClient(socket);
+        client.readerThread.start();
+        return client;
+    }
+
+    /**
+     * Sends a frame of requests
+     *
+     * @param requests The requests
+     * @return the future of the responses, a Boolean or a List of String per request, in the order of the requests,
+     * or a TrieRequestException for a request that failed on the server; it fails with an IOException
+     * if the connection fails
+     */
+    public CompletableFuture<List<Object>> send(List<TrieRequest> requests) {
+        byte[] frame = TrieProtocol.encodeRequests(requests);
+        PendingFrame pendingFrame = new PendingFrame(requests);
+        synchronized (output) {
+            try {
+                pendingFrames.add(pendingFrame);
+                if (failure != null) throw failure;
+                output.writeInt(frame.length);
+                output.write(frame);
+                output.flush();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+        return pendingFrame.responses;
+    }
+
+    public boolean containsWord(String word) {
+        return (Boolean) call(TrieRequest.containsWord(word));
+    }
+
+    public boolean containsPrefix(String prefix) {
+        return (Boolean) call(TrieRequest.containsPrefix(prefix));
+    }
+
+    /**
+     * Returns the first words that start with a prefix, in ascending order
+     *
+     * @param prefix The prefix of the words
+     * @param limit  The maximum number of words
+     * @return the words that start with the prefix
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> completions(String prefix, int limit) {
+        return (List<String>) call(TrieRequest.completions(prefix, limit));
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    /**
+     * Helper method that sends a frame of a single request and waits for its response
+     *
+     * @param request The request
+     * @return the response
+     * @throws UncheckedIOException if the connection fails
+     * @throws TrieRequestException if the request failed on the server
+     */
+    private Object call(TrieRequest request) {
+        Object response;
+        try {
+            response = send(Collections.singletonList(request)).join().get(0);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) throw new UncheckedIOException((IOException) e.getCause());
+            throw e;
+        }
+        // The exception was created by the reader thread, it is thrown again with the stack of the caller
+        if (response instanceof TrieRequestException) {
+            throw new TrieRequestException(((TrieRequestException) response).getMessage());
+        }
+        return response;
+    }
+
+    private void readResponses() {
+        try {
+            while (true) {
+                byte[] frame = TrieProtocol.readFrame(input);
+                PendingFrame pendingFrame = pendingFrames.poll();
+                if (pendingFrame == null) throw new IOException("A response without request");
+                pendingFrame.responses.complete(TrieProtocol.decodeResponses(pendingFrame.requests, frame));
+            }
+        } catch (IOException e) {
+            synchronized (output) {
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * Helper method that fails the pending frames and the next ones, called holding the lock of the output
+     *
+     * @param e The failure of the connection
+     */
+    private void fail(IOException e) {
+        if (failure == null) failure = e;
+        PendingFrame pendingFrame;
+        while ((pendingFrame = pendingFrames.poll()) != null) {
+            pendingFrame.responses.completeExceptionally(failure);
+        }
+        try {
+            socket.close();
+        } catch (IOException closeFailure) {
+            e.addSuppressed(closeFailure);
+        }
+    }
+
+    /**
+     * A frame waiting for its responses
+     */
+    private static final class PendingFrame {
+        private final List<TrieRequest> requests;
+        private final CompletableFuture<List<Object>> responses = new CompletableFuture<>();
+
+        private PendingFrame(List<TrieRequest> requests) {
+            this.requests = requests;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package server;
+
+import trie.ITrie;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The binary protocol of a {@link TrieServer}.
+ * <p>
+ * The client sends frames of requests, and the server answers each frame with a frame of responses,
+ * in the order it received them, so a client can send several frames without waiting for their responses.
+ * A frame is its length (int) followed by its number of requests or responses (int) and them.
+ * A request is the operation (byte), the key (UTF) and, for the completions, the limit (int).
+ * A response is its status (byte): if the request succeeded, a boolean for the searches,
+ * and the number of words (int) followed by the words (UTF) for the completions;
+ * if the search failed, for example with a key out of the alphabet of the Trie, the message of the failure (UTF).
+ */
+public final class TrieProtocol {
+    static final byte CONTAINS_WORD = 1;
+    static final byte CONTAINS_PREFIX = 2;
+    static final byte COMPLETIONS = 3;
+
+    static final byte SUCCEEDED = 0;
+    static final byte FAILED = 1;
+    // Keeps the message of a failure far below the 65535 bytes of a UTF string
+    private static final int MAX_FAILURE_MESSAGE_LENGTH = 1024;
+
+    /**
+     * The maximum length of a frame, longer frames are rejected as corrupted
+     */
+    static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    private TrieProtocol() {
+    }
+
+    /**
+     * Encodes a frame of requests, without its length
+     *
+     * @param requests The requests
+     * @return the frame
+     */
+    static byte[] encodeRequests(List<TrieRequest> requests) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        try {
+            output.writeInt(requests.size());
+            for (TrieRequest request : requests) {
+                output.writeByte(request.getOperation());
+                output.writeUTF(request.getKey());
+                if (request.getOperation() == COMPLETIONS) output.writeInt(request.getLimit());
+            }
+        } catch (IOException e) {
+            // A ByteArrayOutputStream doesn't throw
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a frame of requests, searches them into a Trie, and encodes the frame of responses without its length.
+     * A search that fails with a RuntimeException is answered with its message, and the next requests are searched.
+     *
+     * @param trie     The Trie
+     * @param frame    The frame of requests, without its length
+     * @param response The buffer of the frame of responses
+     * @throws IOException if the frame is corrupted
+     */
+    static void handle(ITrie trie, byte[] frame, ByteArrayOutputStream response) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(frame));
+        DataOutputStream output = new DataOutputStream(response);
+        int requestsCount = input.readInt();
+        output.writeInt(requestsCount);
+        for (int i = 0; i < requestsCount; i++) {
+            byte operation = input.readByte();
+            String key = input.readUTF();
+            int limit = 0;
+            if (operation == COMPLETIONS) {
+                limit = input.readInt();
+            } else if (operation != CONTAINS_WORD && operation != CONTAINS_PREFIX) {
+                throw new IOException("Unknown operation: " + operation);
+            }
+            try {
+                // The response is written only once the search returned, so a failure doesn't leave half of it
+                switch (operation) {
+                    case CONTAINS_WORD:
+                        boolean containsWord = trie.containsWord(key);
+                        output.writeByte(SUCCEEDED);
+                        output.writeBoolean(containsWord);
+                        break;
+                    case CONTAINS_PREFIX:
+                        boolean containsPrefix = trie.containsPrefix(key);
+                        output.writeByte(SUCCEEDED);
+                        output.writeBoolean(containsPrefix);
+                        break;
+                    default:
+                        List<String> words = new ArrayList<>();
+                        Iterator<String> iterator = trie.wordsWithPrefix(key).iterator();
+                        while (words.size() < limit && iterator.hasNext()) {
+                            words.add(iterator.next());
+                        }
+                        output.writeByte(SUCCEEDED);
+                        output.writeInt(words.size());
+                        for (String word : words) {
+                            output.writeUTF(word);
+                        }
+                        break;
+                }
+            } catch (RuntimeException e) {
+                output.writeByte(FAILED);
+                output.writeUTF(getFailureMessage(e));
+            }
+        }
+    }
+
+    private static String getFailureMessage(RuntimeException e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() > MAX_FAILURE_MESSAGE_LENGTH ? message.substring(0, MAX_FAILURE_MESSAGE_LENGTH) : message;
+    }
+
+    /**
+     * Decodes a frame of responses
+     *
+     * @param requests The requests of the frame
+     * @param frame    The frame of responses, without its length
+     * @return a Boolean or a List of String per request, or a TrieRequestException for the requests that failed
+     * @throws IOException if the frame doesn't answer the requests
+     */
+    static List<Object> decodeResponses(List<TrieRequest> requests, byte[] frame) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(frame));
+        if (input.readInt() != requests.size()) throw new IOException("The responses don't match the requests");
+        List<Object> responses = new ArrayList<>(requests.size());
+        for (TrieRequest request : requests) {
+            byte status = input.readByte();
+            if (status == FAILED) {
+                responses.add(new TrieRequestException(input.readUTF()));
+            } else if (status != SUCCEEDED) {
+                throw new IOException("Unknown status: " + status);
+            } else if (request.getOperation() == COMPLETIONS) {
+                int wordsCount = input.readInt();
+                List<String> words = new ArrayList<>(wordsCount);
+                for (int i = 0; i < wordsCount; i++) {
+                    words.add(input.readUTF());
+                }
+                responses.add(words);
+            } else {
+                responses.add(input.readBoolean());
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Reads the length of a frame, and then the frame
+     *
+     * @param input The input of the connection
+     * @return the frame
+     * @throws IOException if the connection fails, or the length is out of bounds
+     */
+    static byte[] readFrame(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > MAX_FRAME_LENGTH) throw new IOException("Invalid frame length: " + length);
+        byte[] frame = new byte[length];
+        input.readFully(frame);
+        return frame;
+    }
+}
@@ -0,0 +1,61 @@
+package server;
+
+/**
+ * A lookup sent to a {@link TrieServer}, as part of a frame of requests
+ */
+public final class TrieRequest {
+    private final byte operation;
+    private final String key;
+    private final int limit;
+
+    private TrieRequest(byte operation, String key, int limit) {
+        this.operation = operation;
+        this.key = key;
+        this.limit = limit;
+    }
+
+    /**
+     * Checks if the Trie contains a word, its response is a Boolean
+     *
+     * @param word The word to search
+     * @return the request
+     */
+    public static TrieRequest containsWord(String word) {
+        return new TrieRequest(TrieProtocol.CONTAINS_WORD, word, 0);
+    }
+
+    /**
+     * Checks if the Trie contains a prefix, its response is a Boolean
+     *
+     * @param prefix The prefix to search
+     * @return the request
+     */
+    public static TrieRequest containsPrefix(String prefix) {
+        return new TrieRequest(TrieProtocol.CONTAINS_PREFIX, prefix, 0);
+    }
+
+    /**
+     * Returns the first words that start with a prefix, its response is a List of String
+     *
+     * @param prefix The prefix of the words
+     * @param limit  The maximum number of words
+     * @return the request
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public static TrieRequest completions(String prefix, int limit) {
+        if (limit < 0) throw new IllegalArgumentException("The limit must not be negative: " + limit);
+        return new TrieRequest(TrieProtocol.COMPLETIONS, prefix, limit);
+    }
+
+    byte getOperation() {
+        return operation;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,12 @@
+package server;
+
+/**
+ * The failure of a request on the {@link TrieServer}, for example a key out of the alphabet of the Trie.
+ * The other requests of the frame and the connection are not affected.
+ */
+public class TrieRequestException extends RuntimeException {
+
+    public TrieRequestException(String message) {
+        super(message);
+    }
+}
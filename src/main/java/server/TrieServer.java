@@ -0,0 +1,157 @@
+package server;
+
+import trie.ITrie;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the lookups of a Trie over TCP, with the {@link TrieProtocol}.
+ * <p>
+ * Each connection is served by its own thread, which reads a frame, answers it and reads the next one, so the frames
+ * of a connection are answered in order. The responses are flushed only when there are no more frames to read,
+ * so the responses of pipelined frames are sent together.
+ * The threads are virtual threads when the JVM supports them, and threads of a cached pool otherwise.
+ * <p>
+ * The Trie is read by all the connections at the same time, so it must be either thread-safe,
+ * like a ConcurrentPartitionedTrie, or not modified while it is served, like a Dawg.
+ */
+public class TrieServer implements Closeable {
+    private final ITrie trie;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connectionExecutor;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final Thread acceptThread;
+
+    private TrieServer(ITrie trie, ServerSocket serverSocket) {
+        this.trie = trie;
+        this.serverSocket = serverSocket;
+        this.connectionExecutor = newConnectionExecutor();
+        this.acceptThread = new Thread(this::acceptConnections, "trie-server-accept");
+        acceptThread.setDaemon(true);
+    }
+
+    /**
+     * Starts a server on the loopback address
+     *
+     * @param trie The Trie to serve
+     * @param port The port, or 0 to use any free port
+     * @return the started server
+     * @throws IOException if the port can't be bound
+     */
+    public static TrieServer start(ITrie trie, int port) throws IOException {
+        return start(trie, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Starts a server
+     *
+     * @param trie    The Trie to serve
+     * @param address The address to bind
+     * @return the started server
+     * @throws IOException if the address can't be bound
+     */
+    public static TrieServer start(ITrie trie, InetSocketAddress address) throws IOException {
+        ServerSocket serverSocket = new ServerSocket();
+        try {
+            serverSocket.bind(address);
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+        TrieServer server = new TrieServer(trie, serverSocket);
+        server.acceptThread.start();
+        return server;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket connection : connections) {
+            connection.close();
+        }
+        connectionExecutor.shutdown();
+    }
+
+    /**
+     * Helper method that creates a virtual thread per connection, through reflection so this compiles on Java 11,
+     * or uses a cached pool of platform threads if the JVM doesn't have virtual threads
+     *
+     * @return the executor of the connections
+     */
+    static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "trie-server-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket connection = serverSocket.accept();
+                connections.add(connection);
+                connectionExecutor.execute(() -> serve(connection));
+            } catch (IOException e) {
+                // The server socket was closed
+            }
+        }
+    }
+
+    /**
+     * Helper method that answers the frames of a connection until the client closes it
+     *
+     * @param connection The connection
+     */
+    private void serve(Socket connection) {
+        try (Socket socket = connection) {
+            socket.setTcpNoDelay(true);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            ByteArrayOutputStream response = new ByteArrayOutputStream();
+            while (true) {
+                byte[] frame;
+                try {
+                    frame = TrieProtocol.readFrame(input);
+                } catch (EOFException e) {
+                    return;
+                }
+                response.reset();
+                TrieProtocol.handle(trie, frame, response);
+                output.writeInt(response.size());
+                response.writeTo(output);
+                if (input.available() == 0) output.flush();
+            }
+        } catch (IOException e) {
+            // The connection was closed or sent a corrupted frame, it is dropped
+        } finally {
+            connections.remove(connection);
+        }
+    }
+}
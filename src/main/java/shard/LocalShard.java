@@ -0,0 +1,92 @@
+package shard;
+
+import trie.ITrie;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A shard in the same process, a Trie guarded by the monitor of the shard
+ */
+public class LocalShard implements Shard {
+    private final ITrie trie;
+
+    public LocalShard(ITrie trie) {
+        this.trie = trie;
+    }
+
+    @Override
+    public synchronized boolean insertWord(String word) {
+        return trie.insertWord(word);
+    }
+
+    @Override
+    public synchronized boolean deleteWord(String word) {
+        return trie.deleteWord(word);
+    }
+
+    @Override
+    public synchronized boolean containsWord(String word) {
+        return trie.containsWord(word);
+    }
+
+    @Override
+    public synchronized boolean containsPrefix(String prefix) {
+        return trie.containsPrefix(prefix);
+    }
+
+    @Override
+    public synchronized int countWithPrefix(String prefix) {
+        return trie.countWithPrefix(prefix);
+    }
+
+    @Override
+    public synchronized List<String> wordsWithPrefix(String prefix) {
+        return toList(trie.wordsWithPrefix(prefix));
+    }
+
+    @Override
+    public synchronized List<String> range(String fromWord, String toWord) {
+        if (toWord != null) return toList(trie.range(fromWord, toWord));
+        if (trie.size() == 0) return new ArrayList<>();
+        String last = trie.last();
+        if (last.compareTo(fromWord) < 0) return new ArrayList<>();
+        List<String> words = toList(trie.range(fromWord, last));
+        words.add(last);
+        return words;
+    }
+
+    @Override
+    public synchronized int insertAll(List<String> words) {
+        int insertedCount = 0;
+        for (String word : words) {
+            if (trie.insertWord(word)) insertedCount++;
+        }
+        return insertedCount;
+    }
+
+    @Override
+    public synchronized int deleteAll(List<String> words) {
+        int deletedCount = 0;
+        for (String word : words) {
+            if (trie.deleteWord(word)) deletedCount++;
+        }
+        return deletedCount;
+    }
+
+    @Override
+    public synchronized int size() {
+        return trie.size();
+    }
+
+    @Override
+    public synchronized String select(int index) {
+        return trie.select(index);
+    }
+
+    private static List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+}
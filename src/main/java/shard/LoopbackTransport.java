@@ -0,0 +1,36 @@
+package shard;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A transport that handles the requests in the same process, encoding and decoding them like a remote transport.
+ * It is used to test a {@link ShardedTrie} of remote shards without network.
+ */
+public class LoopbackTransport implements ShardTransport {
+    private final Shard shard;
+    private final AtomicLong callsCount = new AtomicLong();
+
+    /**
+     * Creates a transport to a shard
+     *
+     * @param shard The shard that handles the requests
+     */
+    public LoopbackTransport(Shard shard) {
+        this.shard = shard;
+    }
+
+    @Override
+    public byte[] call(byte[] request) {
+        callsCount.incrementAndGet();
+        return ShardCodec.handle(shard, request);
+    }
+
+    /**
+     * Returns the number of requests sent through the transport
+     *
+     * @return the number of calls
+     */
+    public long getCallsCount() {
+        return callsCount.get();
+    }
+}
@@ -0,0 +1,126 @@
+package shard;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * A shard in another process. Each method encodes a request with {@link ShardCodec} and sends it through a transport.
+ * The failures of the transport are thrown as UncheckedIOException, and the failures of the shard
+ * as IllegalStateException.
+ */
+public class RemoteShard implements Shard {
+    private final ShardTransport transport;
+
+    public RemoteShard(ShardTransport transport) {
+        this.transport = transport;
+    }
+
+    @Override
+    public boolean insertWord(String word) {
+        return call(output -> {
+            output.writeByte(ShardCodec.INSERT_WORD);
+            output.writeUTF(word);
+        }, DataInputStream::readBoolean);
+    }
+
+    @Override
+    public boolean deleteWord(String word) {
+        return call(output -> {
+            output.writeByte(ShardCodec.DELETE_WORD);
+            output.writeUTF(word);
+        }, DataInputStream::readBoolean);
+    }
+
+    @Override
+    public boolean containsWord(String word) {
+        return call(output -> {
+            output.writeByte(ShardCodec.CONTAINS_WORD);
+            output.writeUTF(word);
+        }, DataInputStream::readBoolean);
+    }
+
+    @Override
+    public boolean containsPrefix(String prefix) {
+        return call(output -> {
+            output.writeByte(ShardCodec.CONTAINS_PREFIX);
+            output.writeUTF(prefix);
+        }, DataInputStream::readBoolean);
+    }
+
+    @Override
+    public int countWithPrefix(String prefix) {
+        return call(output -> {
+            output.writeByte(ShardCodec.COUNT_WITH_PREFIX);
+            output.writeUTF(prefix);
+        }, DataInputStream::readInt);
+    }
+
+    @Override
+    public List<String> wordsWithPrefix(String prefix) {
+        return call(output -> {
+            output.writeByte(ShardCodec.WORDS_WITH_PREFIX);
+            output.writeUTF(prefix);
+        }, ShardCodec::readWords);
+    }
+
+    @Override
+    public List<String> range(String fromWord, String toWord) {
+        return call(output -> {
+            output.writeByte(ShardCodec.RANGE);
+            output.writeUTF(fromWord);
+            ShardCodec.writeNullableWord(output, toWord);
+        }, ShardCodec::readWords);
+    }
+
+    @Override
+    public int insertAll(List<String> words) {
+        return call(output -> {
+            output.writeByte(ShardCodec.INSERT_ALL);
+            ShardCodec.writeWords(output, words);
+        }, DataInputStream::readInt);
+    }
+
+    @Override
+    public int deleteAll(List<String> words) {
+        return call(output -> {
+            output.writeByte(ShardCodec.DELETE_ALL);
+            ShardCodec.writeWords(output, words);
+        }, DataInputStream::readInt);
+    }
+
+    @Override
+    public int size() {
+        return call(output -> output.writeByte(ShardCodec.SIZE), DataInputStream::readInt);
+    }
+
+    @Override
+    public String select(int index) {
+        return call(output -> {
+            output.writeByte(ShardCodec.SELECT);
+            output.writeInt(index);
+        }, input -> input.readUTF());
+    }
+
+    /**
+     * Helper method that sends a request and decodes its response
+     *
+     * @param request  Writes the request
+     * @param response Reads the result from the response
+     * @return the result
+     */
+    private <T> T call(ShardCodec.Encoder request, ShardCodec.Decoder<T> response) {
+        try {
+            byte[] bytes = transport.call(ShardCodec.encode(request));
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (input.readByte() == ShardCodec.FAILURE) {
+                throw new IllegalStateException("The shard failed: " + input.readUTF());
+            }
+            return response.decode(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
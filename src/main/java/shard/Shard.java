@@ -0,0 +1,65 @@
+package shard;
+
+import java.util.List;
+
+/**
+ * The words of a range of a {@link ShardedTrie}. It can be a local Trie, or a Trie in another process
+ * reached through a {@link ShardTransport}, so the methods only take and return values that can be serialized.
+ * A shard must be thread-safe.
+ */
+public interface Shard {
+
+    boolean insertWord(String word);
+
+    boolean deleteWord(String word);
+
+    boolean containsWord(String word);
+
+    boolean containsPrefix(String prefix);
+
+    int countWithPrefix(String prefix);
+
+    /**
+     * Returns the words that start with a prefix, in ascending order
+     *
+     * @param prefix The prefix of the words
+     * @return the words that start with the prefix
+     */
+    List<String> wordsWithPrefix(String prefix);
+
+    /**
+     * Returns the words between two words, in ascending order
+     *
+     * @param fromWord The lowest word of the range, inclusive
+     * @param toWord   The highest word of the range, exclusive, or null for no highest word
+     * @return the words of the range
+     */
+    List<String> range(String fromWord, String toWord);
+
+    /**
+     * Inserts several words in one call
+     *
+     * @param words The words to insert
+     * @return the number of inserted words
+     */
+    int insertAll(List<String> words);
+
+    /**
+     * Deletes several words in one call
+     *
+     * @param words The words to delete
+     * @return the number of deleted words
+     */
+    int deleteAll(List<String> words);
+
+    int size();
+
+    /**
+     * Returns the word at the given position of the lexicographic order of the shard
+     *
+     * @param index The position of the word, starting at 0
+     * @return the word at the given position
+     * @throws IndexOutOfBoundsException if the index is negative or not lower than the size of the shard
+     */
+    String select(int index);
+}
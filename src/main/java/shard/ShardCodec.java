@@ -0,0 +1,155 @@
+package shard;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes the requests and responses of the {@link Shard} methods, for a {@link ShardTransport}.
+ * <p>
+ * A request is the operation (byte) followed by its arguments. A response is a status (byte), followed by the result
+ * if the status is OK, or by the description of the exception if the shard failed.
+ * The words are written with {@link DataOutputStream#writeUTF(String)}, a nullable word is preceded by a boolean,
+ * and a list of words by its size (int).
+ */
+public final class ShardCodec {
+    static final byte INSERT_WORD = 1;
+    static final byte DELETE_WORD = 2;
+    static final byte CONTAINS_WORD = 3;
+    static final byte CONTAINS_PREFIX = 4;
+    static final byte COUNT_WITH_PREFIX = 5;
+    static final byte WORDS_WITH_PREFIX = 6;
+    static final byte RANGE = 7;
+    static final byte INSERT_ALL = 8;
+    static final byte DELETE_ALL = 9;
+    static final byte SIZE = 10;
+    static final byte SELECT = 11;
+
+    static final byte OK = 0;
+    static final byte FAILURE = 1;
+
+    private ShardCodec() {
+    }
+
+    /**
+     * Decodes a request, executes it in a shard and encodes its response.
+     * This is what the process that holds the shard does with each request it receives.
+     *
+     * @param shard   The shard
+     * @param request The encoded request
+     * @return the encoded response
+     */
+    public static byte[] handle(Shard shard, byte[] request) {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(request));
+        try {
+            byte operation = input.readByte();
+            return encode(output -> {
+                output.writeByte(OK);
+                execute(shard, operation, input, output);
+            });
+        } catch (IOException | RuntimeException e) {
+            return encode(output -> {
+                output.writeByte(FAILURE);
+                output.writeUTF(String.valueOf(e));
+            });
+        }
+    }
+
+    private static void execute(Shard shard, byte operation, DataInputStream input, DataOutputStream output)
+            throws IOException {
+        switch (operation) {
+            case INSERT_WORD:
+                output.writeBoolean(shard.insertWord(input.readUTF()));
+                break;
+            case DELETE_WORD:
+                output.writeBoolean(shard.deleteWord(input.readUTF()));
+                break;
+            case CONTAINS_WORD:
+                output.writeBoolean(shard.containsWord(input.readUTF()));
+                break;
+            case CONTAINS_PREFIX:
+                output.writeBoolean(shard.containsPrefix(input.readUTF()));
+                break;
+            case COUNT_WITH_PREFIX:
+                output.writeInt(shard.countWithPrefix(input.readUTF()));
+                break;
+            case WORDS_WITH_PREFIX:
+                writeWords(output, shard.wordsWithPrefix(input.readUTF()));
+                break;
+            case RANGE:
+                writeWords(output, shard.range(input.readUTF(), readNullableWord(input)));
+                break;
+            case INSERT_ALL:
+                output.writeInt(shard.insertAll(readWords(input)));
+                break;
+            case DELETE_ALL:
+                output.writeInt(shard.deleteAll(readWords(input)));
+                break;
+            case SIZE:
+                output.writeInt(shard.size());
+                break;
+            case SELECT:
+                output.writeUTF(shard.select(input.readInt()));
+                break;
+            default:
+                throw new IOException("Unknown operation: " + operation);
+        }
+    }
+
+    /**
+     * Writes a message into a byte array
+     *
+     * @param encoder Writes the message
+     * @return the bytes of the message
+     */
+    static byte[] encode(Encoder encoder) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            encoder.encode(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            // A ByteArrayOutputStream doesn't throw, only the encoder can fail
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static void writeNullableWord(DataOutputStream output, String word) throws IOException {
+        output.writeBoolean(word != null);
+        if (word != null) output.writeUTF(word);
+    }
+
+    static String readNullableWord(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    static void writeWords(DataOutputStream output, List<String> words) throws IOException {
+        output.writeInt(words.size());
+        for (String word : words) {
+            output.writeUTF(word);
+        }
+    }
+
+    static List<String> readWords(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        List<String> words = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            words.add(input.readUTF());
+        }
+        return words;
+    }
+
+    @FunctionalInterface
+    interface Encoder {
+        void encode(DataOutputStream output) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface Decoder<T> {
+        T decode(DataInputStream input) throws IOException;
+    }
+}
@@ -0,0 +1,19 @@
+package shard;
+
+import java.io.IOException;
+
+/**
+ * Sends the requests of a {@link RemoteShard} to the process that holds the shard, and returns its responses.
+ * The requests and responses are encoded by {@link ShardCodec}.
+ */
+public interface ShardTransport {
+
+    /**
+     * Sends a request and waits for its response
+     *
+     * @param request The encoded request
+     * @return the encoded response
+     * @throws IOException if the request can't be sent or the response can't be received
+     */
+    byte[] call(byte[] request) throws IOException;
+}
@@ -0,0 +1,277 @@
+package shard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A Trie split into lexicographic ranges, each one owned by a {@link Shard}, local or remote.
+ * The shard i owns the words from its lower bound, inclusive, to the lower bound of the shard i + 1, exclusive,
+ * and the lower bound of the first shard is the empty word.
+ * <p>
+ * The methods of a word are sent to the single shard that owns it. The methods of a prefix are sent only to the shards
+ * whose range overlaps the words with the prefix, and their results are gathered in the order of the ranges,
+ * so the words stay sorted without merging them. With an executor, the shards are queried in parallel.
+ * <p>
+ * Each shard counts the requests it receives, so the hot shards can be split at their median word.
+ * Splitting a shard blocks the other methods while its upper half is moved to a new shard.
+ */
+public class ShardedTrie {
+    private final Supplier<Shard> shardSupplier;
+    private final Executor executor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // In ascending order of their lower bounds
+    private final List<ShardEntry> shards = new ArrayList<>();
+
+    /**
+     * Creates a Trie with a single shard, to split when it gets hot
+     *
+     * @param shardSupplier Creates the empty shards
+     */
+    public ShardedTrie(Supplier<Shard> shardSupplier) {
+        this(shardSupplier, Collections.emptyList(), null);
+    }
+
+    /**
+     * Creates a Trie with a shard per range
+     *
+     * @param shardSupplier Creates the empty shards
+     * @param boundaries    The lower bounds of the shards after the first one, in ascending order
+     * @param executor      The executor that queries the shards in parallel, or null to query them in the caller thread
+     * @throws IllegalArgumentException if the boundaries are not ascending, or one of them is empty
+     */
+    public ShardedTrie(Supplier<Shard> shardSupplier, List<String> boundaries, Executor executor) {
+        this.shardSupplier = shardSupplier;
+        this.executor = executor;
+        String lowerBound = "";
+        shards.add(new ShardEntry(lowerBound, shardSupplier.get()));
+        for (String boundary : boundaries) {
+            if (boundary.compareTo(lowerBound) <= 0) {
+                throw new IllegalArgumentException("The boundaries must be ascending and not empty: " + boundaries);
+            }
+            lowerBound = boundary;
+            shards.add(new ShardEntry(lowerBound, shardSupplier.get()));
+        }
+    }
+
+    public boolean insertWord(String word) {
+        return readLocked(() -> getShard(word).insertWord(word));
+    }
+
+    public boolean deleteWord(String word) {
+        return readLocked(() -> getShard(word).deleteWord(word));
+    }
+
+    public boolean containsWord(String word) {
+        return readLocked(() -> getShard(word).containsWord(word));
+    }
+
+    public boolean containsPrefix(String prefix) {
+        return readLocked(() -> scatter(prefix, shard -> shard.containsPrefix(prefix)).contains(true));
+    }
+
+    public int countWithPrefix(String prefix) {
+        return readLocked(() -> {
+            int count = 0;
+            for (int shardCount : scatter(prefix, shard -> shard.countWithPrefix(prefix))) {
+                count += shardCount;
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Returns the words that start with a prefix, in ascending order
+     *
+     * @param prefix The prefix of the words
+     * @return the words that start with the prefix
+     */
+    public List<String> wordsWithPrefix(String prefix) {
+        return readLocked(() -> {
+            List<String> words = new ArrayList<>();
+            scatter(prefix, shard -> shard.wordsWithPrefix(prefix)).forEach(words::addAll);
+            return words;
+        });
+    }
+
+    public int size() {
+        return countWithPrefix("");
+    }
+
+    public int getShardsCount() {
+        return readLocked(shards::size);
+    }
+
+    /**
+     * Returns the lower bounds of the shards after the first one
+     *
+     * @return the boundaries of the ranges, in ascending order
+     */
+    public List<String> getBoundaries() {
+        return readLocked(() -> {
+            List<String> boundaries = new ArrayList<>();
+            for (int i = 1; i < shards.size(); i++) {
+                boundaries.add(shards.get(i).lowerBound);
+            }
+            return boundaries;
+        });
+    }
+
+    /**
+     * Returns the number of requests received by a shard since it was created or since the last split of hot shards
+     *
+     * @param index The index of the shard, in the order of the ranges
+     * @return the number of requests
+     */
+    public long getRequestsCount(int index) {
+        return readLocked(() -> shards.get(index).requestsCount.sum());
+    }
+
+    /**
+     * Splits a shard at its median word: the words from the median are moved to a new shard that owns them
+     *
+     * @param index The index of the shard, in the order of the ranges
+     * @return false if the shard has less than 2 words, so it can't be split
+     * @throws IndexOutOfBoundsException if there is no shard at the index
+     */
+    public boolean splitShard(int index) {
+        lock.writeLock().lock();
+        try {
+            ShardEntry entry = shards.get(index);
+            int size = entry.shard.size();
+            if (size < 2) return false;
+            // The median is higher than the first word of the shard, so it is higher than the lower bound
+            String median = entry.shard.select(size / 2);
+            String upperBound = index + 1 < shards.size() ? shards.get(index + 1).lowerBound : null;
+            List<String> movedWords = entry.shard.range(median, upperBound);
+            Shard shard = shardSupplier.get();
+            shard.insertAll(movedWords);
+            entry.shard.deleteAll(movedWords);
+            shards.add(index + 1, new ShardEntry(median, shard));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Splits the shards that received at least a number of requests, and then starts counting the requests again
+     *
+     * @param minRequestsCount The number of requests of a hot shard
+     * @return the number of split shards
+     */
+    public int splitHotShards(long minRequestsCount) {
+        lock.writeLock().lock();
+        try {
+            int splitsCount = 0;
+            // From the last shard, so the indexes of the shards not visited yet don't change
+            for (int i = shards.size() - 1; i >= 0; i--) {
+                if (shards.get(i).requestsCount.sum() >= minRequestsCount && splitShard(i)) splitsCount++;
+            }
+            for (ShardEntry entry : shards) {
+                entry.requestsCount.reset();
+            }
+            return splitsCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Helper method that finds the shard that owns a word, the last shard whose lower bound is not higher than the word
+     *
+     * @param word The word
+     * @return the index of the shard
+     */
+    private int getShardIndex(String word) {
+        int low = 0;
+        int high = shards.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (shards.get(middle).lowerBound.compareTo(word) <= 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private Shard getShard(String word) {
+        ShardEntry entry = shards.get(getShardIndex(word));
+        entry.requestsCount.increment();
+        return entry.shard;
+    }
+
+    /**
+     * Helper method that sends a request to the shards whose range overlaps the words that start with a prefix.
+     * A lower bound higher than the prefix that doesn't start with it is higher than all these words,
+     * so the shards are the one of the prefix, and the next ones while their lower bound starts with the prefix.
+     *
+     * @param prefix  The prefix of the words
+     * @param request The request to a shard
+     * @return the results of the shards, in the order of the ranges
+     */
+    private <T> List<T> scatter(String prefix, Function<Shard, T> request) {
+        int firstShard = getShardIndex(prefix);
+        int lastShard = firstShard;
+        while (lastShard + 1 < shards.size() && shards.get(lastShard + 1).lowerBound.startsWith(prefix)) {
+            lastShard++;
+        }
+        List<T> results = new ArrayList<>();
+        if (executor == null || firstShard == lastShard) {
+            for (int i = firstShard; i <= lastShard; i++) {
+                ShardEntry entry = shards.get(i);
+                entry.requestsCount.increment();
+                results.add(request.apply(entry.shard));
+            }
+            return results;
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (int i = firstShard; i <= lastShard; i++) {
+            ShardEntry entry = shards.get(i);
+            entry.requestsCount.increment();
+            futures.add(CompletableFuture.supplyAsync(() -> request.apply(entry.shard), executor));
+        }
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+        return results;
+    }
+
+    private <T> T readLocked(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A shard and the range it owns
+     */
+    private static final class ShardEntry {
+        private final String lowerBound;
+        private final Shard shard;
+        private final LongAdder requestsCount = new LongAdder();
+
+        private ShardEntry(String lowerBound, Shard shard) {
+            this.lowerBound = lowerBound;
+            this.shard = shard;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package storage;
+
+import trie.ForwardingTrie;
+import trie.ITrie;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A Trie whose changes survive a crash.
+ * Every word inserted or deleted, and every prefix deleted, is appended to a {@link WriteAheadLog}, and a checkpoint with all the words
+ * is written periodically, or when {@link #checkpoint()} is called, after which the log is truncated.
+ * When the Trie is opened, the checkpoint is loaded and the log is replayed over it.
+ * <p>
+ * The changes are serialized by this Trie, but the reads are forwarded as they are,
+ * so the decorated Trie must be thread-safe if the Trie is used by several threads.
+ */
+public class DurableTrie extends ForwardingTrie implements Closeable {
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String TEMPORARY_CHECKPOINT_FILE = "checkpoint.tmp";
+    private static final String LOG_FILE = "wal";
+    private static final int CHECKPOINT_MAGIC = 0x54434b31;
+
+    private final Path directory;
+    private final WriteAheadLog log;
+    private final SyncMode syncMode;
+    private final ScheduledExecutorService scheduler;
+    private final Object writeLock = new Object();
+    private volatile IOException backgroundFailure;
+
+    private DurableTrie(ITrie trie, Path directory, WriteAheadLog log, SyncMode syncMode) {
+        super(trie);
+        this.directory = directory;
+        this.log = log;
+        this.syncMode = syncMode;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "durable-trie-" + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a durable Trie stored in a directory, loading its checkpoint and replaying its log
+     *
+     * @param trie                     An empty Trie that will hold the words
+     * @param directory                The directory of the checkpoint and the log, it is created if it doesn't exist
+     * @param syncMode                 When the changes are forced to the disk
+     * @param syncIntervalMillis       The interval between syncs in {@link SyncMode#INTERVAL} mode
+     * @param checkpointIntervalMillis The interval between checkpoints, or 0 to checkpoint only on demand
+     * @return the durable Trie
+     * @throws IOException              if the files can't be read, or the checkpoint is corrupt
+     * @throws IllegalArgumentException if the Trie is not empty, or an interval is not valid
+     */
+    public static DurableTrie open(ITrie trie, Path directory, SyncMode syncMode,
+                                   long syncIntervalMillis, long checkpointIntervalMillis) throws IOException {
+        if (trie.size() != 0) throw new IllegalArgumentException("The Trie must be empty");
+        if (syncMode == SyncMode.INTERVAL && syncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("The sync interval must be positive: " + syncIntervalMillis);
+        }
+        if (checkpointIntervalMillis < 0) {
+            throw new IllegalArgumentException("The checkpoint interval must not be negative: " + checkpointIntervalMillis);
+        }
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(TEMPORARY_CHECKPOINT_FILE));
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (Files.exists(checkpoint)) {
+            readCheckpoint(checkpoint, trie);
+        }
+        WriteAheadLog log = WriteAheadLog.open(directory.resolve(LOG_FILE), (operation, word) -> {
+            if (operation == WriteAheadLog.INSERT) {
+                trie.insertWord(word);
+            } else if (operation == WriteAheadLog.DELETE_PREFIX) {
+                trie.deletePrefix(word);
+            } else {
+                trie.deleteWord(word);
+            }
+        });
+        DurableTrie durableTrie = new DurableTrie(trie, directory, log, syncMode);
+        if (syncMode == SyncMode.INTERVAL) {
+            durableTrie.scheduler.scheduleWithFixedDelay(
+                    durableTrie::syncInBackground, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        if (checkpointIntervalMillis > 0) {
+            durableTrie.scheduler.scheduleWithFixedDelay(durableTrie::checkpointInBackground,
+                    checkpointIntervalMillis, checkpointIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        return durableTrie;
+    }
+
+    /**
+     * Inserts a word, and logs it if it was inserted
+     *
+     * @param word The word to insert
+     * @return true if the word was inserted
+     * @throws UncheckedIOException if the change can't be logged, the word is inserted anyway
+     */
+    @Override
+    public boolean insertWord(CharSequence word) {
+        long sequence;
+        synchronized (writeLock) {
+            if (!super.insertWord(word)) return false;
+            sequence = log.append(WriteAheadLog.INSERT, word);
+        }
+        afterWrite(sequence);
+        return true;
+    }
+
+    /**
+     * Deletes a word, and logs it if it was deleted
+     *
+     * @param word The word to delete
+     * @return true if the word was deleted
+     * @throws UncheckedIOException if the change can't be logged, the word is deleted anyway
+     */
+    @Override
+    public boolean deleteWord(CharSequence word) {
+        long sequence;
+        synchronized (writeLock) {
+            if (!super.deleteWord(word)) return false;
+            sequence = log.append(WriteAheadLog.DELETE, word);
+        }
+        afterWrite(sequence);
+        return true;
+    }
+
+    /**
+     * Deletes the words that start with a prefix, and logs the prefix if any word was deleted
+     *
+     * @param prefix The prefix of the words to delete
+     * @return the number of deleted words
+     * @throws UncheckedIOException if the change can't be logged, the words are deleted anyway
+     */
+    @Override
+    public int deletePrefix(CharSequence prefix) {
+        int deletedCount;
+        long sequence;
+        synchronized (writeLock) {
+            deletedCount = super.deletePrefix(prefix);
+            if (deletedCount == 0) return 0;
+            sequence = log.append(WriteAheadLog.DELETE_PREFIX, prefix);
+        }
+        afterWrite(sequence);
+        return deletedCount;
+    }
+
+    /**
+     * Helper method that makes a logged change durable, or schedules it, depending on the sync mode
+     *
+     * @param sequence The sequence of the record of the change
+     */
+    private void afterWrite(long sequence) {
+        IOException failure = backgroundFailure;
+        if (failure != null) throw new UncheckedIOException("The log can't be written", failure);
+        try {
+            if (syncMode == SyncMode.EVERY_WRITE) {
+                log.sync(sequence);
+            } else if (log.isBufferFull()) {
+                log.write();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("The log can't be written", e);
+        }
+    }
+
+    /**
+     * Writes all the words to a new checkpoint, which replaces the previous one atomically, and truncates the log.
+     * The changes wait until the checkpoint is written.
+     *
+     * @throws IOException if the checkpoint can't be written
+     */
+    public void checkpoint() throws IOException {
+        synchronized (writeLock) {
+            log.write();
+            Path temporaryCheckpoint = directory.resolve(TEMPORARY_CHECKPOINT_FILE);
+            writeCheckpoint(temporaryCheckpoint, getDelegate());
+            Files.move(temporaryCheckpoint, directory.resolve(CHECKPOINT_FILE),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory();
+            log.truncate();
+        }
+    }
+
+    /**
+     * Returns the length of the log file, which is reset by each checkpoint
+     *
+     * @return the length of the log in bytes
+     * @throws IOException if the length can't be read
+     */
+    public long getLogSizeInBytes() throws IOException {
+        return log.getSizeInBytes();
+    }
+
+    /**
+     * Forces the pending changes to the disk and closes the log. The Trie can't be modified anymore
+     *
+     * @throws IOException if the pending changes can't be written
+     */
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            log.close();
+        }
+    }
+
+    private void syncInBackground() {
+        try {
+            log.sync();
+        } catch (IOException e) {
+            backgroundFailure = e;
+        }
+    }
+
+    private void checkpointInBackground() {
+        try {
+            checkpoint();
+        } catch (IOException e) {
+            backgroundFailure = e;
+        }
+    }
+
+    /**
+     * Helper method that makes the rename of the checkpoint durable, where the file system allows it
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some file systems can't open directories, the rename is durable with the next sync
+        }
+    }
+
+    /**
+     * Helper method that writes the words of a Trie.
+     * Checkpoint format: magic (int), words count (int), each word as its UTF-8 length (int) and bytes,
+     * and the CRC32 of the words (long).
+     *
+     * @param path The file of the checkpoint
+     * @param trie The Trie to write
+     */
+    private static void writeCheckpoint(Path path, ITrie trie) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            output.writeInt(CHECKPOINT_MAGIC);
+            output.writeInt(trie.size());
+            CRC32 crc = new CRC32();
+            DataOutputStream words = new DataOutputStream(new CheckedOutputStream(output, crc));
+            for (String word : trie.wordsWithPrefix("")) {
+                byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+                words.writeInt(bytes.length);
+                words.write(bytes);
+            }
+            output.writeLong(crc.getValue());
+            output.flush();
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Helper method that inserts the words of a checkpoint in a Trie
+     *
+     * @param path The file of the checkpoint
+     * @param trie The Trie where the words are inserted
+     * @throws IOException if the checkpoint can't be read or it is corrupt
+     */
+    private static void readCheckpoint(Path path, ITrie trie) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != CHECKPOINT_MAGIC) throw new IOException("Not a checkpoint: " + path);
+            int wordsCount = input.readInt();
+            CRC32 crc = new CRC32();
+            DataInputStream words = new DataInputStream(new CheckedInputStream(input, crc));
+            for (int i = 0; i < wordsCount; i++) {
+                int length = words.readInt();
+                if (length < 0) throw new IOException("Corrupt checkpoint: " + path);
+                byte[] bytes = new byte[length];
+                words.readFully(bytes);
+                trie.insertWord(new String(bytes, StandardCharsets.UTF_8));
+            }
+            if (input.readLong() != crc.getValue()) throw new IOException("Corrupt checkpoint: " + path);
+        }
+    }
+}
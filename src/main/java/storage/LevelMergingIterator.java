@@ -0,0 +1,87 @@
+package storage;
+
+import org.javatuples.Pair;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Merges the entries of the levels of a {@link LsmTrie}, each one in ascending order of the words.
+ * The levels are given from the newest to the oldest, and when a word is in several levels only its newest entry is kept.
+ * An entry is a word and {@link Segment#LIVE} or {@link Segment#TOMBSTONE}.
+ */
+final class LevelMergingIterator implements Iterator<Pair<String, Long>> {
+    private final PriorityQueue<Level> levels = new PriorityQueue<>();
+    private final boolean keepTombstones;
+    private Pair<String, Long> nextEntry;
+
+    /**
+     * Creates the iterator
+     *
+     * @param levels         The entries of the levels, from the newest to the oldest
+     * @param keepTombstones true to return the tombstones, needed when older levels are not merged
+     */
+    LevelMergingIterator(List<Iterator<Pair<String, Long>>> levels, boolean keepTombstones) {
+        this.keepTombstones = keepTombstones;
+        for (int i = 0; i < levels.size(); i++) {
+            advance(new Level(levels.get(i), i));
+        }
+    }
+
+    private void findNextEntry() {
+        while (nextEntry == null && !levels.isEmpty()) {
+            Level newest = levels.poll();
+            Pair<String, Long> entry = newest.entry;
+            advance(newest);
+            while (!levels.isEmpty() && levels.peek().entry.getValue0().equals(entry.getValue0())) {
+                advance(levels.poll());
+            }
+            if (keepTombstones || entry.getValue1() == Segment.LIVE) {
+                nextEntry = entry;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        findNextEntry();
+        return nextEntry != null;
+    }
+
+    @Override
+    public Pair<String, Long> next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Pair<String, Long> entry = nextEntry;
+        nextEntry = null;
+        return entry;
+    }
+
+    private void advance(Level level) {
+        if (level.iterator.hasNext()) {
+            level.entry = level.iterator.next();
+            levels.add(level);
+        }
+    }
+
+    /**
+     * The next entry of a level. For the same word, the newest level goes first
+     */
+    private static final class Level implements Comparable<Level> {
+        private final Iterator<Pair<String, Long>> iterator;
+        private final int age;
+        private Pair<String, Long> entry;
+
+        private Level(Iterator<Pair<String, Long>> iterator, int age) {
+            this.iterator = iterator;
+            this.age = age;
+        }
+
+        @Override
+        public int compareTo(Level other) {
+            int comparison = entry.getValue0().compareTo(other.entry.getValue0());
+            return comparison != 0 ? comparison : Integer.compare(age, other.age);
+        }
+    }
+}
@@ -0,0 +1,508 @@
+package storage;
+
+import fst.Fst;
+import fst.FstBuilder;
+import org.javatuples.Pair;
+import trie.ITrie;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * A set of words larger than the memory, stored like a log-structured merge tree.
+ * <p>
+ * The changes go to a memtable: a Trie of the inserted words and a Trie of the deleted words (the tombstones).
+ * When the memtable reaches a number of words, it is replaced by an empty one and kept as the immutable memtable
+ * while it is flushed to an immutable segment file, a memory-mapped {@link Fst} of the words sorted.
+ * A lookup checks the memtable, the immutable memtable and then the segments from the newest to the oldest,
+ * and the first level that knows the word decides.
+ * When there are too many segments, they are merged in one, dropping the deleted words.
+ * <p>
+ * The words of the memtable are only durable once flushed, {@link #close()} flushes them.
+ * The Trie is thread-safe: the reads share a lock that the changes take exclusively. A flush only takes it
+ * to swap the memtable and to publish the segment, the segment is written without it.
+ * The flushes run one at a time, so a writer that fills the memtable again during a flush waits for it.
+ */
+public class LsmTrie implements Closeable {
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final Supplier<ITrie> memtableSupplier;
+    private final int flushThreshold;
+    private final int maxSegmentsCount;
+    private final Executor compactionExecutor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final Object compactionLock = new Object();
+    private final Object flushLock = new Object();
+    // The failure of a compaction run by the executor, thrown by the next change, flush or close
+    private final AtomicReference<IOException> compactionFailure = new AtomicReference<>();
+    // From the newest to the oldest
+    private final List<Segment> segments;
+    private ITrie memtable;
+    private ITrie tombstones;
+    // The memtable being flushed, or null
+    private ITrie immutableMemtable;
+    private ITrie immutableTombstones;
+    private long immutableSequence;
+    private long nextSequence;
+
+    private LsmTrie(Path directory, Supplier<ITrie> memtableSupplier, int flushThreshold, int maxSegmentsCount,
+                    Executor compactionExecutor, List<Segment> segments) {
+        this.directory = directory;
+        this.memtableSupplier = memtableSupplier;
+        this.flushThreshold = flushThreshold;
+        this.maxSegmentsCount = maxSegmentsCount;
+        this.compactionExecutor = compactionExecutor;
+        this.segments = segments;
+        this.memtable = memtableSupplier.get();
+        this.tombstones = memtableSupplier.get();
+        this.nextSequence = segments.isEmpty() ? 0 : segments.get(0).getMaxSequence() + 1;
+    }
+
+    /**
+     * Opens the segments stored in a directory
+     *
+     * @param directory          The directory of the segments, it is created if it doesn't exist
+     * @param memtableSupplier   Creates the empty Tries of the memtable, e.g. TrieMap
+     * @param flushThreshold     The number of words and tombstones of the memtable that triggers a flush
+     * @param maxSegmentsCount   The number of segments that triggers a compaction
+     * @param compactionExecutor Runs the compactions, or null to compact in the thread of the flush
+     * @return the Trie
+     * @throws IOException              if the segments can't be read
+     * @throws IllegalArgumentException if the threshold or the maximum number of segments are not positive
+     */
+    public static LsmTrie open(Path directory, Supplier<ITrie> memtableSupplier, int flushThreshold,
+                               int maxSegmentsCount, Executor compactionExecutor) throws IOException {
+        if (flushThreshold <= 0) throw new IllegalArgumentException("The flush threshold must be positive: " + flushThreshold);
+        if (maxSegmentsCount <= 0) {
+            throw new IllegalArgumentException("The maximum number of segments must be positive: " + maxSegmentsCount);
+        }
+        Files.createDirectories(directory);
+        List<Segment> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(TEMPORARY_FILE_SUFFIX)) {
+                    Files.delete(file);
+                    continue;
+                }
+                Segment segment = Segment.open(file);
+                if (segment != null) segments.add(segment);
+            }
+        }
+        // A compaction interrupted before deleting the merged segments leaves them covered by the new one
+        List<Segment> mergedSegments = new ArrayList<>();
+        for (Segment segment : segments) {
+            for (Segment other : segments) {
+                if (segment.covers(other)) mergedSegments.add(other);
+            }
+        }
+        segments.removeAll(mergedSegments);
+        for (Segment segment : mergedSegments) {
+            Files.deleteIfExists(segment.getPath());
+        }
+        segments.sort(Comparator.comparingLong(Segment::getMaxSequence).reversed());
+        return new LsmTrie(directory, memtableSupplier, flushThreshold, maxSegmentsCount, compactionExecutor, segments);
+    }
+
+    /**
+     * Inserts a word. The write is blind: it doesn't check if the word was already there
+     *
+     * @param word The word to insert
+     * @throws UncheckedIOException if the memtable is full and can't be flushed,
+     *                              or a compaction in the executor failed since the last change
+     */
+    public void insertWord(CharSequence word) {
+        throwCompactionFailure();
+        boolean full;
+        lock.writeLock().lock();
+        try {
+            memtable.insertWord(word);
+            tombstones.deleteWord(word);
+            full = isMemtableFull();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (full) flushIfFull();
+    }
+
+    /**
+     * Deletes a word, leaving a tombstone that hides it in the older segments.
+     * The write is blind: it doesn't check if the word was there
+     *
+     * @param word The word to delete
+     * @throws UncheckedIOException if the memtable is full and can't be flushed,
+     *                              or a compaction in the executor failed since the last change
+     */
+    public void deleteWord(CharSequence word) {
+        throwCompactionFailure();
+        boolean full;
+        lock.writeLock().lock();
+        try {
+            memtable.deleteWord(word);
+            if (!segments.isEmpty() || immutableMemtable != null) {
+                tombstones.insertWord(word);
+            }
+            full = isMemtableFull();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (full) flushIfFull();
+    }
+
+    public boolean containsWord(CharSequence word) {
+        lock.readLock().lock();
+        try {
+            if (memtable.containsWord(word)) return true;
+            if (tombstones.containsWord(word)) return false;
+            if (immutableMemtable != null) {
+                if (immutableMemtable.containsWord(word)) return true;
+                if (immutableTombstones.containsWord(word)) return false;
+            }
+            for (Segment segment : segments) {
+                long output = segment.getFst().get(word);
+                if (output != Fst.NO_OUTPUT) return output == Segment.LIVE;
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if a word starts with a prefix.
+     * The memtable answers when it contains the prefix, otherwise the levels are merged until a word is not deleted
+     *
+     * @param prefix The prefix
+     * @return true if a word starts with the prefix
+     */
+    public boolean containsPrefix(CharSequence prefix) {
+        lock.readLock().lock();
+        try {
+            if (memtable.containsPrefix(prefix)) return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return wordsWithPrefix(prefix.toString()).iterator().hasNext();
+    }
+
+    /**
+     * Counts the words that start with a prefix, merging the levels
+     *
+     * @param prefix The prefix
+     * @return the number of words that start with the prefix
+     */
+    public int countWithPrefix(String prefix) {
+        int count = 0;
+        for (Iterator<String> words = wordsWithPrefix(prefix).iterator(); words.hasNext(); words.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the words that start with a prefix, in ascending order, merging the memtable and the segments.
+     * The words of the memtable are copied when the iteration starts, and the segments never change,
+     * so the Trie can be modified while the words are iterated.
+     *
+     * @param prefix The prefix of the words
+     * @return the words that start with the prefix
+     */
+    public Iterable<String> wordsWithPrefix(String prefix) {
+        return () -> {
+            Iterator<Pair<String, Long>> entries = mergeLevels(prefix);
+            return new Iterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return entries.next().getValue0();
+                }
+            };
+        };
+    }
+
+    private Iterator<Pair<String, Long>> mergeLevels(String prefix) {
+        List<Iterator<Pair<String, Long>>> levels = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            levels.add(getMemtableEntries(memtable, tombstones, prefix).iterator());
+            if (immutableMemtable != null) {
+                levels.add(getMemtableEntries(immutableMemtable, immutableTombstones, prefix).iterator());
+            }
+            for (Segment segment : segments) {
+                levels.add(segment.getFst().iterator(prefix));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new LevelMergingIterator(levels, false);
+    }
+
+    /**
+     * Helper method that copies the words and tombstones of a memtable, in ascending order
+     *
+     * @param words      The words of the memtable
+     * @param tombstones The tombstones of the memtable
+     * @param prefix     The prefix of the words
+     * @return the entries of the memtable
+     */
+    private static List<Pair<String, Long>> getMemtableEntries(ITrie words, ITrie tombstones, String prefix) {
+        List<Iterator<Pair<String, Long>>> levels = new ArrayList<>();
+        levels.add(toEntries(words.wordsWithPrefix(prefix), Segment.LIVE));
+        levels.add(toEntries(tombstones.wordsWithPrefix(prefix), Segment.TOMBSTONE));
+        List<Pair<String, Long>> entries = new ArrayList<>();
+        new LevelMergingIterator(levels, true).forEachRemaining(entries::add);
+        return entries;
+    }
+
+    private static Iterator<Pair<String, Long>> toEntries(Iterable<String> words, long output) {
+        Iterator<String> iterator = words.iterator();
+        return new Iterator<Pair<String, Long>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Pair<String, Long> next() {
+                return new Pair<>(iterator.next(), output);
+            }
+        };
+    }
+
+    private boolean isMemtableFull() {
+        return memtable.size() + tombstones.size() >= flushThreshold;
+    }
+
+    private void flushIfFull() {
+        try {
+            if (!flushMemtable(true)) return;
+        } catch (IOException e) {
+            throw new UncheckedIOException("The memtable can't be flushed", e);
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Writes the memtable to a new segment, even if it is not full
+     *
+     * @throws IOException if the segment can't be written, or a compaction in the executor failed
+     */
+    public void flush() throws IOException {
+        flushMemtable(false);
+        IOException failure = compactionFailure.getAndSet(null);
+        if (failure != null) throw new IOException("The segments can't be compacted", failure);
+        compactIfNeeded();
+    }
+
+    /**
+     * Helper method that throws the failure of the last compaction run by the executor, once.
+     * The segments are left as they were by a failed compaction, so the next one tries again
+     */
+    private void throwCompactionFailure() {
+        IOException failure = compactionFailure.getAndSet(null);
+        if (failure != null) throw new UncheckedIOException("The segments can't be compacted", failure);
+    }
+
+    /**
+     * Helper method that writes the memtable to a segment. It must be called without the write lock.
+     * The memtable is replaced by an empty one under the write lock, and kept as the immutable memtable,
+     * which the lookups still check while its segment is written without the lock.
+     *
+     * @param onlyIfFull true to flush the memtable only if it reached the flush threshold,
+     *                   since another writer may have flushed it meanwhile
+     * @return true if a segment was written
+     * @throws IOException if the segment can't be written, then the immutable memtable is written by the next flush
+     */
+    private boolean flushMemtable(boolean onlyIfFull) throws IOException {
+        synchronized (flushLock) {
+            boolean flushed = writeImmutableMemtable();
+            lock.writeLock().lock();
+            try {
+                if (memtable.size() == 0 && tombstones.size() == 0 || onlyIfFull && !isMemtableFull()) return flushed;
+                immutableMemtable = memtable;
+                immutableTombstones = tombstones;
+                immutableSequence = nextSequence++;
+                memtable = memtableSupplier.get();
+                tombstones = memtableSupplier.get();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            writeImmutableMemtable();
+            return true;
+        }
+    }
+
+    /**
+     * Helper method that writes the immutable memtable to a segment, and publishes the segment in its place.
+     * It must be called with the flush lock: the immutable memtable is only replaced by the flushes,
+     * and nothing changes it, so it is read without the lock.
+     *
+     * @return true if there was an immutable memtable
+     */
+    private boolean writeImmutableMemtable() throws IOException {
+        if (immutableMemtable == null) return false;
+        Segment segment = writeSegment(getMemtableEntries(immutableMemtable, immutableTombstones, "").iterator(),
+                immutableSequence, immutableSequence);
+        lock.writeLock().lock();
+        try {
+            segments.add(0, segment);
+            immutableMemtable = null;
+            immutableTombstones = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Helper method that starts a compaction if there are too many segments and no compaction is running.
+     * It must be called without the write lock, since the compaction takes it to replace the segments.
+     */
+    private void compactIfNeeded() {
+        if (getSegmentsCount() <= maxSegmentsCount || !compacting.compareAndSet(false, true)) return;
+        if (compactionExecutor == null) {
+            try {
+                compact();
+            } catch (IOException e) {
+                throw new UncheckedIOException("The segments can't be compacted", e);
+            } finally {
+                compacting.set(false);
+            }
+            return;
+        }
+        // Nothing waits for the executor, so the failure is kept for the next call
+        Runnable compaction = () -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                compactionFailure.set(e);
+            } finally {
+                compacting.set(false);
+            }
+        };
+        try {
+            compactionExecutor.execute(compaction);
+        } catch (RejectedExecutionException e) {
+            compacting.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Merges all the segments in one, dropping the deleted words.
+     * The merge doesn't block the reads nor the changes, only the replacement of the segments does.
+     *
+     * @throws IOException if the merged segment can't be written
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            List<Segment> mergedSegments;
+            lock.readLock().lock();
+            try {
+                mergedSegments = new ArrayList<>(segments);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (mergedSegments.size() < 2) return;
+
+            // The oldest segment is merged, so there is nothing older that a tombstone must hide
+            List<Iterator<Pair<String, Long>>> levels = new ArrayList<>();
+            for (Segment segment : mergedSegments) {
+                levels.add(segment.getFst().iterator(""));
+            }
+            Segment mergedSegment = writeSegment(new LevelMergingIterator(levels, false),
+                    mergedSegments.get(mergedSegments.size() - 1).getMinSequence(),
+                    mergedSegments.get(0).getMaxSequence());
+
+            lock.writeLock().lock();
+            try {
+                segments.removeAll(mergedSegments);
+                segments.add(mergedSegment);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            for (Segment segment : mergedSegments) {
+                Files.deleteIfExists(segment.getPath());
+            }
+        }
+    }
+
+    /**
+     * Helper method that writes entries to a segment file, through a temporary file renamed when it is complete
+     *
+     * @param entries     The entries, in ascending order
+     * @param minSequence The first flush sequence of the segment
+     * @param maxSequence The last flush sequence of the segment
+     * @return the segment
+     */
+    private Segment writeSegment(Iterator<Pair<String, Long>> entries, long minSequence, long maxSequence)
+            throws IOException {
+        FstBuilder fstBuilder = new FstBuilder();
+        entries.forEachRemaining(entry -> fstBuilder.add(entry.getValue0(), entry.getValue1()));
+        byte[] bytes = fstBuilder.build().toBytes();
+
+        Path path = directory.resolve(Segment.getFileName(minSequence, maxSequence));
+        Path temporaryPath = directory.resolve(path.getFileName() + TEMPORARY_FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temporaryPath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return Segment.open(path);
+    }
+
+    /**
+     * Returns the number of segments on disk
+     *
+     * @return the number of segments
+     */
+    public int getSegmentsCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes the memtable, without starting a compaction. A compaction running in the executor is not waited
+     *
+     * @throws IOException if the memtable can't be flushed, or a compaction in the executor failed
+     *                     and no call threw its failure yet
+     */
+    @Override
+    public void close() throws IOException {
+        flushMemtable(false);
+        IOException failure = compactionFailure.getAndSet(null);
+        if (failure != null) throw new IOException("The segments can't be compacted", failure);
+    }
+}
@@ -0,0 +1,74 @@
+package storage;
+
+import algorithm.ITrieAlgorithm;
+import trie.AbstractTrie;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only Trie backed by a file written with {@link PagedTrieWriter}.
+ * Opening it only maps the file, and each trieNode is loaded the first time a prefix that ends at it is searched,
+ * at any depth, so only the hot parts of the Trie are in memory.
+ * <p>
+ * The methods that visit every trieNode, like iterating all the words, load them all.
+ */
+public class PagedTrie extends AbstractTrie {
+
+    private PagedTrie(ITrieAlgorithm trieAlgorithm, PagedTrieNode root) {
+        super(trieAlgorithm, root);
+    }
+
+    /**
+     * Opens a paged Trie, in constant time
+     *
+     * @param path               The file written with {@link PagedTrieWriter}
+     * @param trieAlgorithm      The algorithm used to search into the Trie
+     * @param maxLoadedTrieNodes The maximum number of trieNodes kept loaded, the least recently used are released;
+     *                           or 0 to keep them until the garbage collector needs the memory
+     * @return the Trie
+     * @throws IOException              if the file can't be mapped
+     * @throws IllegalArgumentException if the file is not a paged Trie, or it is larger than Integer.MAX_VALUE bytes,
+     *                                  the most that can be mapped in a single buffer
+     */
+    public static PagedTrie open(Path path, ITrieAlgorithm trieAlgorithm, int maxLoadedTrieNodes) throws IOException {
+        if (maxLoadedTrieNodes < 0) {
+            throw new IllegalArgumentException("The maximum number of trieNodes must not be negative: "
+                    + maxLoadedTrieNodes);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The file is too large to be mapped: " + channel.size() + " bytes");
+            }
+            PagedTrieNode root = PagedTrieNode.openRoot(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), maxLoadedTrieNodes);
+            return new PagedTrie(trieAlgorithm, root);
+        }
+    }
+
+    /**
+     * Returns the number of trieNodes below the root currently loaded
+     *
+     * @return the number of loaded trieNodes
+     */
+    public int getLoadedTrieNodesCount() {
+        return ((PagedTrieNode) getRoot()).getLoadedTrieNodesCount();
+    }
+
+    @Override
+    public boolean insertWord(CharSequence word) {
+        throw new UnsupportedOperationException("A paged Trie is read-only");
+    }
+
+    @Override
+    public boolean deleteWord(CharSequence word) {
+        throw new UnsupportedOperationException("A paged Trie is read-only");
+    }
+
+    @Override
+    public int deletePrefix(CharSequence prefix) {
+        throw new UnsupportedOperationException("A paged Trie is read-only");
+    }
+}
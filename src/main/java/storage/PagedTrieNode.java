@@ -0,0 +1,243 @@
+package storage;
+
+import node.ITrieNode;
+
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A trieNode of a {@link PagedTrie}. Its flags, its word count and its child index are read from the mapped file
+ * at its offset, and the trieNode that a character points is read the first time it is needed,
+ * so only the trieNodes of the searched prefixes are loaded, at any depth.
+ * <p>
+ * The loaded trieNodes are kept either through soft references from their parent, released by the garbage collector
+ * under memory pressure, or in a LRU of a maximum number of trieNodes, shared by the whole Trie.
+ */
+final class PagedTrieNode implements ITrieNode {
+    private final ByteBuffer file;
+    private final Map<Integer, PagedTrieNode> lruTrieNodes;
+    private final int offset;
+    private final boolean isEndOfWord;
+    private final int wordCount;
+    private final int charactersCount;
+    private final AtomicReferenceArray<SoftReference<PagedTrieNode>> softChildren;
+    private volatile long fingerprint;
+
+    private PagedTrieNode(ByteBuffer file, Map<Integer, PagedTrieNode> lruTrieNodes, int offset) {
+        this.file = file;
+        this.lruTrieNodes = lruTrieNodes;
+        this.offset = offset;
+        this.isEndOfWord = (file.get(offset) & PagedTrieWriter.END_OF_WORD) != 0;
+        this.wordCount = file.getInt(offset + 1);
+        this.charactersCount = file.getInt(offset + 5);
+        this.softChildren = lruTrieNodes == null ? new AtomicReferenceArray<>(charactersCount) : null;
+    }
+
+    /**
+     * Creates the root, reading only the header of the file and of the root
+     *
+     * @param file               The mapped file
+     * @param maxLoadedTrieNodes The maximum number of trieNodes kept in the LRU,
+     *                           or 0 to keep them through soft references
+     * @return the root
+     * @throws IllegalArgumentException if the file is not a paged Trie
+     */
+    static PagedTrieNode openRoot(ByteBuffer file, int maxLoadedTrieNodes) {
+        if (file.limit() < PagedTrieWriter.HEADER_LENGTH + PagedTrieWriter.TRIE_NODE_HEADER_LENGTH
+                || file.getInt(0) != PagedTrieWriter.MAGIC) {
+            throw new IllegalArgumentException("The file is not a paged Trie");
+        }
+        Map<Integer, PagedTrieNode> lruTrieNodes = null;
+        if (maxLoadedTrieNodes > 0) {
+            lruTrieNodes = new LinkedHashMap<Integer, PagedTrieNode>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, PagedTrieNode> eldest) {
+                    return size() > maxLoadedTrieNodes;
+                }
+            };
+        }
+        return new PagedTrieNode(file, lruTrieNodes, PagedTrieWriter.HEADER_LENGTH);
+    }
+
+    @Override
+    public PagedTrieNode getTrieNodeForChar(char character) {
+        int index = getCharacterIndex(character);
+        return index < 0 ? null : getChild(index);
+    }
+
+    /**
+     * Helper method that returns a child, reading it from the file if it is not loaded
+     *
+     * @param index The position of the character in the child index
+     * @return the trieNode that the character points
+     */
+    private PagedTrieNode getChild(int index) {
+        int childOffset = file.getInt(getChildEntryPosition(index) + 2);
+        if (lruTrieNodes != null) {
+            synchronized (lruTrieNodes) {
+                PagedTrieNode child = lruTrieNodes.get(childOffset);
+                if (child != null) return child;
+            }
+            // The child is read outside the lock, and the first copy published is kept
+            PagedTrieNode child = new PagedTrieNode(file, lruTrieNodes, childOffset);
+            synchronized (lruTrieNodes) {
+                PagedTrieNode publishedChild = lruTrieNodes.putIfAbsent(childOffset, child);
+                return publishedChild == null ? child : publishedChild;
+            }
+        }
+        SoftReference<PagedTrieNode> reference = softChildren.get(index);
+        PagedTrieNode child = reference == null ? null : reference.get();
+        if (child == null) {
+            // Two threads can read the same child, both copies are equal
+            child = new PagedTrieNode(file, null, childOffset);
+            softChildren.set(index, new SoftReference<>(child));
+        }
+        return child;
+    }
+
+    /**
+     * Returns the number of trieNodes below this one currently loaded
+     *
+     * @return the number of loaded trieNodes
+     */
+    int getLoadedTrieNodesCount() {
+        if (lruTrieNodes != null) {
+            synchronized (lruTrieNodes) {
+                return lruTrieNodes.size();
+            }
+        }
+        int count = 0;
+        for (int i = 0; i < charactersCount; i++) {
+            SoftReference<PagedTrieNode> reference = softChildren.get(i);
+            PagedTrieNode child = reference == null ? null : reference.get();
+            if (child != null) count += 1 + child.getLoadedTrieNodesCount();
+        }
+        return count;
+    }
+
+    @Override
+    public boolean containsCharacter(char character) {
+        return getCharacterIndex(character) >= 0;
+    }
+
+    @Override
+    public boolean isEndOfWord() {
+        return isEndOfWord;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return charactersCount == 0;
+    }
+
+    @Override
+    public Character getFirstCharacter() {
+        return charactersCount == 0 ? null : getCharacter(0);
+    }
+
+    @Override
+    public Character getLastCharacter() {
+        return charactersCount == 0 ? null : getCharacter(charactersCount - 1);
+    }
+
+    @Override
+    public Character getHigherCharacter(char character) {
+        int index = getCharacterIndex(character);
+        index = index >= 0 ? index + 1 : -index - 1;
+        return index < charactersCount ? getCharacter(index) : null;
+    }
+
+    @Override
+    public Character getLowerCharacter(char character) {
+        int index = getCharacterIndex(character);
+        index = index >= 0 ? index - 1 : -index - 2;
+        return index >= 0 ? getCharacter(index) : null;
+    }
+
+    @Override
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    @Override
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * The fingerprint is a cache, so it can be set even if the Trie is read-only
+     */
+    @Override
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    @Override
+    public long estimateSizeInBytes() {
+        // The trieNode and the references to the children, the file is mapped outside the heap
+        return 48 + (softChildren == null ? 0 : 16 + 4L * charactersCount);
+    }
+
+    @Override
+    public void addCharacter(char character) {
+        throw readOnly();
+    }
+
+    @Override
+    public void attachTrieNode(char character, ITrieNode trieNode) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeCharacter(char character) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setEndOfWord(boolean endOfWord) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setWordCount(int wordCount) {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("A paged Trie is read-only");
+    }
+
+    private char getCharacter(int index) {
+        return file.getChar(getChildEntryPosition(index));
+    }
+
+    private int getChildEntryPosition(int index) {
+        return offset + PagedTrieWriter.TRIE_NODE_HEADER_LENGTH + PagedTrieWriter.CHILD_ENTRY_LENGTH * index;
+    }
+
+    /**
+     * Helper method that finds a character in the child index by binary search
+     *
+     * @param character The character to find
+     * @return the position of the character, or (-(insertion point) - 1) if it is not in the index
+     */
+    private int getCharacterIndex(char character) {
+        int low = 0;
+        int high = charactersCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char middleCharacter = getCharacter(middle);
+            if (middleCharacter < character) {
+                low = middle + 1;
+            } else if (middleCharacter > character) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -0,0 +1,119 @@
+package storage;
+
+import node.ITrieNode;
+import trie.ITrie;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the file of a {@link PagedTrie}.
+ * <p>
+ * File format: the magic (int), and then the trieNodes in pre-order, starting with the root.
+ * Each trieNode is its flags (byte, 1 if it is the end of a word), the number of words that start at it (int),
+ * its number of characters (int), and its child index: each character in ascending order (char)
+ * with the offset (int) of the trieNode it points. So any trieNode can be read without decoding the trieNodes above it.
+ * The offsets are ints, so the file can't be larger than Integer.MAX_VALUE bytes.
+ */
+public final class PagedTrieWriter {
+    static final int MAGIC = 0x50545232;
+    static final int HEADER_LENGTH = 4;
+    static final int TRIE_NODE_HEADER_LENGTH = 9;
+    static final int CHILD_ENTRY_LENGTH = 6;
+    static final int END_OF_WORD = 1;
+
+    private PagedTrieWriter() {
+    }
+
+    /**
+     * Writes the words of a Trie, through a temporary file renamed when it is complete
+     *
+     * @param trie The Trie to write
+     * @param path The file of the paged Trie
+     * @throws IOException              if the file can't be written
+     * @throws IllegalArgumentException if the file would be larger than Integer.MAX_VALUE bytes
+     */
+    public static void write(ITrie trie, Path path) throws IOException {
+        ITrieNode root = trie.getRoot();
+        Map<ITrieNode, Long> subtreeLengths = new IdentityHashMap<>();
+        long fileLength = HEADER_LENGTH + computeSubtreeLength(root, subtreeLengths);
+        if (fileLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The Trie is too large to be paged: " + fileLength + " bytes");
+        }
+
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryPath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            output.writeInt(MAGIC);
+            writeTrieNode(root, HEADER_LENGTH, subtreeLengths, output);
+            output.flush();
+            channel.force(true);
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Helper recursive method that computes the number of bytes of the encoding of a trieNode and the trieNodes below it
+     *
+     * @param trieNode       The trieNode
+     * @param subtreeLengths Where the lengths of the trieNode and the trieNodes below it are stored
+     * @return the length of the encoding of the trieNode and the trieNodes below it
+     */
+    private static long computeSubtreeLength(ITrieNode trieNode, Map<ITrieNode, Long> subtreeLengths) {
+        List<Character> characters = getCharacters(trieNode);
+        long length = TRIE_NODE_HEADER_LENGTH + (long) CHILD_ENTRY_LENGTH * characters.size();
+        for (char character : characters) {
+            length += computeSubtreeLength(trieNode.getTrieNodeForChar(character), subtreeLengths);
+        }
+        subtreeLengths.put(trieNode, length);
+        return length;
+    }
+
+    /**
+     * Helper recursive method that encodes a trieNode and the trieNodes below it in pre-order
+     *
+     * @param trieNode       The trieNode to encode
+     * @param offset         The offset of the trieNode in the file
+     * @param subtreeLengths The lengths of the encodings of the trieNodes, to compute the offsets of the children
+     * @param output         The output of the file
+     */
+    private static void writeTrieNode(ITrieNode trieNode, int offset, Map<ITrieNode, Long> subtreeLengths,
+                                      DataOutputStream output) throws IOException {
+        List<Character> characters = getCharacters(trieNode);
+        output.writeByte(trieNode.isEndOfWord() ? END_OF_WORD : 0);
+        output.writeInt(trieNode.getWordCount());
+        output.writeInt(characters.size());
+        int[] childOffsets = new int[characters.size()];
+        int childOffset = offset + TRIE_NODE_HEADER_LENGTH + CHILD_ENTRY_LENGTH * characters.size();
+        for (int i = 0; i < characters.size(); i++) {
+            childOffsets[i] = childOffset;
+            output.writeChar(characters.get(i));
+            output.writeInt(childOffset);
+            childOffset += subtreeLengths.get(trieNode.getTrieNodeForChar(characters.get(i)));
+        }
+        for (int i = 0; i < characters.size(); i++) {
+            writeTrieNode(trieNode.getTrieNodeForChar(characters.get(i)), childOffsets[i], subtreeLengths, output);
+        }
+    }
+
+    private static List<Character> getCharacters(ITrieNode trieNode) {
+        List<Character> characters = new ArrayList<>();
+        for (Character character = trieNode.getFirstCharacter(); character != null;
+             character = trieNode.getHigherCharacter(character)) {
+            characters.add(character);
+        }
+        return characters;
+    }
+}
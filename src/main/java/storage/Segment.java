@@ -0,0 +1,80 @@
+package storage;
+
+import fst.Fst;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable sorted segment of a {@link LsmTrie}: a memory-mapped Fst whose outputs tell if a word is live or deleted.
+ * A segment covers a range of flush sequences, a single one when it is flushed, and several when segments are merged.
+ */
+final class Segment {
+    static final long LIVE = 0;
+    static final long TOMBSTONE = 1;
+
+    private static final Pattern FILE_NAME = Pattern.compile("segment-(\\d+)-(\\d+)\\.fst");
+
+    private final Path path;
+    private final long minSequence;
+    private final long maxSequence;
+    private final Fst fst;
+
+    private Segment(Path path, long minSequence, long maxSequence, Fst fst) {
+        this.path = path;
+        this.minSequence = minSequence;
+        this.maxSequence = maxSequence;
+        this.fst = fst;
+    }
+
+    static String getFileName(long minSequence, long maxSequence) {
+        return "segment-" + minSequence + "-" + maxSequence + ".fst";
+    }
+
+    /**
+     * Maps a segment file
+     *
+     * @param path The file of the segment
+     * @return the segment, or null if the name of the file is not the name of a segment
+     * @throws IOException if the file can't be mapped
+     */
+    static Segment open(Path path) throws IOException {
+        Matcher matcher = FILE_NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) return null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Fst fst = Fst.fromByteBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            return new Segment(path, Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)), fst);
+        }
+    }
+
+    /**
+     * Checks if the sequences of this segment include the ones of another segment,
+     * which happens when a merge finished but the merged segments were not deleted yet
+     *
+     * @param other The other segment
+     * @return true if the other segment is merged in this one
+     */
+    boolean covers(Segment other) {
+        return this != other && minSequence <= other.minSequence && other.maxSequence <= maxSequence;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getMinSequence() {
+        return minSequence;
+    }
+
+    long getMaxSequence() {
+        return maxSequence;
+    }
+
+    Fst getFst() {
+        return fst;
+    }
+}
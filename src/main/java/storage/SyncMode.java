@@ -0,0 +1,16 @@
+package storage;
+
+/**
+ * When the changes of a {@link DurableTrie} are forced to the disk
+ */
+public enum SyncMode {
+    /**
+     * insertWord and deleteWord return when the change is on the disk.
+     * Concurrent changes share the same fsync.
+     */
+    EVERY_WRITE,
+    /**
+     * The changes are forced every given interval, so a crash loses at most the changes of the last interval
+     */
+    INTERVAL
+}
@@ -0,0 +1,230 @@
+package storage;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of the changes of a Trie.
+ * Record format: the length of the payload (int), the CRC32 of the payload (int), and the payload:
+ * the operation (byte) followed by the word in UTF-8.
+ * <p>
+ * The records are appended to a buffer in memory, and written to the file by {@link #sync(long)}.
+ * Sync implements group commit: the threads that wait while another thread forces the file
+ * find their records already forced when they get the turn, so one fsync covers all of them.
+ */
+public class WriteAheadLog implements Closeable {
+    public static final byte INSERT = 1;
+    public static final byte DELETE = 2;
+    public static final byte DELETE_PREFIX = 3;
+
+    private static final int RECORD_HEADER_LENGTH = 8;
+    private static final int MAX_BUFFER_LENGTH = 1 << 16;
+
+    private final FileChannel channel;
+    private final Object syncLock = new Object();
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private long appendedSequence;
+    private long writtenSequence;
+    private long syncedSequence;
+
+    private WriteAheadLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a log, creating the file if it doesn't exist.
+     * The records of the file are replayed, and the file is truncated after the last valid record,
+     * since a crash can leave the last record written only in part.
+     *
+     * @param path     The file of the log
+     * @param consumer Receives the records of the file, in order
+     * @return the log, positioned at its end
+     * @throws IOException if the file can't be read or written
+     */
+    public static WriteAheadLog open(Path path, RecordConsumer consumer) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long validLength = replay(channel, consumer);
+            channel.truncate(validLength);
+            channel.position(validLength);
+            return new WriteAheadLog(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Helper method that reads the records of a file until its end, or until a record that is incomplete or corrupt
+     *
+     * @param channel  The file of the log
+     * @param consumer Receives the valid records
+     * @return the length of the valid records
+     */
+    private static long replay(FileChannel channel, RecordConsumer consumer) throws IOException {
+        channel.position(0);
+        long fileLength = channel.size();
+        InputStream stream = new BufferedInputStream(Channels.newInputStream(channel));
+        DataInputStream input = new DataInputStream(stream);
+        long validLength = 0;
+        CRC32 crc = new CRC32();
+        try {
+            while (validLength + RECORD_HEADER_LENGTH <= fileLength) {
+                int length = input.readInt();
+                int checksum = input.readInt();
+                if (length < 1 || length > fileLength - validLength - RECORD_HEADER_LENGTH) break;
+                byte[] payload = new byte[length];
+                input.readFully(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) break;
+                consumer.accept(payload[0], new String(payload, 1, length - 1, StandardCharsets.UTF_8));
+                validLength += RECORD_HEADER_LENGTH + length;
+            }
+        } catch (EOFException e) {
+            // The last record is incomplete
+        }
+        return validLength;
+    }
+
+    /**
+     * Appends a record to the buffer of the log, it is durable once {@link #sync(long)} returns for its sequence
+     *
+     * @param operation {@link #INSERT}, {@link #DELETE} or {@link #DELETE_PREFIX}
+     * @param word      The word or the prefix of the operation
+     * @return the sequence of the record
+     */
+    public synchronized long append(byte operation, CharSequence word) {
+        byte[] bytes = word.toString().getBytes(StandardCharsets.UTF_8);
+        int length = 1 + bytes.length;
+        CRC32 crc = new CRC32();
+        crc.update(operation);
+        crc.update(bytes);
+        ensureCapacity(RECORD_HEADER_LENGTH + length);
+        buffer.putInt(length).putInt((int) crc.getValue()).put(operation).put(bytes);
+        return ++appendedSequence;
+    }
+
+    private void ensureCapacity(int length) {
+        if (buffer.remaining() >= length) return;
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+
+    /**
+     * Returns true if the buffer is large enough to be written without waiting for the next sync
+     *
+     * @return true if the buffer should be written
+     */
+    public synchronized boolean isBufferFull() {
+        return buffer.position() >= MAX_BUFFER_LENGTH;
+    }
+
+    /**
+     * Writes the buffered records to the file, without forcing them to the disk
+     *
+     * @throws IOException if the records can't be written
+     */
+    public synchronized void write() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        if (buffer.capacity() > MAX_BUFFER_LENGTH) {
+            buffer = ByteBuffer.allocate(MAX_BUFFER_LENGTH);
+        }
+        writtenSequence = appendedSequence;
+    }
+
+    /**
+     * Makes durable the records up to a sequence, and the records appended before this call
+     *
+     * @param sequence The sequence of the last record that must be durable
+     * @throws IOException if the records can't be written or forced
+     */
+    public void sync(long sequence) throws IOException {
+        synchronized (syncLock) {
+            if (syncedSequence >= sequence) return;
+            long forcedSequence;
+            synchronized (this) {
+                write();
+                forcedSequence = writtenSequence;
+            }
+            channel.force(false);
+            syncedSequence = forcedSequence;
+        }
+    }
+
+    /**
+     * Makes durable all the records appended before this call
+     *
+     * @throws IOException if the records can't be written or forced
+     */
+    public void sync() throws IOException {
+        long sequence;
+        synchronized (this) {
+            sequence = appendedSequence;
+        }
+        sync(sequence);
+    }
+
+    /**
+     * Removes every record of the log, once they are in a checkpoint
+     *
+     * @throws IOException if the file can't be truncated
+     */
+    public void truncate() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                buffer.clear();
+                channel.truncate(0);
+                channel.position(0);
+                channel.force(false);
+                writtenSequence = appendedSequence;
+                syncedSequence = appendedSequence;
+            }
+        }
+    }
+
+    /**
+     * Returns the length of the file, without the buffered records
+     *
+     * @return the length of the file in bytes
+     * @throws IOException if the length can't be read
+     */
+    public long getSizeInBytes() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Receives the records of a log when it is replayed
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(byte operation, String word);
+    }
+}
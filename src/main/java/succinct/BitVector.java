@@ -0,0 +1,190 @@
+package succinct;
+
+/**
+ * An immutable sequence of bits with rank and select in (almost) constant time.
+ * <p>
+ * The bits are stored in 64-bit words, grouped in blocks of 512 bits. The number of ones before each block is kept,
+ * so rank adds at most 8 bit counts to it, and select finds its block by binary search and then counts inside it.
+ * The blocks add 1/16 to the size of the bits.
+ */
+public final class BitVector {
+    private static final int WORDS_PER_BLOCK = 8;
+    private static final int BITS_PER_BLOCK = WORDS_PER_BLOCK * Long.SIZE;
+
+    private final long[] words;
+    private final int length;
+    // The number of ones before each block, and the total number of ones at the end
+    private final int[] blockRanks;
+
+    /**
+     * Creates a bit vector. The array is not copied, so it must not be modified afterwards.
+     *
+     * @param words  The bits, the bit i is the bit (i % 64) of the word (i / 64)
+     * @param length The number of bits
+     * @throws IllegalArgumentException if the words don't hold the number of bits
+     */
+    public BitVector(long[] words, int length) {
+        if (length < 0 || words.length < (length + Long.SIZE - 1) / Long.SIZE) {
+            throw new IllegalArgumentException("The words don't hold " + length + " bits");
+        }
+        this.words = words;
+        this.length = length;
+        int wordsCount = (length + Long.SIZE - 1) / Long.SIZE;
+        if (length % Long.SIZE != 0) {
+            // The bits after the length are cleared, so they are not counted
+            words[wordsCount - 1] &= (1L << length) - 1;
+        }
+        this.blockRanks = new int[(wordsCount + WORDS_PER_BLOCK - 1) / WORDS_PER_BLOCK + 1];
+        int rank = 0;
+        for (int i = 0; i < wordsCount; i++) {
+            if (i % WORDS_PER_BLOCK == 0) blockRanks[i / WORDS_PER_BLOCK] = rank;
+            rank += Long.bitCount(words[i]);
+        }
+        blockRanks[blockRanks.length - 1] = rank;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the number of bits set
+     *
+     * @return the number of ones
+     */
+    public int countOnes() {
+        return blockRanks[blockRanks.length - 1];
+    }
+
+    public boolean get(int position) {
+        checkPosition(position, length - 1);
+        return (words[position >>> 6] & (1L << position)) != 0;
+    }
+
+    /**
+     * Returns the number of ones before a position
+     *
+     * @param position The position, from 0 to the length
+     * @return the number of ones in [0, position)
+     * @throws IndexOutOfBoundsException if the position is out of the bits
+     */
+    public int rank1(int position) {
+        checkPosition(position, length);
+        int wordIndex = position >>> 6;
+        int block = wordIndex / WORDS_PER_BLOCK;
+        int rank = blockRanks[block];
+        for (int i = block * WORDS_PER_BLOCK; i < wordIndex; i++) {
+            rank += Long.bitCount(words[i]);
+        }
+        int bit = position & (Long.SIZE - 1);
+        if (bit != 0) rank += Long.bitCount(words[wordIndex] & ((1L << bit) - 1));
+        return rank;
+    }
+
+    /**
+     * Returns the number of zeros before a position
+     *
+     * @param position The position, from 0 to the length
+     * @return the number of zeros in [0, position)
+     * @throws IndexOutOfBoundsException if the position is out of the bits
+     */
+    public int rank0(int position) {
+        return position - rank1(position);
+    }
+
+    /**
+     * Returns the position of a one
+     *
+     * @param rank The number of ones before it
+     * @return the position of the one
+     * @throws IndexOutOfBoundsException if there are not so many ones
+     */
+    public int select1(int rank) {
+        checkPosition(rank, countOnes() - 1);
+        return select(rank, true);
+    }
+
+    /**
+     * Returns the position of a zero
+     *
+     * @param rank The number of zeros before it
+     * @return the position of the zero
+     * @throws IndexOutOfBoundsException if there are not so many zeros
+     */
+    public int select0(int rank) {
+        checkPosition(rank, length - countOnes() - 1);
+        return select(rank, false);
+    }
+
+    /**
+     * Returns the position of the first zero from a position, like {@link java.util.BitSet#nextClearBit(int)}
+     *
+     * @param fromPosition The position where the search starts
+     * @return the position of the zero, or the length if there are only ones after the position
+     */
+    public int nextClearBit(int fromPosition) {
+        checkPosition(fromPosition, length);
+        int wordIndex = fromPosition >>> 6;
+        if (wordIndex == words.length) return length;
+        long word = ~words[wordIndex] & (-1L << fromPosition);
+        while (word == 0 && ++wordIndex < words.length) {
+            word = ~words[wordIndex];
+        }
+        if (word == 0) return length;
+        return Math.min(length, wordIndex * Long.SIZE + Long.numberOfTrailingZeros(word));
+    }
+
+    /**
+     * Returns the estimated number of bytes of the bit vector, with the same assumptions as
+     * {@link node.ITrieNode#estimateSizeInBytes()}
+     *
+     * @return the estimated size
+     */
+    public long estimateSizeInBytes() {
+        return 24 + 16 + 8L * words.length + 16 + 4L * blockRanks.length;
+    }
+
+    /**
+     * Helper method that finds the block of a rank by binary search, and then the word and the bit inside it
+     *
+     * @param rank The number of ones or zeros before the bit
+     * @param one  true to find a one, false to find a zero
+     * @return the position of the bit
+     */
+    private int select(int rank, boolean one) {
+        int low = 0;
+        int high = blockRanks.length - 2;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (blockRank(middle, one) <= rank) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        int remaining = rank - blockRank(low, one);
+        int wordIndex = low * WORDS_PER_BLOCK;
+        long word = one ? words[wordIndex] : ~words[wordIndex];
+        int count = Long.bitCount(word);
+        while (count <= remaining) {
+            remaining -= count;
+            wordIndex++;
+            word = one ? words[wordIndex] : ~words[wordIndex];
+            count = Long.bitCount(word);
+        }
+        for (int i = 0; i < remaining; i++) {
+            word &= word - 1;
+        }
+        return wordIndex * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    private int blockRank(int block, boolean one) {
+        return one ? blockRanks[block] : block * BITS_PER_BLOCK - blockRanks[block];
+    }
+
+    private static void checkPosition(int position, int maxPosition) {
+        if (position < 0 || position > maxPosition) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Max: " + maxPosition);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package succinct;
+
+import java.util.Arrays;
+
+/**
+ * Builds a {@link BitVector} by appending its bits
+ */
+public class BitVectorBuilder {
+    private long[] words = new long[8];
+    private int length;
+
+    public BitVectorBuilder add(boolean bit) {
+        int wordIndex = length >>> 6;
+        if (wordIndex == words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        if (bit) words[wordIndex] |= 1L << length;
+        length++;
+        return this;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Builds the bit vector with the bits added so far
+     *
+     * @return the bit vector
+     */
+    public BitVector build() {
+        return new BitVector(Arrays.copyOf(words, (length + Long.SIZE - 1) / Long.SIZE), length);
+    }
+}
@@ -0,0 +1,211 @@
+package succinct;
+
+import jfr.TrieBuildEvent;
+import node.ITrieNode;
+import trie.ITrie;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A read-only Trie encoded with LOUDS (level-order unary degree sequence), for large static dictionaries.
+ * <p>
+ * The trieNodes are numbered in level order, the root is 0. The shape of the Trie is one bit vector:
+ * "10" for a virtual parent of the root, then for each trieNode as many ones as characters, and a zero.
+ * So the characters of the trieNode x are the ones between its zero x - 1 and its zero x,
+ * its first child is the trieNode select0(x) - x, and its children are consecutive.
+ * The characters are kept in an array indexed by the trieNode they point, and the end of words in another
+ * bit vector, so a trieNode takes about 2 + 1 bits, plus 16 bits for its character,
+ * instead of the dozens of bytes of an ITrieNode.
+ * <p>
+ * Searching a word costs one select and a binary search of the characters per character of the word,
+ * so it is several times slower than TrieArray, but it allocates nothing.
+ */
+public class LoudsTrie {
+    private final BitVector louds;
+    private final BitVector endOfWords;
+    // The character that points each trieNode, the root has none
+    private final char[] labels;
+    private final int wordsCount;
+
+    private LoudsTrie(BitVector louds, BitVector endOfWords, char[] labels, int wordsCount) {
+        this.louds = louds;
+        this.endOfWords = endOfWords;
+        this.labels = labels;
+        this.wordsCount = wordsCount;
+    }
+
+    /**
+     * Encodes the words of a Trie, visiting its trieNodes in level order
+     *
+     * @param trie The Trie to encode
+     * @return the LOUDS Trie
+     */
+    public static LoudsTrie of(ITrie trie) {
+        TrieBuildEvent event = new TrieBuildEvent();
+        event.begin();
+        BitVectorBuilder louds = new BitVectorBuilder().add(true).add(false);
+        BitVectorBuilder endOfWords = new BitVectorBuilder();
+        StringBuilder labels = new StringBuilder().append('\0');
+        Deque<ITrieNode> trieNodes = new ArrayDeque<>();
+        trieNodes.add(trie.getRoot());
+        int wordsCount = 0;
+        while (!trieNodes.isEmpty()) {
+            ITrieNode trieNode = trieNodes.poll();
+            endOfWords.add(trieNode.isEndOfWord());
+            if (trieNode.isEndOfWord()) wordsCount++;
+            for (Character character = trieNode.getFirstCharacter(); character != null;
+                 character = trieNode.getHigherCharacter(character)) {
+                louds.add(true);
+                labels.append(character.charValue());
+                trieNodes.add(trieNode.getTrieNodeForChar(character));
+            }
+            louds.add(false);
+        }
+        char[] labelsArray = new char[labels.length()];
+        labels.getChars(0, labels.length(), labelsArray, 0);
+        LoudsTrie loudsTrie = new LoudsTrie(louds.build(), endOfWords.build(), labelsArray, wordsCount);
+        event.end();
+        if (event.shouldCommit()) {
+            event.structure = "LoudsTrie";
+            event.keysCount = wordsCount;
+            event.nodesCount = labelsArray.length;
+            event.sizeInBytes = loudsTrie.estimateSizeInBytes();
+            event.commit();
+        }
+        return loudsTrie;
+    }
+
+    public int size() {
+        return wordsCount;
+    }
+
+    /**
+     * Returns the number of trieNodes, including the root
+     *
+     * @return the number of trieNodes
+     */
+    public int getTrieNodesCount() {
+        return labels.length;
+    }
+
+    public boolean containsWord(CharSequence word) {
+        int trieNode = findTrieNode(word);
+        return trieNode >= 0 && endOfWords.get(trieNode);
+    }
+
+    public boolean containsPrefix(CharSequence prefix) {
+        return findTrieNode(prefix) >= 0;
+    }
+
+    /**
+     * Returns the words that start with a prefix, in ascending order
+     *
+     * @param prefix The prefix of the words
+     * @return the words that start with the prefix
+     */
+    public Iterable<String> wordsWithPrefix(String prefix) {
+        return () -> {
+            WordIterator words = new WordIterator(prefix);
+            int trieNode = findTrieNode(prefix);
+            if (trieNode >= 0) words.pushTrieNode(trieNode);
+            return words;
+        };
+    }
+
+    /**
+     * Returns the estimated number of bytes of the Trie, with the same assumptions as
+     * {@link ITrieNode#estimateSizeInBytes()}, to compare it with the sum of the sizes of the trieNodes of a Trie
+     *
+     * @return the estimated size
+     */
+    public long estimateSizeInBytes() {
+        return 24 + louds.estimateSizeInBytes() + endOfWords.estimateSizeInBytes() + 16 + 2L * labels.length;
+    }
+
+    /**
+     * Helper method that follows the characters of a word from the root
+     *
+     * @param word The word
+     * @return the trieNode of the word, or -1 if the word is not a prefix of the Trie
+     */
+    private int findTrieNode(CharSequence word) {
+        int trieNode = 0;
+        for (int i = 0; i < word.length() && trieNode >= 0; i++) {
+            trieNode = findChild(trieNode, word.charAt(i));
+        }
+        return trieNode;
+    }
+
+    /**
+     * Helper method that finds the child of a trieNode by binary search of the characters of its children
+     *
+     * @param trieNode  The parent trieNode
+     * @param character The character of the child
+     * @return the child, or -1 if the trieNode doesn't contain the character
+     */
+    private int findChild(int trieNode, char character) {
+        int start = louds.select0(trieNode);
+        int firstChild = start - trieNode;
+        int childrenCount = louds.nextClearBit(start + 1) - start - 1;
+        int child = Arrays.binarySearch(labels, firstChild, firstChild + childrenCount, character);
+        return child >= 0 ? child : -1;
+    }
+
+    /**
+     * Iterates the words below a trieNode in pre-order, keeping a stack with the next child of each trieNode of the path
+     */
+    private class WordIterator implements Iterator<String> {
+        private final StringBuilder word;
+        private int[] nextChildren = new int[8];
+        private int[] endChildren = new int[8];
+        private int depth = -1;
+        private String nextWord;
+
+        private WordIterator(String prefix) {
+            this.word = new StringBuilder(prefix);
+        }
+
+        private void pushTrieNode(int trieNode) {
+            depth++;
+            if (depth == nextChildren.length) {
+                nextChildren = Arrays.copyOf(nextChildren, depth * 2);
+                endChildren = Arrays.copyOf(endChildren, depth * 2);
+            }
+            int start = louds.select0(trieNode);
+            nextChildren[depth] = start - trieNode;
+            endChildren[depth] = louds.nextClearBit(start + 1) - trieNode - 1;
+            if (endOfWords.get(trieNode)) nextWord = word.toString();
+        }
+
+        private void findNextWord() {
+            while (nextWord == null && depth >= 0) {
+                if (nextChildren[depth] == endChildren[depth]) {
+                    depth--;
+                    if (depth >= 0) word.setLength(word.length() - 1);
+                    continue;
+                }
+                int child = nextChildren[depth]++;
+                word.append(labels[child]);
+                pushTrieNode(child);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            findNextWord();
+            return nextWord != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            String next = nextWord;
+            nextWord = null;
+            return next;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package trie;
+
+import algorithm.ITrieAlgorithm;
+import node.ITrieNode;
+
+import java.util.NoSuchElementException;
+
+public abstract class AbstractTrie implements ITrie {
+    private ITrieAlgorithm trieAlgorithm;
+
+    private final ITrieNode root;
+
+    protected AbstractTrie(ITrieAlgorithm trieAlgorithm, ITrieNode root) {
+        setTrieAlgorithm(trieAlgorithm);
+        this.root = root;
+    }
+
+    @Override
+    public void setTrieAlgorithm(ITrieAlgorithm trieAlgorithm) {
+        this.trieAlgorithm = trieAlgorithm;
+    }
+
+    @Override
+    public ITrieAlgorithm getTrieAlgorithm() {
+        return this.trieAlgorithm;
+    }
+
+    @Override
+    public ITrieNode getRoot() {
+        return this.root;
+    }
+
+    @Override
+    public boolean insertWord(CharSequence word) {
+        return trieAlgorithm.insertWord(this, word);
+    }
+
+    @Override
+    public boolean deleteWord(CharSequence word) {
+        return trieAlgorithm.deleteWord(this, word);
+    }
+
+    @Override
+    public int deletePrefix(CharSequence prefix) {
+        return trieAlgorithm.deletePrefix(this, prefix);
+    }
+
+    @Override
+    public boolean containsWord(CharSequence word) {
+        return trieAlgorithm.containsWord(this, word);
+    }
+
+    @Override
+    public boolean containsPrefix(CharSequence prefix) {
+        return trieAlgorithm.containsPrefix(this, prefix);
+    }
+
+    @Override
+    public int countWithPrefix(CharSequence prefix) {
+        return trieAlgorithm.countWithPrefix(this, prefix);
+    }
+
+    @Override
+    public int size() {
+        return root.getWordCount();
+    }
+
+    /**
+     * Returns the lowest word of the Trie
+     *
+     * @return the lowest word
+     * @throws NoSuchElementException if the Trie is empty
+     */
+    @Override
+    public String first() {
+        if (size() == 0) throw new NoSuchElementException("The trie is empty");
+        return select(0);
+    }
+
+    /**
+     * Returns the highest word of the Trie
+     *
+     * @return the highest word
+     * @throws NoSuchElementException if the Trie is empty
+     */
+    @Override
+    public String last() {
+        if (size() == 0) throw new NoSuchElementException("The trie is empty");
+        return select(size() - 1);
+    }
+
+    /**
+     * Returns the highest word of the Trie that is lower than or equal to the given word
+     *
+     * @param word The word to compare with
+     * @return the highest word lower than or equal to the given word, or null if there is no such word
+     */
+    @Override
+    public String floor(String word) {
+        if (TrieNavigation.containsWord(root, word)) return word;
+        int rank = rank(word);
+        return rank == 0 ? null : select(rank - 1);
+    }
+
+    /**
+     * Returns the lowest word of the Trie that is higher than or equal to the given word
+     *
+     * @param word The word to compare with
+     * @return the lowest word higher than or equal to the given word, or null if there is no such word
+     */
+    @Override
+    public String ceiling(String word) {
+        if (TrieNavigation.containsWord(root, word)) return word;
+        int rank = rank(word);
+        return rank == size() ? null : select(rank);
+    }
+
+    /**
+     * Returns the number of words of the Trie that are strictly lower than the given word.
+     * This takes O(word length * alphabet size), using the word counts of the trieNodes.
+     *
+     * @param word The word to compare with
+     * @return the number of words lower than the given word
+     */
+    @Override
+    public int rank(String word) {
+        return TrieNavigation.rank(root, word);
+    }
+
+    /**
+     * Returns the word at the given position of the lexicographic order of the Trie.
+     * This takes O(word length * alphabet size), using the word counts of the trieNodes.
+     *
+     * @param index The position of the word, starting at 0
+     * @return the word at the given position
+     * @throws IndexOutOfBoundsException if the index is negative or not lower than the size of the Trie
+     */
+    @Override
+    public String select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return TrieNavigation.select(root, index);
+    }
+
+    /**
+     * Returns the words of the Trie between two words, in ascending order.
+     * The Trie should not be modified while the words are iterated.
+     *
+     * @param fromWord The lowest word of the range, inclusive
+     * @param toWord   The highest word of the range, exclusive
+     * @return the words of the range
+     * @throws IllegalArgumentException if fromWord is higher than toWord
+     */
+    @Override
+    public Iterable<String> range(String fromWord, String toWord) {
+        if (fromWord.compareTo(toWord) > 0) {
+            throw new IllegalArgumentException("fromWord > toWord: " + fromWord + " > " + toWord);
+        }
+        return () -> TrieWordIterator.forRange(root, fromWord, toWord);
+    }
+
+    /**
+     * Returns the words of the Trie that start with a prefix, in ascending order.
+     * The Trie should not be modified while the words are iterated.
+     *
+     * @param prefix The prefix of the words
+     * @return the words that start with the prefix
+     */
+    @Override
+    public Iterable<String> wordsWithPrefix(String prefix) {
+        return () -> TrieWordIterator.forPrefix(root, prefix);
+    }
+}
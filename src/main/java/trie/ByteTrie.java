@@ -0,0 +1,127 @@
+package trie;
+
+import node.ByteTrieNode;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A Trie of byte keys, where every trieNode branches on an unsigned byte.
+ * Words are stored as their UTF-8 bytes, so the alphabet is bounded to 256 values and still covers all of Unicode,
+ * and binary keys like hashes or serialized ids can be stored directly.
+ */
+public class ByteTrie {
+    private final ByteTrieNode root = new ByteTrieNode();
+
+    /**
+     * Inserts a key in the Trie
+     *
+     * @param key The key to insert
+     * @return true if the key was inserted, that is, if the key did not exist in the Trie
+     */
+    public boolean insert(byte[] key) {
+        return insert(key, 0, key.length);
+    }
+
+    public boolean insert(byte[] key, int offset, int length) {
+        CharArraySequence.checkRegion(key.length, offset, length);
+        ByteTrieNode lastMatchingNode = getLastMatchingNode(key, offset, length);
+        if (lastMatchingNode != null && lastMatchingNode.isEndOfKey()) return false;
+        ByteTrieNode trieNode = root;
+        for (int i = offset; i < offset + length; i++) {
+            int currentByte = key[i] & 0xFF;
+            trieNode.setKeyCount(trieNode.getKeyCount() + 1);
+            ByteTrieNode nextTrieNode = trieNode.getTrieNodeForByte(currentByte);
+            trieNode = nextTrieNode != null ? nextTrieNode : trieNode.addByte(currentByte);
+        }
+        trieNode.setKeyCount(trieNode.getKeyCount() + 1);
+        trieNode.setEndOfKey(true);
+        return true;
+    }
+
+    /**
+     * Deletes a key from the Trie, and removes the trieNodes that are left without keys
+     *
+     * @param key The key to delete
+     * @return true if the key existed in the Trie and was deleted
+     */
+    public boolean delete(byte[] key) {
+        return delete(key, 0, key.length);
+    }
+
+    public boolean delete(byte[] key, int offset, int length) {
+        CharArraySequence.checkRegion(key.length, offset, length);
+        ByteTrieNode[] path = new ByteTrieNode[length + 1];
+        ByteTrieNode trieNode = root;
+        path[0] = root;
+        for (int i = 0; i < length; i++) {
+            trieNode = trieNode.getTrieNodeForByte(key[offset + i] & 0xFF);
+            if (trieNode == null) return false;
+            path[i + 1] = trieNode;
+        }
+        if (!trieNode.isEndOfKey()) return false;
+        trieNode.setEndOfKey(false);
+        for (int depth = length; depth >= 0; depth--) {
+            ByteTrieNode pathNode = path[depth];
+            pathNode.setKeyCount(pathNode.getKeyCount() - 1);
+            if (depth > 0 && pathNode.getKeyCount() == 0) {
+                path[depth - 1].removeByte(key[offset + depth - 1] & 0xFF);
+            }
+        }
+        return true;
+    }
+
+    public boolean contains(byte[] key) {
+        return contains(key, 0, key.length);
+    }
+
+    public boolean contains(byte[] key, int offset, int length) {
+        CharArraySequence.checkRegion(key.length, offset, length);
+        ByteTrieNode lastMatchingNode = getLastMatchingNode(key, offset, length);
+        return lastMatchingNode != null && lastMatchingNode.isEndOfKey();
+    }
+
+    public boolean containsPrefix(byte[] prefix) {
+        return containsPrefix(prefix, 0, prefix.length);
+    }
+
+    public boolean containsPrefix(byte[] prefix, int offset, int length) {
+        CharArraySequence.checkRegion(prefix.length, offset, length);
+        return getLastMatchingNode(prefix, offset, length) != null;
+    }
+
+    public int countWithPrefix(byte[] prefix) {
+        ByteTrieNode lastMatchingNode = getLastMatchingNode(prefix, 0, prefix.length);
+        return lastMatchingNode == null ? 0 : lastMatchingNode.getKeyCount();
+    }
+
+    public int size() {
+        return root.getKeyCount();
+    }
+
+    /**
+     * The following methods store words as their UTF-8 bytes
+     */
+    public boolean insertWord(String word) {
+        return insert(word.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean deleteWord(String word) {
+        return delete(word.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean containsWord(String word) {
+        return contains(word.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean containsPrefix(String prefix) {
+        return containsPrefix(prefix.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ByteTrieNode getLastMatchingNode(byte[] key, int offset, int length) {
+        ByteTrieNode trieNode = root;
+        for (int i = offset; i < offset + length && trieNode != null; i++) {
+            trieNode = trieNode.getTrieNodeForByte(key[i] & 0xFF);
+        }
+        return trieNode;
+    }
+}
@@ -0,0 +1,58 @@
+package trie;
+
+/**
+ * A CharSequence view of a region of a char array, so the region can be searched without copying it.
+ * The view is reused by the thread that searches, so it must not be kept after the search.
+ */
+final class CharArraySequence implements CharSequence {
+    private static final ThreadLocal<CharArraySequence> VIEWS = ThreadLocal.withInitial(CharArraySequence::new);
+
+    private char[] characters;
+    private int offset;
+    private int length;
+
+    /**
+     * Returns the view of the current thread, pointing to a region of a char array
+     *
+     * @param characters The char array
+     * @param offset     The index of the first character of the region
+     * @param length     The number of characters of the region
+     * @return the view of the region
+     */
+    static CharArraySequence of(char[] characters, int offset, int length) {
+        checkRegion(characters.length, offset, length);
+        CharArraySequence view = VIEWS.get();
+        view.characters = characters;
+        view.offset = offset;
+        view.length = length;
+        return view;
+    }
+
+    static void checkRegion(int arrayLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException(
+                    "Region [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength);
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        return characters[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(characters, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(characters, offset, length);
+    }
+}
@@ -0,0 +1,42 @@
+package trie;
+
+import algorithm.ITrieAlgorithm;
+import node.DawgNode;
+
+/**
+ * A read-only Trie where equivalent subtrees are shared, so common suffixes are stored only once.
+ * It is created with a {@link DawgBuilder}. Any ITrieAlgorithm can be used to search into it,
+ * but words can't be inserted or deleted.
+ */
+public class Dawg extends AbstractTrie {
+    private final int trieNodesCount;
+
+    Dawg(ITrieAlgorithm trieAlgorithm, DawgNode root, int trieNodesCount) {
+        super(trieAlgorithm, root);
+        this.trieNodesCount = trieNodesCount;
+    }
+
+    /**
+     * Returns the number of distinct trieNodes of the Dawg, including the root
+     *
+     * @return the number of trieNodes
+     */
+    public int getTrieNodesCount() {
+        return trieNodesCount;
+    }
+
+    @Override
+    public boolean insertWord(CharSequence word) {
+        throw new UnsupportedOperationException("A Dawg is read-only");
+    }
+
+    @Override
+    public boolean deleteWord(CharSequence word) {
+        throw new UnsupportedOperationException("A Dawg is read-only");
+    }
+
+    @Override
+    public int deletePrefix(CharSequence prefix) {
+        throw new UnsupportedOperationException("A Dawg is read-only");
+    }
+}
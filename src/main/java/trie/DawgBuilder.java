@@ -0,0 +1,153 @@
+package trie;
+
+import algorithm.ITrieAlgorithm;
+import jfr.TrieBuildEvent;
+import node.DawgNode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds a minimal {@link Dawg} from words added in ascending order.
+ * This is the incremental algorithm of Daciuk et al.: when a word is added, the path of the previous
+ * word that is not shared with it can't change anymore, so its trieNodes are replaced by equivalent
+ * trieNodes already registered, or registered themselves. Only the path of the last word is kept unminimized.
+ */
+public class DawgBuilder {
+    private final Map<EquivalenceKey, DawgNode> register = new HashMap<>();
+    private final DawgNode root = new DawgNode();
+    // Begins with the first word, so the build event covers the whole bulk build
+    private final TrieBuildEvent event = new TrieBuildEvent();
+    private String previousWord;
+    private boolean built;
+
+    /**
+     * Creates a Dawg with the words of a Trie
+     *
+     * @param trie The Trie to copy
+     * @return the minimal Dawg that contains the same words, and uses the same algorithm
+     */
+    public static Dawg fromTrie(ITrie trie) {
+        return new DawgBuilder().addWords(trie.wordsWithPrefix("")).build(trie.getTrieAlgorithm());
+    }
+
+    /**
+     * Adds a word to the Dawg
+     *
+     * @param word The word to add, it must be higher than the previous added word
+     * @return this builder
+     * @throws IllegalArgumentException if the word is not higher than the previous word
+     */
+    public DawgBuilder addWord(String word) {
+        if (built) throw new IllegalStateException("The Dawg was already built");
+        if (previousWord != null && word.compareTo(previousWord) <= 0) {
+            throw new IllegalArgumentException(
+                    "Words must be added in ascending order: " + word + " after " + previousWord);
+        }
+        if (previousWord == null) event.begin();
+        int commonPrefixLength = previousWord == null ? 0 : getCommonPrefixLength(previousWord, word);
+        DawgNode trieNode = root;
+        for (int i = 0; i < commonPrefixLength; i++) {
+            trieNode = trieNode.getTrieNodeForChar(word.charAt(i));
+        }
+        replaceOrRegister(trieNode);
+        char currentChar;
+        for (int i = commonPrefixLength; i < word.length(); i++) {
+            currentChar = word.charAt(i);
+            trieNode.addCharacter(currentChar);
+            trieNode = trieNode.getTrieNodeForChar(currentChar);
+        }
+        trieNode.setEndOfWord(true);
+        previousWord = word;
+        return this;
+    }
+
+    /**
+     * Adds words to the Dawg
+     *
+     * @param words The words to add, in ascending order
+     * @return this builder
+     */
+    public DawgBuilder addWords(Iterable<String> words) {
+        for (String word : words) {
+            addWord(word);
+        }
+        return this;
+    }
+
+    /**
+     * Minimizes the remaining path and creates the Dawg.
+     * Its build event is recorded from the first added word to the end of this method
+     *
+     * @param trieAlgorithm The algorithm used to search into the Dawg
+     * @return the Dawg
+     */
+    public Dawg build(ITrieAlgorithm trieAlgorithm) {
+        if (built) throw new IllegalStateException("The Dawg was already built");
+        built = true;
+        if (previousWord == null) event.begin();
+        replaceOrRegister(root);
+        root.freeze();
+        Dawg dawg = new Dawg(trieAlgorithm, root, register.size() + 1);
+        event.end();
+        if (event.shouldCommit()) {
+            event.structure = "Dawg";
+            event.keysCount = dawg.size();
+            event.nodesCount = dawg.getTrieNodesCount();
+            event.commit();
+        }
+        return dawg;
+    }
+
+    /**
+     * Helper recursive method that minimizes the path of the last character of a trieNode.
+     * The trieNodes are minimized bottom-up, so the trieNodes below are always frozen
+     * when a trieNode is compared with the registered ones.
+     *
+     * @param trieNode The trieNode whose last character is minimized
+     */
+    private void replaceOrRegister(DawgNode trieNode) {
+        Character lastCharacter = trieNode.getLastCharacter();
+        if (lastCharacter == null) return;
+        DawgNode child = trieNode.getTrieNodeForChar(lastCharacter);
+        if (child.isFrozen()) return;
+        replaceOrRegister(child);
+        child.freeze();
+        DawgNode equivalent = register.putIfAbsent(new EquivalenceKey(child), child);
+        if (equivalent != null) {
+            trieNode.setTrieNodeForChar(lastCharacter, equivalent);
+        }
+    }
+
+    private static int getCommonPrefixLength(String word, String otherWord) {
+        int length = Math.min(word.length(), otherWord.length());
+        int i = 0;
+        while (i < length && word.charAt(i) == otherWord.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Key of the register, two keys are equal when their trieNodes are equivalent
+     */
+    private static final class EquivalenceKey {
+        private final DawgNode trieNode;
+        private final int hashCode;
+
+        private EquivalenceKey(DawgNode trieNode) {
+            this.trieNode = trieNode;
+            this.hashCode = trieNode.equivalenceHashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof EquivalenceKey && trieNode.isEquivalentTo(((EquivalenceKey) other).trieNode);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package trie;
+
+import algorithm.ITrieAlgorithm;
+import node.ITrieNode;
+
+/**
+ * A Trie that forwards every method to another Trie.
+ * Decorators extend it and override only the methods they change.
+ */
+public abstract class ForwardingTrie implements ITrie {
+    private final ITrie trie;
+
+    protected ForwardingTrie(ITrie trie) {
+        this.trie = trie;
+    }
+
+    /**
+     * Returns the decorated Trie
+     *
+     * @return the Trie that receives the methods
+     */
+    protected ITrie getDelegate() {
+        return trie;
+    }
+
+    @Override
+    public void setTrieAlgorithm(ITrieAlgorithm trieAlgorithm) {
+        trie.setTrieAlgorithm(trieAlgorithm);
+    }
+
+    @Override
+    public ITrieAlgorithm getTrieAlgorithm() {
+        return trie.getTrieAlgorithm();
+    }
+
+    @Override
+    public ITrieNode getRoot() {
+        return trie.getRoot();
+    }
+
+    @Override
+    public boolean insertWord(CharSequence word) {
+        return trie.insertWord(word);
+    }
+
+    @Override
+    public boolean deleteWord(CharSequence word) {
+        return trie.deleteWord(word);
+    }
+
+    @Override
+    public int deletePrefix(CharSequence prefix) {
+        return trie.deletePrefix(prefix);
+    }
+
+    @Override
+    public boolean containsWord(CharSequence word) {
+        return trie.containsWord(word);
+    }
+
+    @Override
+    public boolean containsPrefix(CharSequence prefix) {
+        return trie.containsPrefix(prefix);
+    }
+
+    @Override
+    public int countWithPrefix(CharSequence prefix) {
+        return trie.countWithPrefix(prefix);
+    }
+
+    @Override
+    public int size() {
+        return trie.size();
+    }
+
+    @Override
+    public String first() {
+        return trie.first();
+    }
+
+    @Override
+    public String last() {
+        return trie.last();
+    }
+
+    @Override
+    public String floor(String word) {
+        return trie.floor(word);
+    }
+
+    @Override
+    public String ceiling(String word) {
+        return trie.ceiling(word);
+    }
+
+    @Override
+    public int rank(String word) {
+        return trie.rank(word);
+    }
+
+    @Override
+    public String select(int index) {
+        return trie.select(index);
+    }
+
+    @Override
+    public Iterable<String> range(String fromWord, String toWord) {
+        return trie.range(fromWord, toWord);
+    }
+
+    @Override
+    public Iterable<String> wordsWithPrefix(String prefix) {
+        return trie.wordsWithPrefix(prefix);
+    }
+
+    @Override
+    public TrieCursor cursor() {
+        return trie.cursor();
+    }
+}
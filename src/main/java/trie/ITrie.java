@@ -3,6 +3,8 @@ package trie;
 import algorithm.ITrieAlgorithm;
 import node.ITrieNode;
 
+import java.nio.ByteBuffer;
+
 public interface ITrie {
 
     void setTrieAlgorithm(ITrieAlgorithm trieAlgorithm);
@@ -11,11 +13,82 @@ public interface ITrie {
 
     ITrieNode getRoot();
 
-    void insertWord(String word);
+    boolean insertWord(CharSequence word);
+
+    boolean deleteWord(CharSequence word);
+
+    /**
+     * Deletes all the words that start with a prefix, detaching the trieNode of the prefix from its parent,
+     * so it takes O(prefix length) whatever the number of deleted words.
+     *
+     * @param prefix The prefix of the words to delete, the empty prefix deletes all the words
+     * @return the number of deleted words
+     */
+    int deletePrefix(CharSequence prefix);
+
+    boolean containsWord(CharSequence word);
+
+    boolean containsPrefix(CharSequence prefix);
+
+    int countWithPrefix(CharSequence prefix);
+
+    /**
+     * Searches a region of a char array, or of UTF-8 bytes, without copying it to a String.
+     * The region is seen through a CharSequence that is reused by the current thread,
+     * so the search allocates nothing.
+     */
+    default boolean containsWord(char[] characters, int offset, int length) {
+        return containsWord(CharArraySequence.of(characters, offset, length));
+    }
+
+    default boolean containsPrefix(char[] characters, int offset, int length) {
+        return containsPrefix(CharArraySequence.of(characters, offset, length));
+    }
+
+    default boolean containsWord(byte[] utf8, int offset, int length) {
+        return containsWord(Utf8Sequence.of(utf8, offset, length));
+    }
+
+    default boolean containsPrefix(byte[] utf8, int offset, int length) {
+        return containsPrefix(Utf8Sequence.of(utf8, offset, length));
+    }
+
+    default boolean containsWord(ByteBuffer utf8) {
+        return containsWord(Utf8Sequence.of(utf8));
+    }
+
+    default boolean containsPrefix(ByteBuffer utf8) {
+        return containsPrefix(Utf8Sequence.of(utf8));
+    }
+
+    int size();
+
+    /**
+     * The words of a Trie are kept in lexicographic order, the same order as {@link String#compareTo(String)}.
+     * The following methods navigate the words in that order, like a {@link java.util.NavigableSet}.
+     */
+    String first();
+
+    String last();
+
+    String floor(String word);
+
+    String ceiling(String word);
+
+    int rank(String word);
+
+    String select(int index);
 
-    boolean deleteWord(String word);
+    Iterable<String> range(String fromWord, String toWord);
 
-    boolean containsWord(String word);
+    Iterable<String> wordsWithPrefix(String prefix);
 
-    boolean containsPrefix(String prefix);
+    /**
+     * Creates a cursor at the root of the Trie, to walk it one character at a time
+     *
+     * @return the cursor
+     */
+    default TrieCursor cursor() {
+        return new TrieNodeCursor(getRoot());
+    }
 }
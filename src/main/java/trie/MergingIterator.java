@@ -0,0 +1,62 @@
+package trie;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Merges iterators of words in ascending order into a single iterator in ascending order.
+ * A word returned by several iterators is returned once.
+ */
+public class MergingIterator implements Iterator<String> {
+    private final PriorityQueue<Head> heads = new PriorityQueue<>();
+
+    public MergingIterator(List<? extends Iterator<String>> iterators) {
+        for (int i = 0; i < iterators.size(); i++) {
+            advance(new Head(iterators.get(i), i));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        String word = heads.peek().word;
+        while (!heads.isEmpty() && heads.peek().word.equals(word)) {
+            advance(heads.poll());
+        }
+        return word;
+    }
+
+    private void advance(Head head) {
+        if (head.iterator.hasNext()) {
+            head.word = head.iterator.next();
+            heads.add(head);
+        }
+    }
+
+    /**
+     * The next word of an iterator. The ties are broken by the position of the iterator, so the order is stable
+     */
+    private static final class Head implements Comparable<Head> {
+        private final Iterator<String> iterator;
+        private final int position;
+        private String word;
+
+        private Head(Iterator<String> iterator, int position) {
+            this.iterator = iterator;
+            this.position = position;
+        }
+
+        @Override
+        public int compareTo(Head other) {
+            int comparison = word.compareTo(other.word);
+            return comparison != 0 ? comparison : Integer.compare(position, other.position);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package trie;
+
+import java.util.Iterator;
+
+/**
+ * A Trie that keeps a second Trie with its words reversed, so the words that end with a suffix
+ * can be found like the words that start with a prefix.
+ * Both Tries are updated by insertWord, deleteWord and deletePrefix.
+ */
+public class ReverseIndexedTrie extends ForwardingTrie {
+    private final ITrie reversedTrie;
+
+    /**
+     * Creates the Trie, the words already in the Trie are inserted reversed in the reversed Trie
+     *
+     * @param trie         The Trie of the words
+     * @param reversedTrie An empty Trie for the reversed words
+     */
+    public ReverseIndexedTrie(ITrie trie, ITrie reversedTrie) {
+        super(trie);
+        this.reversedTrie = reversedTrie;
+        for (String word : trie.wordsWithPrefix("")) {
+            reversedTrie.insertWord(reverse(word));
+        }
+    }
+
+    @Override
+    public boolean insertWord(CharSequence word) {
+        boolean inserted = super.insertWord(word);
+        if (inserted) {
+            reversedTrie.insertWord(reverse(word));
+        }
+        return inserted;
+    }
+
+    @Override
+    public boolean deleteWord(CharSequence word) {
+        boolean deleted = super.deleteWord(word);
+        if (deleted) {
+            reversedTrie.deleteWord(reverse(word));
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes the words that start with a prefix. Their reversed words are spread over the reversed Trie,
+     * so they are deleted one by one from it.
+     *
+     * @param prefix The prefix of the words to delete
+     * @return the number of deleted words
+     */
+    @Override
+    public int deletePrefix(CharSequence prefix) {
+        for (String word : super.wordsWithPrefix(prefix.toString())) {
+            reversedTrie.deleteWord(reverse(word));
+        }
+        return super.deletePrefix(prefix);
+    }
+
+    /**
+     * Returns the words that end with a suffix, in lexicographic order of the reversed words.
+     * Only the subtree of the reversed suffix is visited.
+     *
+     * @param suffix The suffix of the words
+     * @return the words that end with the suffix
+     */
+    public Iterable<String> wordsWithSuffix(String suffix) {
+        Iterable<String> reversedWords = reversedTrie.wordsWithPrefix(reverse(suffix));
+        return () -> {
+            Iterator<String> iterator = reversedWords.iterator();
+            return new Iterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return reverse(iterator.next());
+                }
+            };
+        };
+    }
+
+    /**
+     * Counts the words that end with a suffix
+     *
+     * @param suffix The suffix of the words
+     * @return the number of words that end with the suffix
+     */
+    public int countWithSuffix(String suffix) {
+        return reversedTrie.countWithPrefix(reverse(suffix));
+    }
+
+    /**
+     * Builds an index of the current words to find the words that contain a substring.
+     * The index is not updated by later changes of the Trie.
+     *
+     * @return the substring index of the words
+     */
+    public SubstringIndex buildSubstringIndex() {
+        return SubstringIndex.build(wordsWithPrefix(""));
+    }
+
+    private static String reverse(CharSequence word) {
+        return new StringBuilder(word).reverse().toString();
+    }
+}
@@ -0,0 +1,175 @@
+package trie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A generalized suffix array of a set of words, to find the words that contain a substring.
+ * Every suffix of every word is kept sorted, so the suffixes that start with a substring are contiguous,
+ * and they are found by binary search in O(substring length * log(suffixes count)).
+ * <p>
+ * The suffixes are sorted as an int array, with a three-way radix quicksort that compares one character
+ * of the suffixes at a time, so the characters of a common prefix are compared once per partition.
+ */
+public class SubstringIndex {
+    private final String[] words;
+    private final int[] suffixWords;
+    private final int[] suffixOffsets;
+
+    private SubstringIndex(String[] words, int[] suffixWords, int[] suffixOffsets) {
+        this.words = words;
+        this.suffixWords = suffixWords;
+        this.suffixOffsets = suffixOffsets;
+    }
+
+    /**
+     * Builds the index of a set of words
+     *
+     * @param words The words to index, without duplicates
+     * @return the substring index
+     */
+    public static SubstringIndex build(Iterable<String> words) {
+        List<String> wordsList = new ArrayList<>();
+        int suffixesCount = 0;
+        for (String word : words) {
+            wordsList.add(word);
+            suffixesCount += word.length();
+        }
+        String[] wordsArray = wordsList.toArray(new String[0]);
+        int[] suffixes = new int[suffixesCount];
+        int[] suffixWords = new int[suffixesCount];
+        int[] suffixOffsets = new int[suffixesCount];
+        int suffix = 0;
+        for (int word = 0; word < wordsArray.length; word++) {
+            for (int offset = 0; offset < wordsArray[word].length(); offset++) {
+                suffixWords[suffix] = word;
+                suffixOffsets[suffix] = offset;
+                suffixes[suffix] = suffix;
+                suffix++;
+            }
+        }
+        new SubstringIndex(wordsArray, suffixWords, suffixOffsets).sort(suffixes, 0, suffixesCount, 0);
+
+        int[] sortedSuffixWords = new int[suffixesCount];
+        int[] sortedSuffixOffsets = new int[suffixesCount];
+        for (int i = 0; i < suffixesCount; i++) {
+            sortedSuffixWords[i] = suffixWords[suffixes[i]];
+            sortedSuffixOffsets[i] = suffixOffsets[suffixes[i]];
+        }
+        return new SubstringIndex(wordsArray, sortedSuffixWords, sortedSuffixOffsets);
+    }
+
+    /**
+     * Helper recursive method that sorts a range of suffixes that share their first characters.
+     * The suffixes are split by their character at the depth into lower, equal and higher ones,
+     * and only the equal ones are compared at the next depth. The equal suffixes that end at the depth
+     * keep the order of their words.
+     *
+     * @param suffixes The suffixes to sort, as indexes of the unsorted suffix arrays
+     * @param from     The first position of the range, inclusive
+     * @param to       The last position of the range, exclusive
+     * @param depth    The number of characters that the suffixes of the range share
+     */
+    private void sort(int[] suffixes, int from, int to, int depth) {
+        while (to - from > 1) {
+            int pivot = getCharacter(suffixes[from + (to - from) / 2], depth);
+            int lower = from;
+            int higher = to;
+            int i = from;
+            while (i < higher) {
+                int character = getCharacter(suffixes[i], depth);
+                if (character < pivot) {
+                    swap(suffixes, lower++, i++);
+                } else if (character > pivot) {
+                    swap(suffixes, i, --higher);
+                } else {
+                    i++;
+                }
+            }
+            sort(suffixes, from, lower, depth);
+            if (pivot < 0) {
+                Arrays.sort(suffixes, lower, higher);
+            } else {
+                sort(suffixes, lower, higher, depth + 1);
+            }
+            from = higher;
+        }
+    }
+
+    /**
+     * Helper method that returns a character of a suffix
+     *
+     * @param suffix The suffix, as an index of the unsorted suffix arrays
+     * @param depth  The position of the character in the suffix
+     * @return the character, or -1 if the suffix is shorter, so that a suffix comes before its extensions
+     */
+    private int getCharacter(int suffix, int depth) {
+        String word = words[suffixWords[suffix]];
+        int position = suffixOffsets[suffix] + depth;
+        return position < word.length() ? word.charAt(position) : -1;
+    }
+
+    private static void swap(int[] suffixes, int i, int j) {
+        int suffix = suffixes[i];
+        suffixes[i] = suffixes[j];
+        suffixes[j] = suffix;
+    }
+
+    /**
+     * Returns the words that contain a substring, in the order of their first matching suffix.
+     * A word is a substring of itself.
+     *
+     * @param substring The substring to search
+     * @return the words that contain the substring
+     */
+    public Set<String> wordsContaining(String substring) {
+        Set<String> matchingWords = new LinkedHashSet<>();
+        if (substring.isEmpty()) {
+            matchingWords.addAll(Arrays.asList(words));
+            return matchingWords;
+        }
+        for (int i = getFirstSuffixNotLowerThan(substring); i < suffixWords.length && suffixStartsWith(i, substring); i++) {
+            matchingWords.add(words[suffixWords[i]]);
+        }
+        return matchingWords;
+    }
+
+    /**
+     * Helper method that searches the first suffix that is higher than or equal to the substring
+     *
+     * @param substring The substring to compare with
+     * @return the position of the suffix in the suffix array
+     */
+    private int getFirstSuffixNotLowerThan(String substring) {
+        int low = 0;
+        int high = suffixWords.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareRegions(words[suffixWords[middle]], suffixOffsets[middle], substring, 0) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private boolean suffixStartsWith(int suffix, String substring) {
+        return words[suffixWords[suffix]].startsWith(substring, suffixOffsets[suffix]);
+    }
+
+    private static int compareRegions(String word1, int offset1, String word2, int offset2) {
+        int length1 = word1.length() - offset1;
+        int length2 = word2.length() - offset2;
+        int length = Math.min(length1, length2);
+        for (int i = 0; i < length; i++) {
+            char char1 = word1.charAt(offset1 + i);
+            char char2 = word2.charAt(offset2 + i);
+            if (char1 != char2) return char1 - char2;
+        }
+        return length1 - length2;
+    }
+}
@@ -0,0 +1,98 @@
+package trie;
+
+import node.ITrieNode;
+
+import java.util.List;
+
+/**
+ * A position in a Trie that moves one character at a time, like the text typed in a search box.
+ * <p>
+ * The characters that don't match any trieNode are still accepted and counted, so that retreating
+ * over them comes back to the last matching position. While there are unmatched characters,
+ * the cursor is not in the Trie: it is not a word and it has no completions.
+ */
+public interface TrieCursor {
+
+    /**
+     * Moves the cursor to the trieNode that a character points
+     *
+     * @param character The next character of the prefix
+     * @return true if the new prefix is in the Trie
+     */
+    boolean advance(char character);
+
+    /**
+     * Moves the cursor through the characters of a sequence
+     *
+     * @param characters The next characters of the prefix
+     * @return true if the new prefix is in the Trie
+     */
+    default boolean advance(CharSequence characters) {
+        for (int i = 0; i < characters.length(); i++) {
+            advance(characters.charAt(i));
+        }
+        return isInTrie();
+    }
+
+    /**
+     * Moves the cursor back one character
+     *
+     * @return false if the cursor was already at the root
+     */
+    boolean retreat();
+
+    /**
+     * Moves the cursor back to the root
+     */
+    void reset();
+
+    /**
+     * Checks if the current prefix is in the Trie, that is, if every character matched
+     *
+     * @return true if the cursor is at a trieNode
+     */
+    boolean isInTrie();
+
+    /**
+     * Checks if the current prefix is a word of the Trie
+     *
+     * @return true if the prefix is a word
+     */
+    boolean isWord();
+
+    /**
+     * Checks if the current prefix can be extended to a longer word of the Trie
+     *
+     * @return true if the trieNode of the cursor has characters
+     */
+    boolean hasChildren();
+
+    /**
+     * Returns the number of words that start with the current prefix
+     *
+     * @return the number of completions
+     */
+    int countCompletions();
+
+    /**
+     * Returns the first words, in lexicographic order, that start with the current prefix
+     *
+     * @param limit The maximum number of words
+     * @return the words that start with the prefix, including the prefix itself if it is a word
+     */
+    List<String> completions(int limit);
+
+    /**
+     * Returns the characters the cursor moved through, matched or not
+     *
+     * @return the current prefix
+     */
+    String getPrefix();
+
+    /**
+     * Returns the trieNode of the cursor, to drive custom traversals
+     *
+     * @return the trieNode of the current prefix, or null if the prefix is not in the Trie
+     */
+    ITrieNode getTrieNode();
+}
@@ -0,0 +1,88 @@
+package trie;
+
+import node.ITrieNode;
+
+/**
+ * Helper methods that navigate the trieNodes of a Trie in lexicographic order.
+ * They rely on the word counts of the trieNodes, so they don't need to visit whole subtrees.
+ */
+final class TrieNavigation {
+
+    private TrieNavigation() {
+    }
+
+    /**
+     * Returns the trieNode that the last character of a word points.
+     *
+     * @param trieNode The trieNode to start from
+     * @param word     The word to follow
+     * @return the last matching trieNode, or null if the word doesn't match
+     */
+    static ITrieNode getLastMatchingNode(ITrieNode trieNode, CharSequence word) {
+        char currentChar;
+        for (int i = 0; i < word.length() && trieNode != null; i++) {
+            currentChar = word.charAt(i);
+            trieNode = trieNode.containsCharacter(currentChar) ? trieNode.getTrieNodeForChar(currentChar) : null;
+        }
+        return trieNode;
+    }
+
+    static boolean containsWord(ITrieNode root, CharSequence word) {
+        ITrieNode lastMatchingNode = getLastMatchingNode(root, word);
+        return lastMatchingNode != null && lastMatchingNode.isEndOfWord();
+    }
+
+    /**
+     * Counts the words that are strictly lower than the given word.
+     * At each trieNode of the path of the word, the word ending in that trieNode and the
+     * subtrees of the lower characters contain lower words.
+     *
+     * @param root The root trieNode of the Trie
+     * @param word The word to compare with
+     * @return the number of words lower than the word
+     */
+    static int rank(ITrieNode root, String word) {
+        int rank = 0;
+        ITrieNode trieNode = root;
+        char currentChar;
+        for (int i = 0; i < word.length(); i++) {
+            currentChar = word.charAt(i);
+            if (trieNode.isEndOfWord()) rank++;
+            for (Character character = trieNode.getFirstCharacter();
+                 character != null && character < currentChar;
+                 character = trieNode.getHigherCharacter(character)) {
+                rank += trieNode.getTrieNodeForChar(character).getWordCount();
+            }
+            if (!trieNode.containsCharacter(currentChar)) return rank;
+            trieNode = trieNode.getTrieNodeForChar(currentChar);
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the word at the given position, skipping the subtrees whose word count is not greater than the position.
+     *
+     * @param root  The root trieNode of the Trie
+     * @param index The position of the word, it must be lower than the word count of the root
+     * @return the word at the given position
+     */
+    static String select(ITrieNode root, int index) {
+        StringBuilder word = new StringBuilder();
+        ITrieNode trieNode = root;
+        while (true) {
+            if (trieNode.isEndOfWord()) {
+                if (index == 0) return word.toString();
+                index--;
+            }
+            Character character = trieNode.getFirstCharacter();
+            ITrieNode nextTrieNode = trieNode.getTrieNodeForChar(character);
+            while (index >= nextTrieNode.getWordCount()) {
+                index -= nextTrieNode.getWordCount();
+                character = trieNode.getHigherCharacter(character);
+                nextTrieNode = trieNode.getTrieNodeForChar(character);
+            }
+            word.append(character.charValue());
+            trieNode = nextTrieNode;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package trie;
+
+import node.ITrieNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A cursor over the trieNodes of a Trie. It keeps the path of trieNodes from the root,
+ * so each advance or retreat is one step, instead of searching the whole prefix again.
+ * The Trie should not be modified while the cursor is used.
+ * <p>
+ * The decorators that hide some words of their Trie can extend it to filter the words and the completions.
+ */
+public class TrieNodeCursor implements TrieCursor {
+    private final Deque<ITrieNode> trieNodesPath = new ArrayDeque<>();
+    private final StringBuilder prefix = new StringBuilder();
+    private int unmatchedCount;
+
+    protected TrieNodeCursor(ITrieNode root) {
+        trieNodesPath.push(root);
+    }
+
+    @Override
+    public boolean advance(char character) {
+        prefix.append(character);
+        if (unmatchedCount == 0) {
+            ITrieNode nextTrieNode = trieNodesPath.peek().getTrieNodeForChar(character);
+            if (nextTrieNode != null) {
+                trieNodesPath.push(nextTrieNode);
+                return true;
+            }
+        }
+        unmatchedCount++;
+        return false;
+    }
+
+    @Override
+    public boolean retreat() {
+        if (prefix.length() == 0) return false;
+        prefix.setLength(prefix.length() - 1);
+        if (unmatchedCount > 0) {
+            unmatchedCount--;
+        } else {
+            trieNodesPath.pop();
+        }
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        while (trieNodesPath.size() > 1) {
+            trieNodesPath.pop();
+        }
+        prefix.setLength(0);
+        unmatchedCount = 0;
+    }
+
+    @Override
+    public boolean isInTrie() {
+        return unmatchedCount == 0;
+    }
+
+    @Override
+    public boolean isWord() {
+        return unmatchedCount == 0 && trieNodesPath.peek().isEndOfWord();
+    }
+
+    @Override
+    public boolean hasChildren() {
+        return unmatchedCount == 0 && !trieNodesPath.peek().isEmpty();
+    }
+
+    @Override
+    public int countCompletions() {
+        return unmatchedCount == 0 ? trieNodesPath.peek().getWordCount() : 0;
+    }
+
+    @Override
+    public List<String> completions(int limit) {
+        List<String> completions = new ArrayList<>();
+        if (unmatchedCount > 0) return completions;
+        TrieWordIterator words = TrieWordIterator.forTrieNode(trieNodesPath.peek(), prefix.toString());
+        while (completions.size() < limit && words.hasNext()) {
+            String word = words.next();
+            if (isCompletion(word)) completions.add(word);
+        }
+        return completions;
+    }
+
+    /**
+     * Checks if a word of the Trie found by {@link #completions(int)} is returned
+     *
+     * @param word A word that starts with the current prefix
+     * @return true to return the word, always unless it is overridden
+     */
+    protected boolean isCompletion(String word) {
+        return true;
+    }
+
+    @Override
+    public String getPrefix() {
+        return prefix.toString();
+    }
+
+    /**
+     * Returns the current prefix without copying it, valid until the cursor moves
+     *
+     * @return the characters of the current prefix
+     */
+    protected CharSequence getPrefixCharacters() {
+        return prefix;
+    }
+
+    @Override
+    public ITrieNode getTrieNode() {
+        return unmatchedCount == 0 ? trieNodesPath.peek() : null;
+    }
+}
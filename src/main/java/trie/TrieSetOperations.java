@@ -0,0 +1,276 @@
+package trie;
+
+import node.ITrieNode;
+
+/**
+ * Set operations between the words of two Tries, that walk the trieNodes of both Tries at the same time,
+ * instead of searching the words of one Trie into the other from the root.
+ * <p>
+ * The result replaces the words of the target Trie. A branch of the target that is not in the other Trie is removed
+ * or kept whole in constant time, using its word count, so the time is proportional to the trieNodes both Tries share,
+ * plus the trieNodes copied or moved into the target.
+ * <p>
+ * They change the trieNodes directly, so the modified Tries must not be decorated by a ForwardingTrie,
+ * whose own state, like a log or a cache, would not see the changes.
+ * <p>
+ * If a trieNode of the target rejects a change, like a TrieArray given a character out of a-z or a read-only
+ * PagedTrie, the exception is thrown after the word counts of the trieNodes already visited are corrected,
+ * so the target keeps the words changed until then and stays consistent.
+ */
+public final class TrieSetOperations {
+
+    private TrieSetOperations() {
+    }
+
+    /**
+     * Inserts in the target the words of the source, copying the branches of the source that the target doesn't have
+     *
+     * @param target The Trie to modify
+     * @param source The Trie whose words are inserted, it is not modified
+     * @return the number of words inserted in the target
+     * @throws IllegalArgumentException if the target is decorated
+     */
+    public static int addAll(ITrie target, ITrie source) {
+        checkNotDecorated(target);
+        if (target.getRoot() == source.getRoot()) return 0;
+        return addAll(target.getRoot(), source.getRoot());
+    }
+
+    /**
+     * Deletes from the target the words that are not in the other Trie
+     *
+     * @param target The Trie to modify
+     * @param other  The Trie whose words are kept, it is not modified
+     * @return the number of words deleted from the target
+     * @throws IllegalArgumentException if the target is decorated
+     */
+    public static int retainAll(ITrie target, ITrie other) {
+        checkNotDecorated(target);
+        if (target.getRoot() == other.getRoot()) return 0;
+        return retainAll(target.getRoot(), other.getRoot());
+    }
+
+    /**
+     * Deletes from the target the words that are in the other Trie
+     *
+     * @param target The Trie to modify
+     * @param other  The Trie whose words are deleted, it is not modified
+     * @return the number of words deleted from the target
+     * @throws IllegalArgumentException if the target is decorated
+     */
+    public static int removeAll(ITrie target, ITrie other) {
+        checkNotDecorated(target);
+        return removeAll(target.getRoot(), other.getRoot());
+    }
+
+    /**
+     * Moves the words of the source to the target, leaving the source empty.
+     * The branches of the source that the target doesn't have are moved whole, in constant time,
+     * so the time is proportional to the trieNodes both Tries share.
+     *
+     * @param target The Trie to modify
+     * @param source The Trie whose words are moved, it is emptied
+     * @return the number of words inserted in the target
+     * @throws IllegalArgumentException if a Trie is decorated, or their trieNodes are not of the same class
+     */
+    public static int transferAll(ITrie target, ITrie source) {
+        checkNotDecorated(target);
+        checkNotDecorated(source);
+        ITrieNode sourceRoot = source.getRoot();
+        if (target.getRoot() == sourceRoot) return 0;
+        if (target.getRoot().getClass() != sourceRoot.getClass()) {
+            throw new IllegalArgumentException("The trieNodes of the Tries are of different classes: "
+                    + target.getRoot().getClass().getSimpleName() + ", " + sourceRoot.getClass().getSimpleName());
+        }
+        int insertedCount = transferAll(target.getRoot(), sourceRoot);
+        for (Character character = sourceRoot.getFirstCharacter(); character != null;
+             character = sourceRoot.getFirstCharacter()) {
+            sourceRoot.removeCharacter(character);
+        }
+        sourceRoot.setEndOfWord(false);
+        sourceRoot.setWordCount(0);
+        return insertedCount;
+    }
+
+    /**
+     * Helper recursive method that inserts the words below a trieNode of the source below a trieNode of the target
+     *
+     * @param target The trieNode of the target
+     * @param source The trieNode of the source at the same position
+     * @return the number of words inserted below the trieNode of the target
+     */
+    private static int addAll(ITrieNode target, ITrieNode source) {
+        int insertedCount = 0;
+        try {
+            if (source.isEndOfWord() && !target.isEndOfWord()) {
+                target.setEndOfWord(true);
+                insertedCount++;
+            }
+            for (Character character = source.getFirstCharacter(); character != null;
+                 character = source.getHigherCharacter(character)) {
+                ITrieNode sourceChild = source.getTrieNodeForChar(character);
+                if (target.containsCharacter(character)) {
+                    insertedCount += addAll(target.getTrieNodeForChar(character), sourceChild);
+                } else {
+                    target.addCharacter(character);
+                    insertedCount += copy(target.getTrieNodeForChar(character), sourceChild);
+                }
+            }
+        } catch (RuntimeException e) {
+            restoreWordCount(target);
+            throw e;
+        }
+        target.setWordCount(target.getWordCount() + insertedCount);
+        return insertedCount;
+    }
+
+    /**
+     * Helper recursive method that copies the trieNodes below a trieNode into a new trieNode
+     *
+     * @param target The new trieNode
+     * @param source The trieNode to copy
+     * @return the number of copied words
+     */
+    private static int copy(ITrieNode target, ITrieNode source) {
+        try {
+            target.setEndOfWord(source.isEndOfWord());
+            for (Character character = source.getFirstCharacter(); character != null;
+                 character = source.getHigherCharacter(character)) {
+                target.addCharacter(character);
+                copy(target.getTrieNodeForChar(character), source.getTrieNodeForChar(character));
+            }
+        } catch (RuntimeException e) {
+            restoreWordCount(target);
+            throw e;
+        }
+        target.setWordCount(source.getWordCount());
+        return source.getWordCount();
+    }
+
+    /**
+     * Helper recursive method that deletes the words below a trieNode of the target that are not below
+     * the trieNode of the other Trie. The characters that the other trieNode doesn't have are removed whole.
+     *
+     * @param target The trieNode of the target
+     * @param other  The trieNode of the other Trie at the same position
+     * @return the number of words deleted below the trieNode of the target
+     */
+    private static int retainAll(ITrieNode target, ITrieNode other) {
+        int deletedCount = 0;
+        try {
+            if (target.isEndOfWord() && !other.isEndOfWord()) {
+                target.setEndOfWord(false);
+                deletedCount++;
+            }
+            Character character = target.getFirstCharacter();
+            while (character != null) {
+                Character nextCharacter = target.getHigherCharacter(character);
+                ITrieNode targetChild = target.getTrieNodeForChar(character);
+                if (other.containsCharacter(character)) {
+                    deletedCount += retainAll(targetChild, other.getTrieNodeForChar(character));
+                    if (targetChild.getWordCount() == 0) target.removeCharacter(character);
+                } else {
+                    int childWordCount = targetChild.getWordCount();
+                    target.removeCharacter(character);
+                    deletedCount += childWordCount;
+                }
+                character = nextCharacter;
+            }
+        } catch (RuntimeException e) {
+            restoreWordCount(target);
+            throw e;
+        }
+        target.setWordCount(target.getWordCount() - deletedCount);
+        return deletedCount;
+    }
+
+    /**
+     * Helper recursive method that deletes the words below a trieNode of the target that are also below
+     * the trieNode of the other Trie. Only the characters that both trieNodes have are visited.
+     *
+     * @param target The trieNode of the target
+     * @param other  The trieNode of the other Trie at the same position
+     * @return the number of words deleted below the trieNode of the target
+     */
+    private static int removeAll(ITrieNode target, ITrieNode other) {
+        int deletedCount = 0;
+        try {
+            if (target.isEndOfWord() && other.isEndOfWord()) {
+                target.setEndOfWord(false);
+                deletedCount++;
+            }
+            for (Character character = other.getFirstCharacter(); character != null;
+                 character = other.getHigherCharacter(character)) {
+                if (!target.containsCharacter(character)) continue;
+                ITrieNode targetChild = target.getTrieNodeForChar(character);
+                deletedCount += removeAll(targetChild, other.getTrieNodeForChar(character));
+                if (targetChild.getWordCount() == 0) target.removeCharacter(character);
+            }
+        } catch (RuntimeException e) {
+            restoreWordCount(target);
+            throw e;
+        }
+        target.setWordCount(target.getWordCount() - deletedCount);
+        return deletedCount;
+    }
+
+    /**
+     * Helper recursive method that moves the words below a trieNode of the source below a trieNode of the target.
+     * The characters that the target doesn't have are attached to it with the trieNode of the source.
+     *
+     * @param target The trieNode of the target
+     * @param source The trieNode of the source at the same position
+     * @return the number of words inserted below the trieNode of the target
+     */
+    private static int transferAll(ITrieNode target, ITrieNode source) {
+        int insertedCount = 0;
+        try {
+            if (source.isEndOfWord() && !target.isEndOfWord()) {
+                target.setEndOfWord(true);
+                insertedCount++;
+            }
+            for (Character character = source.getFirstCharacter(); character != null;
+                 character = source.getHigherCharacter(character)) {
+                ITrieNode sourceChild = source.getTrieNodeForChar(character);
+                if (target.containsCharacter(character)) {
+                    insertedCount += transferAll(target.getTrieNodeForChar(character), sourceChild);
+                } else {
+                    target.attachTrieNode(character, sourceChild);
+                    insertedCount += sourceChild.getWordCount();
+                }
+            }
+        } catch (RuntimeException e) {
+            restoreWordCount(target);
+            throw e;
+        }
+        target.setWordCount(target.getWordCount() + insertedCount);
+        return insertedCount;
+    }
+
+    /**
+     * Helper method that recounts the words below a trieNode whose change failed, from its children,
+     * whose counts are already corrected, and removes the children left without words by a failed copy.
+     * A trieNode that wasn't changed, maybe a read-only one, is not written.
+     *
+     * @param trieNode The trieNode
+     */
+    private static void restoreWordCount(ITrieNode trieNode) {
+        int wordCount = trieNode.isEndOfWord() ? 1 : 0;
+        Character character = trieNode.getFirstCharacter();
+        while (character != null) {
+            Character nextCharacter = trieNode.getHigherCharacter(character);
+            int childWordCount = trieNode.getTrieNodeForChar(character).getWordCount();
+            if (childWordCount == 0) trieNode.removeCharacter(character);
+            wordCount += childWordCount;
+            character = nextCharacter;
+        }
+        if (wordCount != trieNode.getWordCount()) trieNode.setWordCount(wordCount);
+    }
+
+    private static void checkNotDecorated(ITrie trie) {
+        if (trie instanceof ForwardingTrie) {
+            throw new IllegalArgumentException("The trieNodes of a decorated Trie can't be modified directly: "
+                    + trie.getClass().getSimpleName());
+        }
+    }
+}
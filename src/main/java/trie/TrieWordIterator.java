@@ -0,0 +1,143 @@
+package trie;
+
+import node.ITrieNode;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the words of a Trie in lexicographic order, visiting the trieNodes in pre-order.
+ * Only the path to the current word is kept, so the iteration is lazy.
+ */
+public final class TrieWordIterator implements Iterator<String> {
+    private final Deque<ITrieNode> trieNodesStack = new ArrayDeque<>();
+    private final StringBuilder word;
+    private final String toWord;
+    private ITrieNode trieNode;
+    private String nextWord;
+
+    private TrieWordIterator(ITrieNode trieNode, String word, String toWord) {
+        this.trieNode = trieNode;
+        this.word = new StringBuilder(word);
+        this.toWord = toWord;
+    }
+
+    /**
+     * Creates an iterator of the words that start with a prefix
+     *
+     * @param root   The root trieNode of the Trie
+     * @param prefix The prefix of the words
+     * @return the iterator of the words
+     */
+    static TrieWordIterator forPrefix(ITrieNode root, String prefix) {
+        return forTrieNode(TrieNavigation.getLastMatchingNode(root, prefix), prefix);
+    }
+
+    /**
+     * Creates an iterator of the words below a trieNode
+     *
+     * @param trieNode The trieNode where the words start, it can be null
+     * @param prefix   The characters of the path to the trieNode
+     * @return the iterator of the words
+     */
+    public static TrieWordIterator forTrieNode(ITrieNode trieNode, String prefix) {
+        TrieWordIterator iterator = new TrieWordIterator(trieNode, prefix, null);
+        if (trieNode != null) {
+            iterator.nextWord = trieNode.isEndOfWord() ? prefix : iterator.findNextWord(true);
+        }
+        return iterator;
+    }
+
+    /**
+     * Creates an iterator of the words between two words.
+     * The path of fromWord is followed as long as it exists, then the iteration continues
+     * from the first higher character.
+     *
+     * @param root     The root trieNode of the Trie
+     * @param fromWord The lowest word, inclusive
+     * @param toWord   The highest word, exclusive
+     * @return the iterator of the words
+     */
+    static TrieWordIterator forRange(ITrieNode root, String fromWord, String toWord) {
+        TrieWordIterator iterator = new TrieWordIterator(root, "", toWord);
+        char currentChar;
+        for (int i = 0; i < fromWord.length(); i++) {
+            currentChar = fromWord.charAt(i);
+            ITrieNode trieNode = iterator.trieNode;
+            if (!trieNode.containsCharacter(currentChar)) {
+                Character higherCharacter = trieNode.getHigherCharacter(currentChar);
+                if (higherCharacter == null) {
+                    iterator.nextWord = iterator.findNextWord(false);
+                } else {
+                    iterator.moveDown(higherCharacter);
+                    iterator.nextWord = iterator.currentOrNextWord();
+                }
+                return iterator;
+            }
+            iterator.moveDown(currentChar);
+        }
+        iterator.nextWord = iterator.currentOrNextWord();
+        return iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextWord != null && toWord != null && nextWord.compareTo(toWord) >= 0) {
+            nextWord = null;
+        }
+        return nextWord != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        String currentWord = nextWord;
+        nextWord = findNextWord(true);
+        return currentWord;
+    }
+
+    private String currentOrNextWord() {
+        return trieNode.isEndOfWord() ? word.toString() : findNextWord(true);
+    }
+
+    /**
+     * Helper method that finds the next word in pre-order.
+     * It goes down to the first character of the current trieNode, or goes up until
+     * a trieNode has a higher character than the one of the path.
+     *
+     * @param descend Flag that indicates if the children of the current trieNode should be visited
+     * @return the next word, or null if there are no more words
+     */
+    private String findNextWord(boolean descend) {
+        while (true) {
+            Character character = descend ? trieNode.getFirstCharacter() : null;
+            if (character == null && !moveToHigherCharacter()) return null;
+            if (character != null) moveDown(character);
+            if (trieNode.isEndOfWord()) return word.toString();
+            descend = true;
+        }
+    }
+
+    private boolean moveToHigherCharacter() {
+        while (!trieNodesStack.isEmpty()) {
+            ITrieNode parentTrieNode = trieNodesStack.pop();
+            char lastChar = word.charAt(word.length() - 1);
+            word.setLength(word.length() - 1);
+            trieNode = parentTrieNode;
+            Character higherCharacter = parentTrieNode.getHigherCharacter(lastChar);
+            if (higherCharacter != null) {
+                moveDown(higherCharacter);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void moveDown(char character) {
+        trieNodesStack.push(trieNode);
+        trieNode = trieNode.getTrieNodeForChar(character);
+        word.append(character);
+    }
+}
@@ -0,0 +1,194 @@
+package trie;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A CharSequence view of UTF-8 bytes, decoded while the characters are read.
+ * The algorithms read the characters in order, so the view only keeps the position of the next character,
+ * and a character above U+FFFF is returned as its two UTF-16 surrogates.
+ * The length is only counted when it is asked, from the next character, and it is known without counting
+ * once the characters are read to the end of the region.
+ * Malformed bytes are read as U+FFFD, one per byte.
+ * The view is reused by the thread that searches, so it must not be kept after the search.
+ */
+final class Utf8Sequence implements CharSequence {
+    private static final ThreadLocal<Utf8Sequence> VIEWS = ThreadLocal.withInitial(Utf8Sequence::new);
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+    private static final int UNKNOWN_LENGTH = -1;
+
+    private byte[] bytes;
+    private ByteBuffer buffer;
+    private int start;
+    private int end;
+    private int length;
+
+    private int nextIndex;
+    private int nextPosition;
+    private char lowSurrogate;
+
+    private int codePoint;
+    private int codePointLength;
+
+    /**
+     * Returns the view of the current thread, pointing to a region of UTF-8 bytes
+     *
+     * @param bytes  The UTF-8 bytes
+     * @param offset The index of the first byte of the region
+     * @param length The number of bytes of the region
+     * @return the view of the region
+     */
+    static Utf8Sequence of(byte[] bytes, int offset, int length) {
+        CharArraySequence.checkRegion(bytes.length, offset, length);
+        return VIEWS.get().reset(bytes, null, offset, offset + length);
+    }
+
+    /**
+     * Returns the view of the current thread, pointing to the bytes between the position and the limit of a buffer.
+     * The position of the buffer is not changed.
+     *
+     * @param buffer The UTF-8 bytes
+     * @return the view of the bytes
+     */
+    static Utf8Sequence of(ByteBuffer buffer) {
+        return VIEWS.get().reset(null, buffer, buffer.position(), buffer.limit());
+    }
+
+    private Utf8Sequence reset(byte[] bytes, ByteBuffer buffer, int start, int end) {
+        this.bytes = bytes;
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        this.length = UNKNOWN_LENGTH;
+        rewind();
+        return this;
+    }
+
+    @Override
+    public int length() {
+        if (length == UNKNOWN_LENGTH) length = countLength();
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || (length != UNKNOWN_LENGTH && index >= length)) throw outOfBounds(index);
+        if (index < nextIndex) rewind();
+        char character = 0;
+        while (nextIndex <= index) {
+            if (lowSurrogate == 0 && nextPosition >= end) {
+                length = nextIndex;
+                throw outOfBounds(index);
+            }
+            character = nextChar();
+        }
+        return character;
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        int length = length();
+        StringBuilder characters = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            characters.append(charAt(i));
+        }
+        return characters.toString();
+    }
+
+    /**
+     * Helper method that counts the UTF-16 characters of the region, adding the characters after the next one
+     * to the characters already read. The ASCII bytes are counted without decoding them.
+     *
+     * @return the number of UTF-16 characters
+     */
+    private int countLength() {
+        int utf16Length = lowSurrogate != 0 ? nextIndex + 1 : nextIndex;
+        int position = nextPosition;
+        while (position < end) {
+            if (byteAt(position) < 0x80) {
+                utf16Length++;
+                position++;
+            } else {
+                decode(position);
+                utf16Length += Character.charCount(codePoint);
+                position += codePointLength;
+            }
+        }
+        return utf16Length;
+    }
+
+    private IndexOutOfBoundsException outOfBounds(int index) {
+        return new IndexOutOfBoundsException("Index: " + index + ", Length: " + length());
+    }
+
+    private void rewind() {
+        nextIndex = 0;
+        nextPosition = start;
+        lowSurrogate = 0;
+    }
+
+    private char nextChar() {
+        nextIndex++;
+        if (lowSurrogate != 0) {
+            char character = lowSurrogate;
+            lowSurrogate = 0;
+            return character;
+        }
+        decode(nextPosition);
+        nextPosition += codePointLength;
+        if (Character.isBmpCodePoint(codePoint)) return (char) codePoint;
+        lowSurrogate = Character.lowSurrogate(codePoint);
+        return Character.highSurrogate(codePoint);
+    }
+
+    /**
+     * Helper method that decodes the code point that starts at a position,
+     * and sets its value and its number of bytes.
+     *
+     * @param position The position of the first byte of the code point
+     */
+    private void decode(int position) {
+        int leadByte = byteAt(position);
+        if (leadByte < 0x80) {
+            setCodePoint(leadByte, 1);
+        } else if (leadByte >= 0xC2 && leadByte <= 0xDF) {
+            decodeContinuation(position, leadByte & 0x1F, 1, 0x80);
+        } else if (leadByte >= 0xE0 && leadByte <= 0xEF) {
+            decodeContinuation(position, leadByte & 0x0F, 2, 0x800);
+        } else if (leadByte >= 0xF0 && leadByte <= 0xF4) {
+            decodeContinuation(position, leadByte & 0x07, 3, 0x10000);
+        } else {
+            setCodePoint(REPLACEMENT_CHARACTER, 1);
+        }
+    }
+
+    private void decodeContinuation(int position, int value, int continuationBytes, int minimumCodePoint) {
+        for (int i = 1; i <= continuationBytes; i++) {
+            if (position + i >= end || (byteAt(position + i) & 0xC0) != 0x80) {
+                setCodePoint(REPLACEMENT_CHARACTER, 1);
+                return;
+            }
+            value = (value << 6) | (byteAt(position + i) & 0x3F);
+        }
+        boolean valid = value >= minimumCodePoint && value <= Character.MAX_CODE_POINT
+                && !(value >= Character.MIN_SURROGATE && value <= Character.MAX_SURROGATE);
+        if (valid) {
+            setCodePoint(value, continuationBytes + 1);
+        } else {
+            setCodePoint(REPLACEMENT_CHARACTER, 1);
+        }
+    }
+
+    private void setCodePoint(int codePoint, int codePointLength) {
+        this.codePoint = codePoint;
+        this.codePointLength = codePointLength;
+    }
+
+    private int byteAt(int position) {
+        return (bytes != null ? bytes[position] : buffer.get(position)) & 0xFF;
+    }
+}
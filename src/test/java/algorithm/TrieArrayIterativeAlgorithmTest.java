@@ -6,6 +6,7 @@ import trie.ITrie;
 import trie.TrieArray;
 import trie.TrieMap;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -243,5 +244,64 @@ class TrieArrayIterativeAlgorithmTest {
         String nonExistentPrefix = "cot";
         assertFalse(trie.containsPrefix(nonExistentPrefix));
     }
-}
 
+    @Test
+    void insertWordReportsChange() {
+        assertTrue(trie.insertWord("cat"));
+        assertFalse(trie.insertWord("cat"));
+        assertTrue(trie.insertWord("ca"));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void deleteWordReportsChange() {
+        trie.insertWord("cat");
+        assertFalse(trie.deleteWord("ca"));
+        assertFalse(trie.deleteWord("cats"));
+        assertTrue(trie.deleteWord("cat"));
+        assertFalse(trie.deleteWord("cat"));
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void deleteWordSharingAllButLastCharacter() {
+        trie.insertWord("cab");
+        trie.insertWord("cat");
+
+        trie.deleteWord("cab");
+        assertFalse(trie.containsWord("cab"));
+        assertTrue(trie.containsWord("cat"));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void countWithPrefix() {
+        trie.insertWord("d");
+        trie.insertWord("do");
+        trie.insertWord("dog");
+        trie.insertWord("doggie");
+        trie.insertWord("cat");
+
+        assertEquals(5, trie.countWithPrefix(""));
+        assertEquals(4, trie.countWithPrefix("d"));
+        assertEquals(2, trie.countWithPrefix("dog"));
+        assertEquals(1, trie.countWithPrefix("dogg"));
+        assertEquals(1, trie.countWithPrefix("c"));
+        assertEquals(0, trie.countWithPrefix("cow"));
+
+        trie.deleteWord("dog");
+        assertEquals(3, trie.countWithPrefix("d"));
+        assertEquals(1, trie.countWithPrefix("dog"));
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    void sizeOfEmptyTrie() {
+        assertEquals(0, trie.size());
+        trie.insertWord("");
+        assertEquals(1, trie.size());
+        assertTrue(trie.containsWord(""));
+        assertTrue(trie.deleteWord(""));
+        assertEquals(0, trie.size());
+    }
+}
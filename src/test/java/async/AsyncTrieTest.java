@@ -0,0 +1,98 @@
+package async;
+
+import algorithm.TrieIterativeAlgorithm;
+import org.junit.jupiter.api.Test;
+import trie.ITrie;
+import trie.TrieMap;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncTrieTest {
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    private ITrie newTrie() {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        Arrays.asList("car", "card", "care", "cat", "dog").forEach(trie::insertWord);
+        return trie;
+    }
+
+    @Test
+    void lookupsCompleteInTheCallerThread() {
+        AsyncTrie asyncTrie = new AsyncTrie(newTrie(), task -> {
+            throw new AssertionError("A lookup used the executor");
+        });
+
+        CompletableFuture<Boolean> containsWord = asyncTrie.containsWord("card");
+        assertTrue(containsWord.isDone());
+        assertTrue(containsWord.join());
+        assertFalse(asyncTrie.containsPrefix("x").join());
+    }
+
+    @Test
+    void identicalQueriesShareTheirExecution() {
+        AsyncTrie asyncTrie = new AsyncTrie(newTrie(), tasks::add);
+
+        CompletableFuture<List<String>> first = asyncTrie.wordsWithPrefix("ca");
+        CompletableFuture<List<String>> second = asyncTrie.wordsWithPrefix("ca");
+        CompletableFuture<Integer> count = asyncTrie.countWithPrefix("ca");
+        CompletableFuture<List<String>> completions = asyncTrie.completions("ca", 2);
+        assertEquals(3, tasks.size());
+        assertEquals(1, asyncTrie.getCoalescedQueriesCount());
+        assertFalse(first.isDone());
+
+        // Cancelling a caller's future doesn't cancel the shared execution
+        first.cancel(false);
+        tasks.forEach(Runnable::run);
+        tasks.clear();
+        assertEquals(Arrays.asList("car", "card", "care", "cat"), second.join());
+        assertEquals(4, count.join());
+        assertEquals(Arrays.asList("car", "card"), completions.join());
+        assertEquals(3, asyncTrie.getExecutedQueriesCount());
+
+        // The query completed, so the next one runs again
+        asyncTrie.wordsWithPrefix("ca");
+        assertEquals(1, tasks.size());
+        assertThrows(UnsupportedOperationException.class, () -> second.join().add("cow"));
+    }
+
+    @Test
+    void failures() throws InterruptedException {
+        AsyncTrie asyncTrie = new AsyncTrie(newTrie(), Runnable::run);
+        CompletionException failure = assertThrows(CompletionException.class, () -> asyncTrie.range("z", "a").join());
+        assertTrue(failure.getCause() instanceof IllegalArgumentException);
+
+        ExecutorService executor = AsyncTrie.newBoundedExecutor(1, 1);
+        try {
+            CountDownLatch blocked = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            AsyncTrie boundedTrie = new AsyncTrie(newTrie(), executor);
+            CompletableFuture<Integer> queued = boundedTrie.countWithPrefix("c");
+            CompletableFuture<Integer> rejected = boundedTrie.countWithPrefix("d");
+            failure = assertThrows(CompletionException.class, rejected::join);
+            assertTrue(failure.getCause() instanceof RejectedExecutionException);
+            blocked.countDown();
+            assertEquals(4, queued.join());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package cache;
+
+import algorithm.TrieIterativeAlgorithm;
+import org.junit.jupiter.api.Test;
+import trie.ITrie;
+import trie.TrieArray;
+import trie.TrieCursor;
+import trie.TrieMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedTrieTest {
+
+    @Test
+    void evictsWordsNotUsedRecently() {
+        BoundedTrie trie = new BoundedTrie(new TrieMap(new TrieIterativeAlgorithm()), 3);
+        trie.insertWord("apple");
+        trie.insertWord("banana");
+        trie.insertWord("cherry");
+        assertTrue(trie.containsWord("apple"));
+        assertTrue(trie.containsWord("cherry"));
+
+        assertTrue(trie.insertWord("date"));
+        assertEquals(3, trie.size());
+        assertFalse(trie.containsWord("banana"));
+        assertFalse(trie.containsPrefix("ban"));
+        assertTrue(trie.containsWord("apple"));
+        assertTrue(trie.containsWord("date"));
+    }
+
+    @Test
+    void reusesTheSlotsOfDeletedWords() {
+        BoundedTrie trie = new BoundedTrie(new TrieArray(new TrieIterativeAlgorithm()), 2);
+        trie.insertWord("one");
+        trie.insertWord("two");
+        assertTrue(trie.deleteWord("one"));
+        assertTrue(trie.insertWord("six"));
+        assertEquals(Arrays.asList("six", "two"), toList(trie.wordsWithPrefix("")));
+        assertFalse(trie.insertWord("six"));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void findsTheWordsAfterManyDeletions() {
+        BoundedTrie trie = new BoundedTrie(new TrieMap(new TrieIterativeAlgorithm()), 4);
+        trie.insertWord("");
+        trie.insertWord("keep");
+        for (int i = 0; i < 100; i++) {
+            assertTrue(trie.insertWord("word" + i));
+            assertTrue(trie.containsWord(new StringBuilder("word").append(i)));
+            assertTrue(trie.deleteWord("word" + i));
+            assertFalse(trie.containsWord("word" + i));
+        }
+        assertTrue(trie.containsWord(""));
+        assertTrue(trie.containsWord(new StringBuilder("keep")));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void keepsOnlyTheMaximumOfTheDecoratedWords() {
+        ITrie decorated = new TrieMap(new TrieIterativeAlgorithm());
+        Arrays.asList("a", "b", "c", "d").forEach(decorated::insertWord);
+        BoundedTrie trie = new BoundedTrie(decorated, 2);
+        assertEquals(2, trie.size());
+        assertEquals(Arrays.asList("a", "b"), toList(decorated.wordsWithPrefix("")));
+    }
+
+    @Test
+    void expiredWordsAreNotFoundAndEvictedFirst() {
+        AtomicLong now = new AtomicLong();
+        BoundedTrie trie = new BoundedTrie(new TrieMap(new TrieIterativeAlgorithm()), 2, 100, now::get);
+        trie.insertWord("old");
+        now.set(60);
+        trie.insertWord("new");
+        assertTrue(trie.containsWord("old"));
+
+        now.set(120);
+        assertFalse(trie.containsWord("old"));
+        assertTrue(trie.containsWord("new"));
+        trie.insertWord("newer");
+        assertEquals(Arrays.asList("new", "newer"), toList(trie.wordsWithPrefix("")));
+
+        now.set(500);
+        assertEquals(2, trie.evictExpiredWords());
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void cursorsHideExpiredWordsAndMarkTheWordsFound() {
+        AtomicLong now = new AtomicLong();
+        BoundedTrie trie = new BoundedTrie(new TrieMap(new TrieIterativeAlgorithm()), 3, 100, now::get);
+        trie.insertWord("cat");
+        now.set(60);
+        trie.insertWord("car");
+        trie.insertWord("card");
+
+        now.set(120);
+        TrieCursor cursor = trie.cursor();
+        assertTrue(cursor.advance("ca"));
+        assertEquals(Arrays.asList("car", "card"), cursor.completions(10));
+        assertTrue(cursor.advance('t'));
+        assertFalse(cursor.isWord());
+        cursor.retreat();
+        assertTrue(cursor.advance('r'));
+        assertTrue(cursor.isWord());
+
+        // The hand evicts "cat", expired, and then passes "car", found by the cursor, to evict "card"
+        trie.insertWord("dog");
+        trie.insertWord("door");
+        assertTrue(trie.containsWord("car"));
+        assertFalse(trie.containsPrefix("card"));
+        assertFalse(trie.containsPrefix("cat"));
+    }
+
+    @Test
+    void insertingAnExistingWordRestartsItsTimeToLive() {
+        AtomicLong now = new AtomicLong();
+        BoundedTrie trie = new BoundedTrie(new TrieMap(new TrieIterativeAlgorithm()), 2, 100, now::get);
+        trie.insertWord("word");
+        now.set(90);
+        assertFalse(trie.insertWord("word"));
+        now.set(150);
+        assertTrue(trie.containsWord("word"));
+    }
+
+    private static List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+}
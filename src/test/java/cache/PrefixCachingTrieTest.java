@@ -0,0 +1,206 @@
+package cache;
+
+import algorithm.TrieIterativeAlgorithm;
+import algorithm.TrieRecursiveAlgorithm;
+import node.TrieNodeMap;
+import org.junit.jupiter.api.Test;
+import trie.AbstractTrie;
+import trie.ForwardingTrie;
+import trie.ITrie;
+import trie.TrieArray;
+import trie.TrieMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixCachingTrieTest {
+
+    @Test
+    void resumesFromTheLongestCachedPrefix() {
+        PrefixCachingTrie trie = new PrefixCachingTrie(new TrieMap(new TrieIterativeAlgorithm()), 64);
+        Arrays.asList("international", "internet", "interval", "intern").forEach(trie::insertWord);
+
+        assertTrue(trie.containsPrefix("inter"));
+        assertEquals(0, trie.getHitsCount());
+        assertEquals(1, trie.getMissesCount());
+
+        assertTrue(trie.containsWord("internet"));
+        assertFalse(trie.containsWord("interne"));
+        assertEquals(3, trie.countWithPrefix("intern"));
+        assertEquals(Arrays.asList("intern", "international", "internet"), toList(trie.wordsWithPrefix("intern")));
+        assertEquals(4, trie.getHitsCount());
+        assertFalse(trie.containsPrefix("intex"));
+        assertEquals(4, trie.countWithPrefix(""));
+    }
+
+    @Test
+    void deletionInvalidatesTheRemovedTrieNodes() {
+        PrefixCachingTrie trie = new PrefixCachingTrie(new TrieArray(new TrieRecursiveAlgorithm()), 16);
+        trie.insertWord("car");
+        trie.insertWord("cartoon");
+        assertTrue(trie.containsPrefix("carto"));
+        assertEquals(1, trie.countWithPrefix("cart"));
+
+        assertTrue(trie.deleteWord("cartoon"));
+        assertFalse(trie.containsPrefix("carto"));
+        assertEquals(0, trie.countWithPrefix("cart"));
+
+        trie.insertWord("cartoon");
+        assertTrue(trie.containsWord("cartoon"));
+        assertEquals(1, trie.countWithPrefix("carto"));
+    }
+
+    @Test
+    void searchesThatOverlapTheInvalidationOfAWordDontCacheIt() {
+        OverlappingSearch search = new OverlappingSearch("tenantax", 'x');
+        // Deletes a word by detaching the highest trieNode left without words, with the trieNodes below it
+        ITrie detachingTrie = new ForwardingTrie(new PausingTrie(search)) {
+            @Override
+            public boolean deleteWord(CharSequence word) {
+                if (!containsWord(word)) return false;
+                int prefixLength = 1;
+                while (countWithPrefix(word.subSequence(0, prefixLength)) > 1) prefixLength++;
+                return deletePrefix(word.subSequence(0, prefixLength)) == 1;
+            }
+        };
+        PrefixCachingTrie trie = new PrefixCachingTrie(detachingTrie, 1, search);
+        search.trie = trie;
+        trie.insertWord("tenant");
+        trie.insertWord("tenantax");
+        assertTrue(trie.containsPrefix("tenanta"));
+
+        // The search finds "tenanta" in the cache, and caches "tenantax" after the deletion invalidated its slot
+        assertTrue(trie.deleteWord("tenantax"));
+        search.finish();
+
+        assertFalse(trie.containsWord("tenantax"));
+        assertFalse(trie.containsPrefix("tenanta"));
+        assertTrue(trie.containsWord("tenant"));
+    }
+
+    @Test
+    void searchesThatOverlapTheClearingOfTheCacheDontCacheADeletedPrefix() {
+        OverlappingSearch search = new OverlappingSearch("tenantbx", 'x');
+        PrefixCachingTrie trie = new PrefixCachingTrie(new PausingTrie(search), 1, search);
+        search.trie = trie;
+        trie.insertWord("tenant");
+        trie.insertWord("tenantbx");
+        trie.insertWord("tenantby");
+        assertTrue(trie.containsPrefix("tenantb"));
+
+        // The search finds "tenantb" in the cache, and caches "tenantbx" after the slot was cleared
+        assertEquals(2, trie.deletePrefix("tenantb"));
+        search.finish();
+
+        assertFalse(trie.containsWord("tenantbx"));
+        assertFalse(trie.containsPrefix("tenantb"));
+        assertEquals(0, trie.countWithPrefix("tenantb"));
+        assertTrue(trie.containsWord("tenant"));
+    }
+
+    @Test
+    void slotsAreSharedByCollidingPrefixes() {
+        PrefixCachingTrie trie = new PrefixCachingTrie(new TrieMap(new TrieIterativeAlgorithm()), 1);
+        trie.insertWord("abc");
+        trie.insertWord("xyz");
+        for (int i = 0; i < 3; i++) {
+            assertTrue(trie.containsWord("abc"));
+            assertTrue(trie.containsWord("xyz"));
+        }
+        trie.clearCache();
+        assertTrue(trie.containsPrefix("ab"));
+        assertThrows(IllegalArgumentException.class, () -> new PrefixCachingTrie(trie, 0));
+    }
+
+    private static List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+
+    /**
+     * A search of a key that starts before a deletion clears its first slot,
+     * and stays paused at a character of the key until the deletion ends
+     */
+    private static final class OverlappingSearch implements IntConsumer {
+        private final CountDownLatch paused = new CountDownLatch(1);
+        private final CountDownLatch resumed = new CountDownLatch(1);
+        private final String key;
+        private final char pausedCharacter;
+        private PrefixCachingTrie trie;
+        private Thread searcher;
+
+        private OverlappingSearch(String key, char pausedCharacter) {
+            this.key = key;
+            this.pausedCharacter = pausedCharacter;
+        }
+
+        @Override
+        public void accept(int slot) {
+            if (searcher != null) return;
+            searcher = new Thread(() -> trie.containsWord(key));
+            searcher.start();
+            assertTrue(await(paused));
+        }
+
+        private void pauseIfSearcher(char character) {
+            if (Thread.currentThread() == searcher && character == pausedCharacter && paused.getCount() > 0) {
+                paused.countDown();
+                await(resumed);
+            }
+        }
+
+        private void finish() {
+            assertNotNull(searcher);
+            resumed.countDown();
+            try {
+                searcher.join();
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        private static boolean await(CountDownLatch latch) {
+            try {
+                return latch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private static final class PausingTrie extends AbstractTrie {
+        private PausingTrie(OverlappingSearch search) {
+            super(new TrieIterativeAlgorithm(), new PausingTrieNode(search));
+        }
+    }
+
+    private static final class PausingTrieNode extends TrieNodeMap {
+        private final OverlappingSearch search;
+
+        private PausingTrieNode(OverlappingSearch search) {
+            this.search = search;
+        }
+
+        @Override
+        public void addCharacter(char character) {
+            attachTrieNode(character, new PausingTrieNode(search));
+        }
+
+        @Override
+        public TrieNodeMap getTrieNodeForChar(char character) {
+            search.pauseIfSearcher(character);
+            return super.getTrieNodeForChar(character);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package compaction;
+
+import algorithm.TrieIterativeAlgorithm;
+import metrics.TrieStatistics;
+import node.TrieNodeMap;
+import org.junit.jupiter.api.Test;
+import replication.TrieDiff;
+import trie.ITrie;
+import trie.TrieArray;
+import trie.TrieMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrieCompactorTest {
+
+    @Test
+    void reclaimsTheMapsOfTrieNodesLeftWithFewChildren() {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        List<String> words = randomWords(new Random(3), 5000);
+        words.forEach(trie::insertWord);
+        for (int i = 0; i < words.size(); i++) {
+            if (i % 10 != 0) trie.deleteWord(words.get(i));
+        }
+        ITrie copy = new TrieMap(new TrieIterativeAlgorithm());
+        trie.wordsWithPrefix("").forEach(copy::insertWord);
+        long sizeBefore = TrieStatistics.of(trie).getEstimatedSizeInBytes();
+
+        TrieCompactor compactor = new TrieCompactor(trie);
+        long reclaimedBytes = compactor.compactAll();
+
+        assertTrue(reclaimedBytes > 0);
+        assertEquals(sizeBefore - reclaimedBytes, TrieStatistics.of(trie).getEstimatedSizeInBytes());
+        assertTrue(TrieDiff.between(copy, trie).isEmpty());
+        assertEquals(toList(copy.wordsWithPrefix("")), toList(trie.wordsWithPrefix("")));
+        assertEquals(0, compactor.compactAll());
+        assertEquals(2, compactor.getPassesCount());
+    }
+
+    @Test
+    void continuesThePassWhileTheTrieChanges() {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        Random random = new Random(9);
+        randomWords(random, 2000).forEach(trie::insertWord);
+        // Each read of the clock advances it by 1 nanosecond
+        AtomicLong clock = new AtomicLong();
+        TrieCompactor compactor = new TrieCompactor(trie, clock::incrementAndGet);
+
+        int callsCount = 0;
+        do {
+            compactor.compact(20, TimeUnit.NANOSECONDS);
+            callsCount++;
+            for (String word : randomWords(random, 5)) {
+                if (!trie.deleteWord(word)) trie.insertWord(word);
+            }
+            trie.deletePrefix(randomWords(random, 1).get(0).substring(0, 2));
+        } while (compactor.isPassInProgress());
+
+        assertTrue(callsCount > 10);
+        assertEquals(1, compactor.getPassesCount());
+        List<String> words = toList(trie.wordsWithPrefix(""));
+        assertEquals(words.size(), trie.size());
+        compactor.compactAll();
+        assertEquals(words, toList(trie.wordsWithPrefix("")));
+    }
+
+    @Test
+    void trieNodeMapKeepsItsChildrenInline() {
+        TrieNodeMap trieNode = new TrieNodeMap();
+        assertEquals(40, trieNode.estimateSizeInBytes());
+        trieNode.addCharacter('m');
+        TrieNodeMap child = trieNode.getTrieNodeForChar('m');
+        assertEquals(40, trieNode.estimateSizeInBytes());
+        assertEquals(Character.valueOf('m'), trieNode.getHigherCharacter('a'));
+        assertNull(trieNode.getLowerCharacter('m'));
+
+        trieNode.addCharacter('c');
+        trieNode.addCharacter('x');
+        assertSame(child, trieNode.getTrieNodeForChar('m'));
+        assertEquals(Character.valueOf('c'), trieNode.getFirstCharacter());
+        assertEquals(Character.valueOf('x'), trieNode.getHigherCharacter('m'));
+        assertEquals(0, trieNode.compact());
+
+        trieNode.removeCharacter('c');
+        trieNode.removeCharacter('x');
+        assertEquals(48 + 40, trieNode.compact());
+        assertSame(child, trieNode.getTrieNodeForChar('m'));
+        assertEquals(Character.valueOf('m'), trieNode.getLastCharacter());
+
+        TrieNodeMap attached = new TrieNodeMap();
+        trieNode.attachTrieNode('m', attached);
+        assertSame(attached, trieNode.getTrieNodeForChar('m'));
+        trieNode.removeCharacter('m');
+        assertTrue(trieNode.isEmpty());
+        assertFalse(trieNode.containsCharacter('m'));
+    }
+
+    @Test
+    void visitsOtherTrieNodesWithoutChangingThem() {
+        ITrie trie = new TrieArray(new TrieIterativeAlgorithm());
+        randomWords(new Random(4), 500).forEach(trie::insertWord);
+        TrieCompactor compactor = new TrieCompactor(trie);
+
+        assertEquals(0, compactor.compactAll());
+        assertEquals(TrieStatistics.of(trie).getNodesCount(), compactor.getVisitedTrieNodesCount());
+    }
+
+    private static List<String> randomWords(Random random, int count) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            char[] word = new char[2 + random.nextInt(6)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('a' + random.nextInt(6));
+            }
+            words.add(new String(word));
+        }
+        return words;
+    }
+
+    private static List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+}
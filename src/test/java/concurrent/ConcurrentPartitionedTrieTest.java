@@ -0,0 +1,179 @@
+package concurrent;
+
+import algorithm.TrieIterativeAlgorithm;
+import algorithm.TrieRecursiveAlgorithm;
+import cache.PrefixCachingTrie;
+import org.junit.jupiter.api.Test;
+import trie.ITrie;
+import trie.TrieArray;
+import trie.TrieCursor;
+import trie.TrieMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentPartitionedTrieTest {
+    private static final List<String> WORDS = Arrays.asList(
+            "apple", "app", "banana", "band", "can", "candle", "dog", "door", "hat", "queen", "zebra");
+
+    @Test
+    void behavesLikeASingleTrie() {
+        ITrie trie = new ConcurrentPartitionedTrie(() -> new TrieMap(new TrieIterativeAlgorithm()), 4, false);
+        WORDS.forEach(trie::insertWord);
+        TreeSet<String> expected = new TreeSet<>(WORDS);
+
+        assertEquals(expected.size(), trie.size());
+        assertTrue(trie.containsWord("band"));
+        assertFalse(trie.containsWord("ban"));
+        assertTrue(trie.containsPrefix("ban"));
+        assertTrue(trie.containsPrefix("d"));
+        assertFalse(trie.containsPrefix("x"));
+        assertEquals(2, trie.countWithPrefix("ban"));
+        assertEquals(2, trie.countWithPrefix("a"));
+        assertEquals("app", trie.first());
+        assertEquals("zebra", trie.last());
+        assertEquals("candle", trie.floor("cao"));
+        assertEquals("dog", trie.ceiling("do"));
+        assertNull(trie.ceiling("zz"));
+        assertEquals("hat", trie.floor("p"));
+        assertEquals("zebra", trie.ceiling("r"));
+        assertNull(trie.floor("ap"));
+        assertEquals(expected.headSet("candle").size(), trie.rank("candle"));
+        List<String> ordered = new ArrayList<>(expected);
+        for (int i = 0; i < ordered.size(); i++) {
+            assertEquals(ordered.get(i), trie.select(i));
+        }
+        assertEquals(ordered, toList(trie.wordsWithPrefix("")));
+        assertEquals(Arrays.asList("can", "candle"), toList(trie.wordsWithPrefix("ca")));
+        assertEquals(Arrays.asList("band", "can", "candle"), toList(trie.range("banc", "d")));
+        assertEquals(Arrays.asList("hat", "queen"), toList(trie.range("e", "r")));
+
+        assertTrue(trie.deleteWord("app"));
+        assertFalse(trie.deleteWord("app"));
+        assertEquals("apple", trie.first());
+    }
+
+    @Test
+    void emptyTrie() {
+        ITrie trie = new ConcurrentPartitionedTrie(() -> new TrieArray(new TrieRecursiveAlgorithm()), 3);
+        assertEquals(0, trie.size());
+        assertThrows(NoSuchElementException.class, trie::first);
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.select(0));
+        assertThrows(UnsupportedOperationException.class, trie::getRoot);
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConcurrentPartitionedTrie(() -> new TrieArray(new TrieRecursiveAlgorithm()), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConcurrentPartitionedTrie(() -> new TrieArray(new TrieRecursiveAlgorithm()), 27));
+    }
+
+    @Test
+    void cursorWalksThePartitionOfThePrefix() {
+        ConcurrentPartitionedTrie trie = new ConcurrentPartitionedTrie(
+                () -> new TrieMap(new TrieIterativeAlgorithm()), 4, false);
+        WORDS.forEach(trie::insertWord);
+        TrieCursor cursor = trie.cursor();
+
+        assertEquals(WORDS.size(), cursor.countCompletions());
+        assertEquals(Arrays.asList("app", "apple", "banana"), cursor.completions(3));
+        assertThrows(UnsupportedOperationException.class, cursor::getTrieNode);
+        assertTrue(cursor.advance('d'));
+        assertEquals(Arrays.asList("dog", "door"), cursor.completions(5));
+        assertEquals(2, cursor.getTrieNode().getWordCount());
+        assertTrue(cursor.advance("og"));
+        assertTrue(cursor.isWord());
+        assertFalse(cursor.hasChildren());
+        assertEquals("dog", cursor.getPrefix());
+        assertTrue(cursor.getTrieNode().isEndOfWord());
+        assertTrue(cursor.retreat());
+        assertTrue(cursor.retreat());
+        assertTrue(cursor.advance("oor"));
+        assertTrue(cursor.isWord());
+        assertEquals("door", cursor.getPrefix());
+
+        cursor.reset();
+        assertTrue(cursor.advance("ca"));
+        assertEquals(Arrays.asList("can", "candle"), cursor.completions(5));
+        trie.insertWord("cat");
+        trie.deleteWord("candle");
+        assertEquals(Arrays.asList("can", "cat"), cursor.completions(5));
+        assertFalse(cursor.advance('x'));
+        assertFalse(cursor.isWord());
+        assertTrue(cursor.retreat());
+        assertTrue(cursor.advance('t'));
+        assertTrue(cursor.isWord());
+        assertEquals(2, trie.deletePrefix("ca"));
+        assertFalse(cursor.isInTrie());
+    }
+
+    @Test
+    void optimisticReadsOnlyForUndecoratedArrayTrieNodes() {
+        assertFalse(new ConcurrentPartitionedTrie(() -> new TrieArray(new TrieIterativeAlgorithm()), 2).isOptimisticReads());
+        assertFalse(new ConcurrentPartitionedTrie(() -> new TrieMap(new TrieIterativeAlgorithm()), 2).isOptimisticReads());
+        assertTrue(new ConcurrentPartitionedTrie(
+                () -> new TrieArray(new TrieIterativeAlgorithm()), 2, true).isOptimisticReads());
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentPartitionedTrie(
+                () -> new TrieMap(new TrieIterativeAlgorithm()), 2, true));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentPartitionedTrie(
+                () -> new PrefixCachingTrie(new TrieArray(new TrieIterativeAlgorithm()), 16), 2, true));
+    }
+
+    @Test
+    void concurrentWritersAndReaders() throws Exception {
+        ITrie trie = new ConcurrentPartitionedTrie(() -> new TrieArray(new TrieIterativeAlgorithm()), 8, true);
+        int threadsCount = 8;
+        int wordsPerThread = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadsCount; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < wordsPerThread; i++) {
+                    String word = toWord(thread * wordsPerThread + i);
+                    trie.insertWord(word);
+                    if (!trie.containsWord(word)) throw new AssertionError(word);
+                    trie.containsPrefix(toWord(i));
+                    if (i % 2 == 0) trie.deleteWord(word);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(threadsCount * wordsPerThread / 2, trie.size());
+    }
+
+    private static String toWord(int number) {
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return word.toString();
+    }
+
+    private static List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+}
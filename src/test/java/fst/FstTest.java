@@ -0,0 +1,118 @@
+package fst;
+
+import org.javatuples.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FstTest {
+
+    @Test
+    void getOutputs() {
+        Fst fst = new FstBuilder()
+                .add("cat", 5)
+                .add("cats", 7)
+                .add("dog", 5)
+                .add("doggie", 2)
+                .add("dogs", 7)
+                .build();
+
+        assertEquals(5, fst.get("cat"));
+        assertEquals(7, fst.get("cats"));
+        assertEquals(5, fst.get("dog"));
+        assertEquals(7, fst.get("dogs"));
+        assertEquals(2, fst.get("doggie"));
+        assertEquals(Fst.NO_OUTPUT, fst.get("ca"));
+        assertEquals(Fst.NO_OUTPUT, fst.get("catz"));
+        assertEquals(Fst.NO_OUTPUT, fst.get(""));
+        assertTrue(fst.containsKey("cats"));
+        assertFalse(fst.containsKey("cow"));
+        assertEquals(5, fst.size());
+    }
+
+    @Test
+    void iterateWithPrefix() {
+        Fst fst = new FstBuilder()
+                .add("", 1)
+                .add("cat", 5)
+                .add("cats", 7)
+                .add("dog", 5)
+                .add("doggie", 2)
+                .build();
+
+        assertEquals(List.of(new Pair<>("dog", 5L), new Pair<>("doggie", 2L)), toList(fst.iterator("do")));
+        assertEquals(List.of(new Pair<>("cats", 7L)), toList(fst.iterator("cats")));
+        assertEquals(List.of(), toList(fst.iterator("x")));
+        assertEquals(5, toList(fst.iterator("")).size());
+        assertEquals(1, fst.get(""));
+    }
+
+    @Test
+    void matchesTreeMapAfterSerialization() {
+        Random random = new Random(7);
+        TreeMap<String, Long> treeMap = new TreeMap<>();
+        for (int i = 0; i < 2000; i++) {
+            treeMap.put(randomKey(random), (long) random.nextInt(1_000_000));
+        }
+        FstBuilder fstBuilder = new FstBuilder();
+        treeMap.forEach(fstBuilder::add);
+        Fst fst = Fst.fromBytes(fstBuilder.build().toBytes());
+
+        for (Map.Entry<String, Long> entry : treeMap.entrySet()) {
+            assertEquals(entry.getValue(), fst.get(entry.getKey()));
+        }
+        List<Pair<String, Long>> expected = new ArrayList<>();
+        treeMap.subMap("b", "c").forEach((key, output) -> expected.add(new Pair<>(key, output)));
+        assertEquals(expected, toList(fst.iterator("b")));
+        for (int i = 0; i < 500; i++) {
+            String key = randomKey(random);
+            assertEquals(treeMap.getOrDefault(key, Fst.NO_OUTPUT), fst.get(key));
+        }
+    }
+
+    @Test
+    void sharesSuffixes() {
+        FstBuilder fstBuilder = new FstBuilder();
+        for (char c = 'a'; c <= 'z'; c++) {
+            fstBuilder.add(c + "ing", 3);
+        }
+        Fst fst = fstBuilder.build();
+
+        // All the keys share the nodes of "ing", so only the root grows with the keys
+        assertTrue(fst.getSizeInBytes() < 26 * 4 + 20);
+        assertEquals(3, fst.get("ring"));
+    }
+
+    @Test
+    void rejectsInvalidKeys() {
+        FstBuilder fstBuilder = new FstBuilder().add("cat", 1);
+        assertThrows(IllegalArgumentException.class, () -> fstBuilder.add("bat", 1));
+        assertThrows(IllegalArgumentException.class, () -> fstBuilder.add("cat", 1));
+        assertThrows(IllegalArgumentException.class, () -> fstBuilder.add("dog", -1));
+        assertThrows(IllegalArgumentException.class, () -> Fst.fromBytes(new byte[20]));
+    }
+
+    private String randomKey(Random random) {
+        char[] characters = new char[1 + random.nextInt(6)];
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(characters);
+    }
+
+    private List<Pair<String, Long>> toList(Iterator<Pair<String, Long>> iterator) {
+        List<Pair<String, Long>> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+}
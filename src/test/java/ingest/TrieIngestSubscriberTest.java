@@ -0,0 +1,109 @@
+package ingest;
+
+import algorithm.TrieIterativeAlgorithm;
+import org.junit.jupiter.api.Test;
+import trie.ITrie;
+import trie.TrieArray;
+import trie.TrieMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrieIngestSubscriberTest {
+
+    @Test
+    void applyAStream() {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        TrieIngestSubscriber subscriber = new TrieIngestSubscriber(trie, 16, 10, TimeUnit.MILLISECONDS);
+        try (SubmissionPublisher<WordEvent> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(subscriber);
+            for (int i = 0; i < 1000; i++) {
+                publisher.submit(WordEvent.insert("word" + i));
+            }
+            for (int i = 0; i < 1000; i += 2) {
+                publisher.submit(WordEvent.delete("word" + i));
+            }
+        }
+        subscriber.getCompletion().join();
+
+        assertEquals(500, trie.size());
+        assertTrue(trie.containsWord("word1"));
+        assertFalse(trie.containsWord("word0"));
+        assertEquals(1500, subscriber.getAppliedEventsCount());
+        assertEquals(1500, subscriber.getLag().getCount());
+        assertTrue(subscriber.getBatchesCount() >= 1500 / 16);
+    }
+
+    @Test
+    void requestOnlyABatchAhead() {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        TrieIngestSubscriber subscriber = new TrieIngestSubscriber(trie, 3, 1, TimeUnit.HOURS);
+        RecordingSubscription subscription = new RecordingSubscription();
+        subscriber.onSubscribe(subscription);
+        assertEquals(Arrays.asList(3L), subscription.requests);
+
+        subscriber.onNext(WordEvent.insert("b"));
+        subscriber.onNext(WordEvent.insert("a"));
+        assertEquals(2, subscriber.getPendingEventsCount());
+        assertFalse(trie.containsWord("a"));
+        subscriber.onNext(WordEvent.delete("b"));
+
+        // Only the last event of "b" is applied
+        assertEquals(Arrays.asList(3L, 3L), subscription.requests);
+        assertTrue(trie.containsWord("a"));
+        assertFalse(trie.containsWord("b"));
+        assertEquals(0, subscriber.getPendingEventsCount());
+    }
+
+    @Test
+    void applyAPartialBatchAfterTheLingerTime() throws InterruptedException {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        TrieIngestSubscriber subscriber = new TrieIngestSubscriber(trie, 100, 20, TimeUnit.MILLISECONDS);
+        subscriber.onSubscribe(new RecordingSubscription());
+        subscriber.onNext(WordEvent.insert("word"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!trie.containsWord("word") && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(trie.containsWord("word"));
+        assertEquals(1, subscriber.getBatchesCount());
+    }
+
+    @Test
+    void failedEventCancelsTheSubscription() {
+        ITrie trie = new TrieArray(new TrieIterativeAlgorithm());
+        TrieIngestSubscriber subscriber = new TrieIngestSubscriber(trie, 1, 0, TimeUnit.MILLISECONDS);
+        RecordingSubscription subscription = new RecordingSubscription();
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(WordEvent.insert("NOT LOWERCASE"));
+
+        assertTrue(subscription.cancelled);
+        assertThrows(CompletionException.class, () -> subscriber.getCompletion().join());
+    }
+
+    private static final class RecordingSubscription implements Flow.Subscription {
+        private final List<Long> requests = new ArrayList<>();
+        private boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requests.add(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package jfr;
+
+import algorithm.TrieIterativeAlgorithm;
+import fst.FstBuilder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import trie.DawgBuilder;
+import trie.ITrie;
+import trie.TrieMap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlightRecorderTrieAlgorithmTest {
+    private Path recordingFile;
+
+    @BeforeEach
+    void createRecordingFile() throws IOException {
+        recordingFile = Files.createTempFile("trie", ".jfr");
+    }
+
+    @AfterEach
+    void deleteRecordingFile() throws IOException {
+        Files.deleteIfExists(recordingFile);
+    }
+
+    @Test
+    void recordsOperationsNodeAllocationsAndBuilds() throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.enable("trie.TrieOperation").withThreshold(Duration.ZERO);
+            recording.enable("trie.TrieNodeAllocation");
+            recording.enable("trie.TrieBuild");
+            recording.start();
+
+            ITrie trie = new TrieMap(new FlightRecorderTrieAlgorithm(new TrieIterativeAlgorithm()));
+            trie.insertWord("car");
+            trie.containsWord("cat");
+            trie.deleteWord("car");
+            new DawgBuilder().addWord("a").addWord("b").build(new TrieIterativeAlgorithm());
+            new FstBuilder().add("a", 1).build();
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+
+        List<String> operations = events.stream()
+                .filter(event -> event.getEventType().getName().equals("trie.TrieOperation"))
+                .map(event -> event.getString("operation") + ":" + event.getInt("keyLength") + ":" + event.getBoolean("hit"))
+                .collect(Collectors.toList());
+        assertEquals(List.of("insertWord:3:true", "containsWord:3:false", "deleteWord:3:true"), operations);
+
+        String allocations = events.stream()
+                .filter(event -> event.getEventType().getName().equals("trie.TrieNodeAllocation"))
+                .map(event -> String.valueOf(event.getChar("character")))
+                .collect(Collectors.joining());
+        assertEquals("car", allocations);
+
+        List<String> structures = events.stream()
+                .filter(event -> event.getEventType().getName().equals("trie.TrieBuild"))
+                .map(event -> event.getString("structure") + ":" + event.getLong("keysCount"))
+                .collect(Collectors.toList());
+        assertEquals(List.of("Dawg:2", "Fst:1"), structures);
+    }
+
+    @Test
+    void buildEventsSpanTheAddedKeys() throws Exception {
+        try (Recording recording = new Recording()) {
+            recording.enable("trie.TrieBuild");
+            recording.start();
+            DawgBuilder dawgBuilder = new DawgBuilder().addWord("a");
+            FstBuilder fstBuilder = new FstBuilder().add("a", 1);
+            Thread.sleep(50);
+            dawgBuilder.addWord("b").build(new TrieIterativeAlgorithm());
+            fstBuilder.add("b", 2).build();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        List<RecordedEvent> builds = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().equals("trie.TrieBuild"))
+                .collect(Collectors.toList());
+        assertEquals(2, builds.size());
+        for (RecordedEvent build : builds) {
+            assertTrue(build.getDuration().toMillis() >= 50, build.getString("structure"));
+        }
+    }
+
+    @Test
+    void skipsOperationsFasterThanTheThreshold() throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.enable("trie.TrieOperation").withThreshold(Duration.ofSeconds(10));
+            recording.start();
+            ITrie trie = new TrieMap(new FlightRecorderTrieAlgorithm(new TrieIterativeAlgorithm()));
+            assertTrue(trie.insertWord("fast"));
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        assertFalse(RecordingFile.readAllEvents(recordingFile).stream()
+                .anyMatch(event -> event.getEventType().getName().equals("trie.TrieOperation")));
+    }
+}
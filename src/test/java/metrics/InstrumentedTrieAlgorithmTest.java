@@ -0,0 +1,145 @@
+package metrics;
+
+import algorithm.TrieIterativeAlgorithm;
+import algorithm.TrieRecursiveAlgorithm;
+import org.junit.jupiter.api.Test;
+import trie.ITrie;
+import trie.TrieArray;
+import trie.TrieMap;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstrumentedTrieAlgorithmTest {
+
+    @Test
+    void countsOperationsAndHits() {
+        InstrumentedTrieAlgorithm trieAlgorithm = new InstrumentedTrieAlgorithm(new TrieIterativeAlgorithm());
+        ITrie trie = new TrieMap(trieAlgorithm);
+        trie.insertWord("car");
+        trie.insertWord("cart");
+        trie.insertWord("car");
+        trie.containsWord("car");
+        trie.containsWord("ca");
+        trie.containsWord("dog");
+        trie.containsPrefix("ca");
+        trie.deleteWord("cart");
+
+        OperationMetrics inserts = trieAlgorithm.getMetrics(TrieOperation.INSERT_WORD);
+        assertEquals(3, inserts.getCount());
+        assertEquals(2, inserts.getHits());
+        assertEquals(1, inserts.getMisses());
+        assertEquals(10, inserts.getNodesVisited());
+
+        OperationMetrics contains = trieAlgorithm.getMetrics(TrieOperation.CONTAINS_WORD);
+        assertEquals(3, contains.getCount());
+        assertEquals(1.0 / 3, contains.getHitRatio(), 1e-9);
+        assertEquals(3, contains.getLatencies().getCount());
+        assertTrue(contains.getLatencies().getPercentile(99) >= contains.getLatencies().getPercentile(50));
+
+        assertEquals(1, trieAlgorithm.getMetrics(TrieOperation.CONTAINS_PREFIX).getHits());
+        assertEquals(1, trieAlgorithm.getMetrics(TrieOperation.DELETE_WORD).getCount());
+        assertEquals(0, trieAlgorithm.getMetrics(TrieOperation.COUNT_WITH_PREFIX).getCount());
+    }
+
+    @Test
+    void missesCountTheKeyLengthAsAnUpperBound() {
+        InstrumentedTrieAlgorithm trieAlgorithm = new InstrumentedTrieAlgorithm(new TrieRecursiveAlgorithm());
+        ITrie trie = new TrieArray(trieAlgorithm);
+        trie.insertWord("cart");
+        trie.containsWord("xylophonesandmarimbas");
+        trie.containsWord("carbon");
+        trie.containsWord("car");
+        trie.containsWord("cart");
+
+        OperationMetrics contains = trieAlgorithm.getMetrics(TrieOperation.CONTAINS_WORD);
+        assertEquals(21 + 6 + 3 + 4, contains.getNodesVisited());
+        assertFalse(trie.deleteWord("cab"));
+        assertEquals(3, trieAlgorithm.getMetrics(TrieOperation.DELETE_WORD).getNodesVisited());
+    }
+
+    @Test
+    void recordsNothingWhileDisabled() {
+        InstrumentedTrieAlgorithm trieAlgorithm = new InstrumentedTrieAlgorithm(new TrieRecursiveAlgorithm());
+        ITrie trie = new TrieArray(trieAlgorithm);
+        trieAlgorithm.setEnabled(false);
+        trie.insertWord("word");
+        assertTrue(trie.containsWord("word"));
+        assertEquals(0, trieAlgorithm.getMetrics(TrieOperation.INSERT_WORD).getCount());
+
+        trieAlgorithm.setEnabled(true);
+        assertEquals(1, trie.countWithPrefix("wo"));
+        assertEquals(1, trieAlgorithm.getMetrics(TrieOperation.COUNT_WITH_PREFIX).getCount());
+
+        trieAlgorithm.reset();
+        assertEquals(0, trieAlgorithm.getMetrics(TrieOperation.COUNT_WITH_PREFIX).getCount());
+    }
+
+    @Test
+    void latencyHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(50));
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+        assertEquals(100, histogram.getCount());
+        assertEquals(127, histogram.getPercentile(50));
+        assertEquals(127, histogram.getPercentile(99));
+        assertEquals(8191, histogram.getPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+    }
+
+    @Test
+    void structuralStatistics() {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        trie.insertWord("car");
+        trie.insertWord("cat");
+        trie.insertWord("do");
+
+        TrieStatistics statistics = TrieStatistics.of(trie);
+        // root, c, ca, car, cat, d, do
+        assertEquals(7, statistics.getNodesCount());
+        assertEquals(3, statistics.getWordsCount());
+        assertEquals(3, statistics.getMaxDepth());
+        assertEquals(8.0 / 3, statistics.getAverageWordDepth(), 1e-9);
+        assertEquals(Long.valueOf(3), statistics.getFanOutDistribution().get(0));
+        assertEquals(Long.valueOf(2), statistics.getFanOutDistribution().get(1));
+        assertEquals(Long.valueOf(2), statistics.getFanOutDistribution().get(2));
+        assertTrue(statistics.getEstimatedSizeInBytes() > 0);
+    }
+
+    @Test
+    void exportsMetricsThroughJmx() throws Exception {
+        ITrie trie = new TrieArray(new InstrumentedTrieAlgorithm(new TrieIterativeAlgorithm()));
+        trie.insertWord("jmx");
+        trie.containsWord("jmx");
+        TrieMetrics trieMetrics = new TrieMetrics(trie);
+        ObjectName objectName = trieMetrics.register("test");
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(4L, mBeanServer.getAttribute(objectName, "NodesCount"));
+            assertEquals(true, mBeanServer.getAttribute(objectName, "Enabled"));
+            mBeanServer.setAttribute(objectName, new Attribute("Enabled", false));
+            assertFalse(trieMetrics.isEnabled());
+            Map<String, Long> counts = trieMetrics.getOperationCounts();
+            assertEquals(Long.valueOf(1), counts.get(TrieOperation.CONTAINS_WORD.name()));
+        } finally {
+            mBeanServer.unregisterMBean(objectName);
+        }
+    }
+
+    @Test
+    void requiresAnInstrumentedAlgorithm() {
+        ITrie trie = new TrieArray(new TrieIterativeAlgorithm());
+        assertThrows(IllegalArgumentException.class, () -> new TrieMetrics(trie));
+    }
+}
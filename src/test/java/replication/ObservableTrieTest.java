@@ -0,0 +1,74 @@
+package replication;
+
+import algorithm.TrieIterativeAlgorithm;
+import metrics.TrieOperation;
+import org.junit.jupiter.api.Test;
+import trie.ITrie;
+import trie.TrieMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ObservableTrieTest {
+
+    @Test
+    void sendOnlyTheChanges() {
+        ObservableTrie leader = new ObservableTrie(new TrieMap(new TrieIterativeAlgorithm()));
+        List<TrieChange> changes = new ArrayList<>();
+        leader.addListener(changes::add);
+
+        leader.insertWord("car");
+        leader.insertWord("car");
+        leader.deleteWord("cat");
+        leader.deleteWord("car");
+
+        assertEquals(2, changes.size());
+        assertEquals(1, changes.get(0).getSequence());
+        assertEquals(TrieOperation.INSERT_WORD, changes.get(0).getOperation());
+        assertEquals(2, changes.get(1).getSequence());
+        assertEquals(TrieOperation.DELETE_WORD, changes.get(1).getOperation());
+        assertEquals("car", changes.get(1).getWord());
+        assertEquals(2, leader.getLastSequence());
+    }
+
+    @Test
+    void replicaFollowsTheFeed() {
+        ObservableTrie leader = new ObservableTrie(new TrieMap(new TrieIterativeAlgorithm()));
+        ITrie replica = new TrieMap(new TrieIterativeAlgorithm());
+        ReplicaApplier applier = new ReplicaApplier(replica, 0);
+        leader.addListener(applier);
+
+        Arrays.asList("car", "card", "dog").forEach(leader::insertWord);
+        leader.deleteWord("card");
+
+        assertEquals(4, applier.getLastAppliedSequence());
+        assertTrue(TrieDiff.between(replica, leader).isEmpty());
+    }
+
+    @Test
+    void replicaWithAMissingChangeIsResynchronized() {
+        ObservableTrie leader = new ObservableTrie(new TrieMap(new TrieIterativeAlgorithm()));
+        ITrie replica = new TrieMap(new TrieIterativeAlgorithm());
+        ReplicaApplier applier = new ReplicaApplier(replica, 0);
+        List<TrieChange> changes = new ArrayList<>();
+        leader.addListener(changes::add);
+        Arrays.asList("car", "card", "dog").forEach(leader::insertWord);
+
+        applier.onChange(changes.get(0));
+        applier.onChange(changes.get(0));
+        applier.onChange(changes.get(2));
+        assertFalse(applier.isInSync());
+        assertEquals(1, applier.getLastAppliedSequence());
+
+        TrieDiff diff = applier.resynchronize(leader);
+        assertEquals(Arrays.asList("card", "dog"), diff.getInsertedWords());
+        assertTrue(applier.isInSync());
+        assertEquals(3, applier.getLastAppliedSequence());
+        assertTrue(replica.containsWord("dog"));
+    }
+}
@@ -0,0 +1,63 @@
+package replication;
+
+import algorithm.TrieIterativeAlgorithm;
+import algorithm.TrieRecursiveAlgorithm2;
+import org.junit.jupiter.api.Test;
+import trie.ITrie;
+import trie.TrieArray;
+import trie.TrieMap;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrieDiffTest {
+
+    @Test
+    void insertedAndDeletedWords() {
+        ITrie from = newTrie(Arrays.asList("car", "card", "cat", "dog", "dot"));
+        ITrie to = newTrie(Arrays.asList("car", "care", "cat", "cow", "dot", "zoo"));
+
+        TrieDiff diff = TrieDiff.between(from, to);
+        assertEquals(Arrays.asList("care", "cow", "zoo"), diff.getInsertedWords());
+        assertEquals(Arrays.asList("card", "dog"), diff.getDeletedWords());
+
+        diff.applyTo(from);
+        assertTrue(TrieDiff.between(from, to).isEmpty());
+        assertEquals(TrieDiff.fingerprint(to), TrieDiff.fingerprint(from));
+    }
+
+    @Test
+    void fingerprintsDependOnlyOnTheWords() {
+        List<String> words = Arrays.asList("a", "ab", "abc", "b", "ba");
+        ITrie trieMap = newTrie(words);
+        ITrie trieArray = new TrieArray(new TrieRecursiveAlgorithm2());
+        words.forEach(trieArray::insertWord);
+
+        assertEquals(TrieDiff.fingerprint(trieMap), TrieDiff.fingerprint(trieArray));
+        trieArray.deleteWord("ab");
+        assertNotEquals(TrieDiff.fingerprint(trieMap), TrieDiff.fingerprint(trieArray));
+        trieArray.insertWord("ab");
+        assertEquals(TrieDiff.fingerprint(trieMap), TrieDiff.fingerprint(trieArray));
+    }
+
+    @Test
+    void changesClearOnlyTheFingerprintsOfTheirPath() {
+        ITrie trie = newTrie(Arrays.asList("car", "dog"));
+        TrieDiff.fingerprint(trie);
+        trie.insertWord("cat");
+
+        assertEquals(0, trie.getRoot().getFingerprint());
+        assertEquals(0, trie.getRoot().getTrieNodeForChar('c').getFingerprint());
+        assertNotEquals(0, trie.getRoot().getTrieNodeForChar('d').getFingerprint());
+    }
+
+    private static ITrie newTrie(List<String> words) {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        words.forEach(trie::insertWord);
+        return trie;
+    }
+}
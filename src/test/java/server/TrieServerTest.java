@@ -0,0 +1,111 @@
+package server;
+
+import algorithm.TrieIterativeAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import trie.ITrie;
+import trie.TrieArray;
+import trie.TrieMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrieServerTest {
+    private static final List<String> WORDS = Arrays.asList("car", "card", "care", "cat", "dog");
+
+    private TrieServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        WORDS.forEach(trie::insertWord);
+        server = TrieServer.start(trie, 0);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void lookups() throws IOException {
+        try (TrieClient client = TrieClient.connect(server.getPort())) {
+            assertTrue(client.containsWord("card"));
+            assertFalse(client.containsWord("ca"));
+            assertTrue(client.containsPrefix("ca"));
+            assertFalse(client.containsPrefix("x"));
+            assertEquals(Arrays.asList("car", "card"), client.completions("car", 2));
+            assertEquals(Arrays.asList(), client.completions("x", 2));
+        }
+    }
+
+    @Test
+    void pipelinedBatches() throws IOException {
+        try (TrieClient client = TrieClient.connect(server.getPort())) {
+            List<CompletableFuture<List<Object>>> frames = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                frames.add(client.send(Arrays.asList(
+                        TrieRequest.containsWord(WORDS.get(i % WORDS.size())),
+                        TrieRequest.containsWord("cow" + i),
+                        TrieRequest.completions("d", 10))));
+            }
+            for (CompletableFuture<List<Object>> frame : frames) {
+                assertEquals(Arrays.asList(true, false, Arrays.asList("dog")), frame.join());
+            }
+        }
+    }
+
+    @Test
+    void failedRequestsAreAnsweredWithoutClosingTheConnection() throws IOException {
+        ITrie trie = new TrieArray(new TrieIterativeAlgorithm());
+        WORDS.forEach(trie::insertWord);
+        try (TrieServer arrayServer = TrieServer.start(trie, 0);
+             TrieClient client = TrieClient.connect(arrayServer.getPort())) {
+            // A TrieArray only has the characters from 'a' to 'z'
+            assertThrows(TrieRequestException.class, () -> client.containsWord("Hello"));
+
+            List<Object> responses = client.send(Arrays.asList(
+                    TrieRequest.containsWord("dog"),
+                    TrieRequest.completions("Hello", 3),
+                    TrieRequest.containsPrefix("ca"))).join();
+            assertEquals(true, responses.get(0));
+            assertTrue(responses.get(1) instanceof TrieRequestException);
+            assertEquals(true, responses.get(2));
+            assertTrue(client.containsWord("dog"));
+        }
+    }
+
+    @Test
+    void closedServerFailsTheCalls() throws IOException {
+        TrieClient client = TrieClient.connect(server.getPort());
+        assertTrue(client.containsWord("dog"));
+        server.close();
+        assertThrows(UncheckedIOException.class, () -> {
+            // The first calls can still be written before the client sees the closed connection
+            for (int i = 0; i < 100; i++) {
+                client.containsWord("dog");
+            }
+        });
+        client.close();
+    }
+
+    @Test
+    void loadGeneratorReportsTheLatencies() throws Exception {
+        LoadGenerator.Report report = LoadGenerator.run("127.0.0.1", server.getPort(), WORDS, 2, 8, 4, 200);
+
+        assertTrue(report.getRequestsCount() > 0);
+        assertEquals(report.getFramesCount() * 8, report.getRequestsCount());
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.getP50Nanos() <= report.getP99Nanos());
+    }
+}
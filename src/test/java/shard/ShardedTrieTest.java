@@ -0,0 +1,104 @@
+package shard;
+
+import algorithm.TrieIterativeAlgorithm;
+import org.junit.jupiter.api.Test;
+import trie.TrieMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedTrieTest {
+    private final List<LoopbackTransport> transports = new ArrayList<>();
+
+    private Shard newRemoteShard() {
+        LoopbackTransport transport = new LoopbackTransport(new LocalShard(new TrieMap(new TrieIterativeAlgorithm())));
+        transports.add(transport);
+        return new RemoteShard(transport);
+    }
+
+    @Test
+    void routeWordsToTheShardOfTheirRange() {
+        ShardedTrie trie = new ShardedTrie(this::newRemoteShard, Arrays.asList("f", "m", "mo"), null);
+        Arrays.asList("", "apple", "fig", "mango", "melon", "month", "zebra").forEach(trie::insertWord);
+
+        assertEquals(4, trie.getShardsCount());
+        assertEquals(7, trie.size());
+        assertTrue(trie.containsWord("fig"));
+        assertTrue(trie.containsWord(""));
+        assertFalse(trie.containsWord("figs"));
+        assertFalse(trie.insertWord("mango"));
+        assertTrue(trie.deleteWord("zebra"));
+        assertFalse(trie.containsWord("zebra"));
+
+        long[] callsBefore = callsCounts();
+        assertEquals(Arrays.asList("fig"), trie.wordsWithPrefix("fi"));
+        long[] callsAfter = callsCounts();
+        // "fi" only overlaps the shard [f, m)
+        assertEquals(callsBefore[0], callsAfter[0]);
+        assertEquals(callsBefore[1] + 1, callsAfter[1]);
+
+        assertEquals(Arrays.asList("mango", "melon", "month"), trie.wordsWithPrefix("m"));
+        assertEquals(3, trie.countWithPrefix("m"));
+        assertTrue(trie.containsPrefix("mon"));
+        assertFalse(trie.containsPrefix("q"));
+        assertEquals(Arrays.asList("", "apple", "fig", "mango", "melon", "month"), trie.wordsWithPrefix(""));
+    }
+
+    @Test
+    void splitHotShards() {
+        ShardedTrie trie = new ShardedTrie(this::newRemoteShard);
+        for (char c = 'a'; c <= 'z'; c++) {
+            trie.insertWord(c + "word");
+        }
+        trie.insertWord("single");
+        List<String> words = trie.wordsWithPrefix("");
+
+        assertEquals(1, trie.splitHotShards(10));
+        assertEquals(Arrays.asList("nword"), trie.getBoundaries());
+        assertEquals(0, trie.getRequestsCount(0));
+        assertEquals(words, trie.wordsWithPrefix(""));
+        assertTrue(trie.containsWord("zword"));
+        assertTrue(trie.containsWord("aword"));
+
+        assertEquals(0, trie.splitHotShards(10));
+        assertTrue(trie.splitShard(1));
+        assertEquals(3, trie.getShardsCount());
+        assertEquals(words, trie.wordsWithPrefix(""));
+        assertEquals(words.size(), trie.size());
+    }
+
+    @Test
+    void scatterInParallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ShardedTrie trie = new ShardedTrie(() -> new LocalShard(new TrieMap(new TrieIterativeAlgorithm())),
+                    Arrays.asList("b", "c", "d"), executor);
+            Arrays.asList("apple", "banana", "cherry", "date").forEach(trie::insertWord);
+
+            assertEquals(Arrays.asList("apple", "banana", "cherry", "date"), trie.wordsWithPrefix(""));
+            assertEquals(4, trie.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void failures() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardedTrie(this::newRemoteShard, Arrays.asList("m", "f"), null));
+        Shard shard = newRemoteShard();
+        assertThrows(IllegalStateException.class, () -> shard.select(3));
+    }
+
+    private long[] callsCounts() {
+        return transports.stream().mapToLong(LoopbackTransport::getCallsCount).toArray();
+    }
+}
@@ -0,0 +1,133 @@
+package storage;
+
+import algorithm.TrieIterativeAlgorithm;
+import concurrent.ConcurrentPartitionedTrie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import trie.ITrie;
+import trie.TrieArray;
+import trie.TrieMap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurableTrieTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysTheLogWhenOpened() throws IOException {
+        try (DurableTrie trie = open(SyncMode.EVERY_WRITE)) {
+            assertTrue(trie.insertWord("car"));
+            assertTrue(trie.insertWord("cart"));
+            assertTrue(trie.insertWord("dog"));
+            assertFalse(trie.insertWord("dog"));
+            assertTrue(trie.deleteWord("car"));
+        }
+        try (DurableTrie trie = open(SyncMode.EVERY_WRITE)) {
+            assertEquals(Arrays.asList("cart", "dog"), toList(trie.wordsWithPrefix("")));
+        }
+    }
+
+    @Test
+    void replaysDeletedPrefixes() throws IOException {
+        try (DurableTrie trie = open(SyncMode.EVERY_WRITE)) {
+            trie.insertWord("car");
+            trie.insertWord("cart");
+            trie.insertWord("dog");
+            assertEquals(2, trie.deletePrefix("ca"));
+            assertEquals(0, trie.deletePrefix("ca"));
+            trie.insertWord("cat");
+        }
+        try (DurableTrie trie = open(SyncMode.EVERY_WRITE)) {
+            assertEquals(Arrays.asList("cat", "dog"), toList(trie.wordsWithPrefix("")));
+        }
+    }
+
+    @Test
+    void checkpointTruncatesTheLog() throws IOException {
+        try (DurableTrie trie = open(SyncMode.INTERVAL)) {
+            trie.insertWord("alpha");
+            trie.insertWord("beta");
+            trie.checkpoint();
+            assertEquals(0, trie.getLogSizeInBytes());
+            trie.deleteWord("alpha");
+            trie.insertWord("gamma");
+        }
+        try (DurableTrie trie = open(SyncMode.INTERVAL)) {
+            assertEquals(Arrays.asList("beta", "gamma"), toList(trie.wordsWithPrefix("")));
+        }
+    }
+
+    @Test
+    void ignoresAnIncompleteLastRecord() throws IOException {
+        try (DurableTrie trie = open(SyncMode.EVERY_WRITE)) {
+            trie.insertWord("kept");
+        }
+        Files.write(directory.resolve("wal"), new byte[]{0, 0, 0, 9, 1, 2}, StandardOpenOption.APPEND);
+        try (DurableTrie trie = open(SyncMode.EVERY_WRITE)) {
+            assertEquals(Arrays.asList("kept"), toList(trie.wordsWithPrefix("")));
+            trie.insertWord("next");
+        }
+        try (DurableTrie trie = open(SyncMode.EVERY_WRITE)) {
+            assertEquals(Arrays.asList("kept", "next"), toList(trie.wordsWithPrefix("")));
+        }
+    }
+
+    @Test
+    void rejectsACorruptCheckpoint() throws IOException {
+        try (DurableTrie trie = open(SyncMode.EVERY_WRITE)) {
+            trie.insertWord("word");
+            trie.checkpoint();
+        }
+        byte[] checkpoint = Files.readAllBytes(directory.resolve("checkpoint"));
+        checkpoint[12]++;
+        Files.write(directory.resolve("checkpoint"), checkpoint);
+        assertThrows(IOException.class, () -> open(SyncMode.EVERY_WRITE));
+    }
+
+    @Test
+    void concurrentWritersShareTheSyncs() throws Exception {
+        ITrie partitionedTrie = new ConcurrentPartitionedTrie(() -> new TrieArray(new TrieIterativeAlgorithm()), 4);
+        List<Thread> threads = new ArrayList<>();
+        try (DurableTrie trie = DurableTrie.open(partitionedTrie, directory, SyncMode.EVERY_WRITE, 0, 0)) {
+            for (int t = 0; t < 4; t++) {
+                char first = (char) ('a' + t);
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        trie.insertWord("" + first + (char) ('a' + i / 26) + (char) ('a' + i % 26));
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(200, trie.size());
+        }
+        try (DurableTrie trie = open(SyncMode.EVERY_WRITE)) {
+            assertEquals(200, trie.size());
+        }
+    }
+
+    private DurableTrie open(SyncMode syncMode) throws IOException {
+        return DurableTrie.open(new TrieMap(new TrieIterativeAlgorithm()), directory, syncMode, 5, 0);
+    }
+
+    private static List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+}
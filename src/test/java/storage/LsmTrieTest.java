@@ -0,0 +1,206 @@
+package storage;
+
+import algorithm.TrieIterativeAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import trie.ForwardingTrie;
+import trie.ITrie;
+import trie.TrieMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LsmTrieTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void newerLevelsHideOlderOnes() throws IOException {
+        try (LsmTrie trie = open(2, 10, null)) {
+            trie.insertWord("car");
+            trie.insertWord("cart");
+            assertEquals(1, trie.getSegmentsCount());
+            trie.deleteWord("car");
+            trie.insertWord("dog");
+            assertEquals(2, trie.getSegmentsCount());
+            trie.insertWord("car" + "d");
+
+            assertFalse(trie.containsWord("car"));
+            assertTrue(trie.containsWord("cart"));
+            assertTrue(trie.containsWord("card"));
+            assertTrue(trie.containsPrefix("ca"));
+            assertFalse(trie.containsPrefix("cat"));
+            assertEquals(Arrays.asList("card", "cart", "dog"), toList(trie.wordsWithPrefix("")));
+            assertEquals(2, trie.countWithPrefix("car"));
+
+            trie.deleteWord("cart");
+            trie.deleteWord("card");
+            assertFalse(trie.containsPrefix("car"));
+        }
+    }
+
+    @Test
+    void compactionMergesSegmentsAndDropsTombstones() throws IOException {
+        try (LsmTrie trie = open(1, 3, null)) {
+            trie.insertWord("a");
+            trie.insertWord("b");
+            trie.deleteWord("a");
+            assertEquals(3, trie.getSegmentsCount());
+            trie.insertWord("c");
+            assertEquals(1, trie.getSegmentsCount());
+            assertEquals(Arrays.asList("b", "c"), toList(trie.wordsWithPrefix("")));
+        }
+        try (LsmTrie trie = open(1, 3, null)) {
+            assertEquals(Arrays.asList("b", "c"), toList(trie.wordsWithPrefix("")));
+            assertFalse(trie.containsWord("a"));
+        }
+    }
+
+    @Test
+    void reopensFromTheSegments() throws IOException {
+        try (LsmTrie trie = open(100, 4, null)) {
+            trie.insertWord("kept");
+            trie.insertWord("gone");
+            trie.flush();
+            trie.deleteWord("gone");
+        }
+        Files.write(directory.resolve("segment-9-9.fst.tmp"), new byte[]{1, 2, 3});
+        try (LsmTrie trie = open(100, 4, null)) {
+            assertEquals(Arrays.asList("kept"), toList(trie.wordsWithPrefix("")));
+            assertFalse(Files.exists(directory.resolve("segment-9-9.fst.tmp")));
+        }
+    }
+
+    @Test
+    void flushesWithoutBlockingTheReadsAndTheChanges() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        Thread[] flusher = new Thread[1];
+        // The words of the memtable are read without the lock while the segment is written, the flush is paused there
+        Supplier<ITrie> memtableSupplier = () -> new ForwardingTrie(new TrieMap(new TrieIterativeAlgorithm())) {
+            @Override
+            public Iterable<String> wordsWithPrefix(String prefix) {
+                if (Thread.currentThread() == flusher[0]) {
+                    writing.countDown();
+                    await(written);
+                }
+                return super.wordsWithPrefix(prefix);
+            }
+        };
+        try (LsmTrie trie = LsmTrie.open(directory, memtableSupplier, 100, 4, null)) {
+            trie.insertWord("car");
+            trie.insertWord("cat");
+            flusher[0] = new Thread(() -> {
+                try {
+                    trie.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            flusher[0].start();
+            assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+            assertTrue(trie.containsWord("car"));
+            trie.insertWord("dog");
+            trie.deleteWord("cat");
+            assertTrue(trie.containsWord("dog"));
+            assertFalse(trie.containsWord("cat"));
+            assertEquals(0, trie.getSegmentsCount());
+
+            written.countDown();
+            flusher[0].join();
+            assertEquals(1, trie.getSegmentsCount());
+            assertEquals(Arrays.asList("car", "dog"), toList(trie.wordsWithPrefix("")));
+        }
+        try (LsmTrie trie = open(100, 4, null)) {
+            assertEquals(Arrays.asList("car", "dog"), toList(trie.wordsWithPrefix("")));
+        }
+    }
+
+    @Test
+    void backgroundCompactionFailuresAreThrownByTheNextCall() throws IOException {
+        LsmTrie trie = open(1, 2, Runnable::run);
+        // The temporary files of the merged segments can't be created over directories
+        Path blockingDirectory = Files.createDirectory(directory.resolve(Segment.getFileName(0, 2) + ".tmp"));
+        Path otherBlockingDirectory = Files.createDirectory(directory.resolve(Segment.getFileName(0, 3) + ".tmp"));
+        trie.insertWord("a");
+        trie.insertWord("b");
+        trie.insertWord("c");
+        assertEquals(3, trie.getSegmentsCount());
+
+        assertThrows(UncheckedIOException.class, () -> trie.insertWord("d"));
+        trie.insertWord("d");
+        assertEquals(4, trie.getSegmentsCount());
+        assertThrows(IOException.class, trie::close);
+
+        Files.delete(blockingDirectory);
+        Files.delete(otherBlockingDirectory);
+        try (LsmTrie reopenedTrie = open(1, 2, Runnable::run)) {
+            assertEquals(Arrays.asList("a", "b", "c", "d"), toList(reopenedTrie.wordsWithPrefix("")));
+        }
+    }
+
+    @Test
+    void matchesASortedSetWithBackgroundCompaction() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        TreeSet<String> expected = new TreeSet<>();
+        Random random = new Random(7);
+        try (LsmTrie trie = open(50, 4, executor)) {
+            for (int i = 0; i < 2000; i++) {
+                String word = Integer.toString(random.nextInt(500), 36);
+                if (random.nextInt(3) == 0) {
+                    trie.deleteWord(word);
+                    expected.remove(word);
+                } else {
+                    trie.insertWord(word);
+                    expected.add(word);
+                }
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(new ArrayList<>(expected), toList(trie.wordsWithPrefix("")));
+            assertEquals(expected.subSet("1", "2").size(), trie.countWithPrefix("1"));
+            for (int i = 0; i < 500; i++) {
+                String word = Integer.toString(i, 36);
+                assertEquals(expected.contains(word), trie.containsWord(word));
+            }
+        }
+    }
+
+    private LsmTrie open(int flushThreshold, int maxSegmentsCount, Executor executor) throws IOException {
+        return LsmTrie.open(directory, () -> new TrieMap(new TrieIterativeAlgorithm()),
+                flushThreshold, maxSegmentsCount, executor);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+}
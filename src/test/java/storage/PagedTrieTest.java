@@ -0,0 +1,98 @@
+package storage;
+
+import algorithm.TrieIterativeAlgorithm;
+import algorithm.TrieRecursiveAlgorithm2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import trie.ITrie;
+import trie.TrieMap;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagedTrieTest {
+    private static final List<String> WORDS = Arrays.asList("", "apple", "apply", "banana", "band", "cat", "zoo");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadsTrieNodesOnFirstAccess() throws IOException {
+        PagedTrie trie = PagedTrie.open(writeWords(), new TrieIterativeAlgorithm(), 0);
+        assertEquals(0, trie.getLoadedTrieNodesCount());
+        assertEquals(WORDS.size(), trie.size());
+
+        // Only the trieNodes of "band" are loaded, not the other trieNodes below "b"
+        assertTrue(trie.containsWord("band"));
+        assertFalse(trie.containsWord("ban"));
+        assertTrue(trie.containsPrefix("ban"));
+        assertEquals(2, trie.countWithPrefix("ban"));
+        assertEquals(4, trie.getLoadedTrieNodesCount());
+
+        assertFalse(trie.containsWord("dog"));
+        assertFalse(trie.containsWord("bandana"));
+        assertTrue(trie.containsWord(""));
+        assertEquals(4, trie.getLoadedTrieNodesCount());
+
+        assertEquals(WORDS, toList(trie.wordsWithPrefix("")));
+        assertEquals(19, trie.getLoadedTrieNodesCount());
+        assertEquals("cat", trie.select(5));
+        assertEquals(3, trie.rank("banana"));
+    }
+
+    @Test
+    void releasesTheLeastRecentlyUsedTrieNodes() throws IOException {
+        PagedTrie trie = PagedTrie.open(writeWords(), new TrieRecursiveAlgorithm2(), 2);
+        assertTrue(trie.containsWord("apple"));
+        assertTrue(trie.containsWord("cat"));
+        assertTrue(trie.containsWord("zoo"));
+        assertEquals(2, trie.getLoadedTrieNodesCount());
+        assertTrue(trie.containsWord("apply"));
+        assertEquals(2, trie.countWithPrefix("ap"));
+        assertEquals(2, trie.getLoadedTrieNodesCount());
+    }
+
+    @Test
+    void isReadOnly() throws IOException {
+        PagedTrie trie = PagedTrie.open(writeWords(), new TrieIterativeAlgorithm(), 0);
+        assertThrows(UnsupportedOperationException.class, () -> trie.insertWord("new"));
+        assertThrows(UnsupportedOperationException.class, () -> trie.deleteWord("cat"));
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path path = directory.resolve("other");
+        Files.write(path, new byte[32]);
+        assertThrows(IllegalArgumentException.class, () -> PagedTrie.open(path, new TrieIterativeAlgorithm(), 0));
+
+        Path largePath = directory.resolve("large");
+        try (RandomAccessFile file = new RandomAccessFile(largePath.toFile(), "rw")) {
+            file.setLength(Integer.MAX_VALUE + 1L);
+        }
+        assertThrows(IllegalArgumentException.class, () -> PagedTrie.open(largePath, new TrieIterativeAlgorithm(), 0));
+    }
+
+    private Path writeWords() throws IOException {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        WORDS.forEach(trie::insertWord);
+        Path path = directory.resolve("words.trie");
+        PagedTrieWriter.write(trie, path);
+        return path;
+    }
+
+    private static List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+}
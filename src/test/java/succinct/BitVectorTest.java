@@ -0,0 +1,65 @@
+package succinct;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BitVectorTest {
+
+    @Test
+    void rankAndSelectMatchCountingTheBits() {
+        Random random = new Random(42);
+        for (int length : new int[]{0, 1, 63, 64, 65, 511, 512, 513, 5000}) {
+            boolean[] bits = new boolean[length];
+            BitVectorBuilder builder = new BitVectorBuilder();
+            for (int i = 0; i < length; i++) {
+                bits[i] = random.nextInt(3) == 0;
+                builder.add(bits[i]);
+            }
+            BitVector bitVector = builder.build();
+
+            int ones = 0;
+            for (int i = 0; i < length; i++) {
+                assertEquals(ones, bitVector.rank1(i));
+                assertEquals(i - ones, bitVector.rank0(i));
+                assertEquals(bits[i], bitVector.get(i));
+                if (bits[i]) {
+                    assertEquals(i, bitVector.select1(ones));
+                    ones++;
+                } else {
+                    assertEquals(i, bitVector.select0(i - ones));
+                }
+            }
+            assertEquals(ones, bitVector.rank1(length));
+            assertEquals(ones, bitVector.countOnes());
+        }
+    }
+
+    @Test
+    void nextClearBit() {
+        BitVectorBuilder builder = new BitVectorBuilder();
+        for (int i = 0; i < 200; i++) {
+            builder.add(i != 10 && i != 150);
+        }
+        BitVector bitVector = builder.build();
+
+        assertEquals(10, bitVector.nextClearBit(0));
+        assertEquals(10, bitVector.nextClearBit(10));
+        assertEquals(150, bitVector.nextClearBit(11));
+        assertEquals(200, bitVector.nextClearBit(151));
+        assertEquals(200, bitVector.nextClearBit(200));
+    }
+
+    @Test
+    void outOfTheBits() {
+        BitVector bitVector = new BitVectorBuilder().add(true).add(false).build();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> bitVector.rank1(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitVector.select1(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitVector.select0(1));
+        assertThrows(IllegalArgumentException.class, () -> new BitVector(new long[1], 65));
+    }
+}
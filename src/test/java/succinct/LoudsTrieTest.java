@@ -0,0 +1,79 @@
+package succinct;
+
+import algorithm.TrieIterativeAlgorithm;
+import metrics.TrieStatistics;
+import org.junit.jupiter.api.Test;
+import trie.ITrie;
+import trie.TrieArray;
+import trie.TrieMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoudsTrieTest {
+
+    @Test
+    void searchWords() {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        Arrays.asList("", "car", "card", "care", "cat", "dog", "\u00E9t\u00E9").forEach(trie::insertWord);
+        LoudsTrie loudsTrie = LoudsTrie.of(trie);
+
+        assertEquals(7, loudsTrie.size());
+        assertTrue(loudsTrie.containsWord(""));
+        assertTrue(loudsTrie.containsWord("card"));
+        assertTrue(loudsTrie.containsWord("\u00E9t\u00E9"));
+        assertFalse(loudsTrie.containsWord("ca"));
+        assertFalse(loudsTrie.containsWord("cards"));
+        assertTrue(loudsTrie.containsPrefix("ca"));
+        assertFalse(loudsTrie.containsPrefix("cb"));
+        assertEquals(Arrays.asList("car", "card", "care", "cat"), toList(loudsTrie.wordsWithPrefix("ca")));
+        assertEquals(Arrays.asList("dog"), toList(loudsTrie.wordsWithPrefix("dog")));
+        assertEquals(Arrays.asList(), toList(loudsTrie.wordsWithPrefix("x")));
+        assertEquals(toList(trie.wordsWithPrefix("")), toList(loudsTrie.wordsWithPrefix("")));
+    }
+
+    @Test
+    void emptyTrie() {
+        LoudsTrie loudsTrie = LoudsTrie.of(new TrieArray(new TrieIterativeAlgorithm()));
+
+        assertEquals(0, loudsTrie.size());
+        assertEquals(1, loudsTrie.getTrieNodesCount());
+        assertFalse(loudsTrie.containsWord(""));
+        assertTrue(loudsTrie.containsPrefix(""));
+        assertFalse(loudsTrie.wordsWithPrefix("").iterator().hasNext());
+    }
+
+    @Test
+    void manyWordsTakeMuchLessMemory() {
+        ITrie trie = new TrieArray(new TrieIterativeAlgorithm());
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            char[] word = new char[3 + random.nextInt(8)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('a' + random.nextInt(26));
+            }
+            trie.insertWord(new String(word));
+        }
+        LoudsTrie loudsTrie = LoudsTrie.of(trie);
+
+        assertEquals(trie.size(), loudsTrie.size());
+        for (String word : trie.wordsWithPrefix("")) {
+            assertTrue(loudsTrie.containsWord(word));
+            assertFalse(loudsTrie.containsWord(word + "#"));
+        }
+        assertEquals(toList(trie.wordsWithPrefix("ab")), toList(loudsTrie.wordsWithPrefix("ab")));
+        assertTrue(TrieStatistics.of(trie).getEstimatedSizeInBytes() > 10 * loudsTrie.estimateSizeInBytes());
+    }
+
+    private static List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,75 @@
+package trie;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ByteTrieTest {
+
+    @Test
+    void unicodeWords() {
+        ByteTrie trie = new ByteTrie();
+        assertTrue(trie.insertWord("caf\u00E9"));
+        assertTrue(trie.insertWord("cafe"));
+        assertTrue(trie.insertWord("\u6F22\u5B57"));
+        assertFalse(trie.insertWord("cafe"));
+
+        assertTrue(trie.containsWord("caf\u00E9"));
+        assertTrue(trie.containsWord("\u6F22\u5B57"));
+        assertFalse(trie.containsWord("caf"));
+        assertTrue(trie.containsPrefix("caf"));
+        assertEquals(2, trie.countWithPrefix("caf".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(3, trie.size());
+
+        assertTrue(trie.deleteWord("caf\u00E9"));
+        assertFalse(trie.containsWord("caf\u00E9"));
+        assertTrue(trie.containsWord("cafe"));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void binaryKeysWithWideFanOut() {
+        ByteTrie trie = new ByteTrie();
+        Random random = new Random(3);
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 3000; i++) {
+            byte[] key = new byte[1 + random.nextInt(3)];
+            random.nextBytes(key);
+            assertEquals(keys.add(new String(key, StandardCharsets.ISO_8859_1)), trie.insert(key));
+        }
+        for (String key : keys) {
+            assertTrue(trie.contains(key.getBytes(StandardCharsets.ISO_8859_1)));
+        }
+        int deleted = 0;
+        for (String key : keys) {
+            if (deleted++ % 2 == 0) {
+                assertTrue(trie.delete(key.getBytes(StandardCharsets.ISO_8859_1)));
+            }
+        }
+        deleted = 0;
+        for (String key : keys) {
+            assertEquals(deleted++ % 2 != 0, trie.contains(key.getBytes(StandardCharsets.ISO_8859_1)));
+        }
+        assertEquals(keys.size() / 2, trie.size());
+    }
+
+    @Test
+    void keyRegions() {
+        ByteTrie trie = new ByteTrie();
+        byte[] buffer = {9, 1, 2, 3, 9};
+        trie.insert(buffer, 1, 3);
+        assertTrue(trie.contains(new byte[]{1, 2, 3}));
+        assertTrue(trie.contains(buffer, 1, 3));
+        assertFalse(trie.contains(buffer, 0, 3));
+        assertTrue(trie.containsPrefix(buffer, 1, 2));
+        assertTrue(trie.delete(buffer, 1, 3));
+        assertFalse(trie.containsPrefix(new byte[]{1}));
+    }
+}
@@ -0,0 +1,89 @@
+package trie;
+
+import algorithm.TrieIterativeAlgorithm;
+import algorithm.TrieRecursiveAlgorithm2;
+import node.ITrieNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DawgTest {
+    private static final List<String> WORDS = Arrays.asList(
+            "baking", "bakings", "caking", "cakings", "making", "makings", "taking", "takings");
+
+    @Test
+    void containsTheSameWordsAsTheTrie() {
+        ITrie trie = new TrieArray(new TrieIterativeAlgorithm());
+        WORDS.forEach(trie::insertWord);
+        Dawg dawg = DawgBuilder.fromTrie(trie);
+
+        for (String word : WORDS) {
+            assertTrue(dawg.containsWord(word));
+        }
+        assertFalse(dawg.containsWord("bake"));
+        assertFalse(dawg.containsWord("baking" + "s" + "s"));
+        assertTrue(dawg.containsPrefix("mak"));
+        assertFalse(dawg.containsPrefix("mk"));
+        assertEquals(WORDS, toList(dawg.wordsWithPrefix("")));
+        assertEquals(Arrays.asList("taking", "takings"), toList(dawg.wordsWithPrefix("ta")));
+        assertEquals(8, dawg.size());
+        assertEquals(2, dawg.countWithPrefix("caki"));
+        assertEquals("makings", dawg.select(5));
+    }
+
+    @Test
+    void sharesCommonSuffixes() {
+        Dawg dawg = new DawgBuilder().addWords(WORDS).build(new TrieIterativeAlgorithm());
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        WORDS.forEach(trie::insertWord);
+
+        // The four first characters point to the same "aking(s)" subtree: the root and 7 shared trieNodes
+        assertEquals(8, dawg.getTrieNodesCount());
+        assertEquals(29, countTrieNodes(trie.getRoot()));
+    }
+
+    @Test
+    void worksWithAnyAlgorithm() {
+        Dawg dawg = new DawgBuilder().addWords(WORDS).build(new TrieRecursiveAlgorithm2());
+        assertTrue(dawg.containsWord("takings"));
+        assertFalse(dawg.containsWord("taking" + "z"));
+        assertEquals(8, dawg.countWithPrefix(""));
+    }
+
+    @Test
+    void isReadOnly() {
+        Dawg dawg = new DawgBuilder().addWords(WORDS).build(new TrieIterativeAlgorithm());
+        assertThrows(UnsupportedOperationException.class, () -> dawg.insertWord("waking"));
+        assertThrows(UnsupportedOperationException.class, () -> dawg.deleteWord("baking"));
+    }
+
+    @Test
+    void rejectsUnsortedWords() {
+        DawgBuilder dawgBuilder = new DawgBuilder().addWord("cat");
+        assertThrows(IllegalArgumentException.class, () -> dawgBuilder.addWord("bat"));
+        assertThrows(IllegalArgumentException.class, () -> dawgBuilder.addWord("cat"));
+    }
+
+    private int countTrieNodes(ITrieNode trieNode) {
+        int count = 1;
+        for (Character character = trieNode.getFirstCharacter();
+             character != null;
+             character = trieNode.getHigherCharacter(character)) {
+            count += countTrieNodes(trieNode.getTrieNodeForChar(character));
+        }
+        return count;
+    }
+
+    private List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,147 @@
+package trie;
+
+import algorithm.ITrieAlgorithm;
+import algorithm.TrieIterativeAlgorithm;
+import algorithm.TrieRecursiveAlgorithm;
+import algorithm.TrieRecursiveAlgorithm2;
+import cache.BoundedTrie;
+import cache.PrefixCachingTrie;
+import concurrent.ConcurrentPartitionedTrie;
+import org.junit.jupiter.api.Test;
+import replication.ObservableTrie;
+import replication.ReplicaApplier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeletePrefixTest {
+    private final Random random = new Random(5);
+
+    @Test
+    void matchTheWordsLeft() {
+        for (Supplier<ITrieAlgorithm> algorithmSupplier : List.<Supplier<ITrieAlgorithm>>of(
+                TrieIterativeAlgorithm::new, TrieRecursiveAlgorithm::new, TrieRecursiveAlgorithm2::new)) {
+            for (int i = 0; i < 30; i++) {
+                Set<String> words = randomWords();
+                String prefix = randomWord(3);
+                Set<String> expected = new TreeSet<>(words);
+                expected.removeIf(word -> word.startsWith(prefix));
+
+                for (ITrie trie : List.of(new TrieMap(algorithmSupplier.get()), new TrieArray(algorithmSupplier.get()))) {
+                    words.forEach(trie::insertWord);
+                    assertEquals(words.size() - expected.size(), trie.deletePrefix(prefix));
+                    assertWords(expected, trie);
+                    assertEquals(0, trie.deletePrefix(prefix));
+                }
+            }
+        }
+    }
+
+    @Test
+    void prunesTheTrieNodesLeftWithoutWords() {
+        for (ITrieAlgorithm trieAlgorithm : List.of(
+                new TrieIterativeAlgorithm(), new TrieRecursiveAlgorithm(), new TrieRecursiveAlgorithm2())) {
+            ITrie trie = new TrieMap(trieAlgorithm);
+            trie.insertWord("dog");
+            trie.insertWord("carpet");
+            trie.insertWord("carpets");
+            trie.insertWord("carrot");
+
+            assertEquals(1, trie.deletePrefix("carr"));
+            assertFalse(trie.containsPrefix("carr"));
+            assertTrue(trie.containsPrefix("carp"));
+            assertEquals(2, trie.deletePrefix("carp"));
+            assertFalse(trie.containsPrefix("c"));
+            assertEquals(1, trie.getRoot().getWordCount());
+
+            trie.insertWord("ca");
+            trie.insertWord("cat");
+            assertEquals(1, trie.deletePrefix("cat"));
+            assertTrue(trie.containsWord("ca"));
+            assertEquals(2, trie.deletePrefix(""));
+            assertNull(trie.getRoot().getFirstCharacter());
+            assertEquals(0, trie.size());
+        }
+    }
+
+    @Test
+    void decoratedTries() {
+        ReverseIndexedTrie reverseIndexedTrie = new ReverseIndexedTrie(
+                new TrieMap(new TrieIterativeAlgorithm()), new TrieMap(new TrieIterativeAlgorithm()));
+        PrefixCachingTrie prefixCachingTrie = new PrefixCachingTrie(new TrieMap(new TrieIterativeAlgorithm()), 16);
+        BoundedTrie boundedTrie = new BoundedTrie(new TrieMap(new TrieIterativeAlgorithm()), 3);
+        ConcurrentPartitionedTrie partitionedTrie = new ConcurrentPartitionedTrie(
+                () -> new TrieArray(new TrieIterativeAlgorithm()), 4, true);
+        for (ITrie trie : List.of(reverseIndexedTrie, prefixCachingTrie, boundedTrie, partitionedTrie)) {
+            trie.insertWord("bat");
+            trie.insertWord("bee");
+            trie.insertWord("cat");
+            assertTrue(trie.containsPrefix("be"));
+
+            assertEquals(2, trie.deletePrefix("b"));
+            assertFalse(trie.containsPrefix("be"));
+            assertEquals(1, trie.size());
+            trie.insertWord("bee");
+            trie.insertWord("dog");
+            assertTrue(trie.containsWord("cat"));
+            assertEquals(3, trie.size());
+        }
+        assertEquals(1, reverseIndexedTrie.countWithSuffix("at"));
+        assertEquals(3, partitionedTrie.deletePrefix(""));
+    }
+
+    @Test
+    void replicasApplyTheDeletedPrefix() {
+        ObservableTrie leader = new ObservableTrie(new TrieMap(new TrieIterativeAlgorithm()));
+        ITrie replica = new TrieArray(new TrieIterativeAlgorithm());
+        leader.addListener(new ReplicaApplier(replica, 0));
+        leader.insertWord("car");
+        leader.insertWord("cart");
+        leader.insertWord("dog");
+
+        assertEquals(0, leader.deletePrefix("x"));
+        assertEquals(3, leader.getLastSequence());
+        assertEquals(2, leader.deletePrefix("car"));
+        assertEquals(4, leader.getLastSequence());
+        assertWords(new TreeSet<>(Set.of("dog")), replica);
+    }
+
+    private Set<String> randomWords() {
+        Set<String> words = new TreeSet<>();
+        int count = random.nextInt(60);
+        for (int i = 0; i < count; i++) {
+            words.add(randomWord(5));
+        }
+        return words;
+    }
+
+    private String randomWord(int maxLength) {
+        char[] word = new char[random.nextInt(maxLength)];
+        for (int j = 0; j < word.length; j++) {
+            word[j] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(word);
+    }
+
+    private static void assertWords(Set<String> expected, ITrie trie) {
+        List<String> words = new ArrayList<>();
+        trie.wordsWithPrefix("").forEach(words::add);
+        assertEquals(new ArrayList<>(expected), words);
+        assertEquals(expected.size(), trie.size());
+        for (String word : expected) {
+            assertEquals(expected.stream().filter(w -> w.startsWith(word)).count(), trie.countWithPrefix(word));
+        }
+        for (String prefix : List.of("a", "b", "c", "aa", "ab", "ba", "cc")) {
+            assertEquals(expected.stream().anyMatch(w -> w.startsWith(prefix)), trie.containsPrefix(prefix));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package trie;
+
+import algorithm.TrieIterativeAlgorithm;
+import algorithm.TrieRecursiveAlgorithm;
+import algorithm.TrieRecursiveAlgorithm2;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyRegionTest {
+
+    @Test
+    void charSequenceWords() {
+        ITrie trie = new TrieArray(new TrieRecursiveAlgorithm());
+        StringBuilder word = new StringBuilder("dog");
+        assertTrue(trie.insertWord(word));
+        word.append("gie");
+        assertTrue(trie.insertWord(word));
+        assertTrue(trie.containsWord("dog"));
+        assertTrue(trie.containsWord(new StringBuilder("doggie")));
+        assertTrue(trie.deleteWord(new StringBuilder("dog")));
+        assertEquals(1, trie.countWithPrefix(new StringBuilder("do")));
+    }
+
+    @Test
+    void charArrayRegions() {
+        ITrie trie = new TrieArray(new TrieIterativeAlgorithm());
+        trie.insertWord("cat");
+        char[] buffer = "the cat sat".toCharArray();
+
+        assertTrue(trie.containsWord(buffer, 4, 3));
+        assertFalse(trie.containsWord(buffer, 4, 2));
+        assertTrue(trie.containsPrefix(buffer, 4, 2));
+        assertFalse(trie.containsPrefix(buffer, 8, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.containsWord(buffer, 9, 3));
+    }
+
+    @Test
+    void utf8Regions() {
+        for (ITrie trie : Arrays.asList(
+                new TrieMap(new TrieIterativeAlgorithm()),
+                new TrieMap(new TrieRecursiveAlgorithm()),
+                new TrieMap(new TrieRecursiveAlgorithm2()))) {
+            trie.insertWord("caf\u00E9");
+            trie.insertWord("\u20AC10");
+            trie.insertWord("smile\uD83D\uDE00");
+            byte[] buffer = "[caf\u00E9|\u20AC10|smile\uD83D\uDE00]".getBytes(StandardCharsets.UTF_8);
+
+            assertTrue(trie.containsWord(buffer, 1, 5));
+            assertTrue(trie.containsPrefix(buffer, 1, 3));
+            assertFalse(trie.containsWord(buffer, 1, 3));
+            assertTrue(trie.containsWord(buffer, 7, 5));
+            assertTrue(trie.containsWord(buffer, 13, 9));
+            assertFalse(trie.containsWord(buffer, 13, 8));
+            assertTrue(trie.containsPrefix(buffer, 13, 5));
+        }
+    }
+
+    @Test
+    void byteBuffers() {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        trie.insertWord("na\u00EFve");
+        ByteBuffer buffer = ByteBuffer.wrap("a na\u00EFve test".getBytes(StandardCharsets.UTF_8));
+        buffer.position(2).limit(8);
+
+        assertTrue(trie.containsWord(buffer));
+        assertEquals(2, buffer.position());
+        buffer.limit(4);
+        assertTrue(trie.containsPrefix(buffer));
+        assertFalse(trie.containsWord(buffer));
+        assertTrue(trie.containsWord(ByteBuffer.allocateDirect(7).put("na\u00EFve".getBytes(StandardCharsets.UTF_8)).flip()));
+    }
+
+    @Test
+    void utf8LengthsCountedAfterReading() {
+        byte[] bytes = "ab\u00E9\uD83D\uDE00c".getBytes(StandardCharsets.UTF_8);
+        Utf8Sequence sequence = Utf8Sequence.of(bytes, 0, bytes.length);
+        assertEquals('\uD83D', sequence.charAt(3));
+        assertEquals(6, sequence.length());
+        assertEquals("ab\u00E9\uD83D\uDE00c", sequence.toString());
+
+        sequence = Utf8Sequence.of(bytes, 0, bytes.length);
+        assertEquals('c', sequence.charAt(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> Utf8Sequence.of(bytes, 0, 4).charAt(3));
+        assertEquals(3, Utf8Sequence.of(bytes, 0, 3).length());
+    }
+
+    @Test
+    void malformedUtf8() {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        trie.insertWord("a\uFFFDb");
+        assertTrue(trie.containsWord(new byte[]{'a', (byte) 0xC3, 'b'}, 0, 3));
+        assertTrue(trie.containsWord(new byte[]{'a', (byte) 0xFF, 'b'}, 0, 3));
+    }
+}
@@ -0,0 +1,62 @@
+package trie;
+
+import algorithm.TrieIterativeAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReverseIndexedTrieTest {
+    private ReverseIndexedTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        TrieMap words = new TrieMap(new TrieIterativeAlgorithm());
+        words.insertWord("error");
+        trie = new ReverseIndexedTrie(words, new TrieMap(new TrieIterativeAlgorithm()));
+        for (String word : Arrays.asList("app.log", "err.log", "app.txt", "terror", "mirror")) {
+            trie.insertWord(word);
+        }
+    }
+
+    @Test
+    void wordsWithSuffix() {
+        assertEquals(Arrays.asList("app.log", "err.log"), toList(trie.wordsWithSuffix(".log")));
+        assertEquals(Arrays.asList("error", "terror", "mirror"), toList(trie.wordsWithSuffix("rror")));
+        assertEquals(Arrays.asList(), toList(trie.wordsWithSuffix(".csv")));
+        assertEquals(3, trie.countWithSuffix("ror"));
+    }
+
+    @Test
+    void deleteWordUpdatesReversedTrie() {
+        assertTrue(trie.deleteWord("err.log"));
+        assertEquals(Arrays.asList("app.log"), toList(trie.wordsWithSuffix(".log")));
+        trie.insertWord("err.log");
+        assertEquals(2, trie.countWithSuffix("log"));
+        assertEquals(6, trie.size());
+    }
+
+    @Test
+    void wordsContaining() {
+        SubstringIndex substringIndex = trie.buildSubstringIndex();
+
+        assertEquals(new HashSet<>(Arrays.asList("err.log", "error", "terror")), substringIndex.wordsContaining("err"));
+        assertEquals(new HashSet<>(Arrays.asList("app.log", "app.txt")), substringIndex.wordsContaining("pp."));
+        assertEquals(new HashSet<>(Arrays.asList("mirror")), substringIndex.wordsContaining("mirror"));
+        assertEquals(Set.of(), substringIndex.wordsContaining("xyz"));
+        assertEquals(6, substringIndex.wordsContaining("").size());
+    }
+
+    private List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,65 @@
+package trie;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SubstringIndexTest {
+    private final Random random = new Random(7);
+
+    @Test
+    void matchTheWordsThatContainTheSubstrings() {
+        for (int i = 0; i < 20; i++) {
+            List<String> words = new ArrayList<>(randomWords(random.nextInt(80)));
+            SubstringIndex substringIndex = SubstringIndex.build(words);
+            for (String substring : randomWords(30)) {
+                Set<String> expected = new TreeSet<>();
+                words.stream().filter(word -> word.contains(substring)).forEach(expected::add);
+                assertEquals(expected, new TreeSet<>(substringIndex.wordsContaining(substring)));
+            }
+        }
+    }
+
+    @Test
+    void wordsInTheOrderOfTheirFirstMatchingSuffix() {
+        SubstringIndex substringIndex = SubstringIndex.build(Arrays.asList("banana", "ana", "cabana", "an"));
+
+        // "an" comes first, then the equal suffixes "ana" keep the order of their words
+        assertEquals(Arrays.asList("an", "banana", "ana", "cabana"), toList(substringIndex.wordsContaining("an")));
+        assertEquals(Arrays.asList("banana", "ana", "cabana"), toList(substringIndex.wordsContaining("ana")));
+        assertEquals(Arrays.asList("cabana", "banana"), toList(substringIndex.wordsContaining("ban")));
+    }
+
+    @Test
+    void emptyWordsAndSubstrings() {
+        SubstringIndex substringIndex = SubstringIndex.build(Arrays.asList("", "aaaa", "aa"));
+
+        assertEquals(Arrays.asList("", "aaaa", "aa"), toList(substringIndex.wordsContaining("")));
+        assertEquals(Arrays.asList("aaaa", "aa"), toList(substringIndex.wordsContaining("aa")));
+        assertEquals(Set.of("aaaa"), substringIndex.wordsContaining("aaa"));
+        assertEquals(Set.of(), SubstringIndex.build(List.of()).wordsContaining("a"));
+    }
+
+    private Set<String> randomWords(int count) {
+        Set<String> words = new TreeSet<>();
+        for (int i = 0; i < count; i++) {
+            char[] word = new char[1 + random.nextInt(6)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('a' + random.nextInt(3));
+            }
+            words.add(new String(word));
+        }
+        return words;
+    }
+
+    private static List<String> toList(Set<String> words) {
+        return new ArrayList<>(words);
+    }
+}
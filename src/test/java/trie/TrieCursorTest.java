@@ -0,0 +1,74 @@
+package trie;
+
+import algorithm.TrieIterativeAlgorithm;
+import algorithm.TrieRecursiveAlgorithm2;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrieCursorTest {
+
+    @Test
+    void followsTheTypedCharacters() {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        Arrays.asList("car", "card", "care", "cat", "dog").forEach(trie::insertWord);
+        TrieCursor cursor = trie.cursor();
+
+        assertFalse(cursor.isWord());
+        assertEquals(5, cursor.countCompletions());
+        assertTrue(cursor.advance('c'));
+        assertTrue(cursor.advance('a'));
+        assertTrue(cursor.advance('r'));
+        assertTrue(cursor.isWord());
+        assertTrue(cursor.hasChildren());
+        assertEquals(3, cursor.countCompletions());
+        assertEquals(Arrays.asList("car", "card"), cursor.completions(2));
+
+        assertTrue(cursor.advance('d'));
+        assertTrue(cursor.isWord());
+        assertFalse(cursor.hasChildren());
+        assertEquals("card", cursor.getPrefix());
+    }
+
+    @Test
+    void keepsCountOfTheUnmatchedCharacters() {
+        ITrie trie = new TrieArray(new TrieRecursiveAlgorithm2());
+        trie.insertWord("cat");
+        TrieCursor cursor = trie.cursor();
+
+        assertFalse(cursor.advance("cab"));
+        assertFalse(cursor.advance('x'));
+        assertFalse(cursor.isInTrie());
+        assertNull(cursor.getTrieNode());
+        assertEquals(Collections.emptyList(), cursor.completions(10));
+        assertEquals(0, cursor.countCompletions());
+
+        assertTrue(cursor.retreat());
+        assertFalse(cursor.isInTrie());
+        assertTrue(cursor.retreat());
+        assertTrue(cursor.isInTrie());
+        assertEquals("ca", cursor.getPrefix());
+        assertTrue(cursor.advance('t'));
+        assertTrue(cursor.isWord());
+
+        cursor.reset();
+        assertEquals("", cursor.getPrefix());
+        assertFalse(cursor.retreat());
+        assertEquals(Collections.singletonList("cat"), cursor.completions(10));
+    }
+
+    @Test
+    void forwardingTriesUseTheCursorOfTheDecoratedTrie() {
+        ITrie trie = new ReverseIndexedTrie(new TrieMap(new TrieIterativeAlgorithm()), new TrieMap(new TrieIterativeAlgorithm()));
+        trie.insertWord("word");
+        TrieCursor cursor = trie.cursor();
+        assertTrue(cursor.advance("word"));
+        assertTrue(cursor.isWord());
+    }
+}
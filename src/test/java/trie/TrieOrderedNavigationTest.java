@@ -0,0 +1,139 @@
+package trie;
+
+import algorithm.TrieIterativeAlgorithm;
+import algorithm.TrieRecursiveAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrieOrderedNavigationTest {
+    private ITrie trieArray;
+    private ITrie trieMap;
+
+    @BeforeEach
+    void setUp() {
+        trieArray = new TrieArray(new TrieIterativeAlgorithm());
+        trieMap = new TrieMap(new TrieRecursiveAlgorithm());
+        for (String word : Arrays.asList("d", "do", "dog", "doggie", "cat", "catalog", "zebra")) {
+            trieArray.insertWord(word);
+            trieMap.insertWord(word);
+        }
+    }
+
+    @Test
+    void firstAndLast() {
+        for (ITrie trie : Arrays.asList(trieArray, trieMap)) {
+            assertEquals("cat", trie.first());
+            assertEquals("zebra", trie.last());
+        }
+    }
+
+    @Test
+    void firstOfEmptyTrie() {
+        ITrie trie = new TrieMap(new TrieIterativeAlgorithm());
+        assertThrows(NoSuchElementException.class, trie::first);
+        assertThrows(NoSuchElementException.class, trie::last);
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.select(0));
+    }
+
+    @Test
+    void floorAndCeiling() {
+        for (ITrie trie : Arrays.asList(trieArray, trieMap)) {
+            assertEquals("dog", trie.floor("dog"));
+            assertEquals("dog", trie.floor("doga"));
+            assertEquals("catalog", trie.floor("cb"));
+            assertNull(trie.floor("cas"));
+            assertEquals("dog", trie.ceiling("dog"));
+            assertEquals("doggie", trie.ceiling("doga"));
+            assertEquals("d", trie.ceiling("cb"));
+            assertNull(trie.ceiling("zz"));
+        }
+    }
+
+    @Test
+    void rankAndSelect() {
+        List<String> words = Arrays.asList("cat", "catalog", "d", "do", "dog", "doggie", "zebra");
+        for (ITrie trie : Arrays.asList(trieArray, trieMap)) {
+            for (int i = 0; i < words.size(); i++) {
+                assertEquals(i, trie.rank(words.get(i)));
+                assertEquals(words.get(i), trie.select(i));
+            }
+            assertEquals(0, trie.rank(""));
+            assertEquals(2, trie.rank("cb"));
+            assertEquals(7, trie.rank("zz"));
+        }
+    }
+
+    @Test
+    void range() {
+        for (ITrie trie : Arrays.asList(trieArray, trieMap)) {
+            assertEquals(Arrays.asList("catalog", "d", "do"), toList(trie.range("cata", "dog")));
+            assertEquals(Arrays.asList("cat", "catalog", "d", "do", "dog", "doggie", "zebra"), toList(trie.range("", "zz")));
+            assertEquals(Arrays.asList(), toList(trie.range("dp", "z")));
+        }
+    }
+
+    @Test
+    void wordsWithPrefix() {
+        for (ITrie trie : Arrays.asList(trieArray, trieMap)) {
+            assertEquals(Arrays.asList("do", "dog", "doggie"), toList(trie.wordsWithPrefix("do")));
+            assertEquals(Arrays.asList("zebra"), toList(trie.wordsWithPrefix("z")));
+            assertEquals(Arrays.asList(), toList(trie.wordsWithPrefix("x")));
+            assertEquals(7, toList(trie.wordsWithPrefix("")).size());
+        }
+    }
+
+    @Test
+    void navigationMatchesTreeSet() {
+        Random random = new Random(42);
+        TreeSet<String> treeSet = new TreeSet<>();
+        for (int i = 0; i < 500; i++) {
+            String word = randomWord(random);
+            treeSet.add(word);
+            trieMap.insertWord(word);
+        }
+        for (int i = 0; i < 100; i++) {
+            String word = randomWord(random);
+            treeSet.remove(word);
+            trieMap.deleteWord(word);
+        }
+        for (String word : Arrays.asList("d", "do", "dog", "doggie", "cat", "catalog", "zebra")) {
+            treeSet.add(word);
+            trieMap.insertWord(word);
+        }
+
+        assertEquals(new ArrayList<>(treeSet), toList(trieMap.wordsWithPrefix("")));
+        for (int i = 0; i < 200; i++) {
+            String word = randomWord(random);
+            assertEquals(treeSet.floor(word), trieMap.floor(word));
+            assertEquals(treeSet.ceiling(word), trieMap.ceiling(word));
+            assertEquals(treeSet.headSet(word).size(), trieMap.rank(word));
+            String toWord = word + "m";
+            assertEquals(new ArrayList<>(treeSet.subSet(word, toWord)), toList(trieMap.range(word, toWord)));
+        }
+    }
+
+    private String randomWord(Random random) {
+        char[] characters = new char[1 + random.nextInt(4)];
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = (char) ('a' + random.nextInt(5));
+        }
+        return new String(characters);
+    }
+
+    private List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEach(list::add);
+        return list;
+    }
+}
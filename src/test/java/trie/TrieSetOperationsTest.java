@@ -0,0 +1,150 @@
+package trie;
+
+import algorithm.TrieIterativeAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import storage.PagedTrie;
+import storage.PagedTrieWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrieSetOperationsTest {
+    private final Random random = new Random(11);
+
+    @Test
+    void matchTheOperationsOfSets() {
+        for (Supplier<ITrie> trieSupplier : List.<Supplier<ITrie>>of(
+                () -> new TrieMap(new TrieIterativeAlgorithm()),
+                () -> new TrieArray(new TrieIterativeAlgorithm()))) {
+            for (int i = 0; i < 20; i++) {
+                Set<String> first = randomWords();
+                Set<String> second = randomWords();
+
+                Set<String> union = new TreeSet<>(first);
+                union.addAll(second);
+                ITrie target = newTrie(trieSupplier, first);
+                assertEquals(union.size() - first.size(), TrieSetOperations.addAll(target, newTrie(trieSupplier, second)));
+                assertWords(union, target);
+
+                Set<String> intersection = new TreeSet<>(first);
+                intersection.retainAll(second);
+                target = newTrie(trieSupplier, first);
+                assertEquals(first.size() - intersection.size(),
+                        TrieSetOperations.retainAll(target, newTrie(trieSupplier, second)));
+                assertWords(intersection, target);
+
+                Set<String> difference = new TreeSet<>(first);
+                difference.removeAll(second);
+                target = newTrie(trieSupplier, first);
+                assertEquals(first.size() - difference.size(),
+                        TrieSetOperations.removeAll(target, newTrie(trieSupplier, second)));
+                assertWords(difference, target);
+
+                target = newTrie(trieSupplier, first);
+                ITrie source = newTrie(trieSupplier, second);
+                assertEquals(union.size() - first.size(), TrieSetOperations.transferAll(target, source));
+                assertWords(union, target);
+                assertWords(new TreeSet<>(), source);
+            }
+        }
+    }
+
+    @Test
+    void sameTrie() {
+        ITrie trie = newTrie(() -> new TrieMap(new TrieIterativeAlgorithm()), Set.of("a", "ab", "b"));
+
+        assertEquals(0, TrieSetOperations.addAll(trie, trie));
+        assertEquals(0, TrieSetOperations.retainAll(trie, trie));
+        assertEquals(0, TrieSetOperations.transferAll(trie, trie));
+        assertEquals(3, trie.size());
+        assertEquals(3, TrieSetOperations.removeAll(trie, trie));
+        assertWords(new TreeSet<>(), trie);
+    }
+
+    @Test
+    void removedBranchesAreNotPrefixes() {
+        ITrie target = newTrie(() -> new TrieMap(new TrieIterativeAlgorithm()), Set.of("car", "card", "dog"));
+        TrieSetOperations.removeAll(target, newTrie(() -> new TrieArray(new TrieIterativeAlgorithm()), Set.of("car", "card")));
+
+        assertFalse(target.containsPrefix("c"));
+        assertEquals(1, target.getRoot().getWordCount());
+    }
+
+    @Test
+    void rejectedTries() {
+        ITrie trieMap = new TrieMap(new TrieIterativeAlgorithm());
+        ITrie trieArray = new TrieArray(new TrieIterativeAlgorithm());
+        ITrie decorated = new ReverseIndexedTrie(new TrieMap(new TrieIterativeAlgorithm()), new TrieMap(new TrieIterativeAlgorithm()));
+
+        assertThrows(IllegalArgumentException.class, () -> TrieSetOperations.transferAll(trieMap, trieArray));
+        assertThrows(IllegalArgumentException.class, () -> TrieSetOperations.addAll(decorated, trieMap));
+        assertThrows(IllegalArgumentException.class, () -> TrieSetOperations.transferAll(trieMap, decorated));
+    }
+
+    @Test
+    void rejectedChangesKeepTheCountsOfTheTarget() {
+        ITrie target = newTrie(() -> new TrieArray(new TrieIterativeAlgorithm()), Set.of("car", "dog"));
+        ITrie source = newTrie(() -> new TrieMap(new TrieIterativeAlgorithm()), Set.of("ca", "caT", "cab", "do"));
+
+        assertThrows(RuntimeException.class, () -> TrieSetOperations.addAll(target, source));
+        assertWords(new TreeSet<>(Set.of("ca", "car", "dog")), target);
+        assertFalse(target.containsPrefix("cat"));
+    }
+
+    @Test
+    void readOnlyTargetsAreNotChanged(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("words.trie");
+        PagedTrieWriter.write(newTrie(() -> new TrieMap(new TrieIterativeAlgorithm()), Set.of("car", "dog")), path);
+        PagedTrie target = PagedTrie.open(path, new TrieIterativeAlgorithm(), 0);
+        ITrie other = newTrie(() -> new TrieMap(new TrieIterativeAlgorithm()), Set.of("car", "cat"));
+
+        assertThrows(UnsupportedOperationException.class, () -> TrieSetOperations.addAll(target, other));
+        assertThrows(UnsupportedOperationException.class, () -> TrieSetOperations.retainAll(target, other));
+        assertThrows(UnsupportedOperationException.class, () -> TrieSetOperations.removeAll(target, other));
+        assertWords(new TreeSet<>(Set.of("car", "dog")), target);
+    }
+
+    private Set<String> randomWords() {
+        Set<String> words = new TreeSet<>();
+        int count = random.nextInt(60);
+        for (int i = 0; i < count; i++) {
+            char[] word = new char[random.nextInt(5)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('a' + random.nextInt(4));
+            }
+            words.add(new String(word));
+        }
+        return words;
+    }
+
+    private static ITrie newTrie(Supplier<ITrie> trieSupplier, Set<String> words) {
+        ITrie trie = trieSupplier.get();
+        words.forEach(trie::insertWord);
+        return trie;
+    }
+
+    private static void assertWords(Set<String> expected, ITrie trie) {
+        List<String> words = new ArrayList<>();
+        trie.wordsWithPrefix("").forEach(words::add);
+        assertEquals(new ArrayList<>(expected), words);
+        assertEquals(expected.size(), trie.size());
+        int index = 0;
+        for (String word : expected) {
+            assertEquals(word, trie.select(index++));
+            assertEquals(expected.stream().filter(w -> w.startsWith(word)).count(), trie.countWithPrefix(word));
+        }
+        if (expected.isEmpty()) assertNull(trie.getRoot().getFirstCharacter());
+    }
+}